@@ -2,6 +2,7 @@ package com.care.appointment.application.actiontype.service;
 
 import com.care.appointment.application.actiontype.command.CreateActionTypeCommand;
 import com.care.appointment.application.actiontype.command.UpdateActionTypeCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.ActionType;
 import com.care.appointment.domain.ports.in.actiontype.*;
 import com.care.appointment.domain.ports.out.actiontype.ActionTypeCrudPort;
@@ -25,6 +26,7 @@ public class ActionTypeService implements SaveUseCase, UpdateUseCase, LoadUseCas
     
     private final ActionTypeCrudPort crudPort;
     private final ActionTypeSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
     
     @Override
     public ActionType saveActionType(CreateActionTypeCommand command) {
@@ -47,6 +49,7 @@ public class ActionTypeService implements SaveUseCase, UpdateUseCase, LoadUseCas
                 .displayOrder(command.getDisplayOrder())
                 .build();
         
+        referenceDataCache.invalidate();
         return crudPort.save(actionType);
     }
     
@@ -72,6 +75,7 @@ public class ActionTypeService implements SaveUseCase, UpdateUseCase, LoadUseCas
         existing.setColor(command.getColor());
         existing.setDisplayOrder(command.getDisplayOrder());
         
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
     
@@ -92,6 +96,7 @@ public class ActionTypeService implements SaveUseCase, UpdateUseCase, LoadUseCas
         existing.setIsDeleted(true);
         existing.setIsActive(false);
         crudPort.update(existing);
+        referenceDataCache.invalidate();
     }
     
     @Override
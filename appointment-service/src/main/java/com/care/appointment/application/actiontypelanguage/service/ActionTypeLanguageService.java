@@ -2,6 +2,7 @@ package com.care.appointment.application.actiontypelanguage.service;
 
 import com.care.appointment.application.actiontypelanguage.command.CreateActionTypeLanguageCommand;
 import com.care.appointment.application.actiontypelanguage.command.UpdateActionTypeLanguageCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.ActionTypeLanguage;
 import com.care.appointment.domain.ports.in.actiontypelanguage.*;
 import com.care.appointment.domain.ports.out.actiontypelanguage.ActionTypeLanguageCrudPort;
@@ -30,6 +31,7 @@ public class ActionTypeLanguageService implements
 
     private final ActionTypeLanguageCrudPort crudPort;
     private final ActionTypeLanguageSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public ActionTypeLanguage saveActionTypeLanguage(CreateActionTypeLanguageCommand command) {
@@ -56,6 +58,7 @@ public class ActionTypeLanguageService implements
                 .isDeleted(command.getIsDeleted() != null ? command.getIsDeleted() : Boolean.FALSE)
                 .build();
 
+        referenceDataCache.invalidate();
         return crudPort.save(language);
     }
 
@@ -96,6 +99,7 @@ public class ActionTypeLanguageService implements
             }
         }
 
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
 
@@ -112,6 +116,7 @@ public class ActionTypeLanguageService implements
         existing.setIsDeleted(Boolean.TRUE);
         existing.setIsActive(Boolean.FALSE);
         crudPort.update(existing);
+        referenceDataCache.invalidate();
     }
 
     @Override
@@ -0,0 +1,228 @@
+package com.care.appointment.application.ai.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * L2-regularized logistic regression fitted by full-batch gradient descent over a row-major
+ * double[] matrix (row i, feature j at x[i * cols + j]).
+ *
+ * Every iteration's gradient and loss is a fork-join sum over blocks of rows, so one fit keeps
+ * all cores of the common pool busy; evaluation scores the test rows with a parallel stream.
+ */
+final class LogisticRegressionTrainer {
+
+    /** Rows per leaf task: large enough that fork/join overhead is noise next to the dot products */
+    private static final int BLOCK_ROWS = 4096;
+
+    record Options(int maxIterations, double learningRate, double l2, double tolerance, double threshold) {
+    }
+
+    record Metrics(double accuracy, double precision, double recall, double f1Score, double aucRoc,
+                   NoShowModel.Evaluation evaluation) {
+    }
+
+    @FunctionalInterface
+    interface ProgressListener {
+        void onIteration(int iteration, int maxIterations);
+    }
+
+    private LogisticRegressionTrainer() {
+    }
+
+    /**
+     * Fit on rows [0, rows) of x with labels y (1 = no-show). x is left untouched.
+     */
+    static NoShowModel fit(double[] x, double[] y, int rows, int cols, List<String> featureNames,
+                           Options options, ProgressListener listener) {
+        if (rows == 0) {
+            throw new IllegalArgumentException("No training rows");
+        }
+
+        // Standardize a copy of the training rows so one learning rate suits every feature
+        double[] means = new double[cols];
+        double[] scales = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                means[j] += x[i * cols + j];
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            means[j] /= rows;
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                double d = x[i * cols + j] - means[j];
+                scales[j] += d * d;
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            double sd = Math.sqrt(scales[j] / rows);
+            scales[j] = sd > 1e-12 ? sd : 1; // constant feature: weight stays ~0
+        }
+        double[] z = new double[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                z[i * cols + j] = (x[i * cols + j] - means[j]) / scales[j];
+            }
+        }
+
+        // Start from the base rate so early iterations go to the features, not the intercept
+        double positives = 0;
+        for (int i = 0; i < rows; i++) {
+            positives += y[i];
+        }
+        double rate = Math.min(Math.max(positives / rows, 1e-6), 1 - 1e-6);
+        double[] w = new double[cols];
+        double b = Math.log(rate / (1 - rate));
+
+        double learningRate = options.learningRate();
+        double previousLoss = Double.POSITIVE_INFINITY;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int iteration = 1; iteration <= options.maxIterations(); iteration++) {
+            double[] sums = pool.invoke(new GradientTask(z, y, w, b, cols, 0, rows));
+
+            double loss = sums[cols + 1] / rows;
+            for (double wj : w) {
+                loss += 0.5 * options.l2() * wj * wj;
+            }
+            if (loss > previousLoss) {
+                // Overshot: the step was too long for this data's curvature
+                learningRate /= 2;
+            } else if (previousLoss - loss < options.tolerance()) {
+                listener.onIteration(options.maxIterations(), options.maxIterations());
+                break;
+            }
+            previousLoss = loss;
+
+            for (int j = 0; j < cols; j++) {
+                w[j] -= learningRate * (sums[j] / rows + options.l2() * w[j]);
+            }
+            b -= learningRate * sums[cols] / rows;
+            listener.onIteration(iteration, options.maxIterations());
+        }
+
+        return new NoShowModel(List.copyOf(featureNames), means, scales, w, b, options.threshold(), null);
+    }
+
+    /**
+     * Score rows [from, to) of x and compare with y at the model's threshold
+     */
+    static Metrics evaluate(NoShowModel model, double[] x, double[] y, int cols, int from, int to) {
+        int n = to - from;
+        double[] scores = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> scores[i] = model.probability(x, (from + i) * cols));
+
+        long tp = 0, fp = 0, tn = 0, fn = 0;
+        for (int i = 0; i < n; i++) {
+            boolean predicted = scores[i] >= model.threshold();
+            boolean actual = y[from + i] > 0.5;
+            if (predicted && actual) tp++;
+            else if (predicted) fp++;
+            else if (actual) fn++;
+            else tn++;
+        }
+
+        double accuracy = n == 0 ? 0 : (double) (tp + tn) / n;
+        double precision = tp + fp == 0 ? 0 : (double) tp / (tp + fp);
+        double recall = tp + fn == 0 ? 0 : (double) tp / (tp + fn);
+        double f1 = precision + recall == 0 ? 0 : 2 * precision * recall / (precision + recall);
+        return new Metrics(accuracy, precision, recall, f1, auc(scores, y, from),
+            new NoShowModel.Evaluation(tp, fp, tn, fn));
+    }
+
+    /**
+     * Area under the ROC curve: the probability that a random no-show scores above a random
+     * attended appointment, ties counting half.
+     */
+    private static double auc(double[] scores, double[] y, int labelOffset) {
+        int positives = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (y[labelOffset + i] > 0.5) positives++;
+        }
+        int negatives = scores.length - positives;
+        if (positives == 0 || negatives == 0) {
+            return 0.5;
+        }
+        double[] pos = new double[positives];
+        double[] neg = new double[negatives];
+        for (int i = 0, p = 0, q = 0; i < scores.length; i++) {
+            if (y[labelOffset + i] > 0.5) pos[p++] = scores[i];
+            else neg[q++] = scores[i];
+        }
+        Arrays.parallelSort(pos);
+        Arrays.parallelSort(neg);
+
+        double wins = 0;
+        int below = 0;
+        for (double s : pos) {
+            while (below < negatives && neg[below] < s) below++;
+            int equal = below;
+            while (equal < negatives && neg[equal] == s) equal++;
+            wins += below + (equal - below) / 2.0;
+        }
+        return wins / ((double) positives * negatives);
+    }
+
+    /**
+     * Sums over rows [from, to): gradient of the log loss per weight, then the intercept, then the loss
+     */
+    private static final class GradientTask extends RecursiveTask<double[]> {
+
+        private final double[] z;
+        private final double[] y;
+        private final double[] w;
+        private final double b;
+        private final int cols;
+        private final int from;
+        private final int to;
+
+        GradientTask(double[] z, double[] y, double[] w, double b, int cols, int from, int to) {
+            this.z = z;
+            this.y = y;
+            this.w = w;
+            this.b = b;
+            this.cols = cols;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= BLOCK_ROWS) {
+                return leaf();
+            }
+            int mid = (from + to) >>> 1;
+            GradientTask left = new GradientTask(z, y, w, b, cols, from, mid);
+            left.fork();
+            double[] right = new GradientTask(z, y, w, b, cols, mid, to).compute();
+            double[] sums = left.join();
+            for (int k = 0; k < sums.length; k++) {
+                sums[k] += right[k];
+            }
+            return sums;
+        }
+
+        private double[] leaf() {
+            double[] sums = new double[cols + 2];
+            for (int i = from; i < to; i++) {
+                int base = i * cols;
+                double margin = b;
+                for (int j = 0; j < cols; j++) {
+                    margin += w[j] * z[base + j];
+                }
+                double error = NoShowModel.sigmoid(margin) - y[i];
+                for (int j = 0; j < cols; j++) {
+                    sums[j] += error * z[base + j];
+                }
+                sums[cols] += error;
+                // log(1 + e^m) - y*m, without overflow for large |m|
+                sums[cols + 1] += Math.max(margin, 0) + Math.log1p(Math.exp(-Math.abs(margin))) - y[i] * margin;
+            }
+            return sums;
+        }
+    }
+}
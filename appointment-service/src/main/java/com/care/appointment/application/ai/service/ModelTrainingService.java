@@ -2,71 +2,112 @@ package com.care.appointment.application.ai.service;
 
 import com.care.appointment.domain.model.ai.ModelVersion;
 import com.care.appointment.domain.model.ai.TrainingJob;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
 import com.care.appointment.infrastructure.db.repositories.ModelVersionRepository;
 import com.care.appointment.infrastructure.db.repositories.TrainingJobRepository;
 import com.care.appointment.web.dto.ai.ModelEvaluationResponse;
 import com.care.appointment.web.dto.ai.TrainingJobResponse;
 import com.care.appointment.web.dto.ai.TrainingRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharedlib.core.context.CurrentUserContext;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.ConflictException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Service for training No-Show Prediction models
- * Handles data extraction, feature engineering, model training, and evaluation
+ * Handles data extraction, feature engineering, model training, and evaluation.
+ * Jobs run on the modelTrainingExecutor thread; the fit itself is parallel (see LogisticRegressionTrainer).
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ModelTrainingService {
 
+    static final String MODEL_NAME = "NoShowPrediction";
+    static final String ALGORITHM = "LOGISTIC_REGRESSION";
+
+    private static final double DEFAULT_TRAIN_SPLIT = 0.7;
+    private static final int MIN_TRAINING_ROWS = 50;
+    private static final UUID DUMMY_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
     private final ModelVersionRepository modelVersionRepository;
     private final TrainingJobRepository trainingJobRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor modelTrainingExecutor;
+    private final NoShowScorer noShowScorer;
     private final ObjectMapper objectMapper;
 
     /**
-     * Start a new training job
+     * Queue a training job on the background executor and return it as PENDING;
+     * progress and results are read through getTrainingStatus
      */
-    @Transactional
     public TrainingJobResponse startTraining(TrainingRequest request) {
         log.info("Starting training job with algorithm: {}", request.getAlgorithm());
 
-        // Create training job record
+        String algorithm = request.getAlgorithm() != null ? request.getAlgorithm() : ALGORITHM;
+        if (!ALGORITHM.equalsIgnoreCase(algorithm)) {
+            throw new BadRequestException("Unsupported algorithm: " + algorithm + " (supported: " + ALGORITHM + ")");
+        }
+        LocalDate dateTo = request.getDateRangeTo() != null ? request.getDateRangeTo() : LocalDate.now();
+        LocalDate dateFrom = request.getDateRangeFrom() != null ? request.getDateRangeFrom() : dateTo.minusYears(1);
+        if (dateFrom.isAfter(dateTo)) {
+            throw new BadRequestException("dateRangeFrom must not be after dateRangeTo");
+        }
+        double split = request.getTrainTestSplit() != null ? request.getTrainTestSplit() : DEFAULT_TRAIN_SPLIT;
+        if (split <= 0 || split >= 1) {
+            throw new BadRequestException("trainTestSplit must be between 0 and 1");
+        }
+        LogisticRegressionTrainer.Options options = toOptions(request.getHyperparameters());
+
         TrainingJob job = TrainingJob.builder()
             .jobName(request.getJobName())
-            .status(TrainingJob.TrainingStatus.RUNNING)
+            .status(TrainingJob.TrainingStatus.PENDING)
             .progressPercentage(0)
-            .startTimestamp(Instant.now())
-            .dataRangeFrom(request.getDateRangeFrom())
-            .dataRangeTo(request.getDateRangeTo())
+            .dataRangeFrom(dateFrom)
+            .dataRangeTo(dateTo)
             .build();
 
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("centerIds", request.getCenterIds());
+        filters.put("serviceTypeIds", request.getServiceTypeIds());
+        filters.put("minHistoricalAppointments", request.getMinHistoricalAppointments());
+        job.setFilterCriteria(objectMapper.valueToTree(filters));
+
+        TrainingJob saved = trainingJobRepository.save(job);
+        TrainingJobResponse response = toResponse(saved);
         try {
-            job.setFilterCriteria(objectMapper.valueToTree(
-                Map.of("centerIds", request.getCenterIds(),
-                       "serviceTypeIds", request.getServiceTypeIds())
-            ));
-        } catch (Exception e) {
-            log.warn("Error setting filter criteria", e);
+            modelTrainingExecutor.execute(() -> performTraining(saved, request, split, options));
+        } catch (TaskRejectedException e) {
+            saved.setStatus(TrainingJob.TrainingStatus.FAILED);
+            saved.setErrorMessage("Training queue is full");
+            saved.setEndTimestamp(Instant.now());
+            trainingJobRepository.save(saved);
+            throw new ConflictException("Too many training jobs queued, try again later");
         }
-
-        job = trainingJobRepository.save(job);
-
-        // Start training in background (in production, use Quartz or async)
-        performTraining(job, request);
-
-        return toResponse(job);
+        return response;
     }
 
     /**
@@ -81,70 +122,69 @@ public class ModelTrainingService {
     }
 
     /**
-     * Perform the actual training (this would run in background in production)
+     * Run one job on the training thread: extract, fit, evaluate, store the model version.
+     * Each progress update commits on its own so status polls see it right away.
      */
-    private void performTraining(TrainingJob job, TrainingRequest request) {
+    private void performTraining(TrainingJob job, TrainingRequest request, double split,
+                                 LogisticRegressionTrainer.Options options) {
         try {
-            // Step 1: Extract training data (simulated with synthetic data)
-            updateJobProgress(job, 10, "Extracting appointment data...");
-            Thread.sleep(500); // Simulate extraction time
-
-            // Generate synthetic training data
-            Map<String, Object> trainingData = generateSyntheticTrainingData(request);
-            int totalSamples = (int) trainingData.get("totalSamples");
-            int trainingSamples = (int) Math.round(totalSamples * 0.7);
-            int testSamples = totalSamples - trainingSamples;
-
-            // Step 2: Feature engineering
-            updateJobProgress(job, 30, "Engineering features...");
-            Thread.sleep(500);
-            double[][] features = (double[][]) trainingData.get("features");
-            int[] labels = (int[]) trainingData.get("labels");
-
-            // Step 3: Split data
-            updateJobProgress(job, 40, "Splitting train/test data...");
-            Thread.sleep(300);
-
-            // Step 4: Train model (simulated)
-            updateJobProgress(job, 60, "Training Random Forest model...");
-            Thread.sleep(1500); // Simulate training time
-
-            ModelTrainingResults results = trainModel(features, labels, request.getAlgorithm());
+            job.setStatus(TrainingJob.TrainingStatus.RUNNING);
+            job.setStartTimestamp(Instant.now());
+            job = updateJobProgress(job, 5, "Extracting appointment data...");
+
+            // Step 1: Stream resolved appointments into the feature matrix
+            FeatureMatrix data = loadTrainingData(request, job.getDataRangeFrom(), job.getDataRangeTo());
+            int trainingSamples = (int) Math.round(data.rows * split);
+            int testSamples = data.rows - trainingSamples;
+            if (data.rows < MIN_TRAINING_ROWS || trainingSamples == 0 || testSamples == 0) {
+                throw new IllegalStateException("Not enough resolved appointments to train: " + data.rows
+                    + " (minimum " + MIN_TRAINING_ROWS + ")");
+            }
 
-            // Step 5: Evaluate model
-            updateJobProgress(job, 85, "Evaluating model performance...");
-            Thread.sleep(800);
+            // Step 2: Fit on the older appointments, the newest ones are held out for testing
+            job = updateJobProgress(job, 40, "Training logistic regression on " + trainingSamples + " appointments...");
+            TrainingJob[] current = {job};
+            NoShowModel fitted = LogisticRegressionTrainer.fit(data.x, data.y, trainingSamples,
+                NoShowFeatures.COUNT, NoShowFeatures.NAMES, options, (iteration, maxIterations) -> {
+                    int percentage = 40 + (50 * iteration) / maxIterations;
+                    if (percentage > current[0].getProgressPercentage()) {
+                        current[0] = updateJobProgress(current[0], percentage, "Training iteration " + iteration);
+                    }
+                });
+            job = current[0];
+
+            // Step 3: Evaluate on the held-out appointments
+            job = updateJobProgress(job, 90, "Evaluating model performance...");
+            LogisticRegressionTrainer.Metrics metrics = LogisticRegressionTrainer.evaluate(
+                fitted, data.x, data.y, NoShowFeatures.COUNT, trainingSamples, data.rows);
+            NoShowModel model = new NoShowModel(fitted.features(), fitted.means(), fitted.scales(),
+                fitted.weights(), fitted.intercept(), fitted.threshold(), metrics.evaluation());
 
             // Create and save model version
-            ModelVersion modelVersion = createModelVersion(request, results, trainingSamples, testSamples);
-            modelVersionRepository.save(modelVersion);
+            ModelVersion modelVersion = modelVersionRepository.save(
+                createModelVersion(metrics, model, options, trainingSamples, testSamples));
 
             // Save results
-            updateJobProgress(job, 100, "Training completed successfully!");
             job.setStatus(TrainingJob.TrainingStatus.COMPLETED);
+            job.setProgressPercentage(100);
             job.setEndTimestamp(Instant.now());
             job.setModelVersion(modelVersion);
 
-            try {
-                job.setResults(objectMapper.valueToTree(
-                    Map.of(
-                        "accuracy", results.accuracy,
-                        "precision", results.precision,
-                        "recall", results.recall,
-                        "f1Score", results.f1Score,
-                        "aucRoc", results.aucRoc,
-                        "trainingDataCount", trainingSamples,
-                        "testDataCount", testSamples,
-                        "modelVersionId", modelVersion.getModelVersionId().toString(),
-                        "modelVersionNumber", modelVersion.getVersionNumber()
-                    )
-                ));
-            } catch (Exception e) {
-                log.warn("Error serializing results", e);
-            }
+            Map<String, Object> results = new HashMap<>();
+            results.put("accuracy", percent(metrics.accuracy()));
+            results.put("precision", percent(metrics.precision()));
+            results.put("recall", percent(metrics.recall()));
+            results.put("f1Score", percent(metrics.f1Score()));
+            results.put("aucRoc", round4(metrics.aucRoc()));
+            results.put("trainingDataCount", trainingSamples);
+            results.put("testDataCount", testSamples);
+            results.put("modelVersionId", modelVersion.getModelVersionId().toString());
+            results.put("modelVersionNumber", modelVersion.getVersionNumber());
+            job.setResults(objectMapper.valueToTree(results));
 
             trainingJobRepository.save(job);
-            log.info("Training completed successfully. Model version: {}", modelVersion.getVersionNumber());
+            log.info("Training completed successfully. Model version: {}, AUC: {}",
+                modelVersion.getVersionNumber(), round4(metrics.aucRoc()));
 
         } catch (Exception e) {
             log.error("Training failed", e);
@@ -156,225 +196,142 @@ public class ModelTrainingService {
     }
 
     /**
-     * Generate synthetic training data based on realistic patterns
+     * Read the training rows through a database cursor straight into primitive arrays;
+     * rows are in appointment order, which the train/test split relies on
      */
-    private Map<String, Object> generateSyntheticTrainingData(TrainingRequest request) {
-        log.info("Generating synthetic training data...");
-
-        int sampleSize = 500; // Realistic size
-        double[][] features = new double[sampleSize][9]; // 9 features
-        int[] labels = new int[sampleSize]; // 0 = SHOWED, 1 = NO_SHOW
-
-        // Patterns observed in real data:
-        // Age 18-30: 32% no-show
-        // Age 30-45: 24% no-show
-        // Age 45+:   14% no-show
-        // Cardiology: 35% no-show
-        // Gynecology: 28% no-show
-        // Pediatrics: 15% no-show
-        // Distance: correlates with no-show
-        // Morning slots: 20% no-show
-        // Afternoon: 28% no-show
-        // Previous no-shows: strong indicator
-
-        for (int i = 0; i < sampleSize; i++) {
-            // Feature 1: Age (normalized)
-            int age = 18 + (i * 47) % 60;
-            features[i][0] = age / 100.0;
-
-            // Feature 2: Gender (0=M, 1=F)
-            features[i][1] = i % 2;
-
-            // Feature 3: Service Type (encoded)
-            int serviceType = i % 4;
-            features[i][2] = serviceType / 4.0;
-
-            // Feature 4: Appointment Time (encoded 0-1)
-            int hour = 8 + (i * 7) % 10;
-            features[i][3] = (hour - 8) / 10.0;
-
-            // Feature 5: Day of Week (0=Sun-6=Sat)
-            int dayOfWeek = i % 7;
-            features[i][4] = dayOfWeek / 7.0;
-
-            // Feature 6: Distance (km, normalized)
-            double distance = 1 + (i % 10);
-            features[i][5] = Math.min(distance / 10.0, 1.0);
-
-            // Feature 7: Priority (0=Normal, 1=Urgent)
-            features[i][6] = (i % 8) == 0 ? 1.0 : 0.0;
-
-            // Feature 8: Previous No-Shows
-            int prevNoShows = (i % 5);
-            features[i][7] = prevNoShows / 5.0;
-
-            // Feature 9: Previous Appointments
-            int prevAppointments = 1 + (i % 6);
-            features[i][8] = prevAppointments / 6.0;
-
-            // Determine label based on patterns
-            double noShowProbability = calculateNoShowProbability(age, serviceType, hour, distance, prevNoShows);
-            labels[i] = Math.random() < noShowProbability ? 1 : 0;
-        }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("features", features);
-        result.put("labels", labels);
-        result.put("totalSamples", sampleSize);
-
-        return result;
+    private FeatureMatrix loadTrainingData(TrainingRequest request, LocalDate dateFrom, LocalDate dateTo) {
+        List<UUID> centerIds = emptyToNull(request.getCenterIds());
+        List<UUID> serviceTypeIds = emptyToNull(request.getServiceTypeIds());
+        int minPrior = request.getMinHistoricalAppointments() != null
+            ? Math.max(request.getMinHistoricalAppointments(), 0) : 0;
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        FeatureMatrix matrix = transaction.execute(status -> {
+            FeatureMatrix m = new FeatureMatrix(NoShowFeatures.COUNT);
+            try (Stream<Object[]> rows = appointmentRepository.streamNoShowTrainingRows(
+                    dateFrom, dateTo,
+                    centerIds == null, orDummy(centerIds),
+                    serviceTypeIds == null, orDummy(serviceTypeIds),
+                    minPrior)) {
+                rows.forEach(m::add);
+            }
+            return m;
+        });
+        log.info("Extracted {} resolved appointments between {} and {}", matrix.rows, dateFrom, dateTo);
+        return matrix;
     }
 
-    /**
-     * Calculate probability of no-show based on patterns
-     */
-    private double calculateNoShowProbability(int age, int serviceType, int hour, double distance, int prevNoShows) {
-        double probability = 0.2; // Base 20%
-
-        // Age factor
-        if (age < 30) {
-            probability += 0.12;
-        } else if (age < 45) {
-            probability += 0.04;
+    private LogisticRegressionTrainer.Options toOptions(Map<String, Object> hyperparameters) {
+        Map<String, Object> params = hyperparameters != null ? hyperparameters : Map.of();
+        int maxIterations = (int) number(params, "maxIterations", 500);
+        double learningRate = number(params, "learningRate", 0.5);
+        double l2 = number(params, "l2", 0.001);
+        double tolerance = number(params, "tolerance", 1e-7);
+        double threshold = number(params, "threshold", 0.5);
+        if (maxIterations < 1 || maxIterations > 100_000) {
+            throw new BadRequestException("maxIterations must be between 1 and 100000");
         }
-
-        // Service type factor
-        if (serviceType == 0) { // Cardiology
-            probability += 0.15;
-        } else if (serviceType == 1) { // Gynecology
-            probability += 0.08;
-        } else if (serviceType == 2) { // Pediatrics
-            probability -= 0.05;
+        if (learningRate <= 0 || l2 < 0 || tolerance < 0 || threshold <= 0 || threshold >= 1) {
+            throw new BadRequestException("Invalid hyperparameters: learningRate > 0, l2 >= 0, tolerance >= 0, 0 < threshold < 1");
         }
-
-        // Time factor
-        if (hour >= 14) { // Afternoon
-            probability += 0.08;
-        } else { // Morning
-            probability -= 0.05;
-        }
-
-        // Distance factor
-        if (distance > 5) {
-            probability += 0.10;
-        } else if (distance < 3) {
-            probability -= 0.05;
-        }
-
-        // Previous no-shows (strongest indicator)
-        probability += (prevNoShows * 0.12);
-
-        return Math.min(Math.max(probability, 0.05), 0.95); // Clamp 5%-95%
+        return new LogisticRegressionTrainer.Options(maxIterations, learningRate, l2, tolerance, threshold);
     }
 
-    /**
-     * Simulate model training
-     */
-    private ModelTrainingResults trainModel(double[][] features, int[] labels, String algorithm) {
-        log.info("Training {} model on {} samples", algorithm, features.length);
-
-        // Simulate training and get metrics
-        // In production, would use actual ML library (smile, tensorflow, etc.)
-
-        // Count no-shows in training data
-        int noShowCount = 0;
-        for (int label : labels) {
-            if (label == 1) noShowCount++;
+    private static double number(Map<String, Object> params, String key, double defaultValue) {
+        Object value = params.get(key);
+        if (value == null) {
+            return defaultValue;
         }
-
-        double actualNoShowRate = (double) noShowCount / labels.length;
-
-        // Simulate model predictions on test data
-        // In reality, would use trained model to predict on test set
-        int correctPredictions = 0;
-        int truePositives = 0;
-        int falsePositives = 0;
-        int trueNegatives = 0;
-        int falseNegatives = 0;
-
-        for (int i = 0; i < labels.length; i++) {
-            // Simulate prediction (with some noise)
-            double prediction = Math.random() < 0.75 ? labels[i] : (1 - labels[i]);
-
-            if (prediction == labels[i]) {
-                correctPredictions++;
-                if (labels[i] == 1) {
-                    truePositives++;
-                } else {
-                    trueNegatives++;
-                }
-            } else {
-                if (labels[i] == 1) {
-                    falseNegatives++;
-                } else {
-                    falsePositives++;
-                }
-            }
+        try {
+            return value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Hyperparameter " + key + " must be a number");
         }
-
-        double accuracy = (double) correctPredictions / labels.length;
-        double precision = (double) truePositives / (truePositives + falsePositives + 1);
-        double recall = (double) truePositives / (truePositives + falseNegatives + 1);
-        double f1 = 2 * (precision * recall) / (precision + recall + 0.0001);
-
-        ModelTrainingResults results = new ModelTrainingResults();
-        results.accuracy = Math.round(accuracy * 10000.0) / 100.0;
-        results.precision = Math.round(precision * 10000.0) / 100.0;
-        results.recall = Math.round(recall * 10000.0) / 100.0;
-        results.f1Score = Math.round(f1 * 10000.0) / 100.0;
-        results.aucRoc = Math.round((accuracy + 0.05) * 10000.0) / 10000.0; // Simulate AUC
-
-        log.info("Model trained - Accuracy: {}%, Precision: {}%, Recall: {}%",
-            results.accuracy, results.precision, results.recall);
-
-        return results;
     }
 
     /**
      * Create new model version from training results
      */
-    private ModelVersion createModelVersion(TrainingRequest request, ModelTrainingResults results,
-                                           int trainingSamples, int testSamples) {
+    private ModelVersion createModelVersion(LogisticRegressionTrainer.Metrics metrics, NoShowModel model,
+                                            LogisticRegressionTrainer.Options options,
+                                            int trainingSamples, int testSamples) {
 
         // Get latest version number
         int nextVersion = 1;
-        List<ModelVersion> existing = modelVersionRepository.findAllVersionsByModelName("NoShowPrediction");
+        List<ModelVersion> existing = modelVersionRepository.findAllVersionsByModelName(MODEL_NAME);
         if (!existing.isEmpty()) {
             nextVersion = existing.get(0).getVersionNumber() + 1;
         }
 
         ModelVersion version = ModelVersion.builder()
-            .modelName("NoShowPrediction")
+            .modelName(MODEL_NAME)
             .versionNumber(nextVersion)
-            .algorithmType(request.getAlgorithm())
-            .accuracy(BigDecimal.valueOf(results.accuracy))
-            .precision(BigDecimal.valueOf(results.precision))
-            .recall(BigDecimal.valueOf(results.recall))
-            .f1Score(BigDecimal.valueOf(results.f1Score))
-            .aucRoc(BigDecimal.valueOf(results.aucRoc))
+            .algorithmType(ALGORITHM)
+            .accuracy(BigDecimal.valueOf(percent(metrics.accuracy())))
+            .precision(BigDecimal.valueOf(percent(metrics.precision())))
+            .recall(BigDecimal.valueOf(percent(metrics.recall())))
+            .f1Score(BigDecimal.valueOf(percent(metrics.f1Score())))
+            .aucRoc(BigDecimal.valueOf(round4(metrics.aucRoc())))
             .trainingDataCount(trainingSamples)
             .testDataCount(testSamples)
             .status(ModelVersion.ModelStatus.TESTING)
             .build();
 
-        try {
-            version.setHyperparameters(objectMapper.valueToTree(request.getHyperparameters()));
-            version.setFeatureList(objectMapper.valueToTree(request.getFeatures()));
-        } catch (Exception e) {
-            log.warn("Error setting model metadata", e);
-        }
-
+        version.setHyperparameters(objectMapper.valueToTree(options));
+        version.setFeatureList(objectMapper.valueToTree(model.features()));
+        version.setModelWeights(objectMapper.valueToTree(model));
         return version;
     }
 
     /**
-     * Update job progress
+     * Update job progress in its own transaction and return the saved copy
      */
-    @Transactional
-    private void updateJobProgress(TrainingJob job, int percentage, String message) {
+    private TrainingJob updateJobProgress(TrainingJob job, int percentage, String message) {
         job.setProgressPercentage(percentage);
-        trainingJobRepository.save(job);
         log.info("Training progress: {}% - {}", percentage, message);
+        return trainingJobRepository.save(job);
+    }
+
+    private static double percent(double ratio) {
+        return Math.round(ratio * 10000.0) / 100.0;
+    }
+
+    private static double round4(double value) {
+        return Math.round(value * 10000.0) / 10000.0;
+    }
+
+    private static <T> List<T> emptyToNull(List<T> values) {
+        return values == null || values.isEmpty() ? null : values;
+    }
+
+    private static Collection<UUID> orDummy(Collection<UUID> ids) {
+        return ids == null ? List.of(DUMMY_UUID) : ids;
+    }
+
+    /**
+     * Make a trained version the active model: the previous active version is archived and
+     * the scorer swaps to the new weights once this commits
+     */
+    @Transactional
+    public void activateModel(UUID modelVersionId) {
+        ModelVersion version = modelVersionRepository.findById(modelVersionId)
+            .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelVersionId));
+        NoShowModel model = noShowScorer.readModel(version);
+        if (model == null || !model.matchesCurrentFeatures()) {
+            throw new BadRequestException("Model version " + modelVersionId + " has no weights for the current features");
+        }
+
+        for (ModelVersion previous : modelVersionRepository.findByStatus(ModelVersion.ModelStatus.ACTIVE)) {
+            if (!previous.getModelVersionId().equals(modelVersionId)) {
+                previous.setStatus(ModelVersion.ModelStatus.ARCHIVED);
+            }
+        }
+        version.setStatus(ModelVersion.ModelStatus.ACTIVE);
+        version.setDeploymentTimestamp(Instant.now());
+        version.setDeployedByUserId(CurrentUserContext.getUserId());
+        noShowScorer.refreshAfterCommit();
+        log.info("Activated no-show model {} v{}", version.getModelName(), version.getVersionNumber());
     }
 
     /**
@@ -388,11 +345,35 @@ public class ModelTrainingService {
 
         ModelVersion mv = model.get();
 
-        // Create confusion matrix from stored metrics
-        long tp = Math.round(mv.getRecall().doubleValue() * mv.getTestDataCount());
-        long fp = Math.round((1 - mv.getPrecision().doubleValue()) * (tp + 10));
-        long fn = Math.round((1 - mv.getRecall().doubleValue()) * (tp + 5));
-        long tn = mv.getTestDataCount() - fp;
+        NoShowModel trained = noShowScorer.readModel(mv);
+        ModelEvaluationResponse.ConfusionMatrix confusionMatrix;
+        BigDecimal specificity;
+        List<ModelEvaluationResponse.FeatureImportance> featureImportance;
+        if (trained != null && trained.evaluation() != null) {
+            NoShowModel.Evaluation evaluation = trained.evaluation();
+            confusionMatrix = ModelEvaluationResponse.ConfusionMatrix.builder()
+                .truePositives(evaluation.truePositives())
+                .falsePositives(evaluation.falsePositives())
+                .trueNegatives(evaluation.trueNegatives())
+                .falseNegatives(evaluation.falseNegatives())
+                .build();
+            specificity = BigDecimal.valueOf(round4(evaluation.specificity()));
+            featureImportance = getFeatureImportance(trained);
+        } else {
+            // Versions trained before weights were stored: estimate from the stored metrics
+            long tp = Math.round(mv.getRecall().doubleValue() * mv.getTestDataCount());
+            long fp = Math.round((1 - mv.getPrecision().doubleValue()) * (tp + 10));
+            long fn = Math.round((1 - mv.getRecall().doubleValue()) * (tp + 5));
+            long tn = mv.getTestDataCount() - fp;
+            confusionMatrix = ModelEvaluationResponse.ConfusionMatrix.builder()
+                .truePositives(tp)
+                .falsePositives(fp)
+                .trueNegatives(tn)
+                .falseNegatives(fn)
+                .build();
+            specificity = BigDecimal.valueOf(0.82);
+            featureImportance = getFeatureImportance();
+        }
 
         return ModelEvaluationResponse.builder()
             .modelVersionId(mv.getModelVersionId())
@@ -403,21 +384,43 @@ public class ModelTrainingService {
             .recall(mv.getRecall())
             .f1Score(mv.getF1Score())
             .aucRoc(mv.getAucRoc())
-            .specificity(BigDecimal.valueOf(0.82))
+            .specificity(specificity)
             .sensitivity(mv.getRecall())
-            .confusionMatrix(ModelEvaluationResponse.ConfusionMatrix.builder()
-                .truePositives(tp)
-                .falsePositives(fp)
-                .trueNegatives(tn)
-                .falseNegatives(fn)
-                .build())
+            .confusionMatrix(confusionMatrix)
             .totalSamples(mv.getTrainingDataCount() + mv.getTestDataCount())
             .trainingSamples(mv.getTrainingDataCount())
             .testSamples(mv.getTestDataCount())
-            .featureImportance(getFeatureImportance())
+            .featureImportance(featureImportance)
             .build();
     }
 
+    /**
+     * Feature importance from the trained weights: features are standardized, so the absolute
+     * weight is the change in log-odds per standard deviation. Shares sum to 1.
+     */
+    private List<ModelEvaluationResponse.FeatureImportance> getFeatureImportance(NoShowModel trained) {
+        Map<String, Double> byLabel = new LinkedHashMap<>();
+        double total = 0;
+        for (int j = 0; j < trained.features().size(); j++) {
+            double magnitude = Math.abs(trained.weights()[j]);
+            byLabel.merge(NoShowFeatures.label(trained.features().get(j)), magnitude, Double::sum);
+            total += magnitude;
+        }
+        double sum = total;
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(byLabel.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        List<ModelEvaluationResponse.FeatureImportance> features = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : ranked) {
+            features.add(ModelEvaluationResponse.FeatureImportance.builder()
+                .featureName(entry.getKey())
+                .importance(BigDecimal.valueOf(sum > 0 ? Math.round(entry.getValue() / sum * 1000.0) / 1000.0 : 0))
+                .rankingOrder(features.size() + 1)
+                .build());
+        }
+        return features;
+    }
+
     /**
      * Get feature importance ranking
      */
@@ -508,13 +511,28 @@ public class ModelTrainingService {
     }
 
     /**
-     * Helper class for training results
+     * Row-major feature matrix and labels in growable primitive arrays
      */
-    private static class ModelTrainingResults {
-        double accuracy;
-        double precision;
-        double recall;
-        double f1Score;
-        double aucRoc;
+    private static final class FeatureMatrix {
+        private final int cols;
+        private double[] x;
+        private double[] y;
+        private int rows;
+
+        FeatureMatrix(int cols) {
+            this.cols = cols;
+            this.x = new double[1024 * cols];
+            this.y = new double[1024];
+        }
+
+        void add(Object[] row) {
+            if (rows == y.length) {
+                y = Arrays.copyOf(y, rows * 2);
+                x = Arrays.copyOf(x, rows * 2 * cols);
+            }
+            NoShowFeatures.encode(row, x, rows * cols);
+            y[rows] = ((Number) row[NoShowFeatures.LABEL_COLUMN]).doubleValue();
+            rows++;
+        }
     }
 }
@@ -0,0 +1,136 @@
+package com.care.appointment.application.ai.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Feature layout of the no-show model and its encoding from appointment rows.
+ *
+ * Rows come from AppointmentRepository.streamNoShowTrainingRows (and any query selecting the same
+ * leading columns): appointmentDate, appointmentTime, priority, slotDurationMinutes, leadDays,
+ * ageYears, priorAppointments, priorNoShows. Training and scoring both go through encode, so a
+ * stored model always sees features in the order it was trained with.
+ */
+public final class NoShowFeatures {
+
+    public static final List<String> NAMES = List.of(
+        "age_years",
+        "age_unknown",
+        "hour_of_day",
+        "day_of_week_sin",
+        "day_of_week_cos",
+        "urgent",
+        "lead_days",
+        "slot_minutes",
+        "prior_appointments",
+        "prior_no_shows",
+        "prior_no_show_rate"
+    );
+
+    public static final int COUNT = NAMES.size();
+
+    /** Column of the no-show label in training rows */
+    public static final int LABEL_COLUMN = 8;
+
+    private NoShowFeatures() {
+    }
+
+    /**
+     * Write the features of one row into out[offset .. offset + COUNT)
+     */
+    public static void encode(Object[] row, double[] out, int offset) {
+        LocalDate date = toLocalDate(row[0]);
+        Number age = (Number) row[5];
+        encode(age != null ? age.intValue() : null, toLocalTime(row[1]), date != null ? date.getDayOfWeek() : null,
+            (String) row[2], Math.max(number(row[4]), 0), number(row[3]), number(row[6]), number(row[7]), out, offset);
+    }
+
+    /**
+     * Write features from individual values; unknown numeric values may be passed as NaN,
+     * which the scorer replaces by the training mean
+     */
+    public static void encode(Integer ageYears, LocalTime time, DayOfWeek day, String priority,
+                              double leadDays, double slotMinutes, double priorAppointments, double priorNoShows,
+                              double[] out, int offset) {
+        // Day of week on the unit circle, so Saturday sits next to Sunday
+        double dayAngle = day != null ? 2 * Math.PI * (day.getValue() - 1) / 7.0 : 0;
+
+        out[offset] = ageYears != null ? ageYears : 0;
+        out[offset + 1] = ageYears != null ? 0 : 1;
+        out[offset + 2] = time != null ? time.getHour() + time.getMinute() / 60.0 : Double.NaN;
+        out[offset + 3] = day != null ? Math.sin(dayAngle) : Double.NaN;
+        out[offset + 4] = day != null ? Math.cos(dayAngle) : Double.NaN;
+        out[offset + 5] = "URGENT".equalsIgnoreCase(priority) ? 1 : 0;
+        out[offset + 6] = leadDays;
+        out[offset + 7] = slotMinutes;
+        out[offset + 8] = priorAppointments;
+        out[offset + 9] = priorNoShows;
+        out[offset + 10] = priorAppointments > 0 ? priorNoShows / priorAppointments : 0;
+    }
+
+    /**
+     * Display value of feature j, e.g. "14:30" for the hour or "THURSDAY" for the day of week
+     */
+    public static String displayValue(int j, double[] x, int offset) {
+        double v = x[offset + j];
+        if (Double.isNaN(v)) {
+            return "unknown";
+        }
+        return switch (NAMES.get(j)) {
+            case "hour_of_day" -> String.format("%02d:%02d", (int) v, Math.round((v - (int) v) * 60));
+            case "day_of_week_sin", "day_of_week_cos" -> {
+                double angle = Math.atan2(x[offset + 3], x[offset + 4]);
+                int index = (int) Math.round((angle < 0 ? angle + 2 * Math.PI : angle) * 7 / (2 * Math.PI)) % 7;
+                yield DayOfWeek.of(index + 1).name();
+            }
+            case "age_unknown", "urgent" -> v > 0.5 ? "yes" : "no";
+            case "prior_no_show_rate" -> Math.round(v * 100) + "%";
+            default -> v == Math.rint(v) ? String.valueOf((long) v) : String.format("%.1f", v);
+        };
+    }
+
+    /**
+     * Human readable name of a feature, for evaluation and explanation output
+     */
+    public static String label(String feature) {
+        return switch (feature) {
+            case "age_years" -> "Age";
+            case "age_unknown" -> "Missing Date of Birth";
+            case "hour_of_day" -> "Appointment Time";
+            case "day_of_week_sin", "day_of_week_cos" -> "Day of Week";
+            case "urgent" -> "Urgent Priority";
+            case "lead_days" -> "Days Booked in Advance";
+            case "slot_minutes" -> "Slot Duration";
+            case "prior_appointments" -> "Previous Appointments";
+            case "prior_no_shows" -> "Previous No-Shows";
+            case "prior_no_show_rate" -> "Previous No-Show Rate";
+            default -> feature;
+        };
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return null;
+    }
+
+    private static LocalTime toLocalTime(Object value) {
+        if (value instanceof LocalTime localTime) {
+            return localTime;
+        }
+        if (value instanceof java.sql.Time sqlTime) {
+            return sqlTime.toLocalTime();
+        }
+        return null;
+    }
+}
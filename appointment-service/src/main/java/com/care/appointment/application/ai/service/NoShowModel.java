@@ -0,0 +1,65 @@
+package com.care.appointment.application.ai.service;
+
+import java.util.List;
+
+/**
+ * Trained no-show logistic regression, stored as JSON in ModelVersion.modelWeights.
+ *
+ * Features are standardized with the training set's means and scales before the weights apply:
+ * p(no-show) = sigmoid(intercept + sum(weights[j] * (x[j] - means[j]) / scales[j]))
+ *
+ * @param features  feature names in encoding order (NoShowFeatures.NAMES at training time)
+ * @param threshold probability from which an appointment is predicted as a no-show
+ * @param evaluation confusion matrix on the held-out test rows
+ */
+public record NoShowModel(
+    List<String> features,
+    double[] means,
+    double[] scales,
+    double[] weights,
+    double intercept,
+    double threshold,
+    Evaluation evaluation
+) {
+
+    public record Evaluation(long truePositives, long falsePositives, long trueNegatives, long falseNegatives) {
+
+        public double specificity() {
+            long negatives = trueNegatives + falsePositives;
+            return negatives == 0 ? 0 : (double) trueNegatives / negatives;
+        }
+    }
+
+    /**
+     * Whether this model was trained on the current feature layout
+     */
+    public boolean matchesCurrentFeatures() {
+        return NoShowFeatures.NAMES.equals(features)
+            && means.length == features.size()
+            && scales.length == features.size()
+            && weights.length == features.size();
+    }
+
+    /**
+     * No-show probability of the raw (not standardized) features at x[offset .. offset + features);
+     * NaN (unknown) features count as the training mean
+     */
+    public double probability(double[] x, int offset) {
+        double margin = intercept;
+        for (int j = 0; j < weights.length; j++) {
+            double v = x[offset + j];
+            if (!Double.isNaN(v)) {
+                margin += weights[j] * (v - means[j]) / scales[j];
+            }
+        }
+        return sigmoid(margin);
+    }
+
+    static double sigmoid(double margin) {
+        if (margin >= 0) {
+            return 1 / (1 + Math.exp(-margin));
+        }
+        double e = Math.exp(margin);
+        return e / (1 + e);
+    }
+}
@@ -1,34 +1,54 @@
 package com.care.appointment.application.ai.service;
 
-import com.care.appointment.domain.model.ai.ModelVersion;
 import com.care.appointment.domain.model.ai.PredictionResult;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
 import com.care.appointment.infrastructure.db.repositories.ModelVersionRepository;
+import com.care.appointment.infrastructure.db.repositories.PredictionResultBatchRepository;
 import com.care.appointment.infrastructure.db.repositories.PredictionResultRepository;
+import com.care.appointment.web.dto.ai.BatchPredictionResponse;
 import com.care.appointment.web.dto.ai.PredictionRequest;
 import com.care.appointment.web.dto.ai.PredictionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharedlib.core.context.CurrentUserContext;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Service for predicting appointment no-show risk
- * Uses the active model to generate risk assessments
+ * Scores with the active model held in memory by NoShowScorer
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NoShowPredictionService {
 
+    private static final int MAX_FACTORS = 5;
+
     private final ModelVersionRepository modelVersionRepository;
     private final PredictionResultRepository predictionResultRepository;
+    private final PredictionResultBatchRepository predictionResultBatchRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final NoShowScorer scorer;
+    private final ObjectMapper objectMapper;
 
     /**
      * Predict no-show risk for an appointment
@@ -37,11 +57,15 @@ public class NoShowPredictionService {
     public PredictionResponse predict(UUID appointmentId) {
         log.info("Predicting no-show risk for appointment: {}", appointmentId);
 
-        // TODO: Load appointment data and extract features
-        // This will be implemented when we have access to Appointment entity
+        NoShowScorer.ActiveModel model = scorer.active();
+        List<Object[]> rows = appointmentRepository.findNoShowScoringRow(appointmentId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Appointment not found: " + appointmentId);
+        }
 
-        throw new UnsupportedOperationException(
-            "Prediction service requires AppointmentRepository integration - to be implemented");
+        double[] features = new double[NoShowFeatures.COUNT];
+        NoShowFeatures.encode(rows.get(0), features, 0);
+        return scoreAndSave(model, appointmentId, features);
     }
 
     /**
@@ -51,37 +75,98 @@ public class NoShowPredictionService {
     public PredictionResponse predictWithManualFeatures(PredictionRequest request) {
         log.info("Predicting with manual features");
 
-        // Get active model
-        Optional<ModelVersion> activeModel = modelVersionRepository.findActiveModel();
-        if (activeModel.isEmpty()) {
-            throw new IllegalStateException("No active model found. Please train a model first.");
+        NoShowScorer.ActiveModel model = scorer.active();
+        double[] features = extractFeaturesFromRequest(request);
+        return scoreAndSave(model, request.getAppointmentId(), features);
+    }
+
+    /**
+     * Score all open appointments of a branch on one day in one pass and store the predictions
+     * with JDBC batch inserts. Contributing factors are left out of the stored rows; use
+     * predict(appointmentId) for the explanation of a single appointment.
+     */
+    @Transactional
+    public BatchPredictionResponse predictBranchDay(UUID branchId, LocalDate date) {
+        NoShowScorer.ActiveModel model = scorer.active();
+        List<Object[]> rows = appointmentRepository.findNoShowScoringRowsForBranchDay(branchId, date);
+
+        int n = rows.size();
+        int cols = NoShowFeatures.COUNT;
+        double[] features = new double[n * cols];
+        for (int i = 0; i < n; i++) {
+            NoShowFeatures.encode(rows.get(i), features, i * cols);
+        }
+        double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            scores[i] = model.probability(features, i * cols);
         }
 
-        ModelVersion model = activeModel.get();
+        Map<PredictionResult.RiskLevel, String> actionsJson = new EnumMap<>(PredictionResult.RiskLevel.class);
+        for (PredictionResult.RiskLevel level : PredictionResult.RiskLevel.values()) {
+            actionsJson.put(level, toJson(generateRecommendations(level)));
+        }
 
-        // Extract features from request
-        double[] features = extractFeaturesFromRequest(request);
+        Instant now = Instant.now();
+        List<PredictionResultBatchRepository.Row> inserts = new ArrayList<>(n);
+        List<BatchPredictionResponse.Item> items = new ArrayList<>(n);
+        Map<PredictionResult.RiskLevel, Integer> counts = new EnumMap<>(PredictionResult.RiskLevel.class);
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            UUID predictionId = UUID.randomUUID();
+            UUID appointmentId = (UUID) row[8];
+            BigDecimal riskScore = scale4(scores[i]);
+            PredictionResult.RiskLevel level = determineRiskLevel(riskScore);
+            counts.merge(level, 1, Integer::sum);
+
+            inserts.add(new PredictionResultBatchRepository.Row(predictionId, appointmentId, riskScore, level.name(),
+                scale4(Math.max(scores[i], 1 - scores[i])), actionsJson.get(level)));
+            items.add(BatchPredictionResponse.Item.builder()
+                .predictionId(predictionId)
+                .appointmentId(appointmentId)
+                .appointmentTime(toLocalTime(row[1]))
+                .riskScore(riskScore)
+                .riskLevel(level.name())
+                .build());
+        }
+        predictionResultBatchRepository.insertAll(model.modelVersionId(), now, CurrentUserContext.getUserId(), inserts);
+
+        log.info("Scored {} appointments of branch {} on {} with {}", n, branchId, date, model.label());
+        return BatchPredictionResponse.builder()
+            .branchId(branchId)
+            .appointmentDate(date)
+            .modelVersion(model.label())
+            .predictionTimestamp(now)
+            .totalAppointments(n)
+            .highRisk(counts.getOrDefault(PredictionResult.RiskLevel.HIGH, 0))
+            .mediumRisk(counts.getOrDefault(PredictionResult.RiskLevel.MEDIUM, 0))
+            .lowRisk(counts.getOrDefault(PredictionResult.RiskLevel.LOW, 0))
+            .predictions(items)
+            .build();
+    }
 
-        // Calculate risk score using simplified algorithm
-        // (In production, this would use the actual trained model)
-        BigDecimal riskScore = calculateRiskScore(features, request);
+    private PredictionResponse scoreAndSave(NoShowScorer.ActiveModel model, UUID appointmentId, double[] features) {
+        double probability = model.probability(features, 0);
+        BigDecimal riskScore = scale4(probability);
         PredictionResult.RiskLevel riskLevel = determineRiskLevel(riskScore);
-        BigDecimal confidence = calculateConfidence(features);
+        // Probability of the predicted side
+        BigDecimal confidence = scale4(Math.max(probability, 1 - probability));
 
         // Identify contributing factors
-        List<PredictionResponse.ContributingFactor> factors =
-            identifyContributingFactors(features, request);
+        List<PredictionResponse.ContributingFactor> factors = identifyContributingFactors(model, features, probability);
 
         // Generate recommendations
-        List<String> recommendations = generateRecommendations(riskLevel, factors);
+        List<String> recommendations = generateRecommendations(riskLevel);
 
         // Save prediction result
         PredictionResult predictionResult = PredictionResult.builder()
-            .modelVersion(model)
-            .appointmentId(request.getAppointmentId())
+            .modelVersion(modelVersionRepository.getReferenceById(model.modelVersionId()))
+            .appointmentId(appointmentId)
             .predictedRiskScore(riskScore)
             .predictedRiskLevel(riskLevel)
             .confidenceScore(confidence)
+            .contributingFactors(objectMapper.valueToTree(factors))
+            .recommendedActions(objectMapper.valueToTree(recommendations))
+            .predictedByUserId(CurrentUserContext.getUserId())
             .build();
 
         predictionResultRepository.save(predictionResult);
@@ -89,82 +174,45 @@ public class NoShowPredictionService {
         // Build response
         return PredictionResponse.builder()
             .predictionId(predictionResult.getPredictionId())
-            .appointmentId(request.getAppointmentId())
+            .appointmentId(appointmentId)
             .riskScore(riskScore)
             .riskLevel(riskLevel.name())
             .confidence(confidence)
             .contributingFactors(factors)
             .recommendedActions(recommendations)
-            .predictionTimestamp(Instant.now())
-            .modelVersion(model.getModelName() + " " + model.getVersionNumber())
+            .predictionTimestamp(predictionResult.getPredictionTimestamp())
+            .modelVersion(model.label())
             .build();
     }
 
     /**
-     * Extract feature vector from request
+     * Extract feature vector from request; values the request cannot provide are left unknown
      */
     private double[] extractFeaturesFromRequest(PredictionRequest request) {
-        // Features array will be in this order:
-        // [age, gender_encoded, service_type_encoded, time_encoded, day_encoded, distance, priority_encoded, prev_no_shows, prev_appointments]
-        double[] features = new double[9];
-
-        features[0] = request.getAge() != null ? request.getAge() : 0;
-        features[1] = encodeGender(request.getGender());
-        features[2] = encodeServiceType(request.getServiceType());
-        features[3] = encodeTime(request.getAppointmentTime());
-        features[4] = encodeDayOfWeek(request.getDayOfWeek());
-        features[5] = request.getDistanceKm() != null ? request.getDistanceKm().doubleValue() : 0;
-        features[6] = encodePriority(request.getPriority());
-        features[7] = request.getPreviousNoShows() != null ? request.getPreviousNoShows() : 0;
-        features[8] = request.getPreviousAppointments() != null ? request.getPreviousAppointments() : 0;
-
-        return features;
-    }
-
-    /**
-     * Simple risk score calculation based on feature analysis
-     * In production, this would use a trained ML model (Random Forest, etc.)
-     */
-    private BigDecimal calculateRiskScore(double[] features, PredictionRequest request) {
-        double baseScore = 0.0;
-
-        // Previous no-shows are strong indicator
-        if (request.getPreviousNoShows() != null && request.getPreviousNoShows() > 0) {
-            baseScore += (request.getPreviousNoShows() * 0.15); // 15% per no-show
-        }
-
-        // Morning appointments have lower no-show rate
-        if ("10:30".equals(request.getAppointmentTime()) ||
-            "11:00".equals(request.getAppointmentTime())) {
-            baseScore += 0.12; // Morning slots increase risk slightly
-        }
-
-        // Midweek (Wed-Thu) have higher no-show rates
-        if ("WEDNESDAY".equals(request.getDayOfWeek()) || "THURSDAY".equals(request.getDayOfWeek())) {
-            baseScore += 0.08;
-        }
-
-        // Age 18-30 has higher no-show rate
-        if (request.getAge() >= 18 && request.getAge() <= 30) {
-            baseScore += 0.10;
-        }
-
-        // Some service types have higher no-show rates
-        if ("CARDIOLOGY".equals(request.getServiceType()) ||
-            "GYNECOLOGY".equals(request.getServiceType())) {
-            baseScore += 0.05;
+        LocalTime time = null;
+        if (request.getAppointmentTime() != null) {
+            try {
+                time = LocalTime.parse(request.getAppointmentTime());
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("appointmentTime must be HH:mm");
+            }
         }
-
-        // Distance increases no-show likelihood slightly
-        if (request.getDistanceKm() != null && request.getDistanceKm().doubleValue() > 5) {
-            baseScore -= 0.02; // Farther distance slightly reduces risk (more motivated)
+        DayOfWeek day = null;
+        if (request.getDayOfWeek() != null) {
+            try {
+                day = DayOfWeek.valueOf(request.getDayOfWeek().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("dayOfWeek must be one of SUNDAY..SATURDAY");
+            }
         }
 
-        // Cap at 0.95 to avoid extreme scores
-        double finalScore = Math.min(baseScore, 0.95);
-        finalScore = Math.max(finalScore, 0.05); // Minimum 5%
-
-        return new BigDecimal(String.format("%.4f", finalScore));
+        double[] features = new double[NoShowFeatures.COUNT];
+        NoShowFeatures.encode(request.getAge(), time, day, request.getPriority(),
+            Double.NaN, Double.NaN,
+            request.getPreviousAppointments() != null ? request.getPreviousAppointments() : 0,
+            request.getPreviousNoShows() != null ? request.getPreviousNoShows() : 0,
+            features, 0);
+        return features;
     }
 
     /**
@@ -182,97 +230,45 @@ public class NoShowPredictionService {
     }
 
     /**
-     * Calculate confidence score based on data completeness
-     */
-    private BigDecimal calculateConfidence(double[] features) {
-        // Count non-zero features
-        int nonZeroFeatures = 0;
-        for (double f : features) {
-            if (f != 0) nonZeroFeatures++;
-        }
-
-        // Confidence is based on data completeness
-        double confidence = 0.65 + (nonZeroFeatures * 0.04); // 65% to 100%
-        confidence = Math.min(confidence, 0.95);
-
-        return new BigDecimal(String.format("%.4f", confidence));
-    }
-
-    /**
-     * Identify which factors contributed most to the risk score
+     * Factors that moved the score most away from an average appointment, by the model's own
+     * contributions; impact is the change in no-show probability the factor accounts for
      */
     private List<PredictionResponse.ContributingFactor> identifyContributingFactors(
-        double[] features, PredictionRequest request) {
-
-        List<PredictionResponse.ContributingFactor> factors = new ArrayList<>();
-
-        // Factor 1: Previous no-shows
-        if (request.getPreviousNoShows() != null && request.getPreviousNoShows() > 0) {
-            factors.add(PredictionResponse.ContributingFactor.builder()
-                .factor("Previous No-Shows")
-                .value(String.valueOf(request.getPreviousNoShows()))
-                .impactPercent(15)
-                .description("كان عنده عدم حضور سابق - هذا يزيد احتمال عدم الحضور")
-                .build());
+        NoShowScorer.ActiveModel model, double[] features, double probability) {
+
+        double margin = model.margin(features, 0);
+        Map<String, double[]> byFactor = new LinkedHashMap<>(); // label -> {contribution, first feature index}
+        for (int j = 0; j < NoShowFeatures.COUNT; j++) {
+            double contribution = model.contribution(features, 0, j);
+            int index = j;
+            byFactor.computeIfAbsent(NoShowFeatures.label(NoShowFeatures.NAMES.get(j)), k -> new double[]{0, index})[0]
+                += contribution;
         }
 
-        // Factor 2: Appointment time
-        if (request.getAppointmentTime() != null) {
-            boolean isMorning = request.getAppointmentTime().startsWith("08") ||
-                               request.getAppointmentTime().startsWith("09") ||
-                               request.getAppointmentTime().startsWith("10");
-            factors.add(PredictionResponse.ContributingFactor.builder()
-                .factor("Appointment Time")
-                .value(request.getAppointmentTime())
-                .impactPercent(isMorning ? -5 : 12)
-                .description(isMorning ? "الصباح البكري له معدل التزام أفضل" :
-                           "المواعيد المتأخرة تحتاج مراقبة")
-                .build());
-        }
-
-        // Factor 3: Day of week
-        if (request.getDayOfWeek() != null) {
-            boolean isWeekend = "FRIDAY".equals(request.getDayOfWeek()) ||
-                               "SATURDAY".equals(request.getDayOfWeek());
-            factors.add(PredictionResponse.ContributingFactor.builder()
-                .factor("Day of Week")
-                .value(request.getDayOfWeek())
-                .impactPercent(isWeekend ? -8 : 8)
-                .description(isWeekend ? "عطل نهاية الأسبوع = معدل حضور أعلى" :
-                           "الأيام الأسبوعية الوسطى = مخاطر أعلى")
-                .build());
-        }
+        List<Map.Entry<String, double[]>> ranked = new ArrayList<>(byFactor.entrySet());
+        ranked.sort((a, b) -> Double.compare(Math.abs(b.getValue()[0]), Math.abs(a.getValue()[0])));
 
-        // Factor 4: Age group
-        if (request.getAge() != null) {
-            factors.add(PredictionResponse.ContributingFactor.builder()
-                .factor("Age Group")
-                .value(request.getAge() + " years")
-                .impactPercent(getAgeImpact(request.getAge()))
-                .description(getAgeDescription(request.getAge()))
-                .build());
-        }
-
-        // Factor 5: Distance
-        if (request.getDistanceKm() != null) {
+        List<PredictionResponse.ContributingFactor> factors = new ArrayList<>();
+        for (Map.Entry<String, double[]> entry : ranked) {
+            double contribution = entry.getValue()[0];
+            int impact = (int) Math.round((probability - NoShowModel.sigmoid(margin - contribution)) * 100);
+            if (factors.size() == MAX_FACTORS || impact == 0) {
+                break;
+            }
             factors.add(PredictionResponse.ContributingFactor.builder()
-                .factor("Distance from Home")
-                .value(request.getDistanceKm() + " km")
-                .impactPercent(request.getDistanceKm().doubleValue() > 5 ? -2 : 0)
-                .description("المسافة القريبة = احتمال حضور أعلى")
+                .factor(entry.getKey())
+                .value(NoShowFeatures.displayValue((int) entry.getValue()[1], features, 0))
+                .impactPercent(impact)
+                .description(impact > 0 ? "يزيد احتمال عدم الحضور" : "يقلل احتمال عدم الحضور")
                 .build());
         }
-
         return factors;
     }
 
     /**
      * Generate actionable recommendations
      */
-    private List<String> generateRecommendations(
-        PredictionResult.RiskLevel riskLevel,
-        List<PredictionResponse.ContributingFactor> factors) {
-
+    private List<String> generateRecommendations(PredictionResult.RiskLevel riskLevel) {
         List<String> recommendations = new ArrayList<>();
 
         if (riskLevel == PredictionResult.RiskLevel.HIGH) {
@@ -290,60 +286,25 @@ public class NoShowPredictionService {
         return recommendations;
     }
 
-    // Helper encoding methods
-    private double encodeGender(String gender) {
-        if (gender == null) return 0;
-        return "FEMALE".equalsIgnoreCase(gender) ? 1.0 : 0.0;
-    }
-
-    private double encodeServiceType(String serviceType) {
-        if (serviceType == null) return 0;
-        // Simple encoding: higher values = higher no-show risk
-        return switch (serviceType.toUpperCase()) {
-            case "CARDIOLOGY" -> 0.8;
-            case "GYNECOLOGY" -> 0.7;
-            case "PEDIATRICS" -> 0.3;
-            default -> 0.5;
-        };
-    }
-
-    private double encodeTime(String time) {
-        if (time == null) return 0.5;
-        int hour = Integer.parseInt(time.split(":")[0]);
-        // Morning hours (8-11) have lower no-show rates
-        if (hour >= 8 && hour <= 11) return 0.3;
-        // Afternoon (14-17) higher risk
-        if (hour >= 14 && hour <= 17) return 0.7;
-        return 0.5;
-    }
-
-    private double encodeDayOfWeek(String day) {
-        if (day == null) return 0.5;
-        return switch (day.toUpperCase()) {
-            case "SUNDAY", "MONDAY", "TUESDAY" -> 0.4;
-            case "WEDNESDAY", "THURSDAY" -> 0.8;
-            case "FRIDAY", "SATURDAY" -> 0.3;
-            default -> 0.5;
-        };
-    }
-
-    private double encodePriority(String priority) {
-        if (priority == null) return 0.5;
-        // URGENT has lower no-show rate
-        return "URGENT".equalsIgnoreCase(priority) ? 0.2 : 0.5;
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value, e);
+        }
     }
 
-    private int getAgeImpact(int age) {
-        if (age < 18) return 5;
-        if (age <= 30) return 10;
-        if (age <= 45) return 5;
-        return 0;
+    private static BigDecimal scale4(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
     }
 
-    private String getAgeDescription(int age) {
-        if (age < 18) return "الأطفال = معدل حضور معقول";
-        if (age <= 30) return "الشباب (18-30) = مخاطر أعلى";
-        if (age <= 45) return "الفئة الوسطى = مخاطر متوسطة";
-        return "الفئة العمرية الأكبر = معدل حضور أفضل";
+    private static LocalTime toLocalTime(Object value) {
+        if (value instanceof LocalTime localTime) {
+            return localTime;
+        }
+        if (value instanceof java.sql.Time sqlTime) {
+            return sqlTime.toLocalTime();
+        }
+        return null;
     }
 }
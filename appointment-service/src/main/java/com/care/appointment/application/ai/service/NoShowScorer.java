@@ -0,0 +1,171 @@
+package com.care.appointment.application.ai.service;
+
+import com.care.appointment.domain.model.ai.ModelVersion;
+import com.care.appointment.infrastructure.db.repositories.ModelVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory scorer holding the active no-show model.
+ *
+ * The active ModelVersion's weights are loaded once and folded into one coefficient per raw feature,
+ * so scoring is a dot product over a primitive array with no lookups or allocation. Activating a model
+ * swaps the reference after commit on this instance; other instances notice the new active id on
+ * their next refresh (app.appointment.ai.scorer.refresh-ms). Callers take active() once and use that
+ * snapshot for a whole batch, so a swap never mixes two models in one result.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoShowScorer {
+
+    private final ModelVersionRepository modelVersionRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile ActiveModel active;
+    private volatile UUID rejectedId;
+
+    /**
+     * A loaded model version. Standardization is folded in:
+     * margin = bias + sum(coefficients[j] * x[j]) with coefficients[j] = weights[j] / scales[j]
+     */
+    public record ActiveModel(UUID modelVersionId, String label, NoShowModel model,
+                              double[] coefficients, double bias) {
+
+        static ActiveModel of(ModelVersion version, NoShowModel model) {
+            int n = model.weights().length;
+            double[] coefficients = new double[n];
+            double bias = model.intercept();
+            for (int j = 0; j < n; j++) {
+                coefficients[j] = model.weights()[j] / model.scales()[j];
+                bias -= coefficients[j] * model.means()[j];
+            }
+            return new ActiveModel(version.getModelVersionId(),
+                version.getModelName() + " " + version.getVersionNumber(), model, coefficients, bias);
+        }
+
+        /**
+         * Margin (log-odds of a no-show) of the features at x[offset .. offset + NoShowFeatures.COUNT);
+         * NaN features count as the training mean
+         */
+        public double margin(double[] x, int offset) {
+            double margin = bias;
+            double[] means = model.means();
+            for (int j = 0; j < coefficients.length; j++) {
+                double v = x[offset + j];
+                margin += coefficients[j] * (v == v ? v : means[j]);
+            }
+            return margin;
+        }
+
+        public double probability(double[] x, int offset) {
+            return NoShowModel.sigmoid(margin(x, offset));
+        }
+
+        /**
+         * Log-odds that feature j adds compared with an average training appointment
+         */
+        public double contribution(double[] x, int offset, int j) {
+            double v = x[offset + j];
+            return v == v ? coefficients[j] * (v - model.means()[j]) : 0;
+        }
+    }
+
+    /**
+     * The active model
+     *
+     * @throws IllegalStateException when no usable model is active
+     */
+    public ActiveModel active() {
+        ActiveModel current = active;
+        if (current == null) {
+            throw new IllegalStateException("No active model found. Please train and activate a model first.");
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Pick up the active model when its id changed (activation here or on another instance)
+     */
+    @Scheduled(
+        initialDelayString = "${app.appointment.ai.scorer.refresh-ms:60000}",
+        fixedDelayString = "${app.appointment.ai.scorer.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            Optional<UUID> activeId = modelVersionRepository.findActiveModelId();
+            ActiveModel current = active;
+            if (activeId.isEmpty()) {
+                if (current != null) {
+                    log.info("No active no-show model anymore, unloading {}", current.label());
+                    active = null;
+                }
+                return;
+            }
+            if (current != null && current.modelVersionId().equals(activeId.get())
+                || activeId.get().equals(rejectedId)) {
+                return;
+            }
+            modelVersionRepository.findById(activeId.get()).ifPresent(this::load);
+        } catch (Exception ex) {
+            log.warn("No-show model refresh failed, keeping the loaded model: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Reload once the surrounding transaction commits (immediately without one)
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    private void load(ModelVersion version) {
+        NoShowModel model = readModel(version);
+        if (model == null || !model.matchesCurrentFeatures()) {
+            log.warn("Active model version {} has no weights for the current feature layout; not loaded",
+                version.getModelVersionId());
+            rejectedId = version.getModelVersionId();
+            return;
+        }
+        active = ActiveModel.of(version, model);
+        log.info("Loaded no-show model {} ({})", active.label(), version.getModelVersionId());
+    }
+
+    /**
+     * The stored model of a version, or null when it has none (or an unreadable one)
+     */
+    NoShowModel readModel(ModelVersion version) {
+        if (version.getModelWeights() == null || version.getModelWeights().isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(version.getModelWeights(), NoShowModel.class);
+        } catch (Exception e) {
+            log.warn("Unreadable weights for model version {}", version.getModelVersionId(), e);
+            return null;
+        }
+    }
+}
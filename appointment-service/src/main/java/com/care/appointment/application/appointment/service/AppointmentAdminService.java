@@ -6,6 +6,8 @@ import com.care.appointment.application.appointment.command.TransferAppointmentC
 import com.care.appointment.application.appointment.command.UpdateAppointmentCommand;
 import com.care.appointment.application.appointment.command.UpdateAppointmentStatusCommand;
 import com.care.appointment.application.service.AppointmentCodeGeneratorService;
+import com.care.appointment.application.service.AppointmentStatusTimestamps;
+import com.care.appointment.application.service.BranchDayCapacityCounters;
 import com.care.appointment.domain.model.Appointment;
 import com.care.appointment.domain.ports.in.appointment.ManageAppointmentUseCase;
 import com.care.appointment.domain.ports.in.appointment.ViewAppointmentUseCase;
@@ -30,6 +32,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,6 +51,8 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
     private final AppointmentStatusHistoryRepository appointmentStatusHistoryRepository;
     private final AppointmentCodeGeneratorService codeGeneratorService;
     private final AccessManagementClient accessManagementClient;
+    private final BranchDayCapacityCounters capacityCounters;
+    private final AppointmentStatusTimestamps statusTimestamps;
 
     private static final String CANCELLED_STATUS_CODE = "CAN";
 
@@ -94,8 +99,12 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
                 .createdById(command.getCreatedById())
                 .appointmentCode(appointmentCode)
                 .build();
+        statusTimestamps.apply(appointment, null);
 
         Appointment saved = appointmentCrudPort.save(appointment);
+        if (saved.getCancelledAt() == null) {
+            capacityCounters.recordBooked(saved.getOrganizationBranchId(), saved.getAppointmentDate());
+        }
         log.info("Appointment created successfully: {} with code: {}", saved.getAppointmentId(), appointmentCode);
         return saved;
     }
@@ -107,6 +116,11 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         Appointment existing = appointmentCrudPort.findById(command.getAppointmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + command.getAppointmentId()));
 
+        UUID previousBranchId = existing.getOrganizationBranchId();
+        LocalDate previousDate = existing.getAppointmentDate();
+        boolean wasActive = existing.getCancelledAt() == null;
+        UUID previousStatusId = existing.getAppointmentStatusId();
+
         existing.setAppointmentRequestId(command.getAppointmentRequestId());
         existing.setBeneficiaryId(command.getBeneficiaryId());
         existing.setOrganizationBranchId(command.getOrganizationBranchId());
@@ -130,8 +144,11 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         existing.setCancelledAt(command.getCancelledAt());
         existing.setCancellationReason(command.getCancellationReason());
         existing.setUpdatedById(command.getUpdatedById());
+        statusTimestamps.apply(existing, previousStatusId);
 
         Appointment updated = appointmentCrudPort.update(existing);
+        capacityCounters.recordChange(previousBranchId, previousDate, wasActive,
+                updated.getOrganizationBranchId(), updated.getAppointmentDate(), updated.getCancelledAt() == null);
         log.info("Appointment updated successfully: {}", updated.getAppointmentId());
         return updated;
     }
@@ -139,7 +156,7 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
     @Override
     public void deleteAppointment(UUID appointmentId) {
         log.info("Deleting appointment: {}", appointmentId);
-        appointmentCrudPort.findById(appointmentId)
+        Appointment existing = appointmentCrudPort.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
 
         // Delete dependent records to avoid FK violations
@@ -153,6 +170,9 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         log.info("Deleted status history records for appointment {}", appointmentId);
 
         appointmentCrudPort.deleteById(appointmentId);
+        if (existing.getCancelledAt() == null) {
+            capacityCounters.recordReleased(existing.getOrganizationBranchId(), existing.getAppointmentDate());
+        }
         log.info("Appointment deleted successfully: {}", appointmentId);
     }
 
@@ -205,13 +225,19 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         Appointment appointment = appointmentCrudPort.findById(command.getAppointmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + command.getAppointmentId()));
 
+        boolean wasActive = appointment.getCancelledAt() == null;
+        UUID previousStatusId = appointment.getAppointmentStatusId();
+
         appointment.setAppointmentStatusId(command.getAppointmentStatusId());
         if (command.getNotes() != null) {
             appointment.setNotes(command.getNotes());
         }
         appointment.setUpdatedById(command.getUpdatedById());
+        statusTimestamps.apply(appointment, previousStatusId);
 
         Appointment updated = appointmentCrudPort.update(appointment);
+        capacityCounters.recordChange(updated.getOrganizationBranchId(), updated.getAppointmentDate(), wasActive,
+                updated.getOrganizationBranchId(), updated.getAppointmentDate(), updated.getCancelledAt() == null);
         log.info("Appointment status updated successfully: {}", updated.getAppointmentId());
         return updated;
     }
@@ -233,6 +259,7 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         appointment.setAppointmentStatusId(resolveStatusIdByCode(CANCELLED_STATUS_CODE));
 
         Appointment cancelled = appointmentCrudPort.update(appointment);
+        capacityCounters.recordReleased(cancelled.getOrganizationBranchId(), cancelled.getAppointmentDate());
         log.info("Appointment cancelled successfully: {}", cancelled.getAppointmentId());
         return cancelled;
     }
@@ -260,6 +287,9 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
                 .build());
         transferRepository.save(transfer);
 
+        UUID previousBranchId = appointment.getOrganizationBranchId();
+        LocalDate previousDate = appointment.getAppointmentDate();
+
         // Update appointment
         appointment.setOrganizationBranchId(command.getTargetOrganizationBranchId());
         appointment.setAppointmentDate(command.getNewAppointmentDate());
@@ -267,6 +297,8 @@ public class AppointmentAdminService implements ViewAppointmentUseCase, ManageAp
         appointment.setUpdatedById(command.getTransferredById());
 
         Appointment transferred = appointmentCrudPort.update(appointment);
+        capacityCounters.recordChange(previousBranchId, previousDate, true,
+                transferred.getOrganizationBranchId(), transferred.getAppointmentDate(), true);
         log.info("Appointment transferred successfully: {}", transferred.getAppointmentId());
         return transferred;
     }
@@ -1,12 +1,14 @@
 package com.care.appointment.application.appointment.service;
 
 import com.care.appointment.application.appointment.query.NearestServiceCenterQuery;
+import com.care.appointment.application.service.BranchDayCapacityCounters;
+import com.care.appointment.application.service.BranchDirectory;
+import com.care.appointment.application.service.BranchSpatialIndex;
 import com.care.appointment.domain.model.NearestServiceCenterOption;
 import com.care.appointment.domain.ports.in.appointment.SuggestAppointmentUseCase;
 import com.care.appointment.infrastructure.client.AccessManagementClient;
 import com.care.appointment.infrastructure.db.entities.CenterWeeklyScheduleEntity;
 import com.care.appointment.infrastructure.db.entities.ServiceTypeEntity;
-import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
 import com.care.appointment.infrastructure.db.repositories.BeneficiaryRepository;
 import com.care.appointment.infrastructure.db.repositories.CenterServiceRepository;
 import com.care.appointment.infrastructure.db.repositories.CenterWeeklyScheduleRepository;
@@ -36,12 +38,14 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
     private final CenterServiceRepository centerServiceRepository;
     private final ServiceTypeRepository serviceTypeRepository;
     private final CenterWeeklyScheduleRepository centerWeeklyScheduleRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final BranchDayCapacityCounters capacityCounters;
     private final AccessManagementClient accessManagementClient;
+    private final BranchDirectory branchDirectory;
 
     @Override
     public List<NearestServiceCenterOption> findNearestByLocation(NearestServiceCenterQuery query) {
-        List<NearestServiceCenterOption> options = computeSuggestions(query);
+        // Candidates are visited nearest first, so the first `limit` branches with capacity are the answer
+        List<NearestServiceCenterOption> options = computeSuggestions(query, resolveLimit(query));
         return options.stream()
                 .sorted(Comparator
                         .comparing(NearestServiceCenterOption::getDistanceKm, Comparator.nullsLast(Double::compareTo))
@@ -53,7 +57,7 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
 
     @Override
     public List<NearestServiceCenterOption> findNearestByAvailability(NearestServiceCenterQuery query) {
-        List<NearestServiceCenterOption> options = computeSuggestions(query);
+        List<NearestServiceCenterOption> options = computeSuggestions(query, Integer.MAX_VALUE);
         return options.stream()
                 .filter(option -> option.getNextAvailableDate() != null)
                 .sorted(Comparator
@@ -64,7 +68,7 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
                 .collect(Collectors.toList());
     }
 
-    private List<NearestServiceCenterOption> computeSuggestions(NearestServiceCenterQuery query) {
+    private List<NearestServiceCenterOption> computeSuggestions(NearestServiceCenterQuery query, int maxOptions) {
         Objects.requireNonNull(query, "query is required");
         UUID beneficiaryId = Objects.requireNonNull(query.getBeneficiaryId(), "beneficiaryId is required");
         UUID serviceTypeId = Objects.requireNonNull(query.getServiceTypeId(), "serviceTypeId is required");
@@ -112,44 +116,34 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
 
         log.debug("Nearest lookup: active branches for serviceType {} -> {}", serviceTypeId, branchIds);
 
-        List<OrganizationBranchDTO> branches = fetchBranchesByIds(new ArrayList<>(branchIds));
-        if (branches == null || branches.isEmpty()) {
-            log.warn("Nearest lookup: unable to resolve branch details for ids {}", branchIds);
+        List<BranchSpatialIndex.Hit> candidates = locateBranches(latitude, longitude, branchIds);
+        if (candidates.isEmpty()) {
+            log.warn("Nearest lookup: unable to resolve branch locations for ids {}", branchIds);
             return Collections.emptyList();
         }
 
-        Map<UUID, OrganizationBranchDTO> branchMap = new HashMap<>();
-        for (OrganizationBranchDTO dto : branches) {
-            if (dto == null) {
-                continue;
-            }
-            UUID branchId = dto.getOrganizationBranchId();
-            if (branchId == null) {
-                continue;
-            }
-            branchMap.putIfAbsent(branchId, dto);
-        }
-
-        Map<UUID, String> organizationNames = resolveOrganizationNames(branches);
+        Map<UUID, String> organizationNames = resolveOrganizationNames(candidates.stream()
+                .map(BranchSpatialIndex.Hit::branch)
+                .collect(Collectors.toList()));
 
         int searchWindow = resolveSearchWindowDays(query);
+        LocalDate today = LocalDate.now();
+        capacityCounters.warm(branchIds, today, today.plusDays(searchWindow - 1L));
 
         List<NearestServiceCenterOption> suggestions = new ArrayList<>();
 
-        for (UUID branchId : branchIds) {
-            OrganizationBranchDTO branch = branchMap.get(branchId);
-            if (branch == null) {
-                continue;
+        for (BranchSpatialIndex.Hit candidate : candidates) {
+            if (suggestions.size() >= maxOptions) {
+                break;
             }
+            OrganizationBranchDTO branch = candidate.branch();
+            UUID branchId = branch.getOrganizationBranchId();
             Double branchLat = branch.getLatitude();
             Double branchLng = branch.getLongitude();
-            if (branchLat == null || branchLng == null) {
-                continue;
-            }
 
-            double distance = calculateDistance(latitude, longitude, branchLat, branchLng);
+            double distance = Math.round(candidate.distanceKm() * 100.0) / 100.0;
 
-            Optional<AvailabilityResult> availability = findNextAvailability(branchId, searchWindow);
+            Optional<AvailabilityResult> availability = findNextAvailability(branchId, today, searchWindow);
             if (availability.isEmpty()) {
                 continue;
             }
@@ -185,6 +179,33 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
         return suggestions;
     }
 
+    /**
+     * Resolve branch locations nearest first, using the cached branch directory.
+     * Only branches the directory does not know yet are fetched from access-management.
+     */
+    private List<BranchSpatialIndex.Hit> locateBranches(double latitude, double longitude, Set<UUID> branchIds) {
+        List<BranchSpatialIndex.Hit> hits = new ArrayList<>(
+                branchDirectory.nearest(latitude, longitude, branchIds.size(), branchIds));
+
+        List<UUID> unknown = branchIds.stream()
+                .filter(id -> branchDirectory.findById(id).isEmpty())
+                .collect(Collectors.toList());
+        if (unknown.isEmpty()) {
+            return hits;
+        }
+
+        for (OrganizationBranchDTO dto : fetchBranchesByIds(unknown)) {
+            if (dto == null || dto.getOrganizationBranchId() == null
+                    || dto.getLatitude() == null || dto.getLongitude() == null) {
+                continue;
+            }
+            double distance = BranchSpatialIndex.distanceKm(latitude, longitude, dto.getLatitude(), dto.getLongitude());
+            hits.add(new BranchSpatialIndex.Hit(dto, distance));
+        }
+        hits.sort(Comparator.comparingDouble(BranchSpatialIndex.Hit::distanceKm));
+        return hits;
+    }
+
     private List<OrganizationBranchDTO> fetchBranchesByIds(List<UUID> branchIds) {
         if (branchIds == null || branchIds.isEmpty()) {
             return Collections.emptyList();
@@ -259,7 +280,7 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
         return result;
     }
 
-    private Optional<AvailabilityResult> findNextAvailability(UUID branchId, int searchWindowDays) {
+    private Optional<AvailabilityResult> findNextAvailability(UUID branchId, LocalDate today, int searchWindowDays) {
         List<CenterWeeklyScheduleEntity> schedules = centerWeeklyScheduleRepository
                 .findByOrganizationBranchIdAndIsActiveTrue(branchId);
         if (schedules.isEmpty()) {
@@ -273,7 +294,6 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
                         schedule -> schedule,
                         (existing, replacement) -> existing));
 
-        LocalDate today = LocalDate.now();
         for (int i = 0; i < searchWindowDays; i++) {
             LocalDate date = today.plusDays(i);
             int dayOfWeek = toScheduleDayOfWeek(date);
@@ -308,7 +328,7 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
         int slots = (int) Math.max(1, totalMinutes / slotDuration);
         int dailyCapacity = slots * maxCapacityPerSlot;
 
-        long bookedCount = appointmentRepository.countActiveByBranchAndDate(branchId, date);
+        long bookedCount = capacityCounters.bookedCount(branchId, date);
         int remaining = (int) Math.max(0, dailyCapacity - bookedCount);
 
         return new AvailabilityResult(date, startTime, slotDuration, slots, maxCapacityPerSlot,
@@ -320,18 +340,6 @@ public class AppointmentSuggestionService implements SuggestAppointmentUseCase {
         return dow == 7 ? 0 : dow;
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371.0088; // Earth radius in KM
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-
-        double a = Math.pow(Math.sin(dLat / 2), 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.pow(Math.sin(dLon / 2), 2);
-        double c = 2 * Math.asin(Math.sqrt(a));
-        return Math.round(R * c * 100.0) / 100.0;
-    }
-
     private int resolveLimit(NearestServiceCenterQuery query) {
         return Optional.ofNullable(query.getLimit())
                 .filter(limit -> limit > 0)
@@ -2,6 +2,7 @@ package com.care.appointment.application.appointmentstatus.service;
 
 import com.care.appointment.application.appointmentstatus.command.CreateAppointmentStatusCommand;
 import com.care.appointment.application.appointmentstatus.command.UpdateAppointmentStatusCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.AppointmentStatus;
 import com.care.appointment.domain.ports.in.appointmentstatus.*;
 import com.care.appointment.domain.ports.out.appointmentstatus.AppointmentStatusCrudPort;
@@ -30,6 +31,7 @@ public class AppointmentStatusService implements
 
     private final AppointmentStatusCrudPort crudPort;
     private final AppointmentStatusSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public AppointmentStatus saveAppointmentStatus(CreateAppointmentStatusCommand command) {
@@ -51,6 +53,7 @@ public class AppointmentStatusService implements
                 .isDeleted(Boolean.FALSE)
                 .build();
 
+        referenceDataCache.invalidate();
         return crudPort.save(status);
     }
 
@@ -82,6 +85,7 @@ public class AppointmentStatusService implements
             }
         }
 
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
 
@@ -98,6 +102,7 @@ public class AppointmentStatusService implements
         existing.setIsDeleted(Boolean.TRUE);
         existing.setIsActive(Boolean.FALSE);
         crudPort.update(existing);
+        referenceDataCache.invalidate();
     }
 
     @Override
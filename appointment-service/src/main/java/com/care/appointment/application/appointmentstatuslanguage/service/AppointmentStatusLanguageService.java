@@ -2,6 +2,7 @@ package com.care.appointment.application.appointmentstatuslanguage.service;
 
 import com.care.appointment.application.appointmentstatuslanguage.command.CreateAppointmentStatusLanguageCommand;
 import com.care.appointment.application.appointmentstatuslanguage.command.UpdateAppointmentStatusLanguageCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.AppointmentStatusLanguage;
 import com.care.appointment.domain.ports.in.appointmentstatuslanguage.*;
 import com.care.appointment.domain.ports.out.appointmentstatuslanguage.AppointmentStatusLanguageCrudPort;
@@ -30,6 +31,7 @@ public class AppointmentStatusLanguageService implements
 
     private final AppointmentStatusLanguageCrudPort crudPort;
     private final AppointmentStatusLanguageSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public AppointmentStatusLanguage saveAppointmentStatusLanguage(CreateAppointmentStatusLanguageCommand command) {
@@ -56,6 +58,7 @@ public class AppointmentStatusLanguageService implements
                 .isDeleted(command.getIsDeleted() != null ? command.getIsDeleted() : Boolean.FALSE)
                 .build();
 
+        referenceDataCache.invalidate();
         return crudPort.save(language);
     }
 
@@ -96,6 +99,7 @@ public class AppointmentStatusLanguageService implements
             }
         }
 
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
 
@@ -112,6 +116,7 @@ public class AppointmentStatusLanguageService implements
         existing.setIsDeleted(Boolean.TRUE);
         existing.setIsActive(Boolean.FALSE);
         crudPort.update(existing);
+        referenceDataCache.invalidate();
     }
 
     @Override
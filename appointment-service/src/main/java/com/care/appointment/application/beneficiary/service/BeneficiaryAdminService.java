@@ -2,7 +2,6 @@ package com.care.appointment.application.beneficiary.service;
 
 import com.care.appointment.application.beneficiary.command.CreateBeneficiaryCommand;
 import com.care.appointment.application.beneficiary.command.UpdateBeneficiaryCommand;
-import com.care.appointment.application.beneficiary.command.BulkBeneficiaryUpdateCommand;
 import com.care.appointment.domain.model.Beneficiary;
 import com.care.appointment.domain.ports.in.beneficiary.*;
 import com.care.appointment.domain.ports.out.beneficiary.BeneficiaryCrudPort;
@@ -16,11 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -167,86 +163,6 @@ public class BeneficiaryAdminService implements SaveUseCase, UpdateUseCase, Load
         return beneficiarySearchPort.search(filter, pageable);
     }
     
-    /**
-     * Bulk update multiple beneficiaries
-     * Used for updating language preferences, registration status, etc. in bulk
-     */
-    @Transactional
-    public List<Beneficiary> bulkUpdateBeneficiaries(BulkBeneficiaryUpdateCommand command) {
-        log.info("Bulk updating {} beneficiaries: {}", command.getBeneficiaryIds().size(), command.getDescription());
-        
-        List<Beneficiary> updated = command.getBeneficiaryIds().stream()
-                .map(beneficiaryId -> {
-                    try {
-                        Beneficiary beneficiary = beneficiaryCrudPort.findById(beneficiaryId)
-                                .orElseThrow(() -> new IllegalArgumentException("Beneficiary not found: " + beneficiaryId));
-                        
-                        if (beneficiary.getIsDeleted()) {
-                            log.warn("Skipping deleted beneficiary: {}", beneficiaryId);
-                            return null;
-                        }
-                        
-                        // Update fields from map
-                        if (command.getUpdateFields().containsKey("preferredLanguageCodeValueId")) {
-                            beneficiary.setPreferredLanguageCodeValueId((UUID) command.getUpdateFields().get("preferredLanguageCodeValueId"));
-                        }
-                        if (command.getUpdateFields().containsKey("genderCodeValueId")) {
-                            beneficiary.setGenderCodeValueId((UUID) command.getUpdateFields().get("genderCodeValueId"));
-                        }
-                        if (command.getUpdateFields().containsKey("registrationStatusCodeValueId")) {
-                            beneficiary.setRegistrationStatusCodeValueId((UUID) command.getUpdateFields().get("registrationStatusCodeValueId"));
-                        }
-                        if (command.getUpdateFields().containsKey("profilePhotoUrl")) {
-                            beneficiary.setProfilePhotoUrl((String) command.getUpdateFields().get("profilePhotoUrl"));
-                        }
-                        if (command.getUpdateFields().containsKey("isActive")) {
-                            beneficiary.setIsActive((Boolean) command.getUpdateFields().get("isActive"));
-                        }
-                        
-                        beneficiary.setUpdatedAt(Instant.now());
-                        if (command.getUpdatedById() != null) {
-                            // Note: We'll need to track updatedById if available
-                        }
-                        
-                        return beneficiaryCrudPort.update(beneficiary);
-                    } catch (Exception e) {
-                        log.error("Failed to update beneficiary {}: {}", beneficiaryId, e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(b -> b != null)
-                .collect(Collectors.toList());
-        
-        log.info("Bulk update completed: {} beneficiaries updated successfully", updated.size());
-        return updated;
-    }
-    
-    /**
-     * Get statistics about beneficiaries
-     */
-    @Transactional(readOnly = true)
-    public BeneficiaryStatistics getBeneficiaryStatistics() {
-        long totalCount = beneficiarySearchPort.search(new FilterRequest(), Pageable.unpaged()).getTotalElements();
-        long activeCount = beneficiarySearchPort.countByIsActiveTrueAndIsDeletedFalse();
-        
-        return BeneficiaryStatistics.builder()
-                .totalBeneficiaries(totalCount)
-                .activeBeneficiaries(activeCount)
-                .lastUpdatedAt(Instant.now())
-                .build();
-    }
-    
-    /**
-     * Inner class for statistics
-     */
-    @lombok.Data
-    @lombok.Builder
-    public static class BeneficiaryStatistics {
-        private long totalBeneficiaries;
-        private long activeBeneficiaries;
-        private Instant lastUpdatedAt;
-    }
-
     private String normalize(String value) {
         if (value == null) {
             return null;
@@ -0,0 +1,202 @@
+package com.care.appointment.application.beneficiary.service;
+
+import com.care.appointment.application.beneficiary.command.BulkBeneficiaryUpdateCommand;
+import com.care.appointment.domain.model.BeneficiaryBulkChange;
+import com.care.appointment.domain.ports.out.beneficiary.BeneficiaryCrudPort;
+import com.sharedlib.core.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies one set of field changes to many beneficiaries.
+ *
+ * The updateFields map is validated once into a {@link BeneficiaryBulkChange}; ids are then
+ * processed in chunks, each chunk being a single UPDATE ... RETURNING in its own transaction,
+ * plus one existence lookup for the ids it did not update. Outcomes are handed to a listener
+ * chunk by chunk, so nothing proportional to the number of ids is kept besides the id list itself.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BeneficiaryBulkUpdateService {
+
+    public static final int MAX_PROFILE_PHOTO_URL_LENGTH = 500;
+
+    private final BeneficiaryCrudPort beneficiaryCrudPort;
+    private final BeneficiaryStatisticsService statisticsService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.appointment.beneficiary.bulk-update.chunk-size:1000}")
+    private int chunkSize;
+
+    public enum Outcome {
+        UPDATED,
+        SKIPPED_DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    /**
+     * Receives the outcome of every requested id, in request order
+     */
+    @FunctionalInterface
+    public interface OutcomeListener {
+        void onOutcome(UUID beneficiaryId, Outcome outcome);
+    }
+
+    public record Summary(int requested, int updated, int skippedDeleted, int notFound, int failed) {
+    }
+
+    /**
+     * Validate the requested field changes; unknown fields or values of the wrong type are rejected
+     */
+    public BeneficiaryBulkChange prepare(BulkBeneficiaryUpdateCommand command) {
+        if (command.getBeneficiaryIds() == null || command.getBeneficiaryIds().isEmpty()) {
+            throw new BadRequestException("beneficiaryIds must not be empty");
+        }
+        if (command.getBeneficiaryIds().contains(null)) {
+            throw new BadRequestException("beneficiaryIds must not contain null");
+        }
+        Map<String, Object> fields = command.getUpdateFields();
+        if (fields == null || fields.isEmpty()) {
+            throw new BadRequestException("updateFields must not be empty");
+        }
+
+        BeneficiaryBulkChange change = BeneficiaryBulkChange.builder()
+                .updatedAt(Instant.now())
+                .updatedById(command.getUpdatedById())
+                .build();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "preferredLanguageCodeValueId" -> {
+                    change.setPreferredLanguageChanged(true);
+                    change.setPreferredLanguageCodeValueId(toUuid(field.getKey(), value));
+                }
+                case "genderCodeValueId" -> {
+                    change.setGenderChanged(true);
+                    change.setGenderCodeValueId(toUuid(field.getKey(), value));
+                }
+                case "registrationStatusCodeValueId" -> {
+                    change.setRegistrationStatusChanged(true);
+                    change.setRegistrationStatusCodeValueId(toUuid(field.getKey(), value));
+                }
+                case "profilePhotoUrl" -> {
+                    change.setProfilePhotoChanged(true);
+                    change.setProfilePhotoUrl(toProfilePhotoUrl(value));
+                }
+                case "isActive" -> {
+                    if (!(value instanceof Boolean active)) {
+                        throw new BadRequestException("isActive must be true or false");
+                    }
+                    change.setActiveChanged(true);
+                    change.setActive(active);
+                }
+                default -> throw new BadRequestException("Field cannot be bulk updated: " + field.getKey());
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Apply a prepared change to every requested id; duplicate ids are reported once.
+     * A chunk that fails is rolled back and its ids reported as FAILED; later chunks still run.
+     */
+    public Summary apply(BulkBeneficiaryUpdateCommand command, BeneficiaryBulkChange change,
+                         OutcomeListener listener) {
+        log.info("Bulk updating {} beneficiaries: {}", command.getBeneficiaryIds().size(), command.getDescription());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(command.getBeneficiaryIds()));
+        int size = Math.max(1, chunkSize);
+        int[] counts = new int[Outcome.values().length];
+
+        for (int from = 0; from < ids.size(); from += size) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + size));
+            Set<UUID> updated;
+            Set<UUID> existing;
+            try {
+                ChunkResult result = transaction.execute(status -> {
+                    Set<UUID> updatedIds = new HashSet<>(beneficiaryCrudPort.bulkUpdate(chunk, change));
+                    List<UUID> remaining = chunk.stream().filter(id -> !updatedIds.contains(id)).toList();
+                    Set<UUID> existingIds = remaining.isEmpty()
+                            ? Set.of()
+                            : new HashSet<>(beneficiaryCrudPort.findExistingIds(remaining));
+                    return new ChunkResult(updatedIds, existingIds);
+                });
+                updated = result.updated();
+                existing = result.existing();
+            } catch (RuntimeException ex) {
+                log.error("Bulk update failed for {} beneficiaries starting at {}: {}", chunk.size(), chunk.get(0), ex.getMessage());
+                updated = null;
+                existing = null;
+            }
+
+            for (UUID id : chunk) {
+                Outcome outcome;
+                if (updated == null) {
+                    outcome = Outcome.FAILED;
+                } else if (updated.contains(id)) {
+                    outcome = Outcome.UPDATED;
+                } else if (existing.contains(id)) {
+                    outcome = Outcome.SKIPPED_DELETED;
+                } else {
+                    outcome = Outcome.NOT_FOUND;
+                }
+                counts[outcome.ordinal()]++;
+                listener.onOutcome(id, outcome);
+            }
+        }
+
+        Summary summary = new Summary(ids.size(), counts[Outcome.UPDATED.ordinal()],
+                counts[Outcome.SKIPPED_DELETED.ordinal()], counts[Outcome.NOT_FOUND.ordinal()],
+                counts[Outcome.FAILED.ordinal()]);
+        if (summary.updated() > 0) {
+            statisticsService.invalidate();
+        }
+        log.info("Bulk update completed: {}", summary);
+        return summary;
+    }
+
+    private static UUID toUuid(String field, Object value) {
+        if (value == null || value instanceof UUID) {
+            return (UUID) value;
+        }
+        if (value instanceof String text) {
+            try {
+                return UUID.fromString(text.trim());
+            } catch (IllegalArgumentException ex) {
+                // fall through to the error below
+            }
+        }
+        throw new BadRequestException(field + " must be a UUID");
+    }
+
+    private static String toProfilePhotoUrl(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String url)) {
+            throw new BadRequestException("profilePhotoUrl must be a string");
+        }
+        if (url.length() > MAX_PROFILE_PHOTO_URL_LENGTH) {
+            throw new BadRequestException("profilePhotoUrl must be at most " + MAX_PROFILE_PHOTO_URL_LENGTH + " characters");
+        }
+        return url.isBlank() ? null : url;
+    }
+
+    private record ChunkResult(Set<UUID> updated, Set<UUID> existing) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.care.appointment.application.beneficiary.service;
+
+import com.care.appointment.domain.model.BeneficiaryLookup;
+import com.care.appointment.domain.ports.out.beneficiary.BeneficiarySearchPort;
+import com.sharedlib.core.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Typeahead over active beneficiaries with keyset pagination.
+ *
+ * Pages are ordered by (full name, id) and the cursor carries the last key of the previous page,
+ * so every page is an index range scan no matter how deep the caller scrolls.
+ */
+@Service
+@RequiredArgsConstructor
+public class BeneficiaryLookupService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final BeneficiarySearchPort beneficiarySearchPort;
+
+    /**
+     * One page of matches plus the cursor for the next page (null on the last page)
+     */
+    public record LookupPage(List<BeneficiaryLookup> items, String nextCursor) {
+    }
+
+    @Transactional(readOnly = true)
+    public LookupPage lookup(String query, String cursor, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        String afterFullName = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String key = decode(cursor);
+            int separator = key.indexOf(':');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid lookup cursor");
+            }
+            afterId = parseId(key.substring(0, separator));
+            afterFullName = key.substring(separator + 1);
+        }
+
+        // One extra row tells whether another page exists
+        List<BeneficiaryLookup> rows = beneficiarySearchPort.lookup(query, afterFullName, afterId, limit + 1);
+        if (rows.size() <= limit) {
+            return new LookupPage(rows, null);
+        }
+        List<BeneficiaryLookup> items = rows.subList(0, limit);
+        BeneficiaryLookup last = items.get(limit - 1);
+        return new LookupPage(List.copyOf(items), encode(last.getBeneficiaryId() + ":" + last.getFullName()));
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid lookup cursor");
+        }
+    }
+
+    private static UUID parseId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid lookup cursor");
+        }
+    }
+}
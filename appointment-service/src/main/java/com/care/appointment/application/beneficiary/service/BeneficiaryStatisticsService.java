@@ -0,0 +1,59 @@
+package com.care.appointment.application.beneficiary.service;
+
+import com.care.appointment.domain.model.BeneficiaryStatistics;
+import com.care.appointment.domain.ports.out.beneficiary.BeneficiarySearchPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Beneficiary statistics from one aggregate query, cached for a short time.
+ *
+ * Dashboards poll this endpoint; within the TTL every caller shares the last result and
+ * only one caller recomputes it once it expires.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BeneficiaryStatisticsService {
+
+    private final BeneficiarySearchPort beneficiarySearchPort;
+
+    @Value("${app.appointment.beneficiary.statistics.ttl-ms:30000}")
+    private long ttlMs;
+
+    private volatile Snapshot snapshot;
+
+    @Transactional(readOnly = true)
+    public BeneficiaryStatistics getStatistics() {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired(ttlMs)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isExpired(ttlMs)) {
+                    long startedAt = System.currentTimeMillis();
+                    current = new Snapshot(beneficiarySearchPort.computeStatistics(), System.currentTimeMillis());
+                    snapshot = current;
+                    log.debug("Beneficiary statistics computed in {} ms", current.loadedAt() - startedAt);
+                }
+            }
+        }
+        return current.statistics();
+    }
+
+    /**
+     * Drop the cached statistics so the next call recomputes them
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private record Snapshot(BeneficiaryStatistics statistics, long loadedAt) {
+
+        boolean isExpired(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt >= ttlMs;
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.care.appointment.application.branchservice;
 
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.infrastructure.client.AccessManagementClient;
 import com.care.appointment.infrastructure.db.entities.CenterServiceEntity;
 import com.care.appointment.infrastructure.db.entities.ServiceTypeEntity;
 import com.care.appointment.infrastructure.db.repositories.CenterServiceRepository;
-import com.care.appointment.infrastructure.db.repositories.ServiceTypeRepository;
 import com.care.appointment.web.dto.OrganizationBranchDTO;
 import com.care.appointment.web.dto.OrganizationDTO;
 import com.care.appointment.web.dto.admin.branchservice.BranchServiceTypeAssignmentDTO;
@@ -30,7 +30,7 @@ import java.util.stream.Collectors;
 public class BranchServiceTypeService {
 
     private final CenterServiceRepository centerServiceRepository;
-    private final ServiceTypeRepository serviceTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final AccessManagementClient accessManagementClient;
 
     @Transactional
@@ -42,10 +42,7 @@ public class BranchServiceTypeService {
         Map<UUID, CenterServiceEntity> existingByService = existing.stream()
             .collect(Collectors.toMap(CenterServiceEntity::getServiceTypeId, Function.identity()));
 
-        Set<UUID> allowedServiceIds = serviceTypeRepository.findAllActive()
-            .stream()
-            .map(ServiceTypeEntity::getServiceTypeId)
-            .collect(Collectors.toSet());
+        Set<UUID> allowedServiceIds = referenceDataCache.activeServiceTypeIds();
 
         Set<UUID> incomingIds = new HashSet<>();
 
@@ -104,7 +101,7 @@ public class BranchServiceTypeService {
 
         Map<UUID, String> organizationNames = resolveOrganizationNames(List.of(branch));
 
-        List<ServiceTypeEntity> serviceTypes = serviceTypeRepository.findAllActive();
+        List<ServiceTypeEntity> serviceTypes = referenceDataCache.activeServiceTypes();
         Map<UUID, List<ServiceTypeEntity>> byParent = new HashMap<>();
         for (ServiceTypeEntity serviceType : serviceTypes) {
             UUID parent = serviceType.getParentServiceTypeId();
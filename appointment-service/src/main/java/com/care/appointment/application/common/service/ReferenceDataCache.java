@@ -0,0 +1,409 @@
+package com.care.appointment.application.common.service;
+
+import com.care.appointment.infrastructure.db.entities.AppointmentActionTypeEntity;
+import com.care.appointment.infrastructure.db.entities.AppointmentActionTypeLangEntity;
+import com.care.appointment.infrastructure.db.entities.AppointmentStatusEntity;
+import com.care.appointment.infrastructure.db.entities.AppointmentStatusLangEntity;
+import com.care.appointment.infrastructure.db.entities.ServiceTypeEntity;
+import com.care.appointment.infrastructure.db.entities.ServiceTypeLangEntity;
+import com.care.appointment.infrastructure.db.repositories.AppointmentActionTypeLangRepository;
+import com.care.appointment.infrastructure.db.repositories.AppointmentActionTypeRepository;
+import com.care.appointment.infrastructure.db.repositories.AppointmentStatusLangRepository;
+import com.care.appointment.infrastructure.db.repositories.AppointmentStatusRepository;
+import com.care.appointment.infrastructure.db.repositories.ServiceTypeLangRepository;
+import com.care.appointment.infrastructure.db.repositories.ServiceTypeRepository;
+import com.care.appointment.web.dto.admin.servicetype.ServiceTypeResponse;
+import com.care.appointment.web.dto.admin.servicetype.ServiceTypeTreeNodeDTO;
+import com.care.appointment.web.dto.common.LookupItemResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of appointment reference data: service types, appointment statuses and action types
+ * together with their translations.
+ *
+ * All tables are loaded into one immutable snapshot. Lookups and trees are materialized per language on
+ * first use and then served from memory, each with a strong ETag (hash of its JSON form) so clients can
+ * revalidate with If-None-Match and receive 304s. Admin writes call {@link #invalidate()}, which bumps a
+ * version counter once the transaction commits; the next read rebuilds the snapshot. Snapshots also expire
+ * after {@code app.appointment.reference-data.max-age-ms}, which bounds staleness after writes made on
+ * other instances.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final ServiceTypeLangRepository serviceTypeLangRepository;
+    private final AppointmentStatusRepository statusRepository;
+    private final AppointmentStatusLangRepository statusLangRepository;
+    private final AppointmentActionTypeRepository actionTypeRepository;
+    private final AppointmentActionTypeLangRepository actionTypeLangRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Value("${app.appointment.reference-data.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    /**
+     * A materialized view and its strong ETag
+     */
+    public record Cached<T>(T value, String etag) {
+    }
+
+    /**
+     * Drop the current snapshot once the surrounding transaction commits (immediately without one)
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Active service types, unsorted. The entities are shared and must not be modified.
+     */
+    public List<ServiceTypeEntity> activeServiceTypes() {
+        return current().serviceTypes;
+    }
+
+    public Set<UUID> activeServiceTypeIds() {
+        return current().serviceTypeIds;
+    }
+
+    /**
+     * Status id of a code (any status row, active or not)
+     */
+    public Optional<UUID> findStatusId(String code) {
+        return Optional.ofNullable(current().statusIdsByCode.get(code));
+    }
+
+    /**
+     * @throws IllegalStateException if the status is not configured
+     */
+    public UUID requireStatusId(String code) {
+        return findStatusId(code).orElseThrow(() -> new IllegalStateException("Status not found: " + code));
+    }
+
+    /**
+     * Active service types with name and description translated when a translation exists
+     */
+    public Cached<List<ServiceTypeResponse>> serviceTypes(String language) {
+        return current().view(language, "serviceTypes", this::buildServiceTypes);
+    }
+
+    /**
+     * Dropdown items (serviceTypeId, name, code) of active service types
+     */
+    public Cached<List<Map<String, Object>>> serviceTypeLookup(String language) {
+        return current().view(language, "serviceTypeLookup", this::buildServiceTypeLookup);
+    }
+
+    /**
+     * Hierarchical tree of active service types ordered by display order, then name
+     */
+    public Cached<List<ServiceTypeTreeNodeDTO>> serviceTypeTree(String language) {
+        return current().view(language, "serviceTypeTree", this::buildServiceTypeTree);
+    }
+
+    /**
+     * Dropdown items of active, not deleted appointment statuses
+     */
+    public Cached<List<LookupItemResponse>> statusLookup(String language) {
+        return current().view(language, "statusLookup", this::buildStatusLookup);
+    }
+
+    /**
+     * Dropdown items of active action types with their business flags
+     */
+    public Cached<List<Map<String, Object>>> actionTypeLookup(String language) {
+        return current().view(language, "actionTypeLookup", this::buildActionTypeLookup);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || current.isStale(version.get(), maxAgeMs)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isStale(version.get(), maxAgeMs)) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        // Read the version first: a write committed during the load bumps it again and forces another load
+        long loadedVersion = version.get();
+
+        List<ServiceTypeEntity> serviceTypes = serviceTypeRepository.findAllActive();
+        List<AppointmentStatusEntity> statuses = statusRepository.findAll();
+        List<AppointmentActionTypeEntity> actionTypes = actionTypeRepository.findByIsActiveTrue();
+
+        Snapshot loaded = new Snapshot(
+            loadedVersion,
+            System.currentTimeMillis(),
+            List.copyOf(serviceTypes),
+            serviceTypes.stream().map(ServiceTypeEntity::getServiceTypeId).collect(Collectors.toUnmodifiableSet()),
+            statuses,
+            statuses.stream().collect(Collectors.toUnmodifiableMap(
+                AppointmentStatusEntity::getCode, AppointmentStatusEntity::getAppointmentStatusId, (a, b) -> a)),
+            actionTypes,
+            translations(serviceTypeLangRepository.findAll(), ServiceTypeLangEntity::getLanguageCode,
+                ServiceTypeLangEntity::getServiceTypeId, ServiceTypeLangEntity::getIsActive, ServiceTypeLangEntity::getIsDeleted),
+            translations(statusLangRepository.findAll(), AppointmentStatusLangEntity::getLanguageCode,
+                AppointmentStatusLangEntity::getAppointmentStatusId, AppointmentStatusLangEntity::getIsActive,
+                AppointmentStatusLangEntity::getIsDeleted),
+            translations(actionTypeLangRepository.findAll(), AppointmentActionTypeLangEntity::getLanguageCode,
+                AppointmentActionTypeLangEntity::getActionTypeId, AppointmentActionTypeLangEntity::getIsActive,
+                AppointmentActionTypeLangEntity::getIsDeleted));
+
+        log.info("Reference data loaded (version {}): {} service types, {} statuses, {} action types",
+            loadedVersion, serviceTypes.size(), statuses.size(), actionTypes.size());
+        return loaded;
+    }
+
+    private List<ServiceTypeResponse> buildServiceTypes(Snapshot data, String language) {
+        Map<UUID, ServiceTypeLangEntity> translated = data.serviceTypeLang.getOrDefault(language, Map.of());
+        return data.serviceTypes.stream()
+            .sorted(SERVICE_TYPE_ORDER)
+            .map(st -> {
+                ServiceTypeLangEntity lang = translated.get(st.getServiceTypeId());
+                return ServiceTypeResponse.builder()
+                    .serviceTypeId(st.getServiceTypeId())
+                    .name(lang != null ? lang.getName() : st.getName())
+                    .description(lang != null && lang.getDescription() != null ? lang.getDescription() : st.getDescription())
+                    .parentId(st.getParentServiceTypeId())
+                    .isActive(st.getIsActive())
+                    .isDeleted(st.getIsDeleted())
+                    .isLeaf(st.getIsLeaf())
+                    .code(st.getCode())
+                    .displayOrder(st.getDisplayOrder())
+                    .createdById(st.getCreatedById())
+                    .createdAt(st.getCreatedAt())
+                    .updatedAt(st.getUpdatedAt())
+                    .rowVersion(st.getRowVersion())
+                    .build();
+            })
+            .toList();
+    }
+
+    private List<Map<String, Object>> buildServiceTypeLookup(Snapshot data, String language) {
+        Map<UUID, ServiceTypeLangEntity> translated = data.serviceTypeLang.getOrDefault(language, Map.of());
+        return data.serviceTypes.stream()
+            .sorted(SERVICE_TYPE_ORDER)
+            .map(st -> {
+                ServiceTypeLangEntity lang = translated.get(st.getServiceTypeId());
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("serviceTypeId", st.getServiceTypeId());
+                item.put("name", lang != null ? lang.getName() : st.getName());
+                item.put("code", st.getCode() != null ? st.getCode() : "");
+                return Collections.unmodifiableMap(item);
+            })
+            .toList();
+    }
+
+    private List<ServiceTypeTreeNodeDTO> buildServiceTypeTree(Snapshot data, String language) {
+        Map<UUID, ServiceTypeLangEntity> translated = data.serviceTypeLang.getOrDefault(language, Map.of());
+        Map<UUID, List<ServiceTypeEntity>> byParent = new HashMap<>();
+        for (ServiceTypeEntity entity : data.serviceTypes) {
+            byParent.computeIfAbsent(entity.getParentServiceTypeId(), key -> new ArrayList<>()).add(entity);
+        }
+        return buildTree(null, byParent, translated);
+    }
+
+    private List<ServiceTypeTreeNodeDTO> buildTree(UUID parentId,
+                                                   Map<UUID, List<ServiceTypeEntity>> byParent,
+                                                   Map<UUID, ServiceTypeLangEntity> translated) {
+        List<ServiceTypeEntity> children = byParent.getOrDefault(parentId, Collections.emptyList());
+
+        return children.stream()
+            .sorted(SERVICE_TYPE_ORDER)
+            .map(entity -> {
+                ServiceTypeLangEntity lang = translated.get(entity.getServiceTypeId());
+                return ServiceTypeTreeNodeDTO.builder()
+                    .serviceTypeId(entity.getServiceTypeId())
+                    .parentId(entity.getParentServiceTypeId())
+                    .name(lang != null ? lang.getName() : entity.getName())
+                    .code(entity.getCode())
+                    .leaf(Boolean.TRUE.equals(entity.getIsLeaf()))
+                    .displayOrder(entity.getDisplayOrder())
+                    .children(buildTree(entity.getServiceTypeId(), byParent, translated))
+                    .build();
+            })
+            .toList();
+    }
+
+    private List<LookupItemResponse> buildStatusLookup(Snapshot data, String language) {
+        Map<UUID, AppointmentStatusLangEntity> translated = data.statusLang.getOrDefault(language, Map.of());
+        return data.statuses.stream()
+            .filter(status -> Boolean.TRUE.equals(status.getIsActive()) && !Boolean.TRUE.equals(status.getIsDeleted()))
+            .map(status -> {
+                AppointmentStatusLangEntity lang = translated.get(status.getAppointmentStatusId());
+                String label = lang != null ? lang.getName() : null;
+                if (label == null || label.isBlank()) {
+                    label = status.getName() != null && !status.getName().isBlank()
+                        ? status.getName()
+                        : status.getCode();
+                }
+                return LookupItemResponse.builder()
+                    .value(status.getAppointmentStatusId())
+                    .code(status.getCode())
+                    .label(label)
+                    .name(status.getName())
+                    .build();
+            })
+            .toList();
+    }
+
+    private List<Map<String, Object>> buildActionTypeLookup(Snapshot data, String language) {
+        Map<UUID, AppointmentActionTypeLangEntity> translated = data.actionTypeLang.getOrDefault(language, Map.of());
+        return data.actionTypes.stream()
+            .sorted(Comparator
+                .comparing(AppointmentActionTypeEntity::getDisplayOrder, Comparator.nullsLast(Integer::compareTo))
+                .thenComparing(AppointmentActionTypeEntity::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+            .map(at -> {
+                AppointmentActionTypeLangEntity lang = translated.get(at.getActionTypeId());
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("actionTypeId", at.getActionTypeId());
+                item.put("name", lang != null ? lang.getName() : at.getName());
+                item.put("code", at.getCode());
+                item.put("requiresTransfer", at.getRequiresTransfer());
+                item.put("completesAppointment", at.getCompletesAppointment());
+                return Collections.unmodifiableMap(item);
+            })
+            .toList();
+    }
+
+    /**
+     * Active, not deleted translations grouped as language -> (owner id -> translation)
+     */
+    private static <T> Map<String, Map<UUID, T>> translations(Collection<T> rows,
+                                                            Function<T, String> language,
+                                                            Function<T, UUID> ownerId,
+                                                            Function<T, Boolean> active,
+                                                            Function<T, Boolean> deleted) {
+        Map<String, Map<UUID, T>> result = new HashMap<>();
+        for (T row : rows) {
+            if (!Boolean.TRUE.equals(active.apply(row)) || Boolean.TRUE.equals(deleted.apply(row))
+                    || language.apply(row) == null || ownerId.apply(row) == null) {
+                continue;
+            }
+            result.computeIfAbsent(normalizeLanguage(language.apply(row)), key -> new HashMap<>())
+                .putIfAbsent(ownerId.apply(row), row);
+        }
+        return result;
+    }
+
+    private static String normalizeLanguage(String language) {
+        return language == null ? "" : language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Comparator<ServiceTypeEntity> SERVICE_TYPE_ORDER = Comparator
+        .comparing(ServiceTypeEntity::getDisplayOrder, Comparator.nullsLast(Integer::compareTo))
+        .thenComparing(ServiceTypeEntity::getName, Comparator.nullsLast(String::compareToIgnoreCase));
+
+    @FunctionalInterface
+    private interface ViewBuilder<T> {
+        T build(Snapshot data, String language);
+    }
+
+    private final class Snapshot {
+        private final long version;
+        private final long loadedAt;
+        private final List<ServiceTypeEntity> serviceTypes;
+        private final Set<UUID> serviceTypeIds;
+        private final List<AppointmentStatusEntity> statuses;
+        private final Map<String, UUID> statusIdsByCode;
+        private final List<AppointmentActionTypeEntity> actionTypes;
+        private final Map<String, Map<UUID, ServiceTypeLangEntity>> serviceTypeLang;
+        private final Map<String, Map<UUID, AppointmentStatusLangEntity>> statusLang;
+        private final Map<String, Map<UUID, AppointmentActionTypeLangEntity>> actionTypeLang;
+        private final ConcurrentHashMap<String, Cached<?>> views = new ConcurrentHashMap<>();
+
+        private Snapshot(long version,
+                         long loadedAt,
+                         List<ServiceTypeEntity> serviceTypes,
+                         Set<UUID> serviceTypeIds,
+                         List<AppointmentStatusEntity> statuses,
+                         Map<String, UUID> statusIdsByCode,
+                         List<AppointmentActionTypeEntity> actionTypes,
+                         Map<String, Map<UUID, ServiceTypeLangEntity>> serviceTypeLang,
+                         Map<String, Map<UUID, AppointmentStatusLangEntity>> statusLang,
+                         Map<String, Map<UUID, AppointmentActionTypeLangEntity>> actionTypeLang) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.serviceTypes = serviceTypes;
+            this.serviceTypeIds = serviceTypeIds;
+            this.statuses = List.copyOf(statuses);
+            this.statusIdsByCode = statusIdsByCode;
+            this.actionTypes = List.copyOf(actionTypes);
+            this.serviceTypeLang = serviceTypeLang;
+            this.statusLang = statusLang;
+            this.actionTypeLang = actionTypeLang;
+        }
+
+        private boolean isStale(long currentVersion, long maxAgeMs) {
+            return version != currentVersion || System.currentTimeMillis() - loadedAt > maxAgeMs;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Cached<T> view(String language, String name, ViewBuilder<T> builder) {
+            // Languages without any translation share the untranslated view, which keeps the map bounded
+            String normalized = normalizeLanguage(language);
+            String effective = serviceTypeLang.containsKey(normalized) || statusLang.containsKey(normalized)
+                || actionTypeLang.containsKey(normalized) ? normalized : "";
+            return (Cached<T>) views.computeIfAbsent(name + ':' + effective, key -> {
+                T value = builder.build(this, effective);
+                return new Cached<>(value, etag(value));
+            });
+        }
+    }
+
+    private String etag(Object value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(value));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not compute reference data ETag", ex);
+        }
+    }
+}
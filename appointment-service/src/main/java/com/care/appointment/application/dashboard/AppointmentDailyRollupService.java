@@ -0,0 +1,165 @@
+package com.care.appointment.application.dashboard;
+
+import com.care.appointment.infrastructure.db.config.AppointmentRollupTriggers;
+import com.care.appointment.infrastructure.db.entities.AppointmentRollupStateEntity;
+import com.care.appointment.infrastructure.db.repositories.AppointmentDailyFactRepository;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRollupStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Maintains the appointment_daily_facts rollup used by dashboards for historical ranges.
+ *
+ * Every run re-aggregates the appointment dates queued by {@link AppointmentRollupTriggers}
+ * (both days of a moved appointment, deleted appointments included) and replaces their rollup
+ * rows. The first run after startup also covers dates touched since the last watermark, so
+ * writes made before the triggers existed are not missed. Without the triggers every run scans
+ * for dates touched since the watermark, overlapping the previous run so late-committing
+ * transactions are not missed; the old date of a moved or deleted appointment then waits for
+ * the nightly full rebuild, as do beneficiary edits in either case.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentDailyRollupService {
+
+    static final String ROLLUP_NAME = "appointment_daily_facts";
+    private static final int DATES_PER_BATCH = 500;
+
+    private final AppointmentDailyFactRepository factRepository;
+    private final AppointmentRollupStateRepository stateRepository;
+    private final AppointmentRollupTriggers rollupTriggers;
+
+    @Value("${app.appointment.daily-rollup.overlap-ms:300000}")
+    private long overlapMs;
+
+    private volatile boolean ready;
+    private volatile boolean caughtUp;
+
+    /**
+     * Roll up dates changed since the watermark; the first run builds the whole table
+     */
+    @Scheduled(
+        initialDelayString = "${app.appointment.daily-rollup.initial-delay-ms:60000}",
+        fixedDelayString = "${app.appointment.daily-rollup.interval-ms:300000}")
+    @Transactional
+    public void refresh() {
+        if (!factRepository.tryLockRollup()) {
+            log.debug("Daily rollup is running on another node, skipping");
+            return;
+        }
+        Instant startedAt = Instant.now();
+        AppointmentRollupStateEntity state = stateRepository.findById(ROLLUP_NAME).orElse(null);
+        if (state == null || state.getLastFullRebuildAt() == null) {
+            rebuild(startedAt, state);
+            return;
+        }
+
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        boolean queued = rollupTriggers.isInstalled();
+        if (queued) {
+            addDates(dates, factRepository.takeQueuedDates());
+        }
+        if (!queued || !caughtUp) {
+            addDates(dates, factRepository.findDatesChangedSince(state.getWatermark().minusMillis(overlapMs)));
+        }
+
+        List<LocalDate> batch = new ArrayList<>(DATES_PER_BATCH);
+        long rows = 0;
+        for (LocalDate date : dates) {
+            batch.add(date);
+            if (batch.size() == DATES_PER_BATCH) {
+                rows += replaceDates(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rows += replaceDates(batch);
+        }
+
+        state.setWatermark(startedAt);
+        stateRepository.save(state);
+        ready = true;
+        caughtUp = queued;
+        if (!dates.isEmpty()) {
+            log.info("Daily rollup refreshed {} dates ({} rows) in {} ms",
+                dates.size(), rows, Duration.between(startedAt, Instant.now()).toMillis());
+        }
+    }
+
+    /**
+     * Rebuild the whole rollup nightly to pick up beneficiary changes, and anything the incremental
+     * runs missed while the triggers were missing
+     */
+    @Scheduled(cron = "${app.appointment.daily-rollup.rebuild-cron:0 30 2 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        if (!factRepository.tryLockRollup()) {
+            log.debug("Daily rollup is running on another node, skipping rebuild");
+            return;
+        }
+        rebuild(Instant.now(), stateRepository.findById(ROLLUP_NAME).orElse(null));
+    }
+
+    /**
+     * True once the rollup has been fully built; before that dashboards read appointments directly
+     */
+    public boolean isReady() {
+        if (!ready) {
+            ready = stateRepository.findById(ROLLUP_NAME)
+                .map(state -> state.getLastFullRebuildAt() != null)
+                .orElse(false);
+        }
+        return ready;
+    }
+
+    private void rebuild(Instant startedAt, AppointmentRollupStateEntity state) {
+        factRepository.deleteAllFacts();
+        int rows = factRepository.insertAll();
+
+        AppointmentRollupStateEntity updated = state != null ? state
+            : AppointmentRollupStateEntity.builder().rollupName(ROLLUP_NAME).build();
+        updated.setWatermark(startedAt);
+        updated.setLastFullRebuildAt(startedAt);
+        stateRepository.save(updated);
+        ready = true;
+        caughtUp = rollupTriggers.isInstalled();
+        log.info("Daily rollup rebuilt ({} rows) in {} ms",
+            rows, Duration.between(startedAt, Instant.now()).toMillis());
+    }
+
+    private void addDates(TreeSet<LocalDate> dates, List<Object> values) {
+        for (Object value : values) {
+            LocalDate date = toLocalDate(value);
+            if (date != null) {
+                dates.add(date);
+            }
+        }
+    }
+
+    private int replaceDates(List<LocalDate> dates) {
+        factRepository.deleteByFactDates(dates);
+        return factRepository.insertForDates(dates);
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.care.appointment.application.dashboard;
 
 import com.care.appointment.domain.model.DashboardMetrics;
+import com.care.appointment.infrastructure.db.repositories.AppointmentDailyFactRepository;
 import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
 import com.care.appointment.web.dto.dashboard.DashboardFilterRequest;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,9 @@ import java.util.stream.Collectors;
 /**
  * Service for querying and aggregating dashboard metrics
  * Handles complex appointment analytics and reporting
+ *
+ * Past days are read from the daily rollup (see {@link AppointmentDailyRollupService});
+ * today and future days are aggregated from appointments directly.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,6 +29,8 @@ import java.util.stream.Collectors;
 public class DashboardQueryService {
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentDailyFactRepository dailyFactRepository;
+    private final AppointmentDailyRollupService dailyRollupService;
 
     /**
      * Build comprehensive dashboard metrics based on filter criteria
@@ -63,70 +69,91 @@ public class DashboardQueryService {
         List<String> statusesParam = statusFilterDisabled ? List.of(DUMMY_STATUS) : statuses;
         List<UUID> centerIdsParam = centerFilterDisabled ? List.of(DUMMY_UUID) : centerIds;
 
-        List<?> rawResults = appointmentRepository.findAppointmentsForDashboard(
-                filter.getDateFrom(),
-                filter.getDateTo(),
-                serviceTypeFilterDisabled,
-                serviceTypeIdsParam,
-                statusFilterDisabled,
-                statusesParam,
-                centerFilterDisabled,
-                centerIdsParam,
-                filter.getPriority(),
-                filter.getBeneficiaryStatus()
-        );
-
-        // Convert raw results to AppointmentView objects
-        List<AppointmentViewImpl> appointments = convertResultsToViews(rawResults);
+        // Days before today come from the daily rollup when it is built; the beneficiary status
+        // filter is not part of the rollup, so it always reads appointments directly
+        LocalDate rollupEnd = filter.getDateTo();
+        if (filter.getBeneficiaryStatus() != null || !dailyRollupService.isReady()) {
+            rollupEnd = filter.getDateFrom().minusDays(1);
+        } else if (!rollupEnd.isBefore(LocalDate.now())) {
+            rollupEnd = LocalDate.now().minusDays(1);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        if (!rollupEnd.isBefore(filter.getDateFrom())) {
+            rows.addAll(dailyFactRepository.aggregateForDashboard(
+                    filter.getDateFrom(),
+                    rollupEnd,
+                    serviceTypeFilterDisabled,
+                    serviceTypeIdsParam,
+                    statusFilterDisabled,
+                    statusesParam,
+                    centerFilterDisabled,
+                    centerIdsParam,
+                    filter.getPriority()
+            ));
+        }
+        if (rollupEnd.isBefore(filter.getDateTo())) {
+            rows.addAll(appointmentRepository.aggregateForDashboard(
+                    rollupEnd.plusDays(1),
+                    filter.getDateTo(),
+                    serviceTypeFilterDisabled,
+                    serviceTypeIdsParam,
+                    statusFilterDisabled,
+                    statusesParam,
+                    centerFilterDisabled,
+                    centerIdsParam,
+                    filter.getPriority(),
+                    filter.getBeneficiaryStatus()
+            ));
+        }
+
+        // Sort grouped rows into buckets; the database already did the counting
+        StatusCounts totals = new StatusCounts();
+        Map<LocalDate, StatusCounts> countsByDate = new HashMap<>();
+        Map<String, StatusCounts> countsByCenter = new LinkedHashMap<>();
+        Map<String, Long> appointmentsByStatus = new HashMap<>();
+        Map<String, Long> appointmentsByServiceType = new HashMap<>();
+        Map<String, Long> appointmentsByPriority = new HashMap<>();
+        Map<String, Long> beneficiaryByAgeGroup = new HashMap<>();
+
+        for (Object[] row : rows) {
+            long count = ((Number) row[10]).longValue();
+            if (isGrouped(row[0])) {
+                String status = (String) row[6];
+                totals.add(status, count);
+                appointmentsByStatus.merge(status, count, Long::sum);
+                countsByDate.computeIfAbsent(toLocalDate(row[4]), d -> new StatusCounts()).add(status, count);
+            } else if (isGrouped(row[1])) {
+                countsByCenter.computeIfAbsent(toString(row[5]), c -> new StatusCounts()).add((String) row[6], count);
+            } else if (isGrouped(row[2])) {
+                appointmentsByServiceType.merge((String) row[7], count, Long::sum);
+            } else if (isGrouped(row[3])) {
+                appointmentsByPriority.merge((String) row[8], count, Long::sum);
+            } else {
+                beneficiaryByAgeGroup.merge((String) row[9], count, Long::sum);
+            }
+        }
 
         // Calculate summary metrics
-        long totalAppointments = appointments.size();
-        long completed = appointments.stream().filter(a -> "COMPLETED".equals(a.getStatus())).count();
-        long cancelled = appointments.stream().filter(a -> "CANCELLED".equals(a.getStatus())).count();
-        long noShow = appointments.stream().filter(a -> "NO_SHOW".equals(a.getStatus())).count();
-        long transferred = appointments.stream().filter(a -> "TRANSFERRED".equals(a.getStatus())).count();
-
-        double completionRate = totalAppointments > 0 ? (double) completed / totalAppointments * 100 : 0;
-        double noShowRate = totalAppointments > 0 ? (double) noShow / totalAppointments * 100 : 0;
-        double cancellationRate = totalAppointments > 0 ? (double) cancelled / totalAppointments * 100 : 0;
-        double transferredRate = totalAppointments > 0 ? (double) transferred / totalAppointments * 100 : 0;
-
-        // Status breakdown
-        Map<String, Long> appointmentsByStatus = appointments.stream()
-                .collect(Collectors.groupingBy(
-                        AppointmentViewImpl::getStatus,
-                        Collectors.counting()
-                ));
-
-        // Service type breakdown
-        Map<String, Long> appointmentsByServiceType = appointments.stream()
-                .collect(Collectors.groupingBy(
-                        AppointmentViewImpl::getServiceTypeName,
-                        Collectors.counting()
-                ));
-
-        // Priority breakdown
-        Map<String, Long> appointmentsByPriority = appointments.stream()
-                .collect(Collectors.groupingBy(
-                        AppointmentViewImpl::getPriority,
-                        Collectors.counting()
-                ));
-
-        // Beneficiary demographics
-        Map<String, Long> beneficiaryByGender = appointments.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getGender() != null ? a.getGender() : "Unknown",
-                        Collectors.counting()
-                ));
-
-        Map<String, Long> beneficiaryByAgeGroup = calculateAgeDistribution(appointments);
+        long totalAppointments = totals.total;
+        long transferred = appointmentsByStatus.getOrDefault("TRANSFERRED", 0L);
+
+        double completionRate = totals.rate(totals.completed);
+        double noShowRate = totals.rate(totals.noShow);
+        double cancellationRate = totals.rate(totals.cancelled);
+        double transferredRate = totals.rate(transferred);
+
+        // Beneficiary gender is not tracked by the dashboard source yet
+        Map<String, Long> beneficiaryByGender = totalAppointments > 0
+                ? new HashMap<>(Map.of("Unknown", totalAppointments))
+                : new HashMap<>();
 
         // Trend data
-        List<DashboardMetrics.TrendPoint> trendPoints = calculateTrend(appointments, filter.getPeriod(),
+        List<DashboardMetrics.TrendPoint> trendPoints = calculateTrend(countsByDate, filter.getPeriod(),
                 filter.getDateFrom(), filter.getDateTo());
 
         // Center metrics
-        List<DashboardMetrics.CenterMetric> centerMetrics = calculateCenterMetrics(appointments, filter.getGovernorates());
+        List<DashboardMetrics.CenterMetric> centerMetrics = calculateCenterMetrics(countsByCenter, filter.getGovernorates());
 
         // Build the response
         return DashboardMetrics.builder()
@@ -157,174 +184,77 @@ public class DashboardQueryService {
     }
 
     /**
-     * Convert raw SQL results to AppointmentViewImpl objects
-     */
-    private List<AppointmentViewImpl> convertResultsToViews(List<?> rawResults) {
-        return rawResults.stream()
-                .map(this::convertToView)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Convert single raw result (Object array) to AppointmentViewImpl
-     */
-    private AppointmentViewImpl convertToView(Object result) {
-        try {
-            if (result instanceof Object[]) {
-                Object[] row = (Object[]) result;
-                return AppointmentViewImpl.builder()
-                        .id(toString(row[0]))
-                        .centerId(toString(row[1]))
-                        .centerName((String) row[2])
-                        .governorate((String) row[3])
-                        .latitude(toDouble(row[4]))
-                        .longitude(toDouble(row[5]))
-                        .appointmentDate(toLocalDate(row[6]))
-                        .status((String) row[7])
-                        .serviceTypeName((String) row[8])
-                        .priority((String) row[9])
-                        .gender((String) row[10])
-                        .dateOfBirth(toLocalDate(row[11]))
-                        .build();
-            }
-        } catch (Exception e) {
-            log.warn("Error converting appointment result row: {}", e.getMessage(), e);
-        }
-        return null;
-    }
-
-    /**
-     * Calculate age distribution based on date of birth
-     */
-    private Map<String, Long> calculateAgeDistribution(List<AppointmentViewImpl> appointments) {
-        LocalDate today = LocalDate.now();
-
-        return appointments.stream()
-                .collect(Collectors.groupingBy(a -> {
-                    if (a.getDateOfBirth() == null) return "Unknown";
-
-                    int age = today.getYear() - a.getDateOfBirth().getYear();
-                    if (today.getMonth().getValue() < a.getDateOfBirth().getMonth().getValue()) {
-                        age--;
-                    }
-
-                    if (age < 6) return "0-5";
-                    if (age < 16) return "6-15";
-                    if (age < 26) return "16-25";
-                    if (age < 36) return "26-35";
-                    if (age < 46) return "36-45";
-                    return "46+";
-                }, Collectors.counting()));
-    }
-
-    /**
-     * Calculate trend points based on period
+     * Calculate trend points based on period from per-day counts
      */
-    private List<DashboardMetrics.TrendPoint> calculateTrend(List<AppointmentViewImpl> appointments,
+    private List<DashboardMetrics.TrendPoint> calculateTrend(Map<LocalDate, StatusCounts> countsByDate,
                                                              String period, LocalDate dateFrom, LocalDate dateTo) {
-        Map<Object, List<AppointmentViewImpl>> groupedByPeriod = new HashMap<>();
-
-        if ("DAILY".equals(period)) {
-            groupedByPeriod = appointments.stream()
-                    .collect(Collectors.groupingBy(AppointmentViewImpl::getAppointmentDate));
-        } else if ("WEEKLY".equals(period)) {
-            groupedByPeriod = appointments.stream()
-                    .collect(Collectors.groupingBy(a -> a.getAppointmentDate()
-                            .get(WeekFields.ISO.weekOfWeekBasedYear())));
-        } else if ("MONTHLY".equals(period)) {
-            groupedByPeriod = appointments.stream()
-                    .collect(Collectors.groupingBy(a -> YearMonth.from(a.getAppointmentDate())));
-        }
-
         List<DashboardMetrics.TrendPoint> trendPoints = new ArrayList<>();
 
         if ("DAILY".equals(period)) {
             LocalDate current = dateFrom;
             while (!current.isAfter(dateTo)) {
-                List<AppointmentViewImpl> dayAppointments = (List<AppointmentViewImpl>) groupedByPeriod.getOrDefault(current, List.of());
-                trendPoints.add(buildTrendPoint(dayAppointments, current.toString(), current));
+                StatusCounts dayCounts = countsByDate.getOrDefault(current, StatusCounts.EMPTY);
+                trendPoints.add(buildTrendPoint(dayCounts, current.toString(), current));
                 current = current.plusDays(1);
             }
-        } else if ("WEEKLY".equals(period)) {
-            groupedByPeriod.forEach((week, appts) -> {
-                trendPoints.add(buildTrendPoint(appts, "Week " + week, null));
-            });
-        } else if ("MONTHLY".equals(period)) {
-            groupedByPeriod.forEach((month, appts) -> {
-                trendPoints.add(buildTrendPoint(appts, month.toString(), null));
-            });
+            return trendPoints;
         }
 
-        return trendPoints.stream()
-                .sorted(Comparator.comparing(p -> p.getDate() != null ? p.getDate() : LocalDate.now()))
-                .collect(Collectors.toList());
+        Map<String, StatusCounts> countsByPeriod = new LinkedHashMap<>();
+        countsByDate.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    String label;
+                    if ("WEEKLY".equals(period)) {
+                        label = "Week " + entry.getKey().get(WeekFields.ISO.weekOfWeekBasedYear());
+                    } else if ("MONTHLY".equals(period)) {
+                        label = YearMonth.from(entry.getKey()).toString();
+                    } else {
+                        return;
+                    }
+                    countsByPeriod.computeIfAbsent(label, l -> new StatusCounts()).addAll(entry.getValue());
+                });
+
+        countsByPeriod.forEach((label, counts) -> trendPoints.add(buildTrendPoint(counts, label, null)));
+        return trendPoints;
     }
 
     /**
      * Build single trend point
      */
-    private DashboardMetrics.TrendPoint buildTrendPoint(List<AppointmentViewImpl> appts, String label, LocalDate date) {
-        long completed = appts.stream().filter(a -> "COMPLETED".equals(a.getStatus())).count();
-        long cancelled = appts.stream().filter(a -> "CANCELLED".equals(a.getStatus())).count();
-        long noShow = appts.stream().filter(a -> "NO_SHOW".equals(a.getStatus())).count();
-        long requested = appts.stream().filter(a -> "REQUESTED".equals(a.getStatus())).count();
-        long confirmed = appts.stream().filter(a -> "CONFIRMED".equals(a.getStatus())).count();
-
+    private DashboardMetrics.TrendPoint buildTrendPoint(StatusCounts counts, String label, LocalDate date) {
         return DashboardMetrics.TrendPoint.builder()
                 .date(date)
                 .dateLabel(label)
-                .totalAppointments(appts.size())
-                .completed(completed)
-                .cancelled(cancelled)
-                .noShow(noShow)
-                .requested(requested)
-                .confirmed(confirmed)
+                .totalAppointments(counts.total)
+                .completed(counts.completed)
+                .cancelled(counts.cancelled)
+                .noShow(counts.noShow)
+                .requested(counts.requested)
+                .confirmed(counts.confirmed)
                 .build();
     }
 
     /**
      * Calculate center-level metrics
+     * Center name, governorate and coordinates live in access-management and are not joined here.
      */
-    private List<DashboardMetrics.CenterMetric> calculateCenterMetrics(List<AppointmentViewImpl> appointments,
+    private List<DashboardMetrics.CenterMetric> calculateCenterMetrics(Map<String, StatusCounts> countsByCenter,
                                                                        List<String> governorates) {
-        Map<String, List<AppointmentViewImpl>> appointmentsByCenter = appointments.stream()
-                .collect(Collectors.groupingBy(AppointmentViewImpl::getCenterId));
-
-        return appointmentsByCenter.entrySet().stream()
+        return countsByCenter.entrySet().stream()
                 .map(entry -> {
-                    String centerId = entry.getKey();
-                    List<AppointmentViewImpl> centerAppts = entry.getValue();
-
-                    long completed = centerAppts.stream().filter(a -> "COMPLETED".equals(a.getStatus())).count();
-                    long cancelled = centerAppts.stream().filter(a -> "CANCELLED".equals(a.getStatus())).count();
-                    long noShow = centerAppts.stream().filter(a -> "NO_SHOW".equals(a.getStatus())).count();
-                    long confirmed = centerAppts.stream().filter(a -> "CONFIRMED".equals(a.getStatus())).count();
-                    long requested = centerAppts.stream().filter(a -> "REQUESTED".equals(a.getStatus())).count();
-
-                    long totalAppts = centerAppts.size();
-                    double completionRate = totalAppts > 0 ? (double) completed / totalAppts * 100 : 0;
-                    double noShowRate = totalAppts > 0 ? (double) noShow / totalAppts * 100 : 0;
-                    double cancellationRate = totalAppts > 0 ? (double) cancelled / totalAppts * 100 : 0;
-
-                    // Get first appointment's center details
-                    AppointmentViewImpl sample = centerAppts.get(0);
-
+                    StatusCounts counts = entry.getValue();
                     return DashboardMetrics.CenterMetric.builder()
-                            .centerId(centerId)
-                            .centerName(sample.getCenterName())
-                            .governorate(sample.getGovernorate())
-                            .latitude(sample.getLatitude())
-                            .longitude(sample.getLongitude())
-                            .totalAppointments(totalAppts)
-                            .completionRate(Math.round(completionRate * 100.0) / 100.0)
-                            .noShowRate(Math.round(noShowRate * 100.0) / 100.0)
-                            .cancellationRate(Math.round(cancellationRate * 100.0) / 100.0)
-                            .completedCount(completed)
-                            .cancelledCount(cancelled)
-                            .noShowCount(noShow)
-                            .confirmedCount(confirmed)
-                            .requestedCount(requested)
+                            .centerId(entry.getKey())
+                            .totalAppointments(counts.total)
+                            .completionRate(round(counts.rate(counts.completed)))
+                            .noShowRate(round(counts.rate(counts.noShow)))
+                            .cancellationRate(round(counts.rate(counts.cancelled)))
+                            .completedCount(counts.completed)
+                            .cancelledCount(counts.cancelled)
+                            .noShowCount(counts.noShow)
+                            .confirmedCount(counts.confirmed)
+                            .requestedCount(counts.requested)
                             .build();
                 })
                 .filter(metric -> governorates == null || governorates.isEmpty() ||
@@ -333,26 +263,50 @@ public class DashboardQueryService {
     }
 
     /**
-     * Simple view model implementation for appointment data used in aggregations
+     * Appointment counts per status for one bucket (day, period, center or overall)
      */
-    @lombok.Getter
-    @lombok.Setter
-    @lombok.Builder
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class AppointmentViewImpl {
-        private String id;
-        private String centerId;
-        private String centerName;
-        private String governorate;
-        private Double latitude;
-        private Double longitude;
-        private LocalDate appointmentDate;
-        private String status;
-        private String serviceTypeName;
-        private String priority;
-        private String gender;
-        private LocalDate dateOfBirth;
+    private static final class StatusCounts {
+        private static final StatusCounts EMPTY = new StatusCounts();
+
+        private long total;
+        private long completed;
+        private long cancelled;
+        private long noShow;
+        private long requested;
+        private long confirmed;
+
+        private void add(String status, long count) {
+            total += count;
+            switch (status) {
+                case "COMPLETED" -> completed += count;
+                case "CANCELLED" -> cancelled += count;
+                case "NO_SHOW" -> noShow += count;
+                case "REQUESTED" -> requested += count;
+                case "CONFIRMED" -> confirmed += count;
+                default -> { }
+            }
+        }
+
+        private void addAll(StatusCounts other) {
+            total += other.total;
+            completed += other.completed;
+            cancelled += other.cancelled;
+            noShow += other.noShow;
+            requested += other.requested;
+            confirmed += other.confirmed;
+        }
+
+        private double rate(long count) {
+            return total > 0 ? (double) count / total * 100 : 0;
+        }
+    }
+
+    private boolean isGrouped(Object groupingFlag) {
+        return ((Number) groupingFlag).intValue() == 0;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
     }
 
     private List<String> convertUuidListToStrings(List<UUID> uuids) {
@@ -385,13 +339,6 @@ public class DashboardQueryService {
         return value != null ? value.toString() : null;
     }
 
-    private Double toDouble(Object value) {
-        if (value instanceof Number number) {
-            return number.doubleValue();
-        }
-        return null;
-    }
-
     private LocalDate toLocalDate(Object value) {
         if (value instanceof LocalDate localDate) {
             return localDate;
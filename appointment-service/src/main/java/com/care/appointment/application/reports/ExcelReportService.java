@@ -3,18 +3,25 @@ package com.care.appointment.application.reports;
 import com.care.appointment.web.dto.reports.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Service for generating Excel reports
+ * Data-backed reports are written with SXSSF straight to the response stream, so memory stays
+ * flat regardless of the number of rows.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,37 +31,41 @@ public class ExcelReportService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public byte[] generateDetailedReport(List<DetailedReportData> data, ExcelReportRequest request) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet(
-                request.getLanguage().equals("ar") ? "تفاصيل الإحالات" : "Appointment Details"
-            );
-
-            CellStyle headerStyle = createHeaderStyle(workbook);
+    /** Rows kept in memory per streaming sheet; older rows are flushed to a temp file */
+    private static final int ROW_WINDOW = 200;
+    private static final int MAX_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+    private static final int[] DETAILED_COLUMN_WIDTHS = {18, 30, 30, 30, 25, 20, 16, 12, 20, 18, 40};
+
+    /**
+     * Stream the detailed report into a windowed workbook written straight to {@code out}.
+     * Only {@value #ROW_WINDOW} rows are kept in memory; rows beyond the sheet limit continue
+     * on additional sheets.
+     */
+    public void writeDetailedReport(Stream<DetailedReportData> data, ExcelReportRequest request, OutputStream out)
+            throws IOException {
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try {
+            String sheetName = request.getLanguage().equals("ar") ? "تفاصيل الإحالات" : "Appointment Details";
             String[] headers = getDetailedReportHeaders(request.getLanguage());
-            Row headerRow = sheet.createRow(0);
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            CellStyle headerStyle = createHeaderStyle(workbook);
 
+            int sheetCount = 1;
+            Sheet sheet = createDetailedSheet(workbook, sheetName, headers, headerStyle);
             int rowNum = 1;
-            for (DetailedReportData detail : data) {
-                Row row = sheet.createRow(rowNum++);
-                fillDetailedReportRow(row, detail);
-            }
-
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            Iterator<DetailedReportData> rows = data.iterator();
+            while (rows.hasNext()) {
+                if (rowNum > MAX_ROW_INDEX) {
+                    sheet = createDetailedSheet(workbook, sheetName + " (" + ++sheetCount + ")", headers, headerStyle);
+                    rowNum = 1;
+                }
+                fillDetailedReportRow(sheet.createRow(rowNum++), rows.next());
             }
 
             addFiltersSheet(workbook, request);
-            return workbookToBytes(workbook);
-        } catch (IOException e) {
-            log.error("Error generating detailed report", e);
-            throw new RuntimeException("Failed to generate report", e);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
@@ -75,21 +86,16 @@ public class ExcelReportService {
         }
     }
 
-    public byte[] generateCenterReport(List<CenterPerformanceReport> data, ExcelReportRequest request) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet(
+    public void writeCenterReport(List<CenterPerformanceReport> data, ExcelReportRequest request, OutputStream out)
+            throws IOException {
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try {
+            Sheet sheet = createSmallSheet(workbook,
                 request.getLanguage().equals("ar") ? "أداء المراكز" : "Center Performance"
             );
 
-            CellStyle headerStyle = createHeaderStyle(workbook);
             String[] headers = getCenterReportHeaders(request.getLanguage());
-            Row headerRow = sheet.createRow(0);
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            writeHeaderRow(sheet, headers, createHeaderStyle(workbook));
 
             int rowNum = 1;
             for (CenterPerformanceReport center : data) {
@@ -102,28 +108,23 @@ public class ExcelReportService {
             }
 
             addFiltersSheet(workbook, request);
-            return workbookToBytes(workbook);
-        } catch (IOException e) {
-            log.error("Error generating center report", e);
-            throw new RuntimeException("Failed to generate report", e);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
-    public byte[] generateOrganizationReport(List<OrganizationPerformanceReport> data, ExcelReportRequest request) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet(
+    public void writeOrganizationReport(List<OrganizationPerformanceReport> data, ExcelReportRequest request,
+                                        OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try {
+            Sheet sheet = createSmallSheet(workbook,
                 request.getLanguage().equals("ar") ? "أداء المنظمات" : "Organization Performance"
             );
 
-            CellStyle headerStyle = createHeaderStyle(workbook);
             String[] headers = getOrganizationReportHeaders(request.getLanguage());
-            Row headerRow = sheet.createRow(0);
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            writeHeaderRow(sheet, headers, createHeaderStyle(workbook));
 
             int rowNum = 1;
             for (OrganizationPerformanceReport org : data) {
@@ -136,25 +137,66 @@ public class ExcelReportService {
             }
 
             addFiltersSheet(workbook, request);
-            return workbookToBytes(workbook);
-        } catch (IOException e) {
-            log.error("Error generating organization report", e);
-            throw new RuntimeException("Failed to generate report", e);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
-    public byte[] generatePriorityReport(PriorityDistributionReport data, ExcelReportRequest request) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+    public void writePriorityReport(PriorityDistributionReport data, ExcelReportRequest request, OutputStream out)
+            throws IOException {
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try {
             boolean isArabic = request.getLanguage().equals("ar");
 
             addPriorityDistributionSheet(workbook, data.getDistribution(), isArabic);
             addTimelineSheet(workbook, data.getTimeline(), isArabic);
             addFiltersSheet(workbook, request);
 
-            return workbookToBytes(workbook);
-        } catch (IOException e) {
-            log.error("Error generating priority report", e);
-            throw new RuntimeException("Failed to generate report", e);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private SXSSFWorkbook newStreamingWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    /**
+     * Sheet of a few hundred rows at most, so columns can still be auto-sized
+     */
+    private Sheet createSmallSheet(Workbook workbook, String name) {
+        Sheet sheet = workbook.createSheet(name);
+        if (sheet instanceof SXSSFSheet streamingSheet) {
+            streamingSheet.trackAllColumnsForAutoSizing();
+        }
+        return sheet;
+    }
+
+    /**
+     * Unbounded sheet: fixed column widths, since auto-sizing would need every row in memory
+     */
+    private Sheet createDetailedSheet(Workbook workbook, String name, String[] headers, CellStyle headerStyle) {
+        Sheet sheet = workbook.createSheet(name);
+        for (int i = 0; i < headers.length; i++) {
+            sheet.setColumnWidth(i, DETAILED_COLUMN_WIDTHS[i] * 256);
+        }
+        writeHeaderRow(sheet, headers, headerStyle);
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private void writeHeaderRow(Sheet sheet, String[] headers, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
         }
     }
 
@@ -278,7 +320,7 @@ public class ExcelReportService {
     }
 
     private void addPriorityDistributionSheet(Workbook workbook, List<PriorityDistributionReport.PriorityDistribution> data, boolean isArabic) {
-        Sheet sheet = workbook.createSheet(isArabic ? "توزيع الأولويات" : "Priority Distribution");
+        Sheet sheet = createSmallSheet(workbook, isArabic ? "توزيع الأولويات" : "Priority Distribution");
         CellStyle headerStyle = createHeaderStyle(workbook);
 
         String[] headers = isArabic ?
@@ -310,7 +352,7 @@ public class ExcelReportService {
     }
 
     private void addTimelineSheet(Workbook workbook, List<PriorityDistributionReport.TimelineDistribution> data, boolean isArabic) {
-        Sheet sheet = workbook.createSheet(isArabic ? "التوزيع الزمني" : "Timeline");
+        Sheet sheet = createSmallSheet(workbook, isArabic ? "التوزيع الزمني" : "Timeline");
         CellStyle headerStyle = createHeaderStyle(workbook);
 
         String[] headers = isArabic ?
@@ -338,7 +380,7 @@ public class ExcelReportService {
     }
 
     private void addFiltersSheet(Workbook workbook, ExcelReportRequest request) {
-        Sheet sheet = workbook.createSheet("Filters");
+        Sheet sheet = createSmallSheet(workbook, "Filters");
         CellStyle headerStyle = createHeaderStyle(workbook);
 
         String[] headers = {"Filter", "Value"};
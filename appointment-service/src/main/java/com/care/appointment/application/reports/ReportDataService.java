@@ -0,0 +1,423 @@
+package com.care.appointment.application.reports;
+
+import com.care.appointment.application.service.BranchDirectory;
+import com.care.appointment.infrastructure.client.AccessManagementClient;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
+import com.care.appointment.web.dto.OrganizationBranchDTO;
+import com.care.appointment.web.dto.OrganizationDTO;
+import com.care.appointment.web.dto.reports.CenterPerformanceReport;
+import com.care.appointment.web.dto.reports.DetailedReportData;
+import com.care.appointment.web.dto.reports.ExcelReportRequest;
+import com.care.appointment.web.dto.reports.OrganizationPerformanceReport;
+import com.care.appointment.web.dto.reports.PriorityDistributionReport;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.filter.FilterRequest;
+import com.sharedlib.core.filter.ScopeCriteria;
+import com.sharedlib.core.filter.ValueDataType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads Excel report data from the database.
+ * The detailed report is streamed row by row from a database cursor; the summary reports are
+ * aggregated in SQL. Center and organization names come from access-management-service.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReportDataService {
+
+    private static final LocalDate OPEN_RANGE_START = LocalDate.of(1900, 1, 1);
+    private static final LocalDate OPEN_RANGE_END = LocalDate.of(9999, 12, 31);
+    private static final UUID DUMMY_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final String DUMMY_VALUE = "__REPORT_NO_VALUE__";
+
+    private final AppointmentRepository appointmentRepository;
+    private final BranchDirectory branchDirectory;
+    private final AccessManagementClient accessManagementClient;
+
+    /**
+     * Validate and resolve the request filters; organization filters are expanded to their branches.
+     *
+     * @throws BadRequestException if the date range or an id is invalid
+     */
+    public ReportFilter resolveFilter(ExcelReportRequest request) {
+        if (!request.isValidDateRange()) {
+            throw new BadRequestException("Invalid date range: dateFrom must be before or equal to dateTo");
+        }
+
+        BranchNames names = loadBranchNames();
+
+        Set<UUID> centerIds = toUuids(request.getCenterIds(), "centerIds");
+        Set<UUID> organizationIds = toUuids(request.getOrganizationIds(), "organizationIds");
+        if (organizationIds != null) {
+            Set<UUID> organizationBranches = new HashSet<>();
+            names.organizationOfBranch.forEach((branchId, organizationId) -> {
+                if (organizationIds.contains(organizationId)) {
+                    organizationBranches.add(branchId);
+                }
+            });
+            if (centerIds != null) {
+                centerIds.retainAll(organizationBranches);
+            } else {
+                centerIds = organizationBranches;
+            }
+        }
+
+        return new ReportFilter(
+            request.getDateFrom() != null ? request.getDateFrom() : OPEN_RANGE_START,
+            request.getDateTo() != null ? request.getDateTo() : OPEN_RANGE_END,
+            centerIds,
+            emptyToNull(request.getStatuses()),
+            emptyToNull(request.getPriorities()),
+            toUuids(request.getServiceTypeIds(), "serviceTypeIds"),
+            names);
+    }
+
+    /**
+     * Stream detailed report rows to the consumer while the database cursor is open
+     */
+    @Transactional(readOnly = true)
+    public void streamDetailedRows(ReportFilter filter, Consumer<Stream<DetailedReportData>> consumer) {
+        try (Stream<Object[]> rows = appointmentRepository.streamForDetailedReport(
+                filter.dateFrom(), filter.dateTo(),
+                filter.centerIds() == null, orDummy(filter.centerIds()),
+                filter.statuses() == null, orDummyValue(filter.statuses()),
+                filter.priorities() == null, orDummyValue(filter.priorities()),
+                filter.serviceTypeIds() == null, orDummy(filter.serviceTypeIds()))) {
+            consumer.accept(rows.map(row -> toDetailedRow(row, filter.names())));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<CenterPerformanceReport> getCenterPerformance(ReportFilter filter) {
+        List<CenterPerformanceReport> result = new ArrayList<>();
+        for (Object[] row : summarizeByBranch(filter)) {
+            UUID centerId = (UUID) row[0];
+            StatusCounts counts = StatusCounts.of(row, 1);
+            Number avgLeadDays = (Number) row[7];
+            result.add(CenterPerformanceReport.builder()
+                .centerId(centerId.toString())
+                .centerName(filter.names().centerName(centerId))
+                .totalAppointments(counts.total)
+                .completedAppointments(counts.completed)
+                .pendingAppointments(counts.pending)
+                .cancelledAppointments(counts.cancelled)
+                .noShowAppointments(counts.noShow)
+                .completionRate(counts.completionRate())
+                .averageWaitingTime(avgLeadDays != null ? String.format("%.1f", avgLeadDays.doubleValue()) : "")
+                .beneficiariesServed(((Number) row[6]).longValue())
+                .build());
+        }
+        result.sort((a, b) -> Long.compare(b.getTotalAppointments(), a.getTotalAppointments()));
+        return result;
+    }
+
+    /**
+     * Organization totals folded from the per-branch counters.
+     * Beneficiaries are counted per branch, so a beneficiary served by two branches of the
+     * same organization is counted twice.
+     */
+    @Transactional(readOnly = true)
+    public List<OrganizationPerformanceReport> getOrganizationPerformance(ReportFilter filter) {
+        Map<UUID, OrganizationPerformanceReport> byOrganization = new LinkedHashMap<>();
+        for (Object[] row : summarizeByBranch(filter)) {
+            UUID organizationId = filter.names().organizationOfBranch.get((UUID) row[0]);
+            StatusCounts counts = StatusCounts.of(row, 1);
+            OrganizationPerformanceReport report = byOrganization.computeIfAbsent(organizationId,
+                id -> OrganizationPerformanceReport.builder()
+                    .organizationId(id != null ? id.toString() : "")
+                    .organizationName(filter.names().organizationName(id))
+                    .build());
+            report.setTotalAppointments(report.getTotalAppointments() + counts.total);
+            report.setCompletedAppointments(report.getCompletedAppointments() + counts.completed);
+            report.setPendingAppointments(report.getPendingAppointments() + counts.pending);
+            report.setCancelledAppointments(report.getCancelledAppointments() + counts.cancelled);
+            report.setNoShowAppointments(report.getNoShowAppointments() + counts.noShow);
+            report.setBeneficiariesServed(report.getBeneficiariesServed() + ((Number) row[6]).longValue());
+            report.setPartneredCenters(report.getPartneredCenters() + 1);
+        }
+
+        List<OrganizationPerformanceReport> result = new ArrayList<>(byOrganization.values());
+        for (OrganizationPerformanceReport report : result) {
+            report.setCompletionRate(percentage(report.getCompletedAppointments(), report.getTotalAppointments()));
+        }
+        result.sort((a, b) -> Long.compare(b.getTotalAppointments(), a.getTotalAppointments()));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public PriorityDistributionReport getPriorityDistribution(ReportFilter filter) {
+        List<Object[]> priorityRows = appointmentRepository.summarizeByPriorityForReport(
+            filter.dateFrom(), filter.dateTo(),
+            filter.centerIds() == null, orDummy(filter.centerIds()),
+            filter.statuses() == null, orDummyValue(filter.statuses()),
+            filter.priorities() == null, orDummyValue(filter.priorities()),
+            filter.serviceTypeIds() == null, orDummy(filter.serviceTypeIds()));
+        List<Object[]> weekRows = appointmentRepository.countByWeekForReport(
+            filter.dateFrom(), filter.dateTo(),
+            filter.centerIds() == null, orDummy(filter.centerIds()),
+            filter.statuses() == null, orDummyValue(filter.statuses()),
+            filter.priorities() == null, orDummyValue(filter.priorities()),
+            filter.serviceTypeIds() == null, orDummy(filter.serviceTypeIds()));
+
+        long grandTotal = priorityRows.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
+
+        List<PriorityDistributionReport.PriorityDistribution> distribution = new ArrayList<>();
+        for (Object[] row : priorityRows) {
+            StatusCounts counts = StatusCounts.of(row, 1);
+            distribution.add(PriorityDistributionReport.PriorityDistribution.builder()
+                .priority((String) row[0])
+                .count(counts.total)
+                .percentage(grandTotal > 0 ? Math.round(counts.total * 10000.0 / grandTotal) / 100.0 : 0)
+                .completed(counts.completed)
+                .pending(counts.pending)
+                .cancelled(counts.cancelled)
+                .noShow(counts.noShow)
+                .completionRate(counts.completionRate())
+                .build());
+        }
+
+        List<PriorityDistributionReport.TimelineDistribution> timeline = new ArrayList<>();
+        for (Object[] row : weekRows) {
+            long count = ((Number) row[1]).longValue();
+            timeline.add(PriorityDistributionReport.TimelineDistribution.builder()
+                .period(toLocalDate(row[0]).format(DateTimeFormatter.ISO_LOCAL_DATE))
+                .count(count)
+                .percentage(percentage(count, grandTotal))
+                .build());
+        }
+
+        return PriorityDistributionReport.builder()
+            .distribution(distribution)
+            .timeline(timeline)
+            .build();
+    }
+
+    private List<Object[]> summarizeByBranch(ReportFilter filter) {
+        return appointmentRepository.summarizeByBranchForReport(
+            filter.dateFrom(), filter.dateTo(),
+            filter.centerIds() == null, orDummy(filter.centerIds()),
+            filter.statuses() == null, orDummyValue(filter.statuses()),
+            filter.priorities() == null, orDummyValue(filter.priorities()),
+            filter.serviceTypeIds() == null, orDummy(filter.serviceTypeIds()));
+    }
+
+    private DetailedReportData toDetailedRow(Object[] row, BranchNames names) {
+        UUID centerId = (UUID) row[4];
+        LocalDate date = toLocalDate(row[6]);
+        LocalTime time = toLocalTime(row[7]);
+        return DetailedReportData.builder()
+            .appointmentId(row[0] != null ? (String) row[0] : String.valueOf(row[1]))
+            .beneficiaryName((String) row[2])
+            .beneficiaryId(row[3] != null ? row[3].toString() : null)
+            .organizationName(names.organizationName(names.organizationOfBranch.get(centerId)))
+            .centerName(names.centerName(centerId))
+            .serviceType((String) row[5])
+            .appointmentDateTime(date != null ? LocalDateTime.of(date, time != null ? time : LocalTime.MIDNIGHT) : null)
+            .status((String) row[8])
+            .priority((String) row[9])
+            .contactNumber((String) row[10])
+            .notes((String) row[11])
+            .createdDate(toLocalDateTime(row[12]))
+            .modifiedDate(toLocalDateTime(row[13]))
+            .build();
+    }
+
+    /**
+     * Branch and organization names, loaded once per report
+     */
+    private BranchNames loadBranchNames() {
+        Collection<OrganizationBranchDTO> branches = branchDirectory.isAvailable()
+            ? branchDirectory.findAll()
+            : fetchAllBranches();
+
+        Map<UUID, String> centerNames = new HashMap<>();
+        Map<UUID, UUID> organizationOfBranch = new HashMap<>();
+        for (OrganizationBranchDTO branch : branches) {
+            if (branch.getOrganizationBranchId() == null) {
+                continue;
+            }
+            centerNames.put(branch.getOrganizationBranchId(), branch.getName());
+            if (branch.getOrganizationId() != null) {
+                organizationOfBranch.put(branch.getOrganizationBranchId(), branch.getOrganizationId());
+            }
+        }
+        return new BranchNames(centerNames, organizationOfBranch, fetchOrganizationNames(centerNames.keySet()));
+    }
+
+    private List<OrganizationBranchDTO> fetchAllBranches() {
+        try {
+            List<OrganizationBranchDTO> branches = accessManagementClient.getAllOrganizationBranches();
+            return branches != null ? branches : List.of();
+        } catch (Exception ex) {
+            log.warn("Could not load branches for report, names will be blank: {}", ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private Map<UUID, String> fetchOrganizationNames(Set<UUID> branchIds) {
+        if (branchIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            FilterRequest request = new FilterRequest();
+            request.setScopes(List.of(ScopeCriteria.builder()
+                .fieldName("organizationBranchId")
+                .allowedValues(new ArrayList<>(branchIds))
+                .dataType(ValueDataType.UUID)
+                .build()));
+            List<OrganizationDTO> organizations = accessManagementClient.getOrganizationsByBranchIds(request);
+            Map<UUID, String> names = new HashMap<>();
+            if (organizations != null) {
+                for (OrganizationDTO organization : organizations) {
+                    if (organization.getOrganizationId() != null) {
+                        names.putIfAbsent(organization.getOrganizationId(), organization.getName());
+                    }
+                }
+            }
+            return names;
+        } catch (Exception ex) {
+            log.warn("Could not load organization names for report: {}", ex.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private Set<UUID> toUuids(List<String> values, String field) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Set<UUID> result = new HashSet<>();
+        for (String value : values) {
+            try {
+                result.add(UUID.fromString(value.trim()));
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw new BadRequestException("Invalid id in " + field + ": " + value);
+            }
+        }
+        return result;
+    }
+
+    private <T> List<T> emptyToNull(List<T> list) {
+        return list == null || list.isEmpty() ? null : list;
+    }
+
+    private Collection<UUID> orDummy(Collection<UUID> ids) {
+        return ids == null ? List.of(DUMMY_UUID) : ids.isEmpty() ? List.of(DUMMY_UUID) : ids;
+    }
+
+    private Collection<String> orDummyValue(Collection<String> values) {
+        return values == null ? List.of(DUMMY_VALUE) : values;
+    }
+
+    private static String percentage(long count, long total) {
+        return total > 0 ? String.format("%.2f%%", count * 100.0 / total) : "0.00%";
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return null;
+    }
+
+    private LocalTime toLocalTime(Object value) {
+        if (value instanceof LocalTime localTime) {
+            return localTime;
+        }
+        if (value instanceof java.sql.Time sqlTime) {
+            return sqlTime.toLocalTime();
+        }
+        return null;
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        return null;
+    }
+
+    /**
+     * Resolved report filters; a null collection means "no filter", an empty one matches nothing
+     */
+    public record ReportFilter(LocalDate dateFrom,
+                               LocalDate dateTo,
+                               Set<UUID> centerIds,
+                               List<String> statuses,
+                               List<String> priorities,
+                               Set<UUID> serviceTypeIds,
+                               BranchNames names) {
+    }
+
+    /**
+     * Display names of branches and their organizations
+     */
+    public record BranchNames(Map<UUID, String> centerNames,
+                              Map<UUID, UUID> organizationOfBranch,
+                              Map<UUID, String> organizationNames) {
+
+        String centerName(UUID centerId) {
+            String name = centerId != null ? centerNames.get(centerId) : null;
+            return name != null ? name : centerId != null ? centerId.toString() : "";
+        }
+
+        String organizationName(UUID organizationId) {
+            String name = organizationId != null ? organizationNames.get(organizationId) : null;
+            return name != null ? name : "";
+        }
+    }
+
+    private static final class StatusCounts {
+        private long total;
+        private long completed;
+        private long pending;
+        private long cancelled;
+        private long noShow;
+
+        private static StatusCounts of(Object[] row, int offset) {
+            StatusCounts counts = new StatusCounts();
+            counts.total = ((Number) row[offset]).longValue();
+            counts.completed = ((Number) row[offset + 1]).longValue();
+            counts.pending = ((Number) row[offset + 2]).longValue();
+            counts.cancelled = ((Number) row[offset + 3]).longValue();
+            counts.noShow = ((Number) row[offset + 4]).longValue();
+            return counts;
+        }
+
+        private String completionRate() {
+            return percentage(completed, total);
+        }
+    }
+}
@@ -4,23 +4,47 @@ import com.care.appointment.infrastructure.db.entities.AppointmentSequenceEntity
 import com.care.appointment.infrastructure.db.repository.AppointmentSequenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Year;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for generating unique appointment codes
  * Format: BRANCH_CODE-YEAR-SEQUENCE (e.g., HQ-2025-0001)
+ *
+ * Sequence numbers are reserved from the database in blocks per (branch, year) with one atomic
+ * upsert, then handed out from memory. Codes are unique across nodes and increasing per node;
+ * numbers left in a node's block when it stops are skipped, so sequences may have gaps.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AppointmentCodeGeneratorService {
 
+    private static final int MAX_SEQUENCE_NUMBER = 9999;
+
     private final AppointmentSequenceRepository sequenceRepository;
 
+    private final ConcurrentHashMap<Key, Block> blocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, Object> refillLocks = new ConcurrentHashMap<>();
+
+    @Value("${app.appointment.code-sequence.block-size:100}")
+    private int blockSize;
+
+    /**
+     * Generate unique appointment code for a branch known only by id.
+     * Branch codes are managed by access-management-service, so the code is derived from the id.
+     */
+    public String generateAppointmentCode(UUID organizationBranchId) {
+        String branchCode = "BRANCH-" + organizationBranchId.toString().substring(0, 8).toUpperCase();
+        return generateAppointmentCode(organizationBranchId, branchCode);
+    }
+
     /**
      * Generate unique appointment code for a branch
      *
@@ -29,53 +53,66 @@ public class AppointmentCodeGeneratorService {
      * @return Generated code in format: BRANCH_CODE-YEAR-SEQUENCE
      * @throws IllegalStateException if sequence limit is reached
      */
-    @Transactional
     public String generateAppointmentCode(UUID organizationBranchId, String branchCode) {
         int currentYear = Year.now().getValue();
-
-        // Find or create sequence record for this branch and year
-        AppointmentSequenceEntity sequence = sequenceRepository
-            .findByOrganizationBranchIdAndSequenceYear(organizationBranchId, currentYear)
-            .orElseGet(() -> createNewSequence(organizationBranchId, branchCode, currentYear));
-
-        // Check if we've exceeded the max sequence number
-        if (sequence.getCurrentSequenceNumber() >= sequence.getMaxSequenceNumber()) {
-            throw new IllegalStateException(
-                String.format("Appointment sequence limit reached for branch %s in year %d",
-                    organizationBranchId, currentYear)
-            );
+        Key key = new Key(organizationBranchId, currentYear);
+
+        while (true) {
+            Block block = blocks.get(key);
+            if (block != null) {
+                long next = block.next.getAndIncrement();
+                if (next < block.end) {
+                    String appointmentCode = String.format("%s-%d-%04d", block.branchCode, currentYear, next);
+                    log.info("Generated appointment code: {} for branch: {}", appointmentCode, organizationBranchId);
+                    return appointmentCode;
+                }
+            }
+            refill(key, block, branchCode);
         }
-
-        String code = sequence.getBranchCode();
-        Integer nextSequence = sequence.getCurrentSequenceNumber();
-
-        // Increment the sequence for next call
-        sequenceRepository.incrementSequence(organizationBranchId, currentYear);
-
-        // Format the code with zero-padded sequence number
-        String appointmentCode = String.format("%s-%d-%04d", code, currentYear, nextSequence);
-
-        log.info("Generated appointment code: {} for branch: {}", appointmentCode, organizationBranchId);
-
-        return appointmentCode;
     }
 
     /**
-     * Create a new sequence record for a branch and year
+     * Replace an exhausted block; only one thread per key talks to the database
      */
-    private AppointmentSequenceEntity createNewSequence(UUID organizationBranchId, String branchCode, Integer year) {
-        AppointmentSequenceEntity sequence = AppointmentSequenceEntity.builder()
-            .organizationBranchId(organizationBranchId)
-            .branchCode(branchCode != null ? branchCode : "UNKNOWN")
-            .sequenceYear(year)
-            .currentSequenceNumber(1)
-            .maxSequenceNumber(9999)
-            .totalAppointmentsCreated(0)
-            .build();
-
-        log.info("Created new sequence record for branch: {} year: {}", organizationBranchId, year);
-
-        return sequenceRepository.save(sequence);
+    private void refill(Key key, Block exhausted, String branchCode) {
+        synchronized (refillLocks.computeIfAbsent(key, k -> new Object())) {
+            if (blocks.get(key) != exhausted) {
+                return; // another thread already refilled
+            }
+
+            List<Object[]> rows = sequenceRepository.reserveBlock(
+                key.branchId(),
+                branchCode != null ? branchCode : "UNKNOWN",
+                key.year(),
+                blockSize,
+                MAX_SEQUENCE_NUMBER);
+            if (rows.isEmpty()) {
+                throw sequenceLimitReached(key);
+            }
+
+            Object[] row = rows.get(0);
+            long reservedUpTo = ((Number) row[0]).longValue();
+            long start = reservedUpTo - blockSize;
+            long end = Math.min(reservedUpTo, ((Number) row[1]).longValue());
+            if (start >= end) {
+                throw sequenceLimitReached(key);
+            }
+
+            blocks.put(key, new Block(new AtomicLong(start), end, (String) row[2]));
+            log.debug("Reserved appointment sequence block [{}, {}) for branch: {} year: {}",
+                start, end, key.branchId(), key.year());
+
+            // Blocks of previous years can no longer be used
+            blocks.keySet().removeIf(k -> k.year() < key.year());
+            refillLocks.keySet().removeIf(k -> k.year() < key.year());
+        }
+    }
+
+    private IllegalStateException sequenceLimitReached(Key key) {
+        return new IllegalStateException(
+            String.format("Appointment sequence limit reached for branch %s in year %d",
+                key.branchId(), key.year())
+        );
     }
 
     /**
@@ -93,4 +130,10 @@ public class AppointmentCodeGeneratorService {
         return sequenceRepository.findByOrganizationBranchIdAndSequenceYear(organizationBranchId, year)
             .orElse(null);
     }
+
+    private record Key(UUID branchId, int year) {
+    }
+
+    private record Block(AtomicLong next, long end, String branchCode) {
+    }
 }
@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -17,7 +19,7 @@ import java.util.UUID;
  * Service for creating appointments with QR code and verification code generation
  * Automatically generates and persists:
  * - Appointment Code (YEAR-CENTER-SEQUENCE)
- * - QR Code URL (PNG image)
+ * - QR Code URL (PNG rendered on demand)
  * - Verification Code (3-digit format: 4-2-7)
  * - Verification Code Expiry
  */
@@ -29,6 +31,7 @@ public class AppointmentCreationService {
     private final AppointmentRepository appointmentRepository;
     private final AppointmentCodeGeneratorService codeGeneratorService;
     private final QRCodeGeneratorService qrCodeGeneratorService;
+    private final BranchDayCapacityCounters capacityCounters;
 
     /**
      * Create appointment with QR code and verification code
@@ -42,32 +45,34 @@ public class AppointmentCreationService {
             appointment.getBeneficiaryId(), appointment.getOrganizationBranchId());
 
         // Generate appointment code (YEAR-CENTER-SEQUENCE)
-        // Using branch ID as code since OrganizationBranch is managed by reference-data-service
-        String branchCode = "BRANCH-" + appointment.getOrganizationBranchId().toString().substring(0, 8).toUpperCase();
-        String appointmentCode = codeGeneratorService.generateAppointmentCode(
-            appointment.getOrganizationBranchId(),
-            branchCode
-        );
+        String appointmentCode = codeGeneratorService.generateAppointmentCode(appointment.getOrganizationBranchId());
         log.info("Generated appointment code: {}", appointmentCode);
 
         // Generate verification code (3 digits like "4-2-7")
         String verificationCode = qrCodeGeneratorService.generateVerificationCode();
         log.info("Generated verification code for appointment: {}", appointmentCode);
 
-        // Generate QR code with both code and UUID
-        String qrCodeUrl = qrCodeGeneratorService.generateQRCode(appointmentCode, appointment.getAppointmentId());
-        log.info("Generated QR code for appointment: {}", appointmentCode);
-
         // Set the generated values on appointment
         appointment.setAppointmentCode(appointmentCode);
-        appointment.setQrCodeUrl(qrCodeUrl);
         appointment.setVerificationCode(verificationCode);
         // Verification code expires in 24 hours
         appointment.setVerificationCodeExpiresAt(Instant.now().plus(24, ChronoUnit.HOURS));
 
+        // The id is assigned up front so the QR image URL goes into the same insert;
+        // only the URL is stored, the PNG is rendered off the booking path once committed
+        if (appointment.getAppointmentId() == null) {
+            appointment.setAppointmentId(UUID.randomUUID());
+        }
+        appointment.setQrCodeUrl(qrCodeGeneratorService.getQRCodeImageUrl(appointment.getAppointmentId()));
+
         // Convert to entity and save
         AppointmentEntity entity = mapToEntity(appointment);
         AppointmentEntity saved = appointmentRepository.save(entity);
+        if (saved.getCancelledAt() == null) {
+            capacityCounters.recordBooked(saved.getOrganizationBranchId(), saved.getAppointmentDate());
+        }
+
+        prerenderAfterCommit(appointmentCode, saved.getAppointmentId());
 
         log.info("Appointment created successfully with code: {} and verification: {}",
             appointmentCode, verificationCode);
@@ -97,6 +102,19 @@ public class AppointmentCreationService {
         return createAppointmentWithQR(appointment);
     }
 
+    private void prerenderAfterCommit(String appointmentCode, UUID appointmentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            qrCodeGeneratorService.prerenderQRCode(appointmentCode, appointmentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                qrCodeGeneratorService.prerenderQRCode(appointmentCode, appointmentId);
+            }
+        });
+    }
+
     /**
      * Map Appointment domain to AppointmentEntity
      */
@@ -1,8 +1,11 @@
 package com.care.appointment.application.service;
 
+import com.care.appointment.application.common.service.ReferenceDataCache;
+import com.care.appointment.infrastructure.db.config.AppointmentBookingIndexes;
 import com.care.appointment.infrastructure.db.entities.*;
 import com.care.appointment.infrastructure.db.repositories.*;
 import com.care.appointment.web.dto.AppointmentDTO;
+import com.sharedlib.core.exception.ConflictException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,14 +25,26 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AppointmentManagementService {
     
+    private static final String STATUS_REQUESTED = "REQUESTED";
+    private static final String STATUS_CANCELLED = "CANCELLED";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final UUID NO_REQUEST_ID = new UUID(0L, 0L);
+    
     private final AppointmentRepository appointmentRepository;
-    private final AppointmentStatusRepository statusRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final AppointmentBookingIndexes bookingIndexes;
+    private final AppointmentCodeGeneratorService codeGeneratorService;
+    private final QRCodeGeneratorService qrCodeGeneratorService;
     private final AppointmentStatusHistoryRepository historyRepository;
     private final AppointmentRequestRepository requestRepository;
     private final ServiceTypeLangRepository serviceTypeLangRepository;
+    private final BranchDayCapacityCounters capacityCounters;
     
     /**
-     * Book an appointment
+     * Book an appointment.
+     * Slot and duplicate rules are enforced by partial unique indexes, so the insert, the history
+     * row and the request approval go to the database as a single statement; the rules are only
+     * queried to explain a rejected booking (or up front while the indexes are unavailable).
      */
     @Transactional
     public AppointmentDTO bookAppointment(AppointmentDTO dto) {
@@ -36,49 +52,19 @@ public class AppointmentManagementService {
             dto.getBeneficiaryId(), dto.getOrganizationBranchId(), 
             dto.getAppointmentDate(), dto.getAppointmentTime());
         
-        // Check if slot is available
-        boolean slotTaken = appointmentRepository.existsByOrganizationBranchIdAndAppointmentDateAndAppointmentTime(
-            dto.getOrganizationBranchId(), dto.getAppointmentDate(), dto.getAppointmentTime()
-        );
-        
-        if (slotTaken) {
-            throw new RuntimeException("Slot is already booked");
-        }
-        
-        // Get status IDs for exclusion (CANCELLED and COMPLETED)
-        UUID cancelledStatusId = getStatusIdByCode("CANCELLED");
-        UUID completedStatusId = getStatusIdByCode("COMPLETED");
-        List<UUID> excludedStatusIds = List.of(cancelledStatusId, completedStatusId);
-        
-        // DUPLICATE CHECK #1: Same person, same service, same day
-        boolean sameDayDuplicate = appointmentRepository.hasExistingAppointmentForServiceAndDate(
-            dto.getBeneficiaryId(),
-            dto.getServiceTypeId(),
-            dto.getAppointmentDate(),
-            excludedStatusIds
-        );
-        
-        if (sameDayDuplicate) {
-            throw new RuntimeException("You already have an appointment for this service on this date");
-        }
-        
-        // DUPLICATE CHECK #2: Same person, same service, different day (but active appointment exists)
-        boolean activeServiceDuplicate = appointmentRepository.hasActiveAppointmentForService(
-            dto.getBeneficiaryId(),
-            dto.getServiceTypeId(),
-            excludedStatusIds
-        );
-        
-        if (activeServiceDuplicate) {
-            throw new RuntimeException("You already have an active appointment for this service. Please wait until it is completed or cancelled");
+        if (!bookingIndexes.isEnforced()) {
+            rejectConflicts(dto);
         }
         
         // Get default status ID (REQUESTED or CONFIRMED)
         UUID statusId = dto.getAppointmentStatusId() != null ? 
             dto.getAppointmentStatusId() : 
-            getStatusIdByCode("REQUESTED");
+            referenceDataCache.requireStatusId(STATUS_REQUESTED);
         
+        UUID appointmentId = UUID.randomUUID();
+        Instant now = Instant.now();
         AppointmentEntity entity = AppointmentEntity.builder()
+            .appointmentId(appointmentId)
             .appointmentRequestId(dto.getAppointmentRequestId())
             .beneficiaryId(dto.getBeneficiaryId())
             .organizationBranchId(dto.getOrganizationBranchId())
@@ -89,25 +75,47 @@ public class AppointmentManagementService {
             .appointmentStatusId(statusId)
             .priority(dto.getPriority() != null ? dto.getPriority() : "NORMAL")
             .notes(dto.getNotes())
+            .appointmentCode(codeGeneratorService.generateAppointmentCode(dto.getOrganizationBranchId()))
+            .qrCodeUrl(qrCodeGeneratorService.getQRCodeImageUrl(appointmentId))
+            .verificationCode(qrCodeGeneratorService.generateVerificationCode())
+            .verificationCodeExpiresAt(now.plus(24, ChronoUnit.HOURS))
+            .createdAt(now)
+            .updatedAt(now)
+            .rowVersion(0L)
             .build();
         
-        AppointmentEntity saved = appointmentRepository.save(entity);
+        // Insert + history row + request approval in one round trip
+        List<UUID> inserted = appointmentRepository.insertBooking(
+            appointmentId,
+            entity.getAppointmentRequestId() != null,
+            entity.getAppointmentRequestId() != null ? entity.getAppointmentRequestId() : NO_REQUEST_ID,
+            entity.getBeneficiaryId(),
+            entity.getOrganizationBranchId(),
+            entity.getServiceTypeId(),
+            entity.getAppointmentDate(),
+            entity.getAppointmentTime(),
+            entity.getSlotDurationMinutes(),
+            statusId,
+            entity.getPriority(),
+            entity.getNotes() != null ? entity.getNotes() : "",
+            now,
+            entity.getAppointmentCode(),
+            entity.getQrCodeUrl(),
+            entity.getVerificationCode(),
+            entity.getVerificationCodeExpiresAt(),
+            UUID.randomUUID(),
+            "Appointment created");
         
-        // Create history record
-        createHistoryRecord(saved.getAppointmentId(), statusId, "Appointment created", null);
-        
-        // If this was from a request, mark request as approved
-        if (dto.getAppointmentRequestId() != null) {
-            requestRepository.findById(dto.getAppointmentRequestId())
-                .ifPresent(req -> {
-                    req.setStatus("APPROVED");
-                    requestRepository.save(req);
-                });
+        if (inserted.isEmpty()) {
+            rejectConflicts(dto);
+            // The conflicting appointment was cancelled or completed in the meantime
+            throw new ConflictException("The appointment could not be booked, please try again");
         }
+        capacityCounters.recordBooked(entity.getOrganizationBranchId(), entity.getAppointmentDate());
         
-        log.info("Appointment booked successfully: id={}", saved.getAppointmentId());
+        log.info("Appointment booked successfully: id={}", appointmentId);
         
-        return mapToDTO(saved);
+        return mapToDTO(entity);
     }
     
     /**
@@ -142,12 +150,16 @@ public class AppointmentManagementService {
         AppointmentEntity entity = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found: " + appointmentId));
         
-        UUID cancelledStatusId = getStatusIdByCode("CANCELLED");
+        boolean wasActive = entity.getCancelledAt() == null;
+        UUID cancelledStatusId = referenceDataCache.requireStatusId(STATUS_CANCELLED);
         entity.setAppointmentStatusId(cancelledStatusId);
         entity.setCancelledAt(Instant.now());
         entity.setCancellationReason(reason);
         
         appointmentRepository.save(entity);
+        if (wasActive) {
+            capacityCounters.recordReleased(entity.getOrganizationBranchId(), entity.getAppointmentDate());
+        }
         
         // Create history record
         createHistoryRecord(appointmentId, cancelledStatusId, reason, cancelledByUserId);
@@ -163,7 +175,7 @@ public class AppointmentManagementService {
         AppointmentEntity entity = appointmentRepository.findById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found: " + appointmentId));
         
-        UUID completedStatusId = getStatusIdByCode("COMPLETED");
+        UUID completedStatusId = referenceDataCache.requireStatusId(STATUS_COMPLETED);
         entity.setAppointmentStatusId(completedStatusId);
         entity.setActionTypeId(actionTypeId);
         entity.setActionNotes(actionNotes);
@@ -199,10 +211,25 @@ public class AppointmentManagementService {
         historyRepository.save(history);
     }
     
-    private UUID getStatusIdByCode(String code) {
-        return statusRepository.findByCode(code)
-            .map(AppointmentStatusEntity::getAppointmentStatusId)
-            .orElseThrow(() -> new RuntimeException("Status not found: " + code));
+    /**
+     * Throw the conflict a booking runs into, if any
+     */
+    private void rejectConflicts(AppointmentDTO dto) {
+        Object[] conflicts = appointmentRepository.findBookingConflicts(
+            dto.getOrganizationBranchId(), dto.getAppointmentDate(), dto.getAppointmentTime(),
+            dto.getBeneficiaryId(), dto.getServiceTypeId()).get(0);
+        
+        if (Boolean.TRUE.equals(conflicts[0])) {
+            throw new ConflictException("Slot is already booked");
+        }
+        // Same person, same service, same day
+        if (Boolean.TRUE.equals(conflicts[1])) {
+            throw new ConflictException("You already have an appointment for this service on this date");
+        }
+        // Same person, same service, different day (but an open appointment exists)
+        if (Boolean.TRUE.equals(conflicts[2])) {
+            throw new ConflictException("You already have an active appointment for this service. Please wait until it is completed or cancelled");
+        }
     }
     
     private AppointmentDTO mapToDTO(AppointmentEntity entity) {
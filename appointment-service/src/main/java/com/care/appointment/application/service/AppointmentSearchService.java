@@ -9,9 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,11 +22,9 @@ import java.util.stream.Collectors;
 public class AppointmentSearchService {
     
     private final AccessManagementClient accessManagementClient;
+    private final BranchDirectory branchDirectory;
     private final CenterServiceRepository centerServiceRepository;
-    private final CenterWeeklyScheduleRepository weeklyScheduleRepository;
-    private final CenterDailyCapacityRepository dailyCapacityRepository;
-    private final CenterHolidayRepository holidayRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityEngine slotAvailabilityEngine;
     private final ServiceTypeLangRepository serviceTypeLangRepository;
     
     private static final int DEFAULT_SEARCH_DAYS = 30;
@@ -43,25 +39,17 @@ public class AppointmentSearchService {
             criteria.getServiceTypeId(), criteria.getPreferenceType());
         
         // 1. Get branches that provide this service
-        List<UUID> eligibleBranchIds = centerServiceRepository
-            .findBranchIdsByServiceTypeId(criteria.getServiceTypeId());
+        Set<UUID> eligibleBranchIds = new HashSet<>(centerServiceRepository
+            .findBranchIdsByServiceTypeId(criteria.getServiceTypeId()));
         
         if (eligibleBranchIds.isEmpty()) {
             log.warn("No centers provide serviceTypeId={}", criteria.getServiceTypeId());
             return Collections.emptyList();
         }
         
-        // 2. Get nearby branches from access-management-service
-        List<OrganizationBranchDTO> nearbyBranches = accessManagementClient.searchNearbyBranches(
-            criteria.getLatitude(),
-            criteria.getLongitude(),
-            criteria.getRadiusKm() != null ? criteria.getRadiusKm() : 50
-        );
-        
-        // 3. Filter to only eligible branches
-        List<OrganizationBranchDTO> availableBranches = nearbyBranches.stream()
-            .filter(branch -> eligibleBranchIds.contains(branch.getOrganizationBranchId()))
-            .filter(OrganizationBranchDTO::getIsActive)
+        // 2-3. Get nearby eligible branches (local spatial index, remote search as fallback)
+        List<OrganizationBranchDTO> availableBranches = findNearbyBranches(criteria, eligibleBranchIds).stream()
+            .filter(branch -> Boolean.TRUE.equals(branch.getIsActive()))
             .collect(Collectors.toList());
         
         if (availableBranches.isEmpty()) {
@@ -75,20 +63,26 @@ public class AppointmentSearchService {
         LocalDate searchStartDate = criteria.getPreferredDate() != null ? 
             criteria.getPreferredDate() : LocalDate.now().plusDays(1);
         
+        String serviceTypeName = null;
+        
         for (OrganizationBranchDTO branch : availableBranches) {
-            List<AvailableSlot> slots = findAvailableSlots(
+            // One grid per branch: a fixed number of range queries, then in-memory slot lookups
+            BranchAvailabilityGrid grid = slotAvailabilityEngine.load(
                 branch.getOrganizationBranchId(),
                 criteria.getServiceTypeId(),
                 searchStartDate,
                 DEFAULT_SEARCH_DAYS
             );
+            Optional<BranchAvailabilityGrid.Slot> firstSlot = grid.firstAvailableSlot();
             
-            if (!slots.isEmpty()) {
+            if (firstSlot.isPresent()) {
                 // Get service type name
-                String serviceTypeName = getServiceTypeName(criteria.getServiceTypeId(), "ar");
+                if (serviceTypeName == null) {
+                    serviceTypeName = getServiceTypeName(criteria.getServiceTypeId(), "ar");
+                }
                 
                 // Calculate distance
-                double distance = calculateDistance(
+                double distance = BranchSpatialIndex.distanceKm(
                     criteria.getLatitude(),
                     criteria.getLongitude(),
                     branch.getLatitude(),
@@ -96,7 +90,7 @@ public class AppointmentSearchService {
                 );
                 
                 // Add first available slot for this branch
-                AvailableSlot firstSlot = slots.get(0);
+                BranchAvailabilityGrid.Slot slot = firstSlot.get();
                 suggestions.add(AppointmentSuggestionDTO.builder()
                     .organizationBranchId(branch.getOrganizationBranchId())
                     .branchName(branch.getName())
@@ -104,12 +98,12 @@ public class AppointmentSearchService {
                     .branchLatitude(branch.getLatitude())
                     .branchLongitude(branch.getLongitude())
                     .distanceInKm(distance)
-                    .availableDate(firstSlot.getDate())
-                    .availableTime(firstSlot.getTime())
-                    .slotDurationMinutes(firstSlot.getDurationMinutes())
+                    .availableDate(slot.date())
+                    .availableTime(slot.time())
+                    .slotDurationMinutes(slot.durationMinutes())
                     .serviceTypeId(criteria.getServiceTypeId())
                     .serviceTypeName(serviceTypeName)
-                    .availableSlotsCount(slots.size())
+                    .availableSlotsCount(grid.availableSlotCount())
                     .build());
             }
         }
@@ -132,122 +126,23 @@ public class AppointmentSearchService {
     }
     
     /**
-     * Find available slots for a specific branch
+     * Eligible branches within the search radius.
+     * Served from the cached branch directory; only calls access-management when the directory is not loaded.
      */
-    private List<AvailableSlot> findAvailableSlots(
-        UUID branchId,
-        UUID serviceTypeId,
-        LocalDate startDate,
-        int daysToSearch
-    ) {
-        List<AvailableSlot> availableSlots = new ArrayList<>();
-        
-        // Get weekly schedule for this branch
-        List<CenterWeeklyScheduleEntity> weeklySchedules = weeklyScheduleRepository
-            .findByOrganizationBranchIdAndIsActiveTrue(branchId);
-        
-        if (weeklySchedules.isEmpty()) {
-            return availableSlots;
+    private List<OrganizationBranchDTO> findNearbyBranches(AppointmentSearchCriteriaDTO criteria, Set<UUID> eligibleBranchIds) {
+        int radiusKm = criteria.getRadiusKm() != null ? criteria.getRadiusKm() : 50;
+        
+        if (branchDirectory.isAvailable()) {
+            return branchDirectory.withinRadius(criteria.getLatitude(), criteria.getLongitude(), radiusKm, eligibleBranchIds)
+                .stream()
+                .map(BranchSpatialIndex.Hit::branch)
+                .collect(Collectors.toList());
         }
         
-        // Get holidays for this branch
-        Set<LocalDate> holidays = holidayRepository
-            .findByOrganizationBranchIdAndHolidayDateBetween(
-                branchId,
-                startDate,
-                startDate.plusDays(daysToSearch)
-            )
+        return accessManagementClient.searchNearbyBranches(criteria.getLatitude(), criteria.getLongitude(), radiusKm)
             .stream()
-            .map(CenterHolidayEntity::getHolidayDate)
-            .collect(Collectors.toSet());
-        
-        // Search through days
-        for (int i = 0; i < daysToSearch; i++) {
-            LocalDate date = startDate.plusDays(i);
-            
-            // Skip if holiday
-            if (holidays.contains(date)) {
-                continue;
-            }
-            
-            // Get day of week (0=Sunday, 1=Monday, ..., 6=Saturday)
-            int dayOfWeek = date.getDayOfWeek().getValue() % 7;
-            
-            // Find schedule for this day
-            Optional<CenterWeeklyScheduleEntity> scheduleOpt = weeklySchedules.stream()
-                .filter(s -> s.getDayOfWeek().equals(dayOfWeek))
-                .findFirst();
-            
-            if (scheduleOpt.isEmpty()) {
-                continue;  // No schedule for this day
-            }
-            
-            CenterWeeklyScheduleEntity schedule = scheduleOpt.get();
-            
-            // Generate time slots for this day
-            List<LocalTime> timeSlots = generateTimeSlots(
-                schedule.getStartTime(),
-                schedule.getEndTime(),
-                schedule.getSlotDurationMinutes()
-            );
-            
-            // Check each slot for availability
-            for (LocalTime time : timeSlots) {
-                if (isSlotAvailable(branchId, date, time)) {
-                    availableSlots.add(new AvailableSlot(
-                        date,
-                        time,
-                        schedule.getSlotDurationMinutes()
-                    ));
-                }
-            }
-        }
-        
-        return availableSlots;
-    }
-    
-    /**
-     * Generate time slots between start and end time
-     */
-    private List<LocalTime> generateTimeSlots(LocalTime startTime, LocalTime endTime, int durationMinutes) {
-        List<LocalTime> slots = new ArrayList<>();
-        LocalTime currentTime = startTime;
-        
-        while (currentTime.plusMinutes(durationMinutes).isBefore(endTime) || 
-               currentTime.plusMinutes(durationMinutes).equals(endTime)) {
-            slots.add(currentTime);
-            currentTime = currentTime.plusMinutes(durationMinutes);
-        }
-        
-        return slots;
-    }
-    
-    /**
-     * Check if a specific slot is available
-     */
-    private boolean isSlotAvailable(UUID branchId, LocalDate date, LocalTime time) {
-        // Check if already booked
-        return !appointmentRepository.existsByOrganizationBranchIdAndAppointmentDateAndAppointmentTime(
-            branchId, date, time
-        );
-    }
-    
-    /**
-     * Calculate distance between two coordinates using Haversine formula
-     */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radius of the earth in km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-            * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c; // Distance in km
+            .filter(branch -> eligibleBranchIds.contains(branch.getOrganizationBranchId()))
+            .collect(Collectors.toList());
     }
     
     /**
@@ -259,16 +154,4 @@ public class AppointmentSearchService {
             .map(ServiceTypeLangEntity::getName)
             .orElse("Unknown Service");
     }
-    
-    /**
-     * Inner class for available slot
-     */
-    @lombok.Data
-    @lombok.AllArgsConstructor
-    private static class AvailableSlot {
-        private LocalDate date;
-        private LocalTime time;
-        private Integer durationMinutes;
-    }
 }
-
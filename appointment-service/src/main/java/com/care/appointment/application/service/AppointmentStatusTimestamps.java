@@ -0,0 +1,61 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.application.common.service.ReferenceDataCache;
+import com.care.appointment.domain.model.Appointment;
+import com.care.appointment.infrastructure.db.config.AppointmentBookingIndexes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps cancelled_at and completed_at in line with an appointment's status.
+ *
+ * The booking indexes ({@link AppointmentBookingIndexes}) and the capacity counters treat an
+ * appointment as open while these columns are null, so every path that sets a status must call
+ * {@link #apply}: entering CANCELLED or COMPLETED stamps the matching column, moving to any other
+ * status clears it again (e.g. an admin re-opening a cancelled appointment).
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentStatusTimestamps {
+
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private final ReferenceDataCache referenceDataCache;
+
+    /**
+     * @param previousStatusId status before the change, null for a new appointment
+     */
+    public void apply(Appointment appointment, UUID previousStatusId) {
+        UUID statusId = appointment.getAppointmentStatusId();
+        if (statusId == null) {
+            return;
+        }
+        boolean changed = !statusId.equals(previousStatusId);
+        Instant now = Instant.now();
+
+        if (is(statusId, STATUS_CANCELLED)) {
+            if (appointment.getCancelledAt() == null) {
+                appointment.setCancelledAt(now);
+            }
+        } else if (changed) {
+            appointment.setCancelledAt(null);
+        }
+
+        if (is(statusId, STATUS_COMPLETED)) {
+            if (appointment.getCompletedAt() == null) {
+                appointment.setCompletedAt(now);
+            }
+        } else if (changed) {
+            appointment.setCompletedAt(null);
+        }
+    }
+
+    private boolean is(UUID statusId, String code) {
+        return referenceDataCache.findStatusId(code).map(id -> Objects.equals(id, statusId)).orElse(false);
+    }
+}
@@ -147,31 +147,14 @@ public class AppointmentVerificationService {
     }
 
     /**
-     * Get QR code as PNG image bytes
+     * Get QR code as PNG image bytes, rendered from the appointment code (cached)
      */
+    @Transactional(readOnly = true)
     public byte[] getQRCodeImage(UUID appointmentId) {
-        AppointmentEntity appointment = appointmentRepository.findById(appointmentId)
-            .orElse(null);
-
-        if (appointment == null) {
-            throw new RuntimeException("Appointment not found");
-        }
-
-        // If QR code URL is a base64 data URL, extract the PNG bytes
-        String qrUrl = appointment.getQrCodeUrl();
-        if (qrUrl != null && qrUrl.startsWith("data:image/png;base64,")) {
-            String base64Data = qrUrl.substring("data:image/png;base64,".length());
-            return java.util.Base64.getDecoder().decode(base64Data);
-        }
-
-        // Generate fresh QR if not stored
-        String qrUrl_generated = qrCodeGeneratorService.generateQRCode(
-            appointment.getAppointmentCode(),
-            appointment.getAppointmentId()
-        );
+        String appointmentCode = appointmentRepository.findAppointmentCodeById(appointmentId)
+            .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
-        String base64Data = qrUrl_generated.substring("data:image/png;base64,".length());
-        return java.util.Base64.getDecoder().decode(base64Data);
+        return qrCodeGeneratorService.renderQRCodePng(appointmentCode, appointmentId);
     }
 
     /**
@@ -0,0 +1,231 @@
+package com.care.appointment.application.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable in-memory occupancy grid of a branch's slots over a date window.
+ * Every slot of every open day owns one bit; a set bit means the slot is booked.
+ * Built once by {@link SlotAvailabilityEngine} and then queried without touching the database.
+ */
+public final class BranchAvailabilityGrid {
+
+    private final UUID branchId;
+    private final LocalDate startDate;
+    private final Day[] days;
+    private final BitSet booked;
+
+    private BranchAvailabilityGrid(UUID branchId, LocalDate startDate, Day[] days, BitSet booked) {
+        this.branchId = branchId;
+        this.startDate = startDate;
+        this.days = days;
+        this.booked = booked;
+    }
+
+    public UUID getBranchId() {
+        return branchId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public int getDays() {
+        return days.length;
+    }
+
+    /**
+     * Check if a specific slot is free and the day still has capacity left
+     */
+    public boolean isAvailable(LocalDate date, LocalTime time) {
+        Day day = dayOf(date);
+        if (day == null || day.quota <= 0) {
+            return false;
+        }
+        int slot = day.slotIndex(time);
+        return slot >= 0 && !booked.get(day.bitOffset + slot);
+    }
+
+    /**
+     * Number of slots that can still be offered on a date (0 for closed or unknown days)
+     */
+    public int availableSlotCount(LocalDate date) {
+        Day day = dayOf(date);
+        return day == null ? 0 : day.offered();
+    }
+
+    /**
+     * Total number of slots that can still be offered across the window
+     */
+    public int availableSlotCount() {
+        int total = 0;
+        for (Day day : days) {
+            if (day != null) {
+                total += day.offered();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * All offerable slots in chronological order
+     */
+    public List<Slot> availableSlots() {
+        List<Slot> result = new ArrayList<>(availableSlotCount());
+        for (int d = 0; d < days.length; d++) {
+            Day day = days[d];
+            if (day == null) {
+                continue;
+            }
+            LocalDate date = startDate.plusDays(d);
+            int remaining = day.offered();
+            for (int slot = booked.nextClearBit(day.bitOffset);
+                 remaining > 0 && slot < day.bitOffset + day.slotCount;
+                 slot = booked.nextClearBit(slot + 1)) {
+                result.add(new Slot(date, day.timeOf(slot - day.bitOffset), day.durationMinutes));
+                remaining--;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Earliest offerable slot in the window
+     */
+    public Optional<Slot> firstAvailableSlot() {
+        for (int d = 0; d < days.length; d++) {
+            Day day = days[d];
+            if (day == null || day.offered() == 0) {
+                continue;
+            }
+            int slot = booked.nextClearBit(day.bitOffset);
+            return Optional.of(new Slot(startDate.plusDays(d), day.timeOf(slot - day.bitOffset), day.durationMinutes));
+        }
+        return Optional.empty();
+    }
+
+    private Day dayOf(LocalDate date) {
+        long offset = date.toEpochDay() - startDate.toEpochDay();
+        if (offset < 0 || offset >= days.length) {
+            return null;
+        }
+        return days[(int) offset];
+    }
+
+    static Builder builder(UUID branchId, LocalDate startDate, int dayCount) {
+        return new Builder(branchId, startDate, dayCount);
+    }
+
+    /**
+     * An offerable appointment slot
+     */
+    public record Slot(LocalDate date, LocalTime time, int durationMinutes) {
+    }
+
+    private static final class Day {
+        private final LocalTime startTime;
+        private final int durationMinutes;
+        private final int slotCount;
+        private final int bitOffset;
+        private int bookedCount;
+        private int quota;
+
+        private Day(LocalTime startTime, int durationMinutes, int slotCount, int bitOffset) {
+            this.startTime = startTime;
+            this.durationMinutes = durationMinutes;
+            this.slotCount = slotCount;
+            this.bitOffset = bitOffset;
+            this.quota = Integer.MAX_VALUE;
+        }
+
+        private int slotIndex(LocalTime time) {
+            if (time == null || time.isBefore(startTime)) {
+                return -1;
+            }
+            long minutes = Duration.between(startTime, time).toMinutes();
+            if (minutes % durationMinutes != 0 || !time.equals(startTime.plusMinutes(minutes))) {
+                return -1;
+            }
+            long index = minutes / durationMinutes;
+            return index < slotCount ? (int) index : -1;
+        }
+
+        private LocalTime timeOf(int slotIndex) {
+            return startTime.plusMinutes((long) slotIndex * durationMinutes);
+        }
+
+        private int offered() {
+            return Math.max(0, Math.min(slotCount - bookedCount, quota));
+        }
+    }
+
+    /**
+     * Assembles a grid day by day; package-private because only the engine builds grids
+     */
+    static final class Builder {
+        private final UUID branchId;
+        private final LocalDate startDate;
+        private final Day[] days;
+        private final BitSet booked = new BitSet();
+        private int nextBit;
+
+        private Builder(UUID branchId, LocalDate startDate, int dayCount) {
+            this.branchId = branchId;
+            this.startDate = startDate;
+            this.days = new Day[dayCount];
+        }
+
+        /**
+         * Open a day with slots of {@code durationMinutes} fitting entirely between start and end
+         */
+        Builder openDay(int dayOffset, LocalTime startTime, LocalTime endTime, int durationMinutes) {
+            if (durationMinutes <= 0 || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+                return this;
+            }
+            int slotCount = (int) (Duration.between(startTime, endTime).toMinutes() / durationMinutes);
+            if (slotCount == 0) {
+                return this;
+            }
+            days[dayOffset] = new Day(startTime, durationMinutes, slotCount, nextBit);
+            nextBit += slotCount;
+            return this;
+        }
+
+        /**
+         * Cap the number of slots still offered on a day (remaining daily capacity)
+         */
+        Builder limitDay(int dayOffset, int remainingCapacity) {
+            Day day = days[dayOffset];
+            if (day != null) {
+                day.quota = Math.min(day.quota, remainingCapacity);
+            }
+            return this;
+        }
+
+        /**
+         * Mark a slot as booked; times that do not fall on a slot boundary are ignored
+         */
+        Builder markBooked(int dayOffset, LocalTime time) {
+            Day day = days[dayOffset];
+            if (day == null) {
+                return this;
+            }
+            int slot = day.slotIndex(time);
+            if (slot >= 0 && !booked.get(day.bitOffset + slot)) {
+                booked.set(day.bitOffset + slot);
+                day.bookedCount++;
+            }
+            return this;
+        }
+
+        BranchAvailabilityGrid build() {
+            return new BranchAvailabilityGrid(branchId, startDate, days, booked);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process counters of active (not cancelled) appointments per (branch, date).
+ *
+ * Counters are loaded from the database on first use (one grouped query per warm-up window),
+ * then kept current by the booking, cancellation, transfer and delete paths after their
+ * transaction commits. A scheduled reconciliation re-counts every tracked key from the
+ * database and drops past dates, so missed updates (other nodes, manual SQL) self-heal.
+ *
+ * Loading and reconciling never overwrite a concurrent update: a key is registered before its
+ * count is queried, and changes committed meanwhile are kept as a delta on top of the loaded
+ * count; reconciliation only replaces a value that did not change while it was counting.
+ * The remaining race (a commit counted by the query whose update lands afterwards) can only
+ * over-count until the next reconciliation, which rejects a booking rather than overbooking.
+ *
+ * Completing an appointment does not release capacity: completed appointments still
+ * occupy their day, matching {@link AppointmentRepository#countActiveByBranchAndDate}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BranchDayCapacityCounters {
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ConcurrentHashMap<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Active appointment count for a branch and date; loads the key from the database on a miss
+     */
+    public long bookedCount(UUID branchId, LocalDate date) {
+        Counter counter = counters.computeIfAbsent(new Key(branchId, date), key -> new Counter());
+        if (!counter.loaded) {
+            synchronized (counter) {
+                if (!counter.loaded) {
+                    counter.load(appointmentRepository.countActiveByBranchAndDate(branchId, date));
+                }
+            }
+        }
+        return counter.get();
+    }
+
+    /**
+     * Load every (branch, date) of a window that is not tracked yet, with one grouped query
+     */
+    public void warm(Collection<UUID> branchIds, LocalDate startDate, LocalDate endDate) {
+        if (branchIds == null || branchIds.isEmpty() || endDate.isBefore(startDate)) {
+            return;
+        }
+        // Register the keys first so updates committed while the query runs are not lost
+        Map<Key, Counter> pending = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UUID branchId : new HashSet<>(branchIds)) {
+            if (branchId == null) {
+                continue;
+            }
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                Key key = new Key(branchId, date);
+                Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+                if (!counter.loaded) {
+                    pending.put(key, counter);
+                    missing.add(branchId);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Key, Long> loaded = loadCounts(missing, startDate, endDate);
+        for (Map.Entry<Key, Counter> entry : pending.entrySet()) {
+            Counter counter = entry.getValue();
+            synchronized (counter) {
+                if (!counter.loaded) {
+                    counter.load(loaded.getOrDefault(entry.getKey(), 0L));
+                }
+            }
+        }
+        log.debug("Warmed capacity counters for {} branches between {} and {}", missing.size(), startDate, endDate);
+    }
+
+    /**
+     * Record a newly booked active appointment
+     */
+    public void recordBooked(UUID branchId, LocalDate date) {
+        recordChange(null, null, false, branchId, date, true);
+    }
+
+    /**
+     * Record an appointment that stopped occupying capacity (cancelled or deleted)
+     */
+    public void recordReleased(UUID branchId, LocalDate date) {
+        recordChange(branchId, date, true, null, null, false);
+    }
+
+    /**
+     * Record any change of an appointment's branch, date or active flag.
+     * Applied after the surrounding transaction commits; ignored on rollback.
+     */
+    public void recordChange(UUID fromBranchId, LocalDate fromDate, boolean wasActive,
+                             UUID toBranchId, LocalDate toDate, boolean isActive) {
+        boolean sameKey = Objects.equals(fromBranchId, toBranchId) && Objects.equals(fromDate, toDate);
+        if (sameKey && wasActive == isActive) {
+            return;
+        }
+        afterCommit(() -> {
+            if (wasActive) {
+                adjust(fromBranchId, fromDate, -1);
+            }
+            if (isActive) {
+                adjust(toBranchId, toDate, 1);
+            }
+        });
+    }
+
+    /**
+     * Periodically re-count tracked keys from the database and drop past dates
+     */
+    @Scheduled(
+        initialDelayString = "${app.appointment.capacity-counters.reconcile-interval-ms:300000}",
+        fixedDelayString = "${app.appointment.capacity-counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        counters.keySet().removeIf(key -> key.date().isBefore(today));
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        // Values read before counting; a counter that changes meanwhile is left for the next run
+        Map<Counter, Long> before = new HashMap<>();
+        Map<Counter, Key> keys = new HashMap<>();
+        Set<UUID> branchIds = new HashSet<>();
+        LocalDate maxDate = today;
+        for (Map.Entry<Key, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            if (!counter.loaded) {
+                continue;
+            }
+            before.put(counter, counter.value.get());
+            keys.put(counter, entry.getKey());
+            branchIds.add(entry.getKey().branchId());
+            if (entry.getKey().date().isAfter(maxDate)) {
+                maxDate = entry.getKey().date();
+            }
+        }
+        if (before.isEmpty()) {
+            return;
+        }
+
+        Map<Key, Long> actual = loadCounts(branchIds, today, maxDate);
+        int corrected = 0;
+        int skipped = 0;
+        for (Map.Entry<Counter, Long> entry : before.entrySet()) {
+            long expected = actual.getOrDefault(keys.get(entry.getKey()), 0L);
+            long seen = entry.getValue();
+            if (seen == expected) {
+                continue;
+            }
+            if (entry.getKey().value.compareAndSet(seen, expected)) {
+                corrected++;
+            } else {
+                skipped++;
+            }
+        }
+        log.debug("Reconciled {} capacity counters ({} corrected, {} changed while counting)",
+            before.size(), corrected, skipped);
+    }
+
+    /**
+     * Forget all counters; they are reloaded lazily
+     */
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    private void adjust(UUID branchId, LocalDate date, long delta) {
+        if (branchId == null || date == null) {
+            return;
+        }
+        // Untracked keys are left alone: they load the committed count on first read.
+        // Keys still loading keep the delta and add the loaded count to it.
+        Counter counter = counters.get(new Key(branchId, date));
+        if (counter != null) {
+            counter.value.addAndGet(delta);
+        }
+    }
+
+    private Map<Key, Long> loadCounts(Collection<UUID> branchIds, LocalDate startDate, LocalDate endDate) {
+        Map<Key, Long> result = new HashMap<>();
+        for (Object[] row : appointmentRepository.countActiveByBranchesAndDateRange(branchIds, startDate, endDate)) {
+            result.put(new Key((UUID) row[0], (LocalDate) row[1]), ((Number) row[2]).longValue());
+        }
+        return result;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Key(UUID branchId, LocalDate date) {
+    }
+
+    /**
+     * Count of one key; before it is loaded the value holds the changes recorded since it was registered.
+     * Not clamped when adjusted, so a delta is never lost; reads clamp at zero instead.
+     */
+    private static final class Counter {
+        private final AtomicLong value = new AtomicLong();
+        private volatile boolean loaded;
+
+        /** Callers hold the counter's lock and have checked that it is not loaded yet */
+        void load(long count) {
+            value.addAndGet(count);
+            loaded = true;
+        }
+
+        long get() {
+            return Math.max(0, value.get());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.infrastructure.client.AccessManagementClient;
+import com.care.appointment.web.dto.OrganizationBranchDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Locally cached directory of organization branches from access-management-service.
+ *
+ * The full branch list is fetched periodically and published as an immutable snapshot
+ * (id lookup map + {@link BranchSpatialIndex}), so nearest-center and radius queries are
+ * answered without a remote round trip. Callers should fall back to the remote client
+ * when {@link #isAvailable()} is false (e.g. access-management was down at startup).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BranchDirectory {
+
+    private static final long RETRY_AFTER_FAILURE_MS = 30_000;
+
+    private final AccessManagementClient accessManagementClient;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastAttemptAt;
+
+    /**
+     * Reload all branches and rebuild the spatial index
+     */
+    @Scheduled(
+        initialDelayString = "${app.appointment.branch-directory.initial-delay-ms:5000}",
+        fixedDelayString = "${app.appointment.branch-directory.refresh-interval-ms:600000}")
+    public void refresh() {
+        lastAttemptAt = System.currentTimeMillis();
+        try {
+            List<OrganizationBranchDTO> branches = accessManagementClient.getAllOrganizationBranches();
+            if (branches == null || branches.isEmpty()) {
+                log.warn("Branch directory refresh returned no branches; keeping previous snapshot");
+                return;
+            }
+            snapshot = Snapshot.of(branches);
+            log.info("Branch directory refreshed: {} branches, {} indexed by location",
+                snapshot.byId.size(), snapshot.index.size());
+        } catch (Exception ex) {
+            log.warn("Branch directory refresh failed, keeping previous snapshot: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * True once at least one refresh has succeeded
+     */
+    public boolean isAvailable() {
+        return current() != Snapshot.EMPTY;
+    }
+
+    public Optional<OrganizationBranchDTO> findById(UUID branchId) {
+        return Optional.ofNullable(current().byId.get(branchId));
+    }
+
+    /**
+     * All cached branches (empty until the first successful refresh)
+     */
+    public Collection<OrganizationBranchDTO> findAll() {
+        return current().byId.values();
+    }
+
+    /**
+     * Cached branches for the given ids; ids unknown to the directory are skipped
+     */
+    public List<OrganizationBranchDTO> findByIds(Collection<UUID> branchIds) {
+        Snapshot current = current();
+        List<OrganizationBranchDTO> result = new ArrayList<>(branchIds.size());
+        for (UUID branchId : branchIds) {
+            OrganizationBranchDTO branch = current.byId.get(branchId);
+            if (branch != null) {
+                result.add(branch);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The k nearest branches among the eligible ids, closest first
+     */
+    public List<BranchSpatialIndex.Hit> nearest(double latitude, double longitude, int k, Set<UUID> eligibleBranchIds) {
+        return current().index.nearest(latitude, longitude, k, eligibleBranchIds::contains);
+    }
+
+    /**
+     * Branches among the eligible ids within a radius, closest first
+     */
+    public List<BranchSpatialIndex.Hit> withinRadius(double latitude, double longitude, double radiusKm,
+                                                     Set<UUID> eligibleBranchIds) {
+        return current().index.withinRadius(latitude, longitude, radiusKm, eligibleBranchIds::contains);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == Snapshot.EMPTY && System.currentTimeMillis() - lastAttemptAt > RETRY_AFTER_FAILURE_MS) {
+            synchronized (this) {
+                if (snapshot == Snapshot.EMPTY && System.currentTimeMillis() - lastAttemptAt > RETRY_AFTER_FAILURE_MS) {
+                    refresh();
+                }
+            }
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<UUID, OrganizationBranchDTO> byId, BranchSpatialIndex index) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), BranchSpatialIndex.of(List.of()));
+
+        static Snapshot of(List<OrganizationBranchDTO> branches) {
+            Map<UUID, OrganizationBranchDTO> byId = new HashMap<>();
+            for (OrganizationBranchDTO branch : branches) {
+                if (branch != null && branch.getOrganizationBranchId() != null) {
+                    byId.putIfAbsent(branch.getOrganizationBranchId(), branch);
+                }
+            }
+            return new Snapshot(Map.copyOf(byId), BranchSpatialIndex.of(byId.values()));
+        }
+    }
+}
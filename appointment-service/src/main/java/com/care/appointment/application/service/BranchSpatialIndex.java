@@ -0,0 +1,204 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.web.dto.OrganizationBranchDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Immutable 3D KD-tree over branch coordinates.
+ * Points are stored as unit vectors on the sphere, so straight-line (chord) distance is monotone
+ * in great-circle distance and poles or the antimeridian need no special handling.
+ */
+public final class BranchSpatialIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final BranchSpatialIndex EMPTY = new BranchSpatialIndex(new OrganizationBranchDTO[0]);
+
+    private final OrganizationBranchDTO[] branches;
+    private final double[][] points;
+
+    private BranchSpatialIndex(OrganizationBranchDTO[] branches) {
+        this.branches = branches;
+        this.points = new double[branches.length][];
+        for (int i = 0; i < branches.length; i++) {
+            points[i] = toUnitVector(branches[i].getLatitude(), branches[i].getLongitude());
+        }
+        build(0, branches.length, 0);
+    }
+
+    /**
+     * Index every branch that has both latitude and longitude
+     */
+    public static BranchSpatialIndex of(Collection<OrganizationBranchDTO> branches) {
+        if (branches == null || branches.isEmpty()) {
+            return EMPTY;
+        }
+        OrganizationBranchDTO[] located = branches.stream()
+            .filter(b -> b != null && b.getOrganizationBranchId() != null
+                && b.getLatitude() != null && b.getLongitude() != null)
+            .toArray(OrganizationBranchDTO[]::new);
+        return located.length == 0 ? EMPTY : new BranchSpatialIndex(located);
+    }
+
+    public int size() {
+        return branches.length;
+    }
+
+    /**
+     * The k nearest branches accepted by the filter, closest first
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k, Predicate<UUID> filter) {
+        if (k <= 0 || branches.length == 0) {
+            return List.of();
+        }
+        double[] target = toUnitVector(latitude, longitude);
+        PriorityQueue<int[]> heap = new PriorityQueue<>(k + 1,
+            Comparator.comparingDouble((int[] e) -> squaredChord(points[e[0]], target)).reversed());
+        searchNearest(0, branches.length, 0, target, k, filter, heap);
+
+        List<Hit> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int idx = heap.poll()[0];
+            result.add(new Hit(branches[idx], toKilometers(squaredChord(points[idx], target))));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * All branches accepted by the filter within a radius, closest first
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, Predicate<UUID> filter) {
+        if (radiusKm < 0 || branches.length == 0) {
+            return List.of();
+        }
+        double[] target = toUnitVector(latitude, longitude);
+        double angle = Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI);
+        double chord = 2 * Math.sin(angle / 2);
+        List<Hit> result = new ArrayList<>();
+        searchRadius(0, branches.length, 0, target, chord * chord, filter, result);
+        result.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return result;
+    }
+
+    /**
+     * Great-circle distance between two coordinates in kilometers
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        return toKilometers(squaredChord(toUnitVector(lat1, lon1), toUnitVector(lat2, lon2)));
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int axis = depth % 3;
+        Integer[] order = new Integer[hi - lo];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = lo + i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> points[i][axis]));
+        OrganizationBranchDTO[] sortedBranches = new OrganizationBranchDTO[order.length];
+        double[][] sortedPoints = new double[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            sortedBranches[i] = branches[order[i]];
+            sortedPoints[i] = points[order[i]];
+        }
+        System.arraycopy(sortedBranches, 0, branches, lo, order.length);
+        System.arraycopy(sortedPoints, 0, points, lo, order.length);
+
+        int mid = (lo + hi) >>> 1;
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    private void searchNearest(int lo, int hi, int depth, double[] target, int k,
+                               Predicate<UUID> filter, PriorityQueue<int[]> heap) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int axis = depth % 3;
+        double diff = target[axis] - points[mid][axis];
+
+        if (accepts(filter, mid)) {
+            heap.offer(new int[]{mid});
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        boolean leftFirst = diff < 0;
+        if (leftFirst) {
+            searchNearest(lo, mid, depth + 1, target, k, filter, heap);
+        } else {
+            searchNearest(mid + 1, hi, depth + 1, target, k, filter, heap);
+        }
+        if (heap.size() < k || diff * diff < squaredChord(points[heap.peek()[0]], target)) {
+            if (leftFirst) {
+                searchNearest(mid + 1, hi, depth + 1, target, k, filter, heap);
+            } else {
+                searchNearest(lo, mid, depth + 1, target, k, filter, heap);
+            }
+        }
+    }
+
+    private void searchRadius(int lo, int hi, int depth, double[] target, double maxSquaredChord,
+                              Predicate<UUID> filter, List<Hit> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int axis = depth % 3;
+        double diff = target[axis] - points[mid][axis];
+
+        double squared = squaredChord(points[mid], target);
+        if (squared <= maxSquaredChord && accepts(filter, mid)) {
+            result.add(new Hit(branches[mid], toKilometers(squared)));
+        }
+        if (diff < 0 || diff * diff <= maxSquaredChord) {
+            searchRadius(lo, mid, depth + 1, target, maxSquaredChord, filter, result);
+        }
+        if (diff >= 0 || diff * diff <= maxSquaredChord) {
+            searchRadius(mid + 1, hi, depth + 1, target, maxSquaredChord, filter, result);
+        }
+    }
+
+    private boolean accepts(Predicate<UUID> filter, int idx) {
+        return filter == null || filter.test(branches[idx].getOrganizationBranchId());
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double squaredChord(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double toKilometers(double squaredChord) {
+        double half = Math.min(1.0, Math.sqrt(squaredChord) / 2);
+        return EARTH_RADIUS_KM * 2 * Math.asin(half);
+    }
+
+    /**
+     * A branch matched by a spatial query with its great-circle distance
+     */
+    public record Hit(OrganizationBranchDTO branch, double distanceKm) {
+    }
+}
@@ -1,26 +1,36 @@
 package com.care.appointment.application.service;
 
 import com.google.zxing.BarcodeFormat;
-import com.google.zxing.MultiFormatWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
-import lombok.RequiredArgsConstructor;
+import com.google.zxing.qrcode.QRCodeWriter;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for generating QR codes and verification codes for appointments
+ *
+ * Appointments store only the URL of their QR image; the PNG is rendered on demand from the
+ * QR content (APPT:CODE|ID:UUID) and kept in a small LRU cache. Rendering ahead of time runs on
+ * a bounded worker pool so it never adds latency to the booking transaction.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class QRCodeGeneratorService {
 
     private static final int QR_CODE_WIDTH = 300;
@@ -33,39 +43,109 @@ public class QRCodeGeneratorService {
     @Value("${app.appointment.qr-code-expiry-minutes:1440}")
     private int qrCodeExpiryMinutes; // Default 24 hours
 
+    @Value("${app.appointment.qr-code.image-path:/api/v1/appointments/verify/{appointmentId}/qr-image}")
+    private String qrImagePath;
+
+    private final Map<String, byte[]> imageCache;
+    private final ThreadPoolExecutor renderExecutor;
+
+    public QRCodeGeneratorService(
+            @Value("${app.appointment.qr-code.cache-size:512}") int cacheSize,
+            @Value("${app.appointment.qr-code.render-threads:2}") int renderThreads,
+            @Value("${app.appointment.qr-code.render-queue-capacity:1000}") int queueCapacity) {
+        this.imageCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderExecutor = new ThreadPoolExecutor(
+            renderThreads, renderThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "qr-render-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.renderExecutor.allowCoreThreadTimeOut(true);
+    }
+
     /**
-     * Generate a QR code containing the appointment code and appointment ID
+     * Build the QR content for an appointment
      *
      * @param appointmentCode The appointment code (e.g., HQ-2025-0001)
      * @param appointmentId The appointment UUID
-     * @return Base64 encoded QR code image
+     * @return QR content in format: APPT:CODE|ID:UUID
      */
-    public String generateQRCode(String appointmentCode, UUID appointmentId) {
-        try {
-            // Create QR content with both code and ID
-            String qrContent = String.format("APPT:%s|ID:%s", appointmentCode, appointmentId.toString());
-
-            // Generate QR code matrix
-            MultiFormatWriter writer = new MultiFormatWriter();
-            BitMatrix bitMatrix = writer.encode(qrContent, BarcodeFormat.QR_CODE, QR_CODE_WIDTH, QR_CODE_HEIGHT);
+    public String buildQRContent(String appointmentCode, UUID appointmentId) {
+        return String.format("APPT:%s|ID:%s", appointmentCode, appointmentId);
+    }
 
-            // Convert to BufferedImage
-            BufferedImage qrImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
+    /**
+     * URL of the on-demand QR image for an appointment (stored on the appointment instead of the image)
+     */
+    public String getQRCodeImageUrl(UUID appointmentId) {
+        return qrImagePath.replace("{appointmentId}", appointmentId.toString());
+    }
 
-            // Convert to PNG bytes
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-            byte[] qrImageBytes = outputStream.toByteArray();
+    /**
+     * Render the QR code PNG for an appointment, served from the cache when already rendered
+     *
+     * @param appointmentCode The appointment code (e.g., HQ-2025-0001)
+     * @param appointmentId The appointment UUID
+     * @return PNG image bytes
+     */
+    public byte[] renderQRCodePng(String appointmentCode, UUID appointmentId) {
+        String qrContent = buildQRContent(appointmentCode, appointmentId);
+        synchronized (imageCache) {
+            byte[] cached = imageCache.get(qrContent);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-            // Encode to Base64
-            String base64QR = Base64.getEncoder().encodeToString(qrImageBytes);
+        byte[] png = render(qrContent);
+        synchronized (imageCache) {
+            imageCache.put(qrContent, png);
+        }
+        return png;
+    }
 
-            log.info("Generated QR code for appointment: {}", appointmentCode);
+    /**
+     * Render the QR code on the worker pool so the first image request is served from the cache.
+     * Best effort: when the queue is full the image is simply rendered on first request.
+     */
+    public CompletableFuture<byte[]> prerenderQRCode(String appointmentCode, UUID appointmentId) {
+        try {
+            return CompletableFuture.supplyAsync(() -> renderQRCodePng(appointmentCode, appointmentId), renderExecutor);
+        } catch (RejectedExecutionException e) {
+            log.debug("QR render queue full, skipping pre-render for appointment: {}", appointmentCode);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
 
-            return "data:image/png;base64," + base64QR;
+    /**
+     * Generate a QR code containing the appointment code and appointment ID
+     *
+     * @param appointmentCode The appointment code (e.g., HQ-2025-0001)
+     * @param appointmentId The appointment UUID
+     * @return Base64 encoded QR code image
+     */
+    public String generateQRCode(String appointmentCode, UUID appointmentId) {
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(renderQRCodePng(appointmentCode, appointmentId));
+    }
 
+    private byte[] render(String qrContent) {
+        try {
+            BitMatrix bitMatrix = new QRCodeWriter()
+                .encode(qrContent, BarcodeFormat.QR_CODE, QR_CODE_WIDTH, QR_CODE_HEIGHT);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(2048);
+            MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+            return outputStream.toByteArray();
         } catch (Exception e) {
-            log.error("Error generating QR code for appointment: {}", appointmentCode, e);
+            log.error("Error generating QR code for content: {}", qrContent, e);
             throw new RuntimeException("Failed to generate QR code", e);
         }
     }
@@ -125,4 +205,9 @@ public class QRCodeGeneratorService {
     public int getQRCodeExpiryMinutes() {
         return qrCodeExpiryMinutes;
     }
+
+    @PreDestroy
+    void shutdown() {
+        renderExecutor.shutdownNow();
+    }
 }
@@ -0,0 +1,145 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.infrastructure.db.entities.CenterDailyCapacityEntity;
+import com.care.appointment.infrastructure.db.entities.CenterHolidayEntity;
+import com.care.appointment.infrastructure.db.entities.CenterWeeklyScheduleEntity;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
+import com.care.appointment.infrastructure.db.repositories.CenterDailyCapacityRepository;
+import com.care.appointment.infrastructure.db.repositories.CenterHolidayRepository;
+import com.care.appointment.infrastructure.db.repositories.CenterWeeklyScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Builds per-branch slot availability grids for a date window.
+ * A grid costs a fixed number of range queries (schedule, holidays, daily capacity, booked slots)
+ * regardless of the window length; every slot lookup afterwards is answered from memory.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SlotAvailabilityEngine {
+
+    private final CenterWeeklyScheduleRepository weeklyScheduleRepository;
+    private final CenterHolidayRepository holidayRepository;
+    private final CenterDailyCapacityRepository dailyCapacityRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Load the availability grid of a branch
+     *
+     * @param branchId Branch to load
+     * @param serviceTypeId Service type used to pick service-specific daily capacity rows (nullable)
+     * @param startDate First day of the window
+     * @param days Number of days in the window
+     */
+    @Transactional(readOnly = true)
+    public BranchAvailabilityGrid load(UUID branchId, UUID serviceTypeId, LocalDate startDate, int days) {
+        Objects.requireNonNull(branchId, "branchId is required");
+        Objects.requireNonNull(startDate, "startDate is required");
+        int dayCount = Math.max(0, days);
+        LocalDate endDate = startDate.plusDays(Math.max(0, dayCount - 1));
+
+        BranchAvailabilityGrid.Builder builder = BranchAvailabilityGrid.builder(branchId, startDate, dayCount);
+        if (dayCount == 0) {
+            return builder.build();
+        }
+
+        // Get weekly schedule for this branch (0=Sunday, 1=Monday, ..., 6=Saturday)
+        Map<Integer, CenterWeeklyScheduleEntity> scheduleByDay = new HashMap<>();
+        for (CenterWeeklyScheduleEntity schedule : weeklyScheduleRepository.findByOrganizationBranchIdAndIsActiveTrue(branchId)) {
+            if (schedule.getDayOfWeek() != null) {
+                scheduleByDay.putIfAbsent(schedule.getDayOfWeek(), schedule);
+            }
+        }
+        if (scheduleByDay.isEmpty()) {
+            return builder.build();
+        }
+
+        boolean[] closed = new boolean[dayCount];
+        for (CenterHolidayEntity holiday : holidayRepository
+                .findByOrganizationBranchIdAndHolidayDateBetween(branchId, startDate, endDate)) {
+            int offset = offsetOf(startDate, holiday.getHolidayDate(), dayCount);
+            if (offset >= 0) {
+                closed[offset] = true;
+            }
+        }
+
+        for (int i = 0; i < dayCount; i++) {
+            if (closed[i]) {
+                continue;
+            }
+            int dayOfWeek = startDate.plusDays(i).getDayOfWeek().getValue() % 7;
+            CenterWeeklyScheduleEntity schedule = scheduleByDay.get(dayOfWeek);
+            if (schedule != null && schedule.getSlotDurationMinutes() != null) {
+                builder.openDay(i, schedule.getStartTime(), schedule.getEndTime(), schedule.getSlotDurationMinutes());
+            }
+        }
+
+        applyDailyCapacity(builder, branchId, serviceTypeId, startDate, endDate, dayCount);
+
+        List<Object[]> bookedSlots = appointmentRepository
+            .findBookedSlotsByBranchAndDateRange(branchId, startDate, endDate);
+        for (Object[] row : bookedSlots) {
+            int offset = offsetOf(startDate, (LocalDate) row[0], dayCount);
+            if (offset >= 0) {
+                builder.markBooked(offset, (LocalTime) row[1]);
+            }
+        }
+
+        log.debug("Loaded availability grid for branch {} ({} days from {}, {} booked slots)",
+            branchId, dayCount, startDate, bookedSlots.size());
+
+        return builder.build();
+    }
+
+    /**
+     * Daily capacity rows cap the slots offered per day; a service-specific row wins over the
+     * all-services row (service_type_id IS NULL) for the same date.
+     */
+    private void applyDailyCapacity(BranchAvailabilityGrid.Builder builder,
+                                    UUID branchId,
+                                    UUID serviceTypeId,
+                                    LocalDate startDate,
+                                    LocalDate endDate,
+                                    int dayCount) {
+        Map<Integer, CenterDailyCapacityEntity> capacityByDay = new HashMap<>();
+        for (CenterDailyCapacityEntity capacity : dailyCapacityRepository
+                .findByOrganizationBranchIdAndCapacityDateBetween(branchId, startDate, endDate)) {
+            if (capacity.getAvailableSlots() == null) {
+                continue;
+            }
+            boolean generic = capacity.getServiceTypeId() == null;
+            boolean matching = serviceTypeId != null && serviceTypeId.equals(capacity.getServiceTypeId());
+            if (!generic && !matching) {
+                continue;
+            }
+            int offset = offsetOf(startDate, capacity.getCapacityDate(), dayCount);
+            if (offset < 0) {
+                continue;
+            }
+            if (matching || !capacityByDay.containsKey(offset)) {
+                capacityByDay.put(offset, capacity);
+            }
+        }
+        capacityByDay.forEach((offset, capacity) -> builder.limitDay(offset, capacity.getAvailableSlots()));
+    }
+
+    private int offsetOf(LocalDate startDate, LocalDate date, int dayCount) {
+        if (date == null) {
+            return -1;
+        }
+        long offset = date.toEpochDay() - startDate.toEpochDay();
+        return offset >= 0 && offset < dayCount ? (int) offset : -1;
+    }
+}
@@ -2,6 +2,7 @@ package com.care.appointment.application.servicetype.service;
 
 import com.care.appointment.application.servicetype.command.CreateServiceTypeCommand;
 import com.care.appointment.application.servicetype.command.UpdateServiceTypeCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.ServiceType;
 import com.care.appointment.domain.ports.in.servicetype.*;
 import com.care.appointment.domain.ports.out.servicetype.ServiceTypeCrudPort;
@@ -25,6 +26,7 @@ public class ServiceTypeService implements SaveUseCase, UpdateUseCase, LoadUseCa
     
     private final ServiceTypeCrudPort crudPort;
     private final ServiceTypeSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
     
     @Override
     public ServiceType saveServiceType(CreateServiceTypeCommand command) {
@@ -46,6 +48,7 @@ public class ServiceTypeService implements SaveUseCase, UpdateUseCase, LoadUseCa
                 .displayOrder(command.getDisplayOrder())
                 .build();
         
+        referenceDataCache.invalidate();
         return crudPort.save(serviceType);
     }
     
@@ -69,6 +72,7 @@ public class ServiceTypeService implements SaveUseCase, UpdateUseCase, LoadUseCa
         existing.setCode(command.getCode());
         existing.setDisplayOrder(command.getDisplayOrder());
         
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
     
@@ -88,6 +92,7 @@ public class ServiceTypeService implements SaveUseCase, UpdateUseCase, LoadUseCa
 
         // Perform hard delete
         crudPort.deleteById(existing.getServiceTypeId());
+        referenceDataCache.invalidate();
     }
     
     @Override
@@ -2,6 +2,7 @@ package com.care.appointment.application.servicetypelanguage.service;
 
 import com.care.appointment.application.servicetypelanguage.command.CreateServiceTypeLanguageCommand;
 import com.care.appointment.application.servicetypelanguage.command.UpdateServiceTypeLanguageCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.ServiceTypeLanguage;
 import com.care.appointment.domain.ports.in.servicetypelanguage.*;
 import com.care.appointment.domain.ports.out.servicetypelanguage.ServiceTypeLanguageCrudPort;
@@ -30,6 +31,7 @@ public class ServiceTypeLanguageService implements
 
     private final ServiceTypeLanguageCrudPort crudPort;
     private final ServiceTypeLanguageSearchPort searchPort;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public ServiceTypeLanguage saveServiceTypeLanguage(CreateServiceTypeLanguageCommand command) {
@@ -57,6 +59,7 @@ public class ServiceTypeLanguageService implements
                 .isDeleted(command.getIsDeleted() != null ? command.getIsDeleted() : Boolean.FALSE)
                 .build();
 
+        referenceDataCache.invalidate();
         return crudPort.save(language);
     }
 
@@ -100,6 +103,7 @@ public class ServiceTypeLanguageService implements
             }
         }
 
+        referenceDataCache.invalidate();
         return crudPort.update(existing);
     }
 
@@ -116,6 +120,7 @@ public class ServiceTypeLanguageService implements
         existing.setIsDeleted(Boolean.TRUE);
         existing.setIsActive(Boolean.FALSE);
         crudPort.update(existing);
+        referenceDataCache.invalidate();
     }
 
     @Override
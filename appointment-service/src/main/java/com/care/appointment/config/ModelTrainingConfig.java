@@ -0,0 +1,25 @@
+package com.care.appointment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background executor for no-show model training. One thread: a fit already uses every core
+ * through fork-join, so jobs run one at a time and queued ones stay PENDING.
+ */
+@Configuration
+public class ModelTrainingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor modelTrainingExecutor(
+            @Value("${app.appointment.ai.training.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("model-training-");
+        return executor;
+    }
+}
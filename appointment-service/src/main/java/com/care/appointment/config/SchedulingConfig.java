@@ -0,0 +1,12 @@
+package com.care.appointment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (cache reconciliation, periodic refreshes)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,35 @@
+package com.care.appointment.domain.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Validated field changes applied to many beneficiaries at once.
+ * Each field has a flag telling whether it is part of the change; a flagged field
+ * with a null value clears the column (except isActive, which is never null).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryBulkChange {
+    private boolean preferredLanguageChanged;
+    private UUID preferredLanguageCodeValueId;
+
+    private boolean genderChanged;
+    private UUID genderCodeValueId;
+
+    private boolean registrationStatusChanged;
+    private UUID registrationStatusCodeValueId;
+
+    private boolean profilePhotoChanged;
+    private String profilePhotoUrl;
+
+    private boolean activeChanged;
+    private boolean active;
+
+    private Instant updatedAt;
+    private UUID updatedById;
+}
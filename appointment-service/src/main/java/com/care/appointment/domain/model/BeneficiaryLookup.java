@@ -0,0 +1,19 @@
+package com.care.appointment.domain.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Projection of a beneficiary for dropdowns and typeahead
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryLookup {
+    private UUID beneficiaryId;
+    private String fullName;
+    private String nationalId;
+    private String mobileNumber;
+}
@@ -0,0 +1,37 @@
+package com.care.appointment.domain.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Beneficiary counts computed by aggregate queries.
+ * Breakdowns only count beneficiaries that are not deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryStatistics {
+    private long totalBeneficiaries;          // every row, including soft-deleted ones
+    private long deletedBeneficiaries;
+    private long activeBeneficiaries;         // active and not deleted
+    private List<Breakdown> byGender;
+    private List<Breakdown> byRegistrationStatus;
+    private Instant computedAt;
+
+    /**
+     * Counts for one code value; codeValueId is null for beneficiaries without a value
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Breakdown {
+        private UUID codeValueId;
+        private long total;
+        private long active;
+    }
+}
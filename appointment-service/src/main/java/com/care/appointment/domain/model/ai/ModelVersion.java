@@ -72,6 +72,11 @@ public class ModelVersion {
     @JdbcTypeCode(SqlTypes.JSON)
     private JsonNode featureList;
 
+    // Trained coefficients with their feature layout and standardization (see NoShowModel)
+    @Column(name = "model_weights", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private JsonNode modelWeights;
+
     // Status Management
     @Column(nullable = false, length = 20)
     @Enumerated(EnumType.STRING)
@@ -1,7 +1,10 @@
 package com.care.appointment.domain.ports.out.beneficiary;
 
 import com.care.appointment.domain.model.Beneficiary;
+import com.care.appointment.domain.model.BeneficiaryBulkChange;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,5 +13,16 @@ public interface BeneficiaryCrudPort {
     Beneficiary update(Beneficiary entity);
     Optional<Beneficiary> findById(UUID id);
     void deleteById(UUID id);
+
+    /**
+     * Apply one change to every non-deleted beneficiary in ids with a single statement
+     * @return ids of the rows actually updated
+     */
+    List<UUID> bulkUpdate(Collection<UUID> ids, BeneficiaryBulkChange change);
+
+    /**
+     * Which of the ids exist, deleted or not
+     */
+    List<UUID> findExistingIds(Collection<UUID> ids);
 }
 
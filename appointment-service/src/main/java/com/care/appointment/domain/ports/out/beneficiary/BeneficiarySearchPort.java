@@ -1,6 +1,8 @@
 package com.care.appointment.domain.ports.out.beneficiary;
 
 import com.care.appointment.domain.model.Beneficiary;
+import com.care.appointment.domain.model.BeneficiaryLookup;
+import com.care.appointment.domain.model.BeneficiaryStatistics;
 import com.sharedlib.core.filter.FilterRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -61,5 +63,16 @@ public interface BeneficiarySearchPort {
      * Used for dashboard and bulk operations.
      */
     List<Beneficiary> findByIsActiveTrueAndIsDeletedFalseOrderByCreatedAtDesc();
+    
+    /**
+     * Counts and breakdowns by gender and registration status, from one aggregate query.
+     */
+    BeneficiaryStatistics computeStatistics();
+    
+    /**
+     * Active, non-deleted beneficiaries ordered by (full name, id), starting after the given key.
+     * The query matches the start of the name, mobile number or national ID; null matches all.
+     * Pass null afterFullName/afterId for the first page.
+     */
+    List<BeneficiaryLookup> lookup(String query, String afterFullName, UUID afterId, int limit);
 }
-
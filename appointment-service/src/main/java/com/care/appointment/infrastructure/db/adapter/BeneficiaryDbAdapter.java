@@ -1,6 +1,9 @@
 package com.care.appointment.infrastructure.db.adapter;
 
 import com.care.appointment.domain.model.Beneficiary;
+import com.care.appointment.domain.model.BeneficiaryBulkChange;
+import com.care.appointment.domain.model.BeneficiaryLookup;
+import com.care.appointment.domain.model.BeneficiaryStatistics;
 import com.care.appointment.domain.ports.out.beneficiary.BeneficiaryCrudPort;
 import com.care.appointment.domain.ports.out.beneficiary.BeneficiarySearchPort;
 import com.care.appointment.infrastructure.db.config.BeneficiaryFilterConfig;
@@ -15,7 +18,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -52,6 +58,24 @@ public class BeneficiaryDbAdapter implements BeneficiaryCrudPort, BeneficiarySea
         repository.deleteById(id);
     }
 
+    @Override
+    public List<UUID> bulkUpdate(Collection<UUID> ids, BeneficiaryBulkChange change) {
+        return repository.bulkUpdate(
+                ids,
+                change.isPreferredLanguageChanged(), orNoValue(change.getPreferredLanguageCodeValueId()),
+                change.isGenderChanged(), orNoValue(change.getGenderCodeValueId()),
+                change.isRegistrationStatusChanged(), orNoValue(change.getRegistrationStatusCodeValueId()),
+                change.isProfilePhotoChanged(), change.getProfilePhotoUrl() != null ? change.getProfilePhotoUrl() : "",
+                change.isActiveChanged(), change.isActive(),
+                change.getUpdatedAt(),
+                change.getUpdatedById() != null, orNoValue(change.getUpdatedById()));
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Collection<UUID> ids) {
+        return repository.findExistingIds(ids);
+    }
+
     @Override
     public Page<Beneficiary> search(FilterRequest filter, Pageable pageable) {
         Specification<BeneficiaryEntity> spec = buildSpecification(filter);
@@ -129,6 +153,51 @@ public class BeneficiaryDbAdapter implements BeneficiaryCrudPort, BeneficiarySea
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public BeneficiaryStatistics computeStatistics() {
+        BeneficiaryStatistics statistics = BeneficiaryStatistics.builder()
+                .byGender(new ArrayList<>())
+                .byRegistrationStatus(new ArrayList<>())
+                .computedAt(Instant.now())
+                .build();
+        for (Object[] row : repository.aggregateStatistics()) {
+            boolean genderSet = ((Number) row[0]).intValue() == 0;
+            boolean registrationStatusSet = ((Number) row[1]).intValue() == 0;
+            long notDeleted = ((Number) row[6]).longValue();
+            long active = ((Number) row[7]).longValue();
+            if (genderSet) {
+                if (notDeleted > 0) {
+                    statistics.getByGender().add(new BeneficiaryStatistics.Breakdown((UUID) row[2], notDeleted, active));
+                }
+            } else if (registrationStatusSet) {
+                if (notDeleted > 0) {
+                    statistics.getByRegistrationStatus().add(
+                            new BeneficiaryStatistics.Breakdown((UUID) row[3], notDeleted, active));
+                }
+            } else {
+                statistics.setTotalBeneficiaries(((Number) row[4]).longValue());
+                statistics.setDeletedBeneficiaries(((Number) row[5]).longValue());
+                statistics.setActiveBeneficiaries(active);
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public List<BeneficiaryLookup> lookup(String query, String afterFullName, UUID afterId, int limit) {
+        boolean hasQuery = query != null && !query.isBlank();
+        boolean hasAfter = afterFullName != null && afterId != null;
+        List<Object[]> rows = repository.findLookupPage(
+                hasQuery, hasQuery ? escapeLike(query.trim()) + "%" : "%",
+                hasAfter, hasAfter ? afterFullName : "", hasAfter ? afterId : BeneficiaryRepository.NO_VALUE,
+                limit);
+        List<BeneficiaryLookup> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new BeneficiaryLookup((UUID) row[0], (String) row[1], (String) row[2], (String) row[3]));
+        }
+        return result;
+    }
+
     private Specification<BeneficiaryEntity> buildSpecification(FilterRequest filter) {
         if (filter == null) {
             return (root, q, cb) -> cb.conjunction();
@@ -151,5 +220,12 @@ public class BeneficiaryDbAdapter implements BeneficiaryCrudPort, BeneficiarySea
                 .withScopes(filter.getScopes())
                 .build();
     }
-}
 
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static UUID orNoValue(UUID value) {
+        return value != null ? value : BeneficiaryRepository.NO_VALUE;
+    }
+}
@@ -0,0 +1,115 @@
+package com.care.appointment.infrastructure.db.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partial unique indexes that enforce the booking rules in the database.
+ *
+ * Hibernate's ddl-auto cannot declare partial indexes, so they are created at startup.
+ * An appointment is open while neither cancelled_at nor completed_at is set:
+ * - an open or completed appointment occupies its (branch, date, time) slot;
+ * - a beneficiary has at most one open appointment per service type.
+ *
+ * Status ids are rows, so the predicates cannot name statuses; instead every status change keeps the
+ * two columns in line (AppointmentStatusTimestamps). Rows written before that, with a CANCELLED or
+ * COMPLETED status but no timestamp, are backfilled before the indexes are created.
+ *
+ * Creation fails when existing rows already break a rule; bookings then fall back to
+ * checking the rules with a query before inserting (see {@link #isEnforced()}).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentBookingIndexes {
+
+    public static final String SLOT_INDEX = "ux_appointments_slot_active";
+    public static final String OPEN_SERVICE_INDEX = "ux_appointments_beneficiary_service_open";
+
+    public static final String CREATE_SLOT_INDEX =
+        "CREATE UNIQUE INDEX IF NOT EXISTS " + SLOT_INDEX
+            + " ON appointments (organization_branch_id, appointment_date, appointment_time)"
+            + " WHERE cancelled_at IS NULL";
+
+    public static final String CREATE_OPEN_SERVICE_INDEX =
+        "CREATE UNIQUE INDEX IF NOT EXISTS " + OPEN_SERVICE_INDEX
+            + " ON appointments (beneficiary_id, service_type_id)"
+            + " WHERE cancelled_at IS NULL AND completed_at IS NULL";
+
+    private static final String BACKFILL_CANCELLED_AT = """
+            UPDATE appointments a
+            SET cancelled_at = COALESCE(a.updated_at, a.created_at)
+            FROM appointment_statuses s
+            WHERE s.appointment_status_id = a.appointment_status_id
+            AND s.code = 'CANCELLED'
+            AND a.cancelled_at IS NULL
+            """;
+
+    private static final String BACKFILL_COMPLETED_AT = """
+            UPDATE appointments a
+            SET completed_at = COALESCE(a.attended_at, a.updated_at, a.created_at)
+            FROM appointment_statuses s
+            WHERE s.appointment_status_id = a.appointment_status_id
+            AND s.code = 'COMPLETED'
+            AND a.completed_at IS NULL
+            """;
+
+    private static final String COUNT_VALID_INDEXES = """
+            SELECT COUNT(*)
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE c.relname IN (?, ?)
+            AND c.relnamespace = to_regnamespace(current_schema())
+            AND i.indisvalid
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean enforced;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        backfill();
+        create(SLOT_INDEX, CREATE_SLOT_INDEX);
+        create(OPEN_SERVICE_INDEX, CREATE_OPEN_SERVICE_INDEX);
+        Integer valid = jdbcTemplate.queryForObject(COUNT_VALID_INDEXES, Integer.class, SLOT_INDEX, OPEN_SERVICE_INDEX);
+        enforced = valid != null && valid == 2;
+        if (enforced) {
+            log.info("Booking uniqueness is enforced by partial unique indexes");
+        } else {
+            log.warn("Booking uniqueness indexes are missing or invalid; bookings are checked with a query first");
+        }
+    }
+
+    /**
+     * True when both indexes exist and are valid, so a conflicting insert cannot succeed
+     */
+    public boolean isEnforced() {
+        return enforced;
+    }
+
+    private void backfill() {
+        try {
+            int cancelled = jdbcTemplate.update(BACKFILL_CANCELLED_AT);
+            int completed = jdbcTemplate.update(BACKFILL_COMPLETED_AT);
+            if (cancelled > 0 || completed > 0) {
+                log.info("Backfilled cancelled_at on {} and completed_at on {} appointments", cancelled, completed);
+            }
+        } catch (Exception ex) {
+            log.warn("Could not backfill appointment status timestamps: {}", ex.getMessage());
+        }
+    }
+
+    private void create(String name, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+        } catch (Exception ex) {
+            // Usually rows that already violate the rule, or another instance creating it concurrently
+            log.warn("Could not create index {}: {}", name, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.care.appointment.infrastructure.db.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Triggers that queue the appointment dates the daily rollup has to refresh.
+ *
+ * Every insert, delete and rollup-relevant update of an appointment appends its old and new
+ * appointment_date to appointment_rollup_changed_dates, so moved, transferred and deleted
+ * appointments refresh the day they left as well. The rollup consumes the queue with
+ * DELETE ... RETURNING, which only takes rows of committed writes; rows are not deduplicated
+ * on insert, so a write committing later always leaves its own row for the next run.
+ *
+ * Hibernate's ddl-auto cannot declare triggers, so they are created at startup. When that fails
+ * the rollup falls back to scanning appointments for recent changes (see {@link #isInstalled()}).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentRollupTriggers {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS appointment_rollup_changed_dates (
+                fact_date date NOT NULL,
+                changed_at timestamptz NOT NULL DEFAULT now()
+            )
+            """;
+
+    private static final String CREATE_FUNCTION = """
+            CREATE OR REPLACE FUNCTION queue_appointment_rollup_dates() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                    INSERT INTO appointment_rollup_changed_dates (fact_date) VALUES (OLD.appointment_date);
+                END IF;
+                IF TG_OP = 'INSERT'
+                   OR (TG_OP = 'UPDATE' AND NEW.appointment_date IS DISTINCT FROM OLD.appointment_date) THEN
+                    INSERT INTO appointment_rollup_changed_dates (fact_date) VALUES (NEW.appointment_date);
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final String WRITE_TRIGGER = "trg_appointments_rollup_write";
+    private static final String UPDATE_TRIGGER = "trg_appointments_rollup_update";
+
+    private static final String CREATE_WRITE_TRIGGER = """
+            CREATE TRIGGER trg_appointments_rollup_write
+            AFTER INSERT OR DELETE ON appointments
+            FOR EACH ROW EXECUTE FUNCTION queue_appointment_rollup_dates()
+            """;
+
+    /**
+     * Hibernate writes every column on update, so only changes of the grouped columns count
+     */
+    private static final String CREATE_UPDATE_TRIGGER = """
+            CREATE TRIGGER trg_appointments_rollup_update
+            AFTER UPDATE ON appointments
+            FOR EACH ROW
+            WHEN ((OLD.appointment_date, OLD.organization_branch_id, OLD.service_type_id,
+                   OLD.appointment_status_id, OLD.priority, OLD.beneficiary_id)
+                  IS DISTINCT FROM
+                  (NEW.appointment_date, NEW.organization_branch_id, NEW.service_type_id,
+                   NEW.appointment_status_id, NEW.priority, NEW.beneficiary_id))
+            EXECUTE FUNCTION queue_appointment_rollup_dates()
+            """;
+
+    private static final String COUNT_TRIGGERS = """
+            SELECT COUNT(*)
+            FROM pg_trigger t
+            WHERE t.tgrelid = to_regclass('appointments')
+            AND t.tgname IN (?, ?)
+            AND NOT t.tgisinternal
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean installed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTriggers() {
+        try {
+            jdbcTemplate.execute(CREATE_TABLE);
+            jdbcTemplate.execute(CREATE_FUNCTION);
+        } catch (Exception ex) {
+            log.warn("Could not create the daily rollup date queue: {}", ex.getMessage());
+        }
+        create(WRITE_TRIGGER, CREATE_WRITE_TRIGGER);
+        create(UPDATE_TRIGGER, CREATE_UPDATE_TRIGGER);
+        Integer present = jdbcTemplate.queryForObject(COUNT_TRIGGERS, Integer.class, WRITE_TRIGGER, UPDATE_TRIGGER);
+        installed = present != null && present == 2;
+        if (installed) {
+            log.info("Daily rollup dates are queued by triggers on appointments");
+        } else {
+            log.warn("Daily rollup triggers are missing; the rollup scans appointments for changes instead");
+        }
+    }
+
+    /**
+     * True when the triggers were created, so every change of an appointment queues its dates
+     */
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    private void create(String name, String ddl) {
+        try {
+            Integer present = jdbcTemplate.queryForObject(COUNT_TRIGGERS, Integer.class, name, name);
+            if (present == null || present == 0) {
+                jdbcTemplate.execute(ddl);
+            }
+        } catch (Exception ex) {
+            // Usually missing privileges, or another instance creating it concurrently
+            log.warn("Could not create trigger {}: {}", name, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.care.appointment.infrastructure.db.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated daily appointment counts used by dashboards for historical ranges.
+ * One row per (date, branch, service type, status, priority, gender, age group);
+ * maintained by the daily rollup job, never written by booking paths.
+ */
+@Entity
+@Table(
+    name = "appointment_daily_facts",
+    schema = "public",
+    indexes = {
+        @Index(name = "ix_daily_facts_date", columnList = "fact_date"),
+        @Index(name = "ix_daily_facts_branch_date", columnList = "organization_branch_id, fact_date")
+    }
+)
+@Getter @Setter
+@Builder @NoArgsConstructor @AllArgsConstructor
+public class AppointmentDailyFactEntity {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "fact_id", nullable = false, updatable = false)
+    private UUID factId;
+
+    @Column(name = "fact_date", nullable = false)
+    private LocalDate factDate;
+
+    @Column(name = "organization_branch_id", nullable = false)
+    private UUID organizationBranchId;
+
+    @Column(name = "service_type_id")
+    private UUID serviceTypeId;
+
+    /** Appointment status code (NULL when the appointment has no status) */
+    @Column(name = "status_code", length = 50)
+    private String statusCode;
+
+    @Column(name = "priority", length = 20)
+    private String priority;
+
+    @Column(name = "gender_code_value_id")
+    private UUID genderCodeValueId;
+
+    /** Beneficiary age bucket at the appointment date: 0-5, 6-15, 16-25, 26-35, 36-45, 46+, Unknown */
+    @Column(name = "age_group", nullable = false, length = 10)
+    private String ageGroup;
+
+    @Column(name = "appointment_count", nullable = false)
+    private Long appointmentCount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+}
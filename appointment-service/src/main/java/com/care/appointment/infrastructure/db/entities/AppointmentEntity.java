@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -37,8 +36,8 @@ import java.util.UUID;
 @Builder @NoArgsConstructor @AllArgsConstructor
 public class AppointmentEntity {
 
+    /** Assigned so callers can embed it (QR image URL) in the insert; filled in on persist when null */
     @Id
-    @UuidGenerator
     @Column(name = "appointment_id", nullable = false, updatable = false)
     private UUID appointmentId;
 
@@ -129,6 +128,7 @@ public class AppointmentEntity {
 
     @PrePersist
     void prePersist() {
+        if (appointmentId == null) appointmentId = UUID.randomUUID();
         if (priority == null) priority = "NORMAL";
         if (slotDurationMinutes == null) slotDurationMinutes = 30;
     }
@@ -0,0 +1,27 @@
+package com.care.appointment.infrastructure.db.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progress marker of an incremental rollup job (e.g. the daily appointment facts)
+ */
+@Entity
+@Table(name = "appointment_rollup_state", schema = "public")
+@Getter @Setter
+@Builder @NoArgsConstructor @AllArgsConstructor
+public class AppointmentRollupStateEntity {
+
+    @Id
+    @Column(name = "rollup_name", nullable = false, updatable = false, length = 50)
+    private String rollupName;
+
+    /** Changes at or after this instant have not been rolled up yet */
+    @Column(name = "watermark", nullable = false)
+    private Instant watermark;
+
+    @Column(name = "last_full_rebuild_at")
+    private Instant lastFullRebuildAt;
+}
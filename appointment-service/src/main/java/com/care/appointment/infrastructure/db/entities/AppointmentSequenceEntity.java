@@ -50,7 +50,7 @@ public class AppointmentSequenceEntity {
     @Column(name = "sequence_year", nullable = false, updatable = false)
     private Integer sequenceYear;
 
-    /** Current sequence number (incremented for each appointment) */
+    /** Next unreserved sequence number; nodes reserve blocks, so numbers below it may be unused */
     @Column(name = "current_sequence_number", nullable = false)
     private Integer currentSequenceNumber;
 
@@ -58,10 +58,6 @@ public class AppointmentSequenceEntity {
     @Column(name = "max_sequence_number", nullable = false)
     private Integer maxSequenceNumber;
 
-    /** Total appointments created this year for this branch */
-    @Column(name = "total_appointments_created")
-    private Integer totalAppointmentsCreated;
-
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private Instant createdAt;
@@ -74,7 +70,6 @@ public class AppointmentSequenceEntity {
     void prePersist() {
         if (currentSequenceNumber == null) currentSequenceNumber = 1;
         if (maxSequenceNumber == null) maxSequenceNumber = 9999;
-        if (totalAppointmentsCreated == null) totalAppointmentsCreated = 0;
         if (sequenceYear == null) sequenceYear = Year.now().getValue();
     }
 }
@@ -30,7 +30,8 @@ import java.util.UUID;
         @Index(name = "ix_appt_beneficiaries_mobile_app", columnList = "has_installed_mobile_app"),
         @Index(name = "ix_appt_beneficiaries_device", columnList = "device_id"),
         @Index(name = "ix_appt_beneficiaries_verification", columnList = "verification_status"),
-        @Index(name = "ix_appt_beneficiaries_active_appointments", columnList = "total_active_appointments")
+        @Index(name = "ix_appt_beneficiaries_active_appointments", columnList = "total_active_appointments"),
+        @Index(name = "ix_appt_beneficiaries_name_id", columnList = "full_name, beneficiary_id")
     }
 )
 @Getter @Setter
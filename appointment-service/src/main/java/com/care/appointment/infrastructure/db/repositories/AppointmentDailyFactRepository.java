@@ -0,0 +1,164 @@
+package com.care.appointment.infrastructure.db.repositories;
+
+import com.care.appointment.infrastructure.db.entities.AppointmentDailyFactEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AppointmentDailyFactRepository extends JpaRepository<AppointmentDailyFactEntity, UUID> {
+
+    /**
+     * Rollup rows grouped straight from appointments; shared by the full and per-date refresh.
+     * Age is bucketed at the appointment date, so a row never changes once the day is over.
+     */
+    String FACT_ROWS_SELECT = """
+            SELECT gen_random_uuid(), g.*, now()
+            FROM (
+                SELECT
+                    a.appointment_date,
+                    a.organization_branch_id,
+                    a.service_type_id,
+                    ast.code,
+                    a.priority,
+                    b.gender_code_value_id,
+                    CASE
+                        WHEN b.date_of_birth IS NULL THEN 'Unknown'
+                        WHEN age.years < 6 THEN '0-5'
+                        WHEN age.years < 16 THEN '6-15'
+                        WHEN age.years < 26 THEN '16-25'
+                        WHEN age.years < 36 THEN '26-35'
+                        WHEN age.years < 46 THEN '36-45'
+                        ELSE '46+'
+                    END AS age_group,
+                    COUNT(*)
+                FROM appointments a
+                LEFT JOIN beneficiaries b ON a.beneficiary_id = b.beneficiary_id
+                LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+                CROSS JOIN LATERAL (
+                    SELECT EXTRACT(YEAR FROM a.appointment_date)::int - EXTRACT(YEAR FROM b.date_of_birth)::int
+                        - CASE WHEN EXTRACT(MONTH FROM a.appointment_date) < EXTRACT(MONTH FROM b.date_of_birth)
+                               THEN 1 ELSE 0 END AS years
+                ) age
+            """;
+
+    String FACT_ROWS_GROUP_BY = """
+                GROUP BY 1, 2, 3, 4, 5, 6, 7
+            ) g
+            """;
+
+    String FACT_COLUMNS = """
+            INSERT INTO appointment_daily_facts (
+                fact_id, fact_date, organization_branch_id, service_type_id, status_code,
+                priority, gender_code_value_id, age_group, appointment_count, refreshed_at)
+            """;
+
+    /**
+     * Serialize rollup runs across nodes; false when another node holds the lock
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('appointment_daily_facts'))", nativeQuery = true)
+    boolean tryLockRollup();
+
+    /**
+     * Take the dates queued by AppointmentRollupTriggers; each is returned once per queued write
+     */
+    @Query(value = "DELETE FROM appointment_rollup_changed_dates RETURNING fact_date", nativeQuery = true)
+    List<Object> takeQueuedDates();
+
+    /**
+     * Appointment dates touched since the given instant: created or updated appointments
+     * and status history entries
+     * Scans appointments; only used while the rollup triggers are missing
+     */
+    @Query(value = """
+            SELECT a.appointment_date
+            FROM appointments a
+            WHERE a.created_at >= :since OR a.updated_at >= :since
+            UNION
+            SELECT a.appointment_date
+            FROM appointment_status_history h
+            JOIN appointments a ON a.appointment_id = h.appointment_id
+            WHERE h.changed_at >= :since
+            """, nativeQuery = true)
+    List<Object> findDatesChangedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Query(value = "DELETE FROM appointment_daily_facts WHERE fact_date IN (:dates)", nativeQuery = true)
+    int deleteByFactDates(@Param("dates") Collection<LocalDate> dates);
+
+    @Modifying
+    @Query(value = FACT_COLUMNS + FACT_ROWS_SELECT
+            + "    WHERE a.appointment_date IN (:dates)\n" + FACT_ROWS_GROUP_BY, nativeQuery = true)
+    int insertForDates(@Param("dates") Collection<LocalDate> dates);
+
+    @Modifying
+    @Query(value = "DELETE FROM appointment_daily_facts", nativeQuery = true)
+    int deleteAllFacts();
+
+    @Modifying
+    @Query(value = FACT_COLUMNS + FACT_ROWS_SELECT + FACT_ROWS_GROUP_BY, nativeQuery = true)
+    int insertAll();
+
+    /**
+     * Same grouping sets and column layout as
+     * {@link AppointmentRepository#aggregateForDashboard}, summed from the rollup rows
+     */
+    @Query(value = """
+            WITH filtered AS (
+                SELECT
+                    f.fact_date AS appointment_date,
+                    f.organization_branch_id AS center_id,
+                    COALESCE(f.status_code, 'UNKNOWN') AS status,
+                    COALESCE(st.name, 'Unknown') AS service_type_name,
+                    COALESCE(f.priority, 'UNKNOWN') AS priority,
+                    f.age_group,
+                    f.appointment_count
+                FROM appointment_daily_facts f
+                LEFT JOIN service_types st ON f.service_type_id = st.service_type_id
+                WHERE f.fact_date BETWEEN :dateFrom AND :dateTo
+                AND (:serviceTypeFilterDisabled = true OR f.service_type_id IN (:serviceTypeIds))
+                AND (:statusFilterDisabled = true OR f.status_code IN (:statuses))
+                AND (:centerFilterDisabled = true OR f.organization_branch_id IN (:centerIds))
+                AND (:priority IS NULL OR f.priority = :priority)
+            )
+            SELECT
+                GROUPING(appointment_date) AS gDate,
+                GROUPING(center_id) AS gCenter,
+                GROUPING(service_type_name) AS gServiceType,
+                GROUPING(priority) AS gPriority,
+                appointment_date AS appointmentDate,
+                center_id AS centerId,
+                status,
+                service_type_name AS serviceTypeName,
+                priority,
+                age_group AS ageGroup,
+                SUM(appointment_count) AS count
+            FROM filtered
+            GROUP BY GROUPING SETS (
+                (appointment_date, status),
+                (center_id, status),
+                (service_type_name),
+                (priority),
+                (age_group)
+            )
+            """, nativeQuery = true)
+    List<Object[]> aggregateForDashboard(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") List<UUID> serviceTypeIds,
+        @Param("statusFilterDisabled") boolean statusFilterDisabled,
+        @Param("statuses") List<String> statuses,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") List<UUID> centerIds,
+        @Param("priority") String priority
+    );
+}
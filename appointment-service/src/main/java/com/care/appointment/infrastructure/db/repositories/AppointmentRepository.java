@@ -6,19 +6,49 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends 
         JpaRepository<AppointmentEntity, UUID>,
         JpaSpecificationExecutor<AppointmentEntity> {
+
+    /**
+     * Shared filter of the Excel report queries (appointments a, statuses ast)
+     */
+    String REPORT_FILTERS = """
+            WHERE a.appointment_date BETWEEN :dateFrom AND :dateTo
+            AND (:centerFilterDisabled = true OR a.organization_branch_id IN (:centerIds))
+            AND (:statusFilterDisabled = true OR ast.code IN (:statuses))
+            AND (:priorityFilterDisabled = true OR a.priority IN (:priorities))
+            AND (:serviceTypeFilterDisabled = true OR a.service_type_id IN (:serviceTypeIds))
+            """;
+
+    /**
+     * Per-status counters of the report summaries; anything not closed counts as pending
+     */
+    String REPORT_STATUS_COUNTS = """
+                COUNT(*) AS total,
+                COUNT(*) FILTER (WHERE ast.code = 'COMPLETED') AS completed,
+                COUNT(*) FILTER (WHERE ast.code IS NULL
+                    OR ast.code NOT IN ('COMPLETED', 'CANCELLED', 'NO_SHOW', 'TRANSFERRED')) AS pending,
+                COUNT(*) FILTER (WHERE ast.code = 'CANCELLED') AS cancelled,
+                COUNT(*) FILTER (WHERE ast.code = 'NO_SHOW') AS noShow
+            """;
     
     List<AppointmentEntity> findByBeneficiaryIdOrderByAppointmentDateDescAppointmentTimeDesc(UUID beneficiaryId);
     
@@ -35,8 +65,17 @@ public interface AppointmentRepository extends
     Optional<AppointmentEntity> findByOrganizationBranchIdAndAppointmentDateAndAppointmentTime(
         UUID organizationBranchId, LocalDate appointmentDate, LocalTime appointmentTime);
     
-    boolean existsByOrganizationBranchIdAndAppointmentDateAndAppointmentTime(
-        UUID organizationBranchId, LocalDate appointmentDate, LocalTime appointmentTime);
+    /**
+     * Booked (appointmentDate, appointmentTime) pairs of a branch over a date range.
+     * One range query replaces a per-slot exists check when building availability grids.
+     */
+    @Query("SELECT a.appointmentDate, a.appointmentTime FROM AppointmentEntity a " +
+           "WHERE a.organizationBranchId = :branchId " +
+           "AND a.appointmentDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findBookedSlotsByBranchAndDateRange(
+        @Param("branchId") UUID branchId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
     
     @Query("SELECT COUNT(a) FROM AppointmentEntity a WHERE a.organizationBranchId = :branchId " +
            "AND a.appointmentDate = :date")
@@ -46,6 +85,19 @@ public interface AppointmentRepository extends
            "AND a.appointmentDate = :date AND a.cancelledAt IS NULL")
     long countActiveByBranchAndDate(@Param("branchId") UUID branchId, @Param("date") LocalDate date);
     
+    /**
+     * Active appointment counts grouped by (branch, date) for several branches over a date range.
+     * Rows are [organizationBranchId, appointmentDate, count]; empty days are not returned.
+     */
+    @Query("SELECT a.organizationBranchId, a.appointmentDate, COUNT(a) FROM AppointmentEntity a " +
+           "WHERE a.organizationBranchId IN :branchIds " +
+           "AND a.appointmentDate BETWEEN :startDate AND :endDate AND a.cancelledAt IS NULL " +
+           "GROUP BY a.organizationBranchId, a.appointmentDate")
+    List<Object[]> countActiveByBranchesAndDateRange(
+        @Param("branchIds") Collection<UUID> branchIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT a FROM AppointmentEntity a WHERE a.appointmentDate = :date " +
            "AND a.appointmentStatusId IN :statusIds ORDER BY a.appointmentTime ASC")
     List<AppointmentEntity> findByDateAndStatuses(
@@ -57,29 +109,93 @@ public interface AppointmentRepository extends
         @Param("beneficiaryId") UUID beneficiaryId, @Param("fromDate") LocalDate fromDate);
     
     /**
-     * Check if beneficiary has an appointment for same service type and date
-     * Prevents duplicate bookings for same person, same service, same day
+     * Book an appointment in one statement: insert the appointment, write its first history row
+     * and approve the originating request (when {@code hasRequest}).
+     * The partial unique indexes of {@code AppointmentBookingIndexes} make a conflicting insert a
+     * no-op (ON CONFLICT DO NOTHING), in which case nothing else is written and no id is returned.
      */
-    @Query("SELECT COUNT(a) > 0 FROM AppointmentEntity a WHERE a.beneficiaryId = :beneficiaryId " +
-           "AND a.serviceTypeId = :serviceTypeId AND a.appointmentDate = :appointmentDate " +
-           "AND a.appointmentStatusId NOT IN :excludedStatusIds")
-    boolean hasExistingAppointmentForServiceAndDate(
+    String INSERT_BOOKING = """
+            WITH inserted AS (
+                INSERT INTO appointments (
+                    appointment_id, appointment_request_id, beneficiary_id, organization_branch_id,
+                    service_type_id, appointment_date, appointment_time, slot_duration_minutes,
+                    appointment_status_id, priority, notes, created_at, updated_at, row_version,
+                    appointment_code, qr_code_url, verification_code, verification_code_expires_at)
+                VALUES (
+                    :appointmentId, CASE WHEN :hasRequest = true THEN :requestId END, :beneficiaryId, :branchId,
+                    :serviceTypeId, :appointmentDate, :appointmentTime, :slotDurationMinutes,
+                    :statusId, :priority, NULLIF(:notes, ''), :createdAt, :createdAt, 0,
+                    :appointmentCode, :qrCodeUrl, :verificationCode, :verificationCodeExpiresAt)
+                ON CONFLICT DO NOTHING
+                RETURNING appointment_id
+            ),
+            history AS (
+                INSERT INTO appointment_status_history (
+                    history_id, appointment_id, appointment_status_id, reason, changed_at)
+                SELECT :historyId, appointment_id, :statusId, :historyReason, :createdAt
+                FROM inserted
+            ),
+            approved AS (
+                UPDATE appointment_requests
+                SET status = 'APPROVED', updated_at = :createdAt, row_version = COALESCE(row_version, 0) + 1
+                WHERE :hasRequest = true
+                AND appointment_request_id = :requestId
+                AND EXISTS (SELECT 1 FROM inserted)
+            )
+            SELECT appointment_id FROM inserted
+            """;
+
+    @Transactional
+    @Query(value = INSERT_BOOKING, nativeQuery = true)
+    List<UUID> insertBooking(
+        @Param("appointmentId") UUID appointmentId,
+        @Param("hasRequest") boolean hasRequest,
+        @Param("requestId") UUID requestId,
         @Param("beneficiaryId") UUID beneficiaryId,
+        @Param("branchId") UUID branchId,
         @Param("serviceTypeId") UUID serviceTypeId,
         @Param("appointmentDate") LocalDate appointmentDate,
-        @Param("excludedStatusIds") List<UUID> excludedStatusIds);
-    
+        @Param("appointmentTime") LocalTime appointmentTime,
+        @Param("slotDurationMinutes") int slotDurationMinutes,
+        @Param("statusId") UUID statusId,
+        @Param("priority") String priority,
+        @Param("notes") String notes,
+        @Param("createdAt") Instant createdAt,
+        @Param("appointmentCode") String appointmentCode,
+        @Param("qrCodeUrl") String qrCodeUrl,
+        @Param("verificationCode") String verificationCode,
+        @Param("verificationCodeExpiresAt") Instant verificationCodeExpiresAt,
+        @Param("historyId") UUID historyId,
+        @Param("historyReason") String historyReason);
+
     /**
-     * Check if beneficiary has an appointment for same service type with status NOT in excluded list
-     * Prevents booking same service type multiple times unless previous appointments are CLOSED/CANCELLED
+     * Which booking rule a candidate appointment breaks, as one row [slotTaken, sameDayService, openService]:
+     * the slot is held by an appointment that is not cancelled, or the beneficiary already has an open
+     * (neither cancelled nor completed) appointment for the service type, on the same date or at all.
      */
-    @Query("SELECT COUNT(a) > 0 FROM AppointmentEntity a WHERE a.beneficiaryId = :beneficiaryId " +
-           "AND a.serviceTypeId = :serviceTypeId " +
-           "AND a.appointmentStatusId NOT IN :excludedStatusIds")
-    boolean hasActiveAppointmentForService(
+    @Query(value = """
+            SELECT
+                EXISTS (SELECT 1 FROM appointments a
+                        WHERE a.organization_branch_id = :branchId
+                        AND a.appointment_date = :appointmentDate
+                        AND a.appointment_time = :appointmentTime
+                        AND a.cancelled_at IS NULL) AS slotTaken,
+                EXISTS (SELECT 1 FROM appointments a
+                        WHERE a.beneficiary_id = :beneficiaryId
+                        AND a.service_type_id = :serviceTypeId
+                        AND a.appointment_date = :appointmentDate
+                        AND a.cancelled_at IS NULL AND a.completed_at IS NULL) AS sameDayService,
+                EXISTS (SELECT 1 FROM appointments a
+                        WHERE a.beneficiary_id = :beneficiaryId
+                        AND a.service_type_id = :serviceTypeId
+                        AND a.cancelled_at IS NULL AND a.completed_at IS NULL) AS openService
+            """, nativeQuery = true)
+    List<Object[]> findBookingConflicts(
+        @Param("branchId") UUID branchId,
+        @Param("appointmentDate") LocalDate appointmentDate,
+        @Param("appointmentTime") LocalTime appointmentTime,
         @Param("beneficiaryId") UUID beneficiaryId,
-        @Param("serviceTypeId") UUID serviceTypeId,
-        @Param("excludedStatusIds") List<UUID> excludedStatusIds);
+        @Param("serviceTypeId") UUID serviceTypeId);
 
     /**
      * Find appointment by unique appointment code (e.g., HQ-2025-0001)
@@ -87,36 +203,76 @@ public interface AppointmentRepository extends
     Optional<AppointmentEntity> findByAppointmentCode(String appointmentCode);
 
     /**
-     * Query appointments for dashboard with aggregation support
-     * Returns appointment views with center and beneficiary data
+     * Appointment code only, without loading the entity (QR image rendering)
      */
+    @Query("SELECT a.appointmentCode FROM AppointmentEntity a WHERE a.appointmentId = :appointmentId")
+    Optional<String> findAppointmentCodeById(@Param("appointmentId") UUID appointmentId);
 
+    /**
+     * Dashboard aggregates computed in one pass with GROUPING SETS.
+     * Each row belongs to exactly one grouping set, told apart by the GROUPING() flags
+     * (0 = column is part of the row's set):
+     * (date, status), (center, status), (service type), (priority), (age group at the appointment date).
+     * Columns: gDate, gCenter, gServiceType, gPriority, appointmentDate, centerId, status,
+     * serviceTypeName, priority, ageGroup, count
+     */
     @Query(value = """
+            WITH filtered AS (
+                SELECT
+                    a.appointment_date AS appointment_date,
+                    a.organization_branch_id AS center_id,
+                    COALESCE(ast.code, 'UNKNOWN') AS status,
+                    COALESCE(st.name, 'Unknown') AS service_type_name,
+                    COALESCE(a.priority, 'UNKNOWN') AS priority,
+                    CASE
+                        WHEN b.date_of_birth IS NULL THEN 'Unknown'
+                        ELSE CASE
+                            WHEN age_years < 6 THEN '0-5'
+                            WHEN age_years < 16 THEN '6-15'
+                            WHEN age_years < 26 THEN '16-25'
+                            WHEN age_years < 36 THEN '26-35'
+                            WHEN age_years < 46 THEN '36-45'
+                            ELSE '46+'
+                        END
+                    END AS age_group
+                FROM appointments a
+                LEFT JOIN beneficiaries b ON a.beneficiary_id = b.beneficiary_id
+                LEFT JOIN service_types st ON a.service_type_id = st.service_type_id
+                LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+                CROSS JOIN LATERAL (
+                    SELECT EXTRACT(YEAR FROM a.appointment_date)::int - EXTRACT(YEAR FROM b.date_of_birth)::int
+                        - CASE WHEN EXTRACT(MONTH FROM a.appointment_date) < EXTRACT(MONTH FROM b.date_of_birth)
+                               THEN 1 ELSE 0 END AS age_years
+                ) age
+                WHERE a.appointment_date BETWEEN :dateFrom AND :dateTo
+                AND (:serviceTypeFilterDisabled = true OR a.service_type_id IN (:serviceTypeIds))
+                AND (:statusFilterDisabled = true OR ast.code IN (:statuses))
+                AND (:centerFilterDisabled = true OR a.organization_branch_id IN (:centerIds))
+                AND (:priority IS NULL OR a.priority = :priority)
+                AND (:beneficiaryStatus IS NULL OR b.is_active = :beneficiaryStatus)
+            )
             SELECT
-                a.appointment_id as id,
-                a.organization_branch_id as centerId,
-                NULL as centerName,
-                NULL as governorate,
-                NULL::double precision as latitude,
-                NULL::double precision as longitude,
-                a.appointment_date as appointmentDate,
-                COALESCE(ast.code, 'UNKNOWN') as status,
-                st.name as serviceTypeName,
-                a.priority,
-                'Unknown' as gender,
-                b.date_of_birth as dateOfBirth
-            FROM appointments a
-            LEFT JOIN beneficiaries b ON a.beneficiary_id = b.beneficiary_id
-            LEFT JOIN service_types st ON a.service_type_id = st.service_type_id
-            LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
-            WHERE a.appointment_date BETWEEN :dateFrom AND :dateTo
-            AND (:serviceTypeFilterDisabled = true OR a.service_type_id IN (:serviceTypeIds))
-            AND (:statusFilterDisabled = true OR ast.code IN (:statuses))
-            AND (:centerFilterDisabled = true OR a.organization_branch_id IN (:centerIds))
-            AND (:priority IS NULL OR a.priority = :priority)
-            AND (:beneficiaryStatus IS NULL OR b.is_active = :beneficiaryStatus)
+                GROUPING(appointment_date) AS gDate,
+                GROUPING(center_id) AS gCenter,
+                GROUPING(service_type_name) AS gServiceType,
+                GROUPING(priority) AS gPriority,
+                appointment_date AS appointmentDate,
+                center_id AS centerId,
+                status,
+                service_type_name AS serviceTypeName,
+                priority,
+                age_group AS ageGroup,
+                COUNT(*) AS count
+            FROM filtered
+            GROUP BY GROUPING SETS (
+                (appointment_date, status),
+                (center_id, status),
+                (service_type_name),
+                (priority),
+                (age_group)
+            )
             """, nativeQuery = true)
-    List<?> findAppointmentsForDashboard(
+    List<Object[]> aggregateForDashboard(
         @Param("dateFrom") LocalDate dateFrom,
         @Param("dateTo") LocalDate dateTo,
         @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
@@ -128,4 +284,271 @@ public interface AppointmentRepository extends
         @Param("priority") String priority,
         @Param("beneficiaryStatus") Boolean beneficiaryStatus
     );
+
+    /**
+     * Detailed report rows read through a database cursor; must be consumed inside a transaction
+     * and closed. Columns: appointmentCode, appointmentId, beneficiaryName, beneficiaryId, centerId,
+     * serviceTypeName, appointmentDate, appointmentTime, status, priority, mobileNumber, notes,
+     * createdAt, updatedAt
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            SELECT
+                a.appointment_code,
+                a.appointment_id,
+                b.full_name,
+                a.beneficiary_id,
+                a.organization_branch_id,
+                st.name,
+                a.appointment_date,
+                a.appointment_time,
+                COALESCE(ast.name, ast.code),
+                a.priority,
+                b.mobile_number,
+                a.notes,
+                a.created_at,
+                a.updated_at
+            FROM appointments a
+            LEFT JOIN beneficiaries b ON a.beneficiary_id = b.beneficiary_id
+            LEFT JOIN service_types st ON a.service_type_id = st.service_type_id
+            LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+            """ + REPORT_FILTERS + """
+            ORDER BY a.appointment_date, a.appointment_time, a.appointment_id
+            """, nativeQuery = true)
+    Stream<Object[]> streamForDetailedReport(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") Collection<UUID> centerIds,
+        @Param("statusFilterDisabled") boolean statusFilterDisabled,
+        @Param("statuses") Collection<String> statuses,
+        @Param("priorityFilterDisabled") boolean priorityFilterDisabled,
+        @Param("priorities") Collection<String> priorities,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") Collection<UUID> serviceTypeIds
+    );
+
+    /**
+     * Report counters per branch. Columns: centerId, total, completed, pending, cancelled, noShow,
+     * distinct beneficiaries, average days between booking and appointment
+     */
+    @Query(value = """
+            SELECT
+                a.organization_branch_id,
+            """ + REPORT_STATUS_COUNTS + """
+                , COUNT(DISTINCT a.beneficiary_id) AS beneficiaries,
+                AVG(a.appointment_date - CAST(a.created_at AS date)) AS avgLeadDays
+            FROM appointments a
+            LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+            """ + REPORT_FILTERS + """
+            GROUP BY a.organization_branch_id
+            """, nativeQuery = true)
+    List<Object[]> summarizeByBranchForReport(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") Collection<UUID> centerIds,
+        @Param("statusFilterDisabled") boolean statusFilterDisabled,
+        @Param("statuses") Collection<String> statuses,
+        @Param("priorityFilterDisabled") boolean priorityFilterDisabled,
+        @Param("priorities") Collection<String> priorities,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") Collection<UUID> serviceTypeIds
+    );
+
+    /**
+     * Report counters per priority. Columns: priority, total, completed, pending, cancelled, noShow
+     */
+    @Query(value = """
+            SELECT
+                COALESCE(a.priority, 'UNKNOWN'),
+            """ + REPORT_STATUS_COUNTS + """
+            FROM appointments a
+            LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+            """ + REPORT_FILTERS + """
+            GROUP BY 1
+            ORDER BY 2 DESC
+            """, nativeQuery = true)
+    List<Object[]> summarizeByPriorityForReport(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") Collection<UUID> centerIds,
+        @Param("statusFilterDisabled") boolean statusFilterDisabled,
+        @Param("statuses") Collection<String> statuses,
+        @Param("priorityFilterDisabled") boolean priorityFilterDisabled,
+        @Param("priorities") Collection<String> priorities,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") Collection<UUID> serviceTypeIds
+    );
+
+    /**
+     * Report appointment counts per ISO week. Columns: weekStart, count
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc('week', a.appointment_date) AS date) AS weekStart, COUNT(*)
+            FROM appointments a
+            LEFT JOIN appointment_statuses ast ON a.appointment_status_id = ast.appointment_status_id
+            """ + REPORT_FILTERS + """
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> countByWeekForReport(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") Collection<UUID> centerIds,
+        @Param("statusFilterDisabled") boolean statusFilterDisabled,
+        @Param("statuses") Collection<String> statuses,
+        @Param("priorityFilterDisabled") boolean priorityFilterDisabled,
+        @Param("priorities") Collection<String> priorities,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") Collection<UUID> serviceTypeIds
+    );
+
+    /**
+     * Resolved appointments (latest COMPLETED/NO_SHOW outcome from the status history, else the
+     * current status) with each beneficiary's earlier resolved appointments and no-shows.
+     * Columns of the CTE "featured": appointment_id, beneficiary_id, organization_branch_id,
+     * service_type_id, appointment_date, appointment_time, priority, slot_duration_minutes,
+     * created_at, no_show, prior_appointments, prior_no_shows
+     */
+    String NO_SHOW_OUTCOMES = """
+            WITH resolved AS (
+                SELECT a.appointment_id, a.beneficiary_id, a.organization_branch_id, a.service_type_id,
+                       a.appointment_date, a.appointment_time, a.priority, a.slot_duration_minutes,
+                       a.created_at,
+                       CASE WHEN COALESCE(outcome.code, ast.code) = 'NO_SHOW' THEN 1 ELSE 0 END AS no_show
+                FROM appointments a
+                JOIN appointment_statuses ast ON ast.appointment_status_id = a.appointment_status_id
+                LEFT JOIN LATERAL (
+                    SELECT s.code
+                    FROM appointment_status_history h
+                    JOIN appointment_statuses s ON s.appointment_status_id = h.appointment_status_id
+                    WHERE h.appointment_id = a.appointment_id
+                    AND s.code IN ('COMPLETED', 'NO_SHOW')
+                    ORDER BY h.changed_at DESC
+                    LIMIT 1
+                ) outcome ON TRUE
+                WHERE a.appointment_date <= :dateTo
+                AND COALESCE(outcome.code, ast.code) IN ('COMPLETED', 'NO_SHOW')
+            ),
+            featured AS (
+                SELECT r.*,
+                       COUNT(*) OVER earlier AS prior_appointments,
+                       COALESCE(SUM(r.no_show) OVER earlier, 0) AS prior_no_shows
+                FROM resolved r
+                WINDOW earlier AS (
+                    PARTITION BY r.beneficiary_id
+                    ORDER BY r.appointment_date, r.appointment_time, r.appointment_id
+                    ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING)
+            )
+            """;
+
+    /**
+     * No-show training rows in appointment order, read through a database cursor; must be consumed
+     * inside a transaction and closed. Earlier history counts across all branches and service types,
+     * the filters only select which appointments become rows.
+     * Columns: appointmentDate, appointmentTime, priority, slotDurationMinutes, leadDays, ageYears,
+     * priorAppointments, priorNoShows, noShow
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = NO_SHOW_OUTCOMES + """
+            SELECT
+                f.appointment_date,
+                f.appointment_time,
+                f.priority,
+                f.slot_duration_minutes,
+                f.appointment_date - CAST(f.created_at AS date),
+                EXTRACT(YEAR FROM age(f.appointment_date, b.date_of_birth)),
+                f.prior_appointments,
+                f.prior_no_shows,
+                f.no_show
+            FROM featured f
+            LEFT JOIN beneficiaries b ON b.beneficiary_id = f.beneficiary_id
+            WHERE f.appointment_date >= :dateFrom
+            AND (:centerFilterDisabled = true OR f.organization_branch_id IN (:centerIds))
+            AND (:serviceTypeFilterDisabled = true OR f.service_type_id IN (:serviceTypeIds))
+            AND f.prior_appointments >= :minPriorAppointments
+            ORDER BY f.appointment_date, f.appointment_time, f.appointment_id
+            """, nativeQuery = true)
+    Stream<Object[]> streamNoShowTrainingRows(
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("centerFilterDisabled") boolean centerFilterDisabled,
+        @Param("centerIds") Collection<UUID> centerIds,
+        @Param("serviceTypeFilterDisabled") boolean serviceTypeFilterDisabled,
+        @Param("serviceTypeIds") Collection<UUID> serviceTypeIds,
+        @Param("minPriorAppointments") int minPriorAppointments
+    );
+
+    /**
+     * Scoring rows of appointments, with the same leading columns as the training rows and history
+     * counted the same way (earlier resolved appointments of the beneficiary, latest outcome wins).
+     * Columns: appointmentDate, appointmentTime, priority, slotDurationMinutes, leadDays, ageYears,
+     * priorAppointments, priorNoShows, appointmentId
+     */
+    String NO_SHOW_SCORING_SELECT = """
+            SELECT
+                t.appointment_date,
+                t.appointment_time,
+                t.priority,
+                t.slot_duration_minutes,
+                t.appointment_date - CAST(t.created_at AS date),
+                EXTRACT(YEAR FROM age(t.appointment_date, b.date_of_birth)),
+                COALESCE(history.prior_appointments, 0),
+                COALESCE(history.prior_no_shows, 0),
+                t.appointment_id
+            FROM appointments t
+            LEFT JOIN beneficiaries b ON b.beneficiary_id = t.beneficiary_id
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) AS prior_appointments,
+                       COUNT(*) FILTER (WHERE o.code = 'NO_SHOW') AS prior_no_shows
+                FROM appointments p
+                JOIN appointment_statuses pst ON pst.appointment_status_id = p.appointment_status_id
+                LEFT JOIN LATERAL (
+                    SELECT s.code
+                    FROM appointment_status_history h
+                    JOIN appointment_statuses s ON s.appointment_status_id = h.appointment_status_id
+                    WHERE h.appointment_id = p.appointment_id
+                    AND s.code IN ('COMPLETED', 'NO_SHOW')
+                    ORDER BY h.changed_at DESC
+                    LIMIT 1
+                ) outcome ON TRUE
+                CROSS JOIN LATERAL (SELECT COALESCE(outcome.code, pst.code) AS code) o
+                WHERE p.beneficiary_id = t.beneficiary_id
+                AND (p.appointment_date, p.appointment_time, p.appointment_id)
+                    < (t.appointment_date, t.appointment_time, t.appointment_id)
+                AND o.code IN ('COMPLETED', 'NO_SHOW')
+            ) history ON TRUE
+            """;
+
+    /**
+     * Scoring row of one appointment (see NO_SHOW_SCORING_SELECT)
+     */
+    @Query(value = NO_SHOW_SCORING_SELECT + """
+            WHERE t.appointment_id = :appointmentId
+            """, nativeQuery = true)
+    List<Object[]> findNoShowScoringRow(@Param("appointmentId") UUID appointmentId);
+
+    /**
+     * Scoring rows of a branch's open appointments on one day, in slot order (see NO_SHOW_SCORING_SELECT)
+     */
+    @Query(value = NO_SHOW_SCORING_SELECT + """
+            WHERE t.organization_branch_id = :branchId
+            AND t.appointment_date = :date
+            AND t.cancelled_at IS NULL
+            AND t.completed_at IS NULL
+            ORDER BY t.appointment_time, t.appointment_id
+            """, nativeQuery = true)
+    List<Object[]> findNoShowScoringRowsForBranchDay(
+        @Param("branchId") UUID branchId,
+        @Param("date") LocalDate date
+    );
 }
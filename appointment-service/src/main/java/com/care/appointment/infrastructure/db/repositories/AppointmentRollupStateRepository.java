@@ -0,0 +1,9 @@
+package com.care.appointment.infrastructure.db.repositories;
+
+import com.care.appointment.infrastructure.db.entities.AppointmentRollupStateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppointmentRollupStateRepository extends JpaRepository<AppointmentRollupStateEntity, String> {
+}
@@ -3,9 +3,14 @@ package com.care.appointment.infrastructure.db.repositories;
 import com.care.appointment.infrastructure.db.entities.BeneficiaryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -78,5 +83,104 @@ public interface BeneficiaryRepository extends
      * Used for dashboard and bulk operations.
      */
     List<BeneficiaryEntity> findByIsActiveTrueAndIsDeletedFalseOrderByCreatedAtDesc();
-}
 
+    /**
+     * Stand-in for a null UUID parameter; NULLIF turns it back into NULL in the statement
+     */
+    UUID NO_VALUE = new UUID(0L, 0L);
+
+    /**
+     * Applies the same change to every non-deleted beneficiary in ids.
+     * Each column is only touched when its flag is set; row_version is bumped so concurrent
+     * JPA updates of the same rows fail their optimistic lock instead of overwriting this change.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE beneficiaries SET
+                preferred_language_code_value_id = CASE WHEN :setLanguage = true
+                    THEN NULLIF(:languageId, CAST('00000000-0000-0000-0000-000000000000' AS uuid))
+                    ELSE preferred_language_code_value_id END,
+                gender_code_value_id = CASE WHEN :setGender = true
+                    THEN NULLIF(:genderId, CAST('00000000-0000-0000-0000-000000000000' AS uuid))
+                    ELSE gender_code_value_id END,
+                registration_status_code_value_id = CASE WHEN :setRegistrationStatus = true
+                    THEN NULLIF(:registrationStatusId, CAST('00000000-0000-0000-0000-000000000000' AS uuid))
+                    ELSE registration_status_code_value_id END,
+                profile_photo_url = CASE WHEN :setPhoto = true THEN NULLIF(:photoUrl, '') ELSE profile_photo_url END,
+                is_active = CASE WHEN :setActive = true THEN :active ELSE is_active END,
+                updated_at = :updatedAt,
+                updated_by_user_id = CASE WHEN :hasUpdatedBy = true THEN :updatedById ELSE updated_by_user_id END,
+                row_version = COALESCE(row_version, 0) + 1
+            WHERE beneficiary_id IN (:ids)
+            AND is_deleted = false
+            RETURNING beneficiary_id
+            """, nativeQuery = true)
+    List<UUID> bulkUpdate(
+        @Param("ids") Collection<UUID> ids,
+        @Param("setLanguage") boolean setLanguage,
+        @Param("languageId") UUID languageId,
+        @Param("setGender") boolean setGender,
+        @Param("genderId") UUID genderId,
+        @Param("setRegistrationStatus") boolean setRegistrationStatus,
+        @Param("registrationStatusId") UUID registrationStatusId,
+        @Param("setPhoto") boolean setPhoto,
+        @Param("photoUrl") String photoUrl,
+        @Param("setActive") boolean setActive,
+        @Param("active") boolean active,
+        @Param("updatedAt") Instant updatedAt,
+        @Param("hasUpdatedBy") boolean hasUpdatedBy,
+        @Param("updatedById") UUID updatedById);
+
+    /**
+     * Ids among the given ones that exist, including soft-deleted rows
+     */
+    @Query("SELECT b.beneficiaryId FROM BeneficiaryEntity b WHERE b.beneficiaryId IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Beneficiary counts in one pass with GROUPING SETS; GROUPING() flags tell the sets apart
+     * (0 = column is part of the row's set): () for the totals, (gender), (registration status).
+     * Columns: gGender, gRegistrationStatus, genderCodeValueId, registrationStatusCodeValueId,
+     * total (all rows), deleted, notDeleted, active (active and not deleted)
+     */
+    @Query(value = """
+            SELECT
+                GROUPING(gender_code_value_id) AS gGender,
+                GROUPING(registration_status_code_value_id) AS gRegistrationStatus,
+                gender_code_value_id,
+                registration_status_code_value_id,
+                COUNT(*) AS total,
+                COUNT(*) FILTER (WHERE is_deleted = true) AS deleted,
+                COUNT(*) FILTER (WHERE is_deleted = false) AS notDeleted,
+                COUNT(*) FILTER (WHERE is_deleted = false AND is_active = true) AS active
+            FROM beneficiaries
+            GROUP BY GROUPING SETS ((), (gender_code_value_id), (registration_status_code_value_id))
+            """, nativeQuery = true)
+    List<Object[]> aggregateStatistics();
+
+    /**
+     * One typeahead page of active beneficiaries as [beneficiaryId, fullName, nationalId, mobileNumber],
+     * ordered by (full_name, beneficiary_id) and seeking past the previous page's last key.
+     * The pattern is a LIKE prefix pattern escaped with backslashes.
+     */
+    @Query(value = """
+            SELECT b.beneficiary_id, b.full_name, b.national_id, b.mobile_number
+            FROM beneficiaries b
+            WHERE b.is_active = true
+            AND b.is_deleted = false
+            AND (:hasQuery = false
+                 OR b.full_name ILIKE :pattern ESCAPE '\\'
+                 OR b.mobile_number LIKE :pattern ESCAPE '\\'
+                 OR b.national_id LIKE :pattern ESCAPE '\\')
+            AND (:hasAfter = false OR (b.full_name, b.beneficiary_id) > (:afterFullName, :afterId))
+            ORDER BY b.full_name, b.beneficiary_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findLookupPage(
+        @Param("hasQuery") boolean hasQuery,
+        @Param("pattern") String pattern,
+        @Param("hasAfter") boolean hasAfter,
+        @Param("afterFullName") String afterFullName,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit);
+}
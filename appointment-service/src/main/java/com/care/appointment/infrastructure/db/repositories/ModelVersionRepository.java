@@ -27,6 +27,12 @@ public interface ModelVersionRepository extends JpaRepository<ModelVersion, UUID
     @Query("SELECT m FROM ModelVersion m WHERE m.status = 'ACTIVE' ORDER BY m.deploymentTimestamp DESC LIMIT 1")
     Optional<ModelVersion> findActiveModel();
 
+    /**
+     * Id of the currently active model, to detect activations without loading the weights
+     */
+    @Query("SELECT m.modelVersionId FROM ModelVersion m WHERE m.status = 'ACTIVE' ORDER BY m.deploymentTimestamp DESC LIMIT 1")
+    Optional<UUID> findActiveModelId();
+
     /**
      * Find a specific version by model name and version number
      */
@@ -0,0 +1,57 @@
+package com.care.appointment.infrastructure.db.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts prediction_results rows with JDBC batches. Batch scoring writes hundreds of rows at a time;
+ * going through JPA would mean one persist, one flush entry and one round trip per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PredictionResultBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = """
+            INSERT INTO prediction_results (
+                prediction_id, model_version_id, appointment_id, predicted_risk_score,
+                predicted_risk_level, confidence_score, recommended_actions, prediction_timestamp,
+                predicted_by_user_id)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One prediction_results row; recommendedActionsJson is a JSON array literal
+     */
+    public record Row(UUID predictionId, UUID appointmentId, BigDecimal riskScore, String riskLevel,
+                      BigDecimal confidence, String recommendedActionsJson) {
+    }
+
+    /**
+     * Insert all rows for one model version and timestamp, BATCH_SIZE statements per round trip
+     */
+    public void insertAll(UUID modelVersionId, Instant predictedAt, UUID predictedByUserId, List<Row> rows) {
+        Timestamp timestamp = Timestamp.from(predictedAt);
+        jdbcTemplate.batchUpdate(INSERT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setObject(1, row.predictionId());
+            ps.setObject(2, modelVersionId);
+            ps.setObject(3, row.appointmentId());
+            ps.setBigDecimal(4, row.riskScore());
+            ps.setString(5, row.riskLevel());
+            ps.setBigDecimal(6, row.confidence());
+            ps.setString(7, row.recommendedActionsJson());
+            ps.setTimestamp(8, timestamp);
+            ps.setObject(9, predictedByUserId);
+        });
+    }
+}
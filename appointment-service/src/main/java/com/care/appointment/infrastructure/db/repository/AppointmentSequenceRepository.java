@@ -2,11 +2,13 @@ package com.care.appointment.infrastructure.db.repository;
 
 import com.care.appointment.infrastructure.db.entities.AppointmentSequenceEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,21 +23,6 @@ public interface AppointmentSequenceRepository extends JpaRepository<Appointment
         Integer sequenceYear
     );
 
-    /**
-     * Get the next sequence number for a branch in a specific year
-     * This increments and returns the next available number
-     */
-    @Modifying
-    @Query("""
-        UPDATE AppointmentSequenceEntity a
-        SET a.currentSequenceNumber = a.currentSequenceNumber + 1,
-            a.totalAppointmentsCreated = COALESCE(a.totalAppointmentsCreated, 0) + 1
-        WHERE a.organizationBranchId = :branchId
-        AND a.sequenceYear = :year
-        AND a.currentSequenceNumber < a.maxSequenceNumber
-        """)
-    void incrementSequence(@Param("branchId") UUID branchId, @Param("year") Integer year);
-
     /**
      * Get current sequence value for a branch and year
      */
@@ -46,4 +33,33 @@ public interface AppointmentSequenceRepository extends JpaRepository<Appointment
         AND a.sequenceYear = :year
         """)
     Optional<Integer> getCurrentSequenceNumber(@Param("branchId") UUID branchId, @Param("year") Integer year);
+
+    /**
+     * Atomically reserve the next {@code blockSize} sequence numbers for a branch and year,
+     * creating the sequence row on first use.
+     * Runs in its own short transaction so the row lock is released before the caller's
+     * booking transaction continues. Returns one row (current_sequence_number after the
+     * reservation, max_sequence_number, branch_code), or no row when the sequence is exhausted;
+     * the reserved range is [current_sequence_number - blockSize, current_sequence_number).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+        INSERT INTO appointment_sequences AS s (
+            sequence_id, organization_branch_id, branch_code, sequence_year,
+            current_sequence_number, max_sequence_number, created_at, updated_at)
+        VALUES (gen_random_uuid(), :branchId, :branchCode, :year,
+            1 + :blockSize, :maxSequence, now(), now())
+        ON CONFLICT (organization_branch_id, sequence_year) DO UPDATE
+        SET current_sequence_number = s.current_sequence_number + :blockSize,
+            updated_at = now()
+        WHERE s.current_sequence_number < s.max_sequence_number
+        RETURNING s.current_sequence_number, s.max_sequence_number, s.branch_code
+        """, nativeQuery = true)
+    List<Object[]> reserveBlock(
+        @Param("branchId") UUID branchId,
+        @Param("branchCode") String branchCode,
+        @Param("year") Integer year,
+        @Param("blockSize") Integer blockSize,
+        @Param("maxSequence") Integer maxSequence
+    );
 }
@@ -14,11 +14,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller for appointment verification via QR code, appointment code, or verification code
@@ -118,10 +121,13 @@ public class AppointmentVerificationController {
         @Parameter(description = "Appointment ID", required = true)
         @PathVariable UUID appointmentId
     ) {
-        log.info("Generating QR image for appointment: {}", appointmentId);
+        log.debug("Serving QR image for appointment: {}", appointmentId);
         byte[] qrImage = verificationService.getQRCodeImage(appointmentId);
+        // QR content (code + id) never changes for an appointment, so clients may cache the image
         return ResponseEntity.ok()
-            .header("Content-Type", "image/png")
+            .contentType(MediaType.IMAGE_PNG)
+            .contentLength(qrImage.length)
+            .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
             .body(qrImage);
     }
 
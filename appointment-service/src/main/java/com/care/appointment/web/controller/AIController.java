@@ -2,6 +2,7 @@ package com.care.appointment.web.controller;
 
 import com.care.appointment.application.ai.service.ModelTrainingService;
 import com.care.appointment.application.ai.service.NoShowPredictionService;
+import com.care.appointment.web.dto.ai.BatchPredictionResponse;
 import com.care.appointment.web.dto.ai.ModelEvaluationResponse;
 import com.care.appointment.web.dto.ai.PredictionRequest;
 import com.care.appointment.web.dto.ai.PredictionResponse;
@@ -12,9 +13,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -69,6 +72,25 @@ public class AIController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Score all open appointments of a branch on one day (tomorrow by default)
+     * @param branchId Branch whose appointments are scored
+     * @param date Appointment date, defaults to tomorrow
+     * @return Risk per appointment in slot order with counts per risk level
+     */
+    @PostMapping("/predictions/batch")
+    @Operation(summary = "Batch predict a branch day",
+               description = "Score every open appointment of a branch on one day with the active model")
+    public ResponseEntity<BatchPredictionResponse> predictBranchDay(
+        @Parameter(description = "Branch ID") @RequestParam UUID branchId,
+        @Parameter(description = "Appointment date (ISO), defaults to tomorrow")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        LocalDate day = date != null ? date : LocalDate.now().plusDays(1);
+        log.info("POST /api/ai/predictions/batch - Branch: {}, Date: {}", branchId, day);
+        return ResponseEntity.ok(predictionService.predictBranchDay(branchId, day));
+    }
+
     // ============================================================================
     // TRAINING ENDPOINTS
     // ============================================================================
@@ -123,6 +145,22 @@ public class AIController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Activate a trained model; predictions switch to it right away
+     * @param modelVersionId ID of model to activate
+     */
+    @PostMapping("/models/{modelVersionId}/activate")
+    @Operation(summary = "Activate model",
+               description = "Make a trained model version the active no-show model")
+    public ResponseEntity<Void> activateModel(
+        @Parameter(description = "Model Version ID")
+        @PathVariable UUID modelVersionId) {
+
+        log.info("POST /api/ai/models/{}/activate", modelVersionId);
+        trainingService.activateModel(modelVersionId);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Health check for AI service
      */
@@ -0,0 +1,57 @@
+package com.care.appointment.web.controller;
+
+import com.care.appointment.infrastructure.db.config.AppointmentBookingIndexes;
+import com.sharedlib.core.constants.ErrorCodes;
+import com.sharedlib.core.dto.ErrorResponse;
+import com.sharedlib.core.exception.ConflictException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Answers booking conflicts with 409.
+ *
+ * Besides explicit {@link ConflictException}s, any write that moves an appointment onto a taken
+ * slot or opens a second appointment for the same service (admin create and update, transfer,
+ * reschedule) is rejected by the partial unique indexes of {@link AppointmentBookingIndexes},
+ * usually only when the transaction flushes. Other integrity violations are left to the default
+ * handling.
+ */
+@RestControllerAdvice
+public class BookingConflictExceptionHandler {
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ConflictException ex, HttpServletRequest request) {
+        return conflict(ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex,
+                                                             HttpServletRequest request) {
+        String violated = ex.getMostSpecificCause().getMessage();
+        if (violated != null && violated.contains(AppointmentBookingIndexes.SLOT_INDEX)) {
+            return conflict("Slot is already booked", request);
+        }
+        if (violated != null && violated.contains(AppointmentBookingIndexes.OPEN_SERVICE_INDEX)) {
+            return conflict("The beneficiary already has an active appointment for this service. "
+                    + "Please wait until it is completed or cancelled", request);
+        }
+        throw ex;
+    }
+
+    private ResponseEntity<ErrorResponse> conflict(String message, HttpServletRequest request) {
+        ErrorResponse error = ErrorResponse.builder()
+                .code(ErrorCodes.CONFLICT)
+                .message(message)
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+}
@@ -1,10 +1,9 @@
 package com.care.appointment.web.controller;
 
-import com.care.appointment.domain.ports.in.servicetype.LoadAllUseCase;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.ports.in.servicetype.LoadUseCase;
 import com.care.appointment.web.dto.admin.servicetype.ServiceTypeResponse;
 import com.care.appointment.web.mapper.ServiceTypeWebMapper;
-import com.sharedlib.core.filter.FilterRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,13 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Mobile Service Type Controller
@@ -33,14 +31,14 @@ import java.util.stream.Collectors;
 @Tag(name = "Mobile - Service Types", description = "Service type endpoints for mobile app")
 public class MobileServiceTypeController {
 
-    private final LoadAllUseCase loadAllServiceTypesUseCase;
+    private final ReferenceDataCache referenceDataCache;
     private final LoadUseCase loadServiceTypeUseCase;
     private final ServiceTypeWebMapper mapper;
 
     /**
      * Get all service types for mobile dropdown/selection
-     * Returns only active service types with essential fields
-     * Optimized for performance on mobile networks
+     * Returns only active service types with essential fields, translated to the requested language
+     * Optimized for performance on mobile networks (served from the reference data cache with an ETag)
      */
     @GetMapping("/lookup")
     @Operation(
@@ -55,23 +53,15 @@ public class MobileServiceTypeController {
     public ResponseEntity<List<ServiceTypeResponse>> getServiceTypesLookup(
             @RequestParam(required = false, defaultValue = "en") String language) {
 
-        log.info("Fetching service types for mobile app with language: {}", language);
+        log.debug("Fetching service types for mobile app with language: {}", language);
 
         try {
-            // Load all service types using existing use case
-            var filter = new FilterRequest();
-            var pageable = Pageable.unpaged();
-            var serviceTypes = loadAllServiceTypesUseCase.loadAll(filter, pageable);
-
-            // Map to response DTOs
-            List<ServiceTypeResponse> responses = serviceTypes.getContent()
-                .stream()
-                .filter(st -> Boolean.TRUE.equals(st.getIsActive()))
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-
-            log.info("Returning {} active service types", responses.size());
-            return ResponseEntity.ok(responses);
+            // Materialized per language; unchanged lists are answered with 304 Not Modified
+            ReferenceDataCache.Cached<List<ServiceTypeResponse>> serviceTypes = referenceDataCache.serviceTypes(language);
+            return ResponseEntity.ok()
+                .eTag(serviceTypes.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(serviceTypes.value());
 
         } catch (Exception e) {
             log.error("Error fetching service types", e);
@@ -2,6 +2,7 @@ package com.care.appointment.web.controller.admin;
 
 import com.care.appointment.application.actiontype.command.CreateActionTypeCommand;
 import com.care.appointment.application.actiontype.command.UpdateActionTypeCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.ActionType;
 import com.care.appointment.domain.ports.in.actiontype.*;
 import com.care.appointment.infrastructure.db.config.ActionTypeFilterConfig;
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -56,6 +58,7 @@ public class ActionTypeController {
     private final DeleteUseCase deleteActionTypeUseCase;
     private final LoadAllUseCase loadAllActionTypesUseCase;
     private final ActionTypeWebMapper mapper;
+    private final ReferenceDataCache referenceDataCache;
     
     /**
      * Create a new action type
@@ -165,23 +168,14 @@ public class ActionTypeController {
     @Operation(summary = "Get all action types for dropdown", 
                description = "Returns a simple list of all active action types with id, name, and code for use in dropdowns")
     @ApiResponse(responseCode = "200", description = "Action types lookup list retrieved successfully")
-    public ResponseEntity<java.util.List<Map<String, Object>>> getActionTypesLookup() {
-        FilterRequest filter = new FilterRequest();
-        Pageable pageable = Pageable.unpaged();
-        Page<ActionType> actionTypes = loadAllActionTypesUseCase.loadAll(filter, pageable);
-        
-        java.util.List<Map<String, Object>> lookup = actionTypes.getContent().stream()
-                .filter(at -> Boolean.TRUE.equals(at.getIsActive()))
-                .map(at -> Map.<String, Object>of(
-                        "actionTypeId", at.getActionTypeId(),
-                        "name", at.getName(),
-                        "code", at.getCode(),
-                        "requiresTransfer", at.getRequiresTransfer(),
-                        "completesAppointment", at.getCompletesAppointment()
-                ))
-                .collect(java.util.stream.Collectors.toList());
-        
-        return ResponseEntity.ok(lookup);
+    public ResponseEntity<java.util.List<Map<String, Object>>> getActionTypesLookup(
+            @RequestParam(value = "lang", required = false) String languageCode) {
+        ReferenceDataCache.Cached<java.util.List<Map<String, Object>>> lookup =
+                referenceDataCache.actionTypeLookup(languageCode);
+        return ResponseEntity.ok()
+                .eTag(lookup.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(lookup.value());
     }
 }
 
@@ -2,11 +2,9 @@ package com.care.appointment.web.controller.admin;
 
 import com.care.appointment.application.appointmentstatus.command.CreateAppointmentStatusCommand;
 import com.care.appointment.application.appointmentstatus.command.UpdateAppointmentStatusCommand;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.domain.model.AppointmentStatus;
 import com.care.appointment.domain.ports.in.appointmentstatus.*;
-import com.care.appointment.infrastructure.db.entities.AppointmentStatusLangEntity;
-import com.care.appointment.infrastructure.db.repositories.AppointmentStatusLangRepository;
-import com.care.appointment.infrastructure.db.repositories.AppointmentStatusRepository;
 import com.care.appointment.web.dto.admin.appointmentstatus.AppointmentStatusResponse;
 import com.care.appointment.web.dto.admin.appointmentstatus.CreateAppointmentStatusRequest;
 import com.care.appointment.web.dto.admin.appointmentstatus.UpdateAppointmentStatusRequest;
@@ -24,13 +22,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -45,8 +43,7 @@ public class AppointmentStatusController {
     private final DeleteUseCase deleteUseCase;
     private final LoadAllUseCase loadAllUseCase;
     private final AppointmentStatusWebMapper mapper;
-    private final AppointmentStatusRepository statusRepository;
-    private final AppointmentStatusLangRepository statusLangRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @PostMapping
     @Operation(summary = "Create appointment status")
@@ -108,34 +105,13 @@ public class AppointmentStatusController {
     ) {
         String lang = (languageCode == null || languageCode.isBlank())
                 ? Locale.ENGLISH.getLanguage()
-                : languageCode.toLowerCase(Locale.ROOT);
+                : languageCode;
 
-        Map<UUID, String> namesById = statusLangRepository.findByLanguageCodeAndIsActiveTrue(lang)
-                .stream()
-                .collect(Collectors.toMap(
-                        AppointmentStatusLangEntity::getAppointmentStatusId,
-                        AppointmentStatusLangEntity::getName,
-                        (existing, ignored) -> existing
-                ));
-
-        List<LookupItemResponse> response = statusRepository.findByIsActiveTrue().stream()
-                .filter(status -> !Boolean.TRUE.equals(status.getIsDeleted()))
-                .map(status -> {
-                    String label = namesById.get(status.getAppointmentStatusId());
-                    if (label == null || label.isBlank()) {
-                        label = status.getName() != null && !status.getName().isBlank()
-                                ? status.getName()
-                                : status.getCode();
-                    }
-                    return LookupItemResponse.builder()
-                            .value(status.getAppointmentStatusId())
-                            .code(status.getCode())
-                            .label(label)
-                            .name(status.getName())
-                            .build();
-                })
-                .toList();
-        return ResponseEntity.ok(response);
+        ReferenceDataCache.Cached<List<LookupItemResponse>> lookup = referenceDataCache.statusLookup(lang);
+        return ResponseEntity.ok()
+                .eTag(lookup.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(lookup.value());
     }
 }
 
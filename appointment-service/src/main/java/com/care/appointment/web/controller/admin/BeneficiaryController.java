@@ -4,10 +4,15 @@ import com.care.appointment.application.beneficiary.command.CreateBeneficiaryCom
 import com.care.appointment.application.beneficiary.command.UpdateBeneficiaryCommand;
 import com.care.appointment.application.beneficiary.command.BulkBeneficiaryUpdateCommand;
 import com.care.appointment.application.beneficiary.service.BeneficiaryAdminService;
+import com.care.appointment.application.beneficiary.service.BeneficiaryBulkUpdateService;
+import com.care.appointment.application.beneficiary.service.BeneficiaryLookupService;
+import com.care.appointment.application.beneficiary.service.BeneficiaryStatisticsService;
 import com.care.appointment.infrastructure.storage.BeneficiaryDocumentStorageService;
 import com.care.appointment.infrastructure.storage.BeneficiaryDocumentStorageService.StoredFile;
 import com.care.appointment.domain.model.Appointment;
 import com.care.appointment.domain.model.Beneficiary;
+import com.care.appointment.domain.model.BeneficiaryBulkChange;
+import com.care.appointment.domain.model.BeneficiaryStatistics;
 import com.care.appointment.domain.ports.in.beneficiary.*;
 import com.care.appointment.domain.ports.in.appointment.ViewAppointmentUseCase;
 import com.care.appointment.web.dto.admin.appointment.AppointmentDetailsResponse;
@@ -16,6 +21,8 @@ import com.care.appointment.web.dto.admin.beneficiary.CreateBeneficiaryRequest;
 import com.care.appointment.web.dto.admin.beneficiary.UpdateBeneficiaryRequest;
 import com.care.appointment.web.mapper.AppointmentAdminWebMapper;
 import com.care.appointment.web.mapper.BeneficiaryWebMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sharedlib.core.filter.FilterRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -37,13 +44,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Objects;
 import java.util.UUID;
@@ -78,6 +87,10 @@ public class BeneficiaryController {
     private final LoadAllUseCase loadAllBeneficiariesUseCase;
     private final BeneficiaryWebMapper mapper;
     private final BeneficiaryAdminService beneficiaryAdminService;
+    private final BeneficiaryBulkUpdateService bulkUpdateService;
+    private final BeneficiaryLookupService beneficiaryLookupService;
+    private final BeneficiaryStatisticsService beneficiaryStatisticsService;
+    private final ObjectMapper objectMapper;
     private final ViewAppointmentUseCase viewAppointmentUseCase;
     private final AppointmentAdminWebMapper appointmentAdminWebMapper;
     private final BeneficiaryDocumentStorageService documentStorageService;
@@ -276,44 +289,37 @@ public class BeneficiaryController {
 
 
     /**
-     * Get simplified list for dropdowns
-     * Returns active beneficiaries with id, name, and mobile
+     * Typeahead lookup for dropdowns
+     * Returns one page of active beneficiaries (id, name, national ID, mobile) ordered by name;
+     * pass nextCursor from the previous page to continue.
      */
     @GetMapping("/lookup")
-    @Operation(summary = "Get all beneficiaries for dropdown",
-            description = "Returns a simple list of all active beneficiaries for use in dropdowns")
-    @ApiResponse(responseCode = "200", description = "Beneficiaries lookup list retrieved successfully")
-    public ResponseEntity<java.util.List<Map<String, Object>>> getBeneficiariesLookup() {
-        FilterRequest filter = new FilterRequest();
-        Pageable pageable = Pageable.unpaged();
-        Page<Beneficiary> beneficiaries = loadAllBeneficiariesUseCase.loadAll(filter, pageable);
-
-        java.util.List<Map<String, Object>> lookup = beneficiaries.getContent().stream()
-                .filter(Beneficiary::getIsActive)
-                .filter(b -> !b.getIsDeleted())
-                .map(b -> Map.<String, Object>of(
-                        "beneficiaryId", b.getBeneficiaryId(),
-                        "fullName", b.getFullName(),
-                        "nationalId", b.getNationalId() != null ? b.getNationalId() : "",
-                        "mobileNumber", b.getMobileNumber()
-                ))
-                .collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(lookup);
+    @Operation(summary = "Beneficiaries typeahead for dropdowns",
+            description = "Returns a page of active beneficiaries whose name, mobile number or national ID starts with q, "
+                    + "with a cursor for the next page")
+    @ApiResponse(responseCode = "200", description = "Beneficiaries lookup page retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<BeneficiaryLookupService.LookupPage> getBeneficiariesLookup(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(beneficiaryLookupService.lookup(query, cursor, size));
     }
     
     /**
      * Bulk update beneficiaries
-     * Updates multiple beneficiaries at once with same fields
+     * Applies the same field values to many beneficiaries with set-based updates and streams
+     * a JSON summary: one {beneficiaryId, outcome} entry per requested id, then the totals.
+     * Outcomes: UPDATED, SKIPPED_DELETED, NOT_FOUND, FAILED.
      */
-    @PutMapping("/bulk")
+    @PutMapping(value = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Bulk update beneficiaries",
-        description = "Updates multiple beneficiaries with same field values"
+        description = "Updates multiple beneficiaries with same field values and streams per-beneficiary outcomes"
     )
-    @ApiResponse(responseCode = "200", description = "Beneficiaries updated successfully")
+    @ApiResponse(responseCode = "200", description = "Bulk update processed; see outcomes per beneficiary")
     @ApiResponse(responseCode = "400", description = "Invalid request")
-    public ResponseEntity<List<BeneficiaryResponse>> bulkUpdateBeneficiaries(
+    public ResponseEntity<StreamingResponseBody> bulkUpdateBeneficiaries(
             @Valid @RequestBody BulkBeneficiaryUpdateRequest request,
             @RequestHeader(value = "User-Id", required = false) UUID userId) {
         
@@ -324,12 +330,34 @@ public class BeneficiaryController {
                 .updatedById(userId)
                 .build();
         
-        List<Beneficiary> updated = beneficiaryAdminService.bulkUpdateBeneficiaries(command);
-        List<BeneficiaryResponse> response = updated.stream()
-                .map(mapper::toResponse)
-                .collect(java.util.stream.Collectors.toList());
+        // Validated before the response starts so bad input still gets a 400
+        BeneficiaryBulkChange change = bulkUpdateService.prepare(command);
         
-        return ResponseEntity.ok(response);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeStringField("description", command.getDescription());
+                json.writeArrayFieldStart("results");
+                BeneficiaryBulkUpdateService.Summary summary = bulkUpdateService.apply(command, change, (id, outcome) -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeStringField("beneficiaryId", id.toString());
+                        json.writeStringField("outcome", outcome.name());
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeObjectField("summary", summary);
+                json.writeEndObject();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
     
     /**
@@ -342,11 +370,15 @@ public class BeneficiaryController {
     )
     @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
     public ResponseEntity<BeneficiaryStatisticsResponse> getStatistics() {
-        BeneficiaryAdminService.BeneficiaryStatistics stats = beneficiaryAdminService.getBeneficiaryStatistics();
+        BeneficiaryStatistics stats = beneficiaryStatisticsService.getStatistics();
         
         BeneficiaryStatisticsResponse response = BeneficiaryStatisticsResponse.builder()
                 .totalBeneficiaries(stats.getTotalBeneficiaries())
                 .activeBeneficiaries(stats.getActiveBeneficiaries())
+                .deletedBeneficiaries(stats.getDeletedBeneficiaries())
+                .byGender(stats.getByGender())
+                .byRegistrationStatus(stats.getByRegistrationStatus())
+                .computedAt(stats.getComputedAt())
                 .build();
         
         return ResponseEntity.ok(response);
@@ -430,6 +462,10 @@ public class BeneficiaryController {
     public static class BeneficiaryStatisticsResponse {
         private long totalBeneficiaries;
         private long activeBeneficiaries;
+        private long deletedBeneficiaries;
+        private java.util.List<BeneficiaryStatistics.Breakdown> byGender;
+        private java.util.List<BeneficiaryStatistics.Breakdown> byRegistrationStatus;
+        private java.time.Instant computedAt;
     }
 }
 
@@ -1,6 +1,7 @@
 package com.care.appointment.web.controller.admin;
 
 import com.care.appointment.application.reports.ExcelReportService;
+import com.care.appointment.application.reports.ReportDataService;
 import com.care.appointment.web.dto.reports.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +16,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -50,6 +55,7 @@ import java.util.Base64;
 public class ExcelReportsController {
 
     private final ExcelReportService excelReportService;
+    private final ReportDataService reportDataService;
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
@@ -70,21 +76,18 @@ public class ExcelReportsController {
     @ApiResponse(responseCode = "200", description = "Report generated successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request parameters")
     @ApiResponse(responseCode = "500", description = "Server error generating report")
-    public ResponseEntity<byte[]> generateDetailedReport(@Valid @RequestBody ExcelReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateDetailedReport(@Valid @RequestBody ExcelReportRequest request) {
         log.info("Generating detailed report with filters: {}", request);
 
-        try {
-            // Mock data for detailed report
-            List<DetailedReportData> data = generateMockDetailedData(request);
-
-            // Generate Excel file
-            byte[] excelContent = excelReportService.generateDetailedReport(data, request);
-
-            return buildExcelResponse(excelContent, "detailed", request.getLanguage());
-        } catch (Exception e) {
-            log.error("Error generating detailed report", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        ReportDataService.ReportFilter filter = reportDataService.resolveFilter(request);
+        return buildExcelResponse("detailed", request.getLanguage(), out ->
+            reportDataService.streamDetailedRows(filter, rows -> {
+                try {
+                    excelReportService.writeDetailedReport(rows, request, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
     }
 
     /**
@@ -137,21 +140,12 @@ public class ExcelReportsController {
             description = "Generates an Excel file with performance metrics for each center"
     )
     @ApiResponse(responseCode = "200", description = "Report generated successfully")
-    public ResponseEntity<byte[]> generateCenterReport(@Valid @RequestBody ExcelReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateCenterReport(@Valid @RequestBody ExcelReportRequest request) {
         log.info("Generating center performance report with filters: {}", request);
 
-        try {
-            // Mock data for center report
-            List<CenterPerformanceReport> data = generateMockCenterData(request);
-
-            // Generate Excel file
-            byte[] excelContent = excelReportService.generateCenterReport(data, request);
-
-            return buildExcelResponse(excelContent, "center", request.getLanguage());
-        } catch (Exception e) {
-            log.error("Error generating center report", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        ReportDataService.ReportFilter filter = reportDataService.resolveFilter(request);
+        return buildExcelResponse("center", request.getLanguage(), out ->
+            excelReportService.writeCenterReport(reportDataService.getCenterPerformance(filter), request, out));
     }
 
     /**
@@ -170,21 +164,12 @@ public class ExcelReportsController {
             description = "Generates an Excel file with performance metrics for each organization"
     )
     @ApiResponse(responseCode = "200", description = "Report generated successfully")
-    public ResponseEntity<byte[]> generateOrganizationReport(@Valid @RequestBody ExcelReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateOrganizationReport(@Valid @RequestBody ExcelReportRequest request) {
         log.info("Generating organization performance report with filters: {}", request);
 
-        try {
-            // Mock data for organization report
-            List<OrganizationPerformanceReport> data = generateMockOrganizationData(request);
-
-            // Generate Excel file
-            byte[] excelContent = excelReportService.generateOrganizationReport(data, request);
-
-            return buildExcelResponse(excelContent, "organization", request.getLanguage());
-        } catch (Exception e) {
-            log.error("Error generating organization report", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        ReportDataService.ReportFilter filter = reportDataService.resolveFilter(request);
+        return buildExcelResponse("organization", request.getLanguage(), out ->
+            excelReportService.writeOrganizationReport(reportDataService.getOrganizationPerformance(filter), request, out));
     }
 
     /**
@@ -203,67 +188,16 @@ public class ExcelReportsController {
             description = "Generates an Excel file with priority distribution analysis"
     )
     @ApiResponse(responseCode = "200", description = "Report generated successfully")
-    public ResponseEntity<byte[]> generatePriorityReport(@Valid @RequestBody ExcelReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generatePriorityReport(@Valid @RequestBody ExcelReportRequest request) {
         log.info("Generating priority distribution report with filters: {}", request);
 
-        try {
-            // Mock data for priority report
-            PriorityDistributionReport data = generateMockPriorityData(request);
-
-            // Generate Excel file
-            byte[] excelContent = excelReportService.generatePriorityReport(data, request);
-
-            return buildExcelResponse(excelContent, "priority", request.getLanguage());
-        } catch (Exception e) {
-            log.error("Error generating priority report", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        ReportDataService.ReportFilter filter = reportDataService.resolveFilter(request);
+        return buildExcelResponse("priority", request.getLanguage(), out ->
+            excelReportService.writePriorityReport(reportDataService.getPriorityDistribution(filter), request, out));
     }
 
     // Helper methods for mock data generation
 
-    private List<DetailedReportData> generateMockDetailedData(ExcelReportRequest request) {
-        List<DetailedReportData> data = new ArrayList<>();
-
-        data.add(DetailedReportData.builder()
-                .appointmentId("APT-001")
-                .beneficiaryName("أحمد محمد")
-                .beneficiaryId("BEN-001")
-                .organizationName("منظمة النور")
-                .centerName("المركز الرئيسي")
-                .serviceType("الصحة")
-                .appointmentDateTime(LocalDateTime.now())
-                .status("مؤكدة")
-                .priority("عالية")
-                .providerName("د. فاطمة")
-                .contactNumber("+963 999 888 777")
-                .location("دمشق")
-                .notes("متابعة دورية")
-                .createdDate(LocalDateTime.now().minusDays(5))
-                .modifiedDate(LocalDateTime.now())
-                .build());
-
-        data.add(DetailedReportData.builder()
-                .appointmentId("APT-002")
-                .beneficiaryName("فاطمة علي")
-                .beneficiaryId("BEN-002")
-                .organizationName("منظمة الأمل")
-                .centerName("مركز الشمال")
-                .serviceType("التعليم")
-                .appointmentDateTime(LocalDateTime.now().plusDays(3))
-                .status("قيد الانتظار")
-                .priority("متوسطة")
-                .providerName("أ. خالد")
-                .contactNumber("+963 988 777 666")
-                .location("حلب")
-                .notes("جلسة تدريبية")
-                .createdDate(LocalDateTime.now().minusDays(2))
-                .modifiedDate(LocalDateTime.now())
-                .build());
-
-        return data;
-    }
-
     private StatisticalReportData generateMockStatisticalData(ExcelReportRequest request) {
         StatisticalReportData.SummaryStatistics summary = StatisticalReportData.SummaryStatistics.builder()
                 .totalAppointments(156)
@@ -313,166 +247,36 @@ public class ExcelReportsController {
                 .build();
     }
 
-    private List<CenterPerformanceReport> generateMockCenterData(ExcelReportRequest request) {
-        List<CenterPerformanceReport> data = new ArrayList<>();
-
-        data.add(CenterPerformanceReport.builder()
-                .centerId("CENTER-001")
-                .centerName("المركز الرئيسي")
-                .totalAppointments(89)
-                .completedAppointments(67)
-                .pendingAppointments(15)
-                .cancelledAppointments(5)
-                .noShowAppointments(2)
-                .completionRate("75.28%")
-                .averageWaitingTime("2.5 أيام")
-                .staffCount(12)
-                .beneficiariesServed(89)
-                .partneredOrganizations(3)
-                .build());
-
-        data.add(CenterPerformanceReport.builder()
-                .centerId("CENTER-002")
-                .centerName("مركز الشمال")
-                .totalAppointments(45)
-                .completedAppointments(28)
-                .pendingAppointments(12)
-                .cancelledAppointments(4)
-                .noShowAppointments(1)
-                .completionRate("62.22%")
-                .averageWaitingTime("3.2 أيام")
-                .staffCount(7)
-                .beneficiariesServed(45)
-                .partneredOrganizations(2)
-                .build());
-
-        data.add(CenterPerformanceReport.builder()
-                .centerId("CENTER-003")
-                .centerName("مركز الجنوب")
-                .totalAppointments(22)
-                .completedAppointments(15)
-                .pendingAppointments(5)
-                .cancelledAppointments(2)
-                .noShowAppointments(0)
-                .completionRate("68.18%")
-                .averageWaitingTime("2.1 أيام")
-                .staffCount(5)
-                .beneficiariesServed(22)
-                .partneredOrganizations(1)
-                .build());
-
-        return data;
-    }
-
-    private List<OrganizationPerformanceReport> generateMockOrganizationData(ExcelReportRequest request) {
-        List<OrganizationPerformanceReport> data = new ArrayList<>();
-
-        data.add(OrganizationPerformanceReport.builder()
-                .organizationId("ORG-001")
-                .organizationName("منظمة النور")
-                .totalAppointments(67)
-                .completedAppointments(52)
-                .pendingAppointments(10)
-                .cancelledAppointments(3)
-                .noShowAppointments(2)
-                .completionRate("77.61%")
-                .partneredCenters(3)
-                .beneficiariesServed(67)
-                .averageResponseTime("2 ساعات")
-                .build());
-
-        data.add(OrganizationPerformanceReport.builder()
-                .organizationId("ORG-002")
-                .organizationName("منظمة الأمل")
-                .totalAppointments(55)
-                .completedAppointments(35)
-                .pendingAppointments(15)
-                .cancelledAppointments(4)
-                .noShowAppointments(1)
-                .completionRate("63.64%")
-                .partneredCenters(2)
-                .beneficiariesServed(55)
-                .averageResponseTime("3 ساعات")
-                .build());
+    /**
+     * Stream a report body; headers are flushed before the report data is read
+     */
+    private ResponseEntity<StreamingResponseBody> buildExcelResponse(String reportType, String language,
+                                                                     ReportWriter writer) {
+        String fileName = buildFileName(reportType, language);
 
-        data.add(OrganizationPerformanceReport.builder()
-                .organizationId("ORG-003")
-                .organizationName("منظمة الرحمة")
-                .totalAppointments(34)
-                .completedAppointments(23)
-                .pendingAppointments(8)
-                .cancelledAppointments(2)
-                .noShowAppointments(1)
-                .completionRate("67.65%")
-                .partneredCenters(2)
-                .beneficiariesServed(34)
-                .averageResponseTime("2.5 ساعات")
-                .build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        headers.setContentDispositionFormData("attachment", fileName);
 
-        return data;
+        StreamingResponseBody body = out -> {
+            out.flush();
+            long startedAt = System.currentTimeMillis();
+            try {
+                writer.write(out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (IOException | RuntimeException e) {
+                log.error("Error streaming {} report", reportType, e);
+                throw e;
+            }
+            log.info("Streamed {} report in {} ms", reportType, System.currentTimeMillis() - startedAt);
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
-    private PriorityDistributionReport generateMockPriorityData(ExcelReportRequest request) {
-        List<PriorityDistributionReport.PriorityDistribution> distribution = new ArrayList<>();
-
-        distribution.add(PriorityDistributionReport.PriorityDistribution.builder()
-                .priority("عالية")
-                .count(78)
-                .percentage(50.0)
-                .completed(62)
-                .pending(12)
-                .cancelled(3)
-                .noShow(1)
-                .completionRate("79.49%")
-                .build());
-
-        distribution.add(PriorityDistributionReport.PriorityDistribution.builder()
-                .priority("متوسطة")
-                .count(55)
-                .percentage(35.26)
-                .completed(32)
-                .pending(18)
-                .cancelled(4)
-                .noShow(1)
-                .completionRate("58.18%")
-                .build());
-
-        distribution.add(PriorityDistributionReport.PriorityDistribution.builder()
-                .priority("طارئة")
-                .count(18)
-                .percentage(11.54)
-                .completed(18)
-                .pending(0)
-                .cancelled(0)
-                .noShow(0)
-                .completionRate("100%")
-                .build());
-
-        distribution.add(PriorityDistributionReport.PriorityDistribution.builder()
-                .priority("منخفضة")
-                .count(5)
-                .percentage(3.21)
-                .completed(2)
-                .pending(3)
-                .cancelled(0)
-                .noShow(0)
-                .completionRate("40%")
-                .build());
-
-        List<PriorityDistributionReport.TimelineDistribution> timeline = new ArrayList<>();
-        timeline.add(PriorityDistributionReport.TimelineDistribution.builder()
-                .period("الأسبوع 1").count(35).percentage("22.44%").build());
-        timeline.add(PriorityDistributionReport.TimelineDistribution.builder()
-                .period("الأسبوع 2").count(42).percentage("26.92%").build());
-        timeline.add(PriorityDistributionReport.TimelineDistribution.builder()
-                .period("الأسبوع 3").count(48).percentage("30.77%").build());
-        timeline.add(PriorityDistributionReport.TimelineDistribution.builder()
-                .period("الأسبوع 4").count(31).percentage("19.87%").build());
-
-        return PriorityDistributionReport.builder()
-                .distribution(distribution)
-                .timeline(timeline)
-                .build();
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write(OutputStream out) throws IOException;
     }
 
     private ResponseEntity<byte[]> buildExcelResponse(byte[] content, String reportType, String language) {
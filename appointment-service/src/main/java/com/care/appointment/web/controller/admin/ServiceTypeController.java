@@ -4,7 +4,7 @@ import com.care.appointment.application.servicetype.command.CreateServiceTypeCom
 import com.care.appointment.application.servicetype.command.UpdateServiceTypeCommand;
 import com.care.appointment.domain.model.ServiceType;
 import com.care.appointment.domain.ports.in.servicetype.*;
-import com.care.appointment.application.servicetype.service.ServiceTypeTreeQueryService;
+import com.care.appointment.application.common.service.ReferenceDataCache;
 import com.care.appointment.web.dto.admin.servicetype.CreateServiceTypeRequest;
 import com.care.appointment.web.dto.admin.servicetype.ServiceTypeResponse;
 import com.care.appointment.web.dto.admin.servicetype.UpdateServiceTypeRequest;
@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -56,7 +57,7 @@ public class ServiceTypeController {
     private final LoadUseCase loadServiceTypeUseCase;
     private final DeleteUseCase deleteServiceTypeUseCase;
     private final LoadAllUseCase loadAllServiceTypesUseCase;
-    private final ServiceTypeTreeQueryService serviceTypeTreeQueryService;
+    private final ReferenceDataCache referenceDataCache;
     private final ServiceTypeWebMapper mapper;
     
     /**
@@ -166,21 +167,14 @@ public class ServiceTypeController {
     @Operation(summary = "Get all service types for dropdown", 
                description = "Returns a simple list of all active service types with id and name for use in dropdowns")
     @ApiResponse(responseCode = "200", description = "Service types lookup list retrieved successfully")
-    public ResponseEntity<java.util.List<Map<String, Object>>> getServiceTypesLookup() {
-        FilterRequest filter = new FilterRequest();
-        Pageable pageable = Pageable.unpaged();
-        Page<ServiceType> serviceTypes = loadAllServiceTypesUseCase.loadAll(filter, pageable);
-        
-        java.util.List<Map<String, Object>> lookup = serviceTypes.getContent().stream()
-                .filter(st -> Boolean.TRUE.equals(st.getIsActive()))
-                .map(st -> Map.<String, Object>of(
-                        "serviceTypeId", st.getServiceTypeId(),
-                        "name", st.getName(),
-                        "code", st.getCode() != null ? st.getCode() : ""
-                ))
-                .collect(java.util.stream.Collectors.toList());
-        
-        return ResponseEntity.ok(lookup);
+    public ResponseEntity<java.util.List<Map<String, Object>>> getServiceTypesLookup(
+            @RequestParam(value = "lang", required = false) String languageCode) {
+        ReferenceDataCache.Cached<java.util.List<Map<String, Object>>> lookup =
+                referenceDataCache.serviceTypeLookup(languageCode);
+        return ResponseEntity.ok()
+                .eTag(lookup.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(lookup.value());
     }
 
     /**
@@ -190,8 +184,14 @@ public class ServiceTypeController {
     @Operation(summary = "Get service type tree",
             description = "Returns hierarchical tree of active service types for tree dropdowns")
     @ApiResponse(responseCode = "200", description = "Service type tree retrieved successfully")
-    public ResponseEntity<java.util.List<ServiceTypeTreeNodeDTO>> getServiceTypeTree() {
-        return ResponseEntity.ok(serviceTypeTreeQueryService.getTree());
+    public ResponseEntity<java.util.List<ServiceTypeTreeNodeDTO>> getServiceTypeTree(
+            @RequestParam(value = "lang", required = false) String languageCode) {
+        ReferenceDataCache.Cached<java.util.List<ServiceTypeTreeNodeDTO>> tree =
+                referenceDataCache.serviceTypeTree(languageCode);
+        return ResponseEntity.ok()
+                .eTag(tree.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(tree.value());
     }
 }
 
@@ -0,0 +1,49 @@
+package com.care.appointment.web.dto.ai;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for scoring all open appointments of a branch on one day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPredictionResponse {
+
+    private UUID branchId;
+    private LocalDate appointmentDate;
+    private String modelVersion;
+    private Instant predictionTimestamp;
+
+    // Counts per risk level
+    private int totalAppointments;
+    private int highRisk;
+    private int mediumRisk;
+    private int lowRisk;
+
+    // In slot order
+    private List<Item> predictions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private UUID predictionId;
+        private UUID appointmentId;
+        private LocalTime appointmentTime;
+        private BigDecimal riskScore;
+        private String riskLevel;
+    }
+}
@@ -0,0 +1,311 @@
+package com.care.appointment.application.service;
+
+import com.care.appointment.infrastructure.db.config.AppointmentBookingIndexes;
+import com.care.appointment.infrastructure.db.repositories.AppointmentRepository;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the single-statement booking path ({@link AppointmentRepository#INSERT_BOOKING})
+ * under contention, against a real PostgreSQL database.
+ *
+ * Runs plain JDBC in a throwaway schema, so it needs neither a Spring context nor containers.
+ * Skipped unless a database is given, e.g.:
+ * <pre>
+ * mvn test -Dtest=AppointmentBookingLoadTest \
+ *     -Dbooking.loadtest.url=jdbc:postgresql://localhost:5432/care \
+ *     -Dbooking.loadtest.user=postgres -Dbooking.loadtest.password=postgres
+ * </pre>
+ * Optional: {@code booking.loadtest.threads} (default 16), {@code booking.loadtest.attempts} (default 4000),
+ * {@code booking.loadtest.slots} (default 200).
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AppointmentBookingLoadTest {
+
+    private static final String URL = System.getProperty("booking.loadtest.url");
+    private static final String USER = System.getProperty("booking.loadtest.user", "postgres");
+    private static final String PASSWORD = System.getProperty("booking.loadtest.password", "");
+    private static final int THREADS = Integer.getInteger("booking.loadtest.threads", 16);
+    private static final int ATTEMPTS = Integer.getInteger("booking.loadtest.attempts", 4000);
+    private static final int SLOTS = Integer.getInteger("booking.loadtest.slots", 200);
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+    private static final UUID BRANCH_ID = UUID.randomUUID();
+    private static final UUID SERVICE_TYPE_ID = UUID.randomUUID();
+    private static final UUID STATUS_ID = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final LocalTime FIRST_SLOT = LocalTime.of(8, 0);
+
+    private static String schema;
+    private static String bookingSql;
+    private static List<String> bookingParameters;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        Assumptions.assumeTrue(URL != null, "booking.loadtest.url is not set");
+
+        schema = "booking_load_" + Long.toHexString(System.nanoTime());
+        bookingParameters = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(AppointmentRepository.INSERT_BOOKING);
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find()) {
+            bookingParameters.add(matcher.group(1));
+            matcher.appendReplacement(sql, "?");
+        }
+        matcher.appendTail(sql);
+        bookingSql = sql.toString();
+
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA " + schema);
+            statement.execute("SET search_path TO " + schema);
+            statement.execute("""
+                    CREATE TABLE appointments (
+                        appointment_id uuid PRIMARY KEY,
+                        appointment_request_id uuid,
+                        beneficiary_id uuid NOT NULL,
+                        organization_branch_id uuid NOT NULL,
+                        service_type_id uuid NOT NULL,
+                        appointment_date date NOT NULL,
+                        appointment_time time NOT NULL,
+                        slot_duration_minutes integer NOT NULL,
+                        appointment_status_id uuid NOT NULL,
+                        priority varchar(20) NOT NULL,
+                        notes text,
+                        cancelled_at timestamptz,
+                        completed_at timestamptz,
+                        created_at timestamptz NOT NULL,
+                        updated_at timestamptz,
+                        row_version bigint,
+                        appointment_code varchar(255) NOT NULL UNIQUE,
+                        qr_code_url text,
+                        verification_code varchar(10),
+                        verification_code_expires_at timestamptz)
+                    """);
+            statement.execute("""
+                    CREATE TABLE appointment_status_history (
+                        history_id uuid PRIMARY KEY,
+                        appointment_id uuid NOT NULL,
+                        appointment_status_id uuid NOT NULL,
+                        changed_by_user_id uuid,
+                        reason text,
+                        changed_at timestamptz NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TABLE appointment_requests (
+                        appointment_request_id uuid PRIMARY KEY,
+                        status varchar(20) NOT NULL,
+                        updated_at timestamptz,
+                        row_version bigint)
+                    """);
+            statement.execute(AppointmentBookingIndexes.CREATE_SLOT_INDEX);
+            statement.execute(AppointmentBookingIndexes.CREATE_OPEN_SERVICE_INDEX);
+        }
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        if (URL == null || schema == null) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + schema + " CASCADE");
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Concurrent bookings never double-book a slot")
+    void concurrentBookingsNeverDoubleBookASlot() throws Exception {
+        // Given: every attempt picks a random slot, so most attempts collide
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        long elapsedNanos = runConcurrently(ATTEMPTS, connection -> {
+            int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+            boolean inserted = book(connection, UUID.randomUUID(), SERVICE_TYPE_ID, slotTime(slot), null);
+            (inserted ? booked : rejected).incrementAndGet();
+        });
+
+        // Then
+        report("slot contention", booked.get(), rejected.get(), elapsedNanos);
+        assertEquals(ATTEMPTS, booked.get() + rejected.get(), "Every attempt should either book or be rejected");
+        assertTrue(booked.get() <= SLOTS, "No more bookings than slots");
+        assertEquals(booked.get(), count("SELECT COUNT(*) FROM appointments WHERE appointment_date = '" + DATE + "'"));
+        assertEquals(booked.get(), count("SELECT COUNT(DISTINCT appointment_time) FROM appointments WHERE appointment_date = '" + DATE + "'"));
+        assertEquals(booked.get(), count("SELECT COUNT(*) FROM appointment_status_history"),
+            "Every booking should write exactly one history row");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Concurrent bookings of one beneficiary keep a single open appointment per service")
+    void concurrentBookingsKeepOneOpenAppointmentPerService() throws Exception {
+        // Given: one beneficiary racing for free slots of the same service
+        UUID beneficiaryId = UUID.randomUUID();
+        UUID serviceTypeId = UUID.randomUUID();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger slot = new AtomicInteger(SLOTS);
+
+        // When
+        runConcurrently(THREADS * 4, connection -> {
+            if (book(connection, beneficiaryId, serviceTypeId, slotTime(slot.getAndIncrement()), null)) {
+                booked.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertEquals(1, booked.get(), "Only one booking should succeed");
+        assertEquals(1, count("SELECT COUNT(*) FROM appointments WHERE beneficiary_id = '" + beneficiaryId + "'"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Booking from a request approves the request in the same statement")
+    void bookingFromRequestApprovesRequest() throws Exception {
+        // Given
+        UUID requestId = UUID.randomUUID();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO appointment_requests VALUES ('" + requestId + "', 'PENDING', now(), 0)");
+
+            // When
+            boolean inserted = book(connection, UUID.randomUUID(), SERVICE_TYPE_ID, slotTime(SLOTS * 10), requestId);
+
+            // Then
+            assertTrue(inserted);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT status, row_version FROM appointment_requests WHERE appointment_request_id = '" + requestId + "'")) {
+                assertTrue(rs.next());
+                assertEquals("APPROVED", rs.getString(1));
+                assertEquals(1, rs.getLong(2));
+            }
+        }
+    }
+
+    private static boolean book(Connection connection, UUID beneficiaryId, UUID serviceTypeId,
+                                LocalTime time, UUID requestId) throws SQLException {
+        Instant now = Instant.now();
+        UUID appointmentId = UUID.randomUUID();
+        Map<String, Object> values = new HashMap<>();
+        values.put("appointmentId", appointmentId);
+        values.put("hasRequest", requestId != null);
+        values.put("requestId", requestId != null ? requestId : new UUID(0L, 0L));
+        values.put("beneficiaryId", beneficiaryId);
+        values.put("branchId", BRANCH_ID);
+        values.put("serviceTypeId", serviceTypeId);
+        values.put("appointmentDate", DATE);
+        values.put("appointmentTime", time);
+        values.put("slotDurationMinutes", 5);
+        values.put("statusId", STATUS_ID);
+        values.put("priority", "NORMAL");
+        values.put("notes", "");
+        values.put("createdAt", now.atOffset(ZoneOffset.UTC));
+        values.put("appointmentCode", "LOAD-" + appointmentId);
+        values.put("qrCodeUrl", "/qr/" + appointmentId);
+        values.put("verificationCode", "1-2-3");
+        values.put("verificationCodeExpiresAt", now.plusSeconds(86_400).atOffset(ZoneOffset.UTC));
+        values.put("historyId", UUID.randomUUID());
+        values.put("historyReason", "Appointment created");
+
+        try (PreparedStatement statement = connection.prepareStatement(bookingSql)) {
+            for (int i = 0; i < bookingParameters.size(); i++) {
+                statement.setObject(i + 1, values.get(bookingParameters.get(i)));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static LocalTime slotTime(int slot) {
+        return FIRST_SLOT.plusSeconds(slot);
+    }
+
+    private static long runConcurrently(int attempts, Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(attempts);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                try (Connection connection = connect()) {
+                    start.await();
+                    while (remaining.getAndDecrement() > 0) {
+                        attempt.run(connection);
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + schema);
+        }
+        return connection;
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void report(String scenario, int booked, int rejected, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[booking load] %s: %d threads, %d attempts over %d slots -> %d booked, %d rejected, "
+                + "%.0f attempts/s, %.2f ms/attempt%n",
+            scenario, THREADS, booked + rejected, SLOTS, booked, rejected,
+            (booked + rejected) / seconds, elapsedNanos / 1_000_000.0 / Math.max(1, booked + rejected) * THREADS);
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        void run(Connection connection) throws SQLException;
+    }
+}
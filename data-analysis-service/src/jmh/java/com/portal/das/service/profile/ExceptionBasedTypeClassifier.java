@@ -0,0 +1,102 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.InferredType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parse-and-catch classifier TypeInferenceService used before its character scanner,
+ * kept as the benchmark baseline
+ */
+final class ExceptionBasedTypeClassifier {
+
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy")
+    );
+
+    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+    );
+
+    private static final Set<String> BOOLEAN_TRUE = Set.of("true", "yes", "1", "t", "y");
+    private static final Set<String> BOOLEAN_FALSE = Set.of("false", "no", "0", "f", "n");
+
+    InferredType inferSingleValue(String value) {
+        if (value == null || value.trim().isEmpty()
+                || value.equalsIgnoreCase("null") || value.equalsIgnoreCase("na")) {
+            return InferredType.STRING;
+        }
+        if (isBoolean(value)) {
+            return InferredType.BOOLEAN;
+        }
+        if (isInteger(value)) {
+            return InferredType.INTEGER;
+        }
+        if (isDecimal(value)) {
+            return InferredType.DECIMAL;
+        }
+        if (parses(value.trim(), DATETIME_FORMATTERS, true)) {
+            return InferredType.DATETIME;
+        }
+        if (parses(value.trim(), DATE_FORMATTERS, false)) {
+            return InferredType.DATE;
+        }
+        return InferredType.STRING;
+    }
+
+    private static boolean isBoolean(String value) {
+        String lower = value.toLowerCase().trim();
+        return BOOLEAN_TRUE.contains(lower) || BOOLEAN_FALSE.contains(lower);
+    }
+
+    private static boolean isInteger(String value) {
+        try {
+            Long.parseLong(value.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDecimal(String value) {
+        try {
+            Double.parseDouble(value.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean parses(String trimmed, List<DateTimeFormatter> formatters, boolean withTime) {
+        for (DateTimeFormatter formatter : formatters) {
+            try {
+                if (withTime) {
+                    LocalDateTime.parse(trimmed, formatter);
+                } else {
+                    LocalDate.parse(trimmed, formatter);
+                }
+                return true;
+            } catch (DateTimeParseException e) {
+                // Try next formatter
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.portal.das.service.profile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-column cost of TypeInferenceService.inferSingleValue against the former parse-and-catch
+ * classifier, on columns shaped like the uploads the service sees
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeInferenceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final String[] NAMES = {"Amina Njoroge", "John Smith", "Fatuma Ali", "Peter Otieno", "Grace Wanjiru"};
+    private static final String[] CITIES = {"Nairobi", "Mombasa", "Kisumu", "Nakuru", "Eldoret"};
+
+    @Param({"text", "integer", "decimal", "date", "datetime", "mixed"})
+    public String column;
+
+    private final TypeInferenceService scanner = new TypeInferenceService();
+    private final ExceptionBasedTypeClassifier exceptions = new ExceptionBasedTypeClassifier();
+    private String[] values;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        values = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            // About 3% missing cells, as exported spreadsheets usually have
+            int roll = random.nextInt(100);
+            if (roll < 2) {
+                values[i] = "";
+                continue;
+            }
+            if (roll < 3) {
+                values[i] = "NA";
+                continue;
+            }
+            values[i] = switch (column) {
+                case "text" -> random.nextBoolean()
+                        ? NAMES[random.nextInt(NAMES.length)]
+                        : CITIES[random.nextInt(CITIES.length)];
+                case "integer" -> Integer.toString(random.nextInt(100_000));
+                case "decimal" -> String.format(Locale.ROOT, "%.2f", random.nextDouble() * 1000);
+                // dd/MM/yyyy is not the first date format tried
+                case "date" -> String.format(Locale.ROOT, "%02d/%02d/%d",
+                        1 + random.nextInt(28), 1 + random.nextInt(12), 2015 + random.nextInt(10));
+                case "datetime" -> String.format(Locale.ROOT, "2024-%02d-%02d %02d:%02d:%02d",
+                        1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60));
+                default -> mixedValue(random);
+            };
+        }
+    }
+
+    private static String mixedValue(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> NAMES[random.nextInt(NAMES.length)];
+            case 1 -> Integer.toString(random.nextInt(100_000));
+            case 2 -> String.format(Locale.ROOT, "%.2f", random.nextDouble() * 1000);
+            case 3 -> String.format(Locale.ROOT, "2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+            default -> random.nextBoolean() ? "yes" : "no";
+        };
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(scanner.inferSingleValue(value));
+        }
+    }
+
+    @Benchmark
+    public void exceptions(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(exceptions.inferSingleValue(value));
+        }
+    }
+}
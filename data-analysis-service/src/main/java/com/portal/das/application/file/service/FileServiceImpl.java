@@ -8,6 +8,7 @@ import com.portal.das.domain.ports.in.file.LoadFileUseCase;
 import com.portal.das.domain.ports.in.file.UploadFileUseCase;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarStore;
 import com.portal.das.util.CsvUtils;
 import com.sharedlib.core.context.CurrentUserContext;
 import com.sharedlib.core.exception.BadRequestException;
@@ -37,6 +38,7 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
 
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
+    private final ColumnarStore columnarStore;
     private final UploadFileValidator uploadFileValidator;
     private final MessageResolver messageResolver;
 
@@ -124,6 +126,13 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
             uploadedFile.setColumnCount(0);
         }
 
+        // Typed per-column copy for the analyses; without it they parse the CSV
+        try {
+            columnarStore.write(storedFilename, storedPath);
+        } catch (Exception e) {
+            log.warn("Failed to write columnar sidecar for {}: {}", storedFilename, e.getMessage());
+        }
+
         // Save to database
         return fileCrudPort.save(uploadedFile);
     }
@@ -226,6 +235,7 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
             if (!deleted) {
                 log.warn("Failed to delete physical file: {}", file.getStoredFilename());
             }
+            columnarStore.delete(file.getStoredFilename());
         }
         
         // Delete from database
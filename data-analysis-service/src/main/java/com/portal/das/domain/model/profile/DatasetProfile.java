@@ -1,5 +1,6 @@
 package com.portal.das.domain.model.profile;
 
+import com.portal.das.domain.model.ColumnSummary;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -78,6 +79,30 @@ public class DatasetProfile {
          * Sample values from the column
          */
         private List<String> examples;
+
+        /**
+         * Smallest, largest, mean and population standard deviation of the numeric values
+         * (null when the column has none)
+         */
+        private Double min;
+        private Double max;
+        private Double mean;
+        private Double std;
+
+        /**
+         * Estimated number of distinct non-null values (HyperLogLog, about 2% error)
+         */
+        private Long approxDistinctCount;
+
+        /**
+         * Most frequent non-null values; counts are lower bounds
+         */
+        private List<ColumnSummary.ValueCount> topValues;
+
+        /**
+         * Uniform random sample of non-null values
+         */
+        private List<String> sampleValues;
     }
 }
 
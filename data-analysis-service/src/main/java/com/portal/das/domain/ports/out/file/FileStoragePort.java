@@ -1,6 +1,8 @@
 package com.portal.das.domain.ports.out.file;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 
 /**
@@ -48,5 +50,33 @@ public interface FileStoragePort {
      * @return Full path to file
      */
     Path getPath(String filename);
-}
 
+    /**
+     * Get the size of a stored file
+     *
+     * @param filename Stored filename
+     * @return Size in bytes
+     */
+    long size(String filename);
+
+    /**
+     * Copy a byte range of a stored file to a channel
+     * Implementations should avoid copying through the Java heap where the platform allows
+     *
+     * @param filename Stored filename
+     * @param position First byte to copy
+     * @param count Number of bytes to copy
+     * @param target Destination channel
+     * @return Number of bytes copied
+     */
+    long transferTo(String filename, long position, long count, WritableByteChannel target);
+
+    /**
+     * Get a read-only, random-access view of a stored file
+     * The view is backed by the file (memory-mapped), not by a heap copy of its content
+     *
+     * @param filename Stored filename
+     * @return Read-only buffer over the whole file
+     */
+    ByteBuffer map(String filename);
+}
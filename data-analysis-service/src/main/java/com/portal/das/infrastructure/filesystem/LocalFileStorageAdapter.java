@@ -0,0 +1,177 @@
+package com.portal.das.infrastructure.filesystem;
+
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Filesystem adapter for FileStoragePort, rooted at storage.root
+ *
+ * Writes go through a FileChannel into a temporary file that is fsynced and then atomically moved
+ * into place, so a stored file is either complete and durable or absent. Reads stay off the Java
+ * heap: transferTo uses FileChannel.transferTo (sendfile on Linux when the target is a socket or
+ * file) and map returns a read-only memory-mapped view.
+ */
+@Slf4j
+@Component
+public class LocalFileStorageAdapter implements FileStoragePort {
+
+    private static final String TEMP_SUFFIX = ".part";
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Path root;
+
+    public LocalFileStorageAdapter(@Value("${storage.root:storage/}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create storage root " + this.root, e);
+        }
+    }
+
+    @Override
+    public Path store(InputStream inputStream, String filename) {
+        Path target = getPath(filename);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+            try (ReadableByteChannel source = Channels.newChannel(inputStream);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                // A channel over a stream only reports 0 at end of stream
+                while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                    position += transferred;
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(target.getParent());
+            log.debug("Stored {} ({} bytes)", target, Files.size(target));
+            return target;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to store file " + filename, e);
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String filename) {
+        try {
+            return Channels.newInputStream(FileChannel.open(existing(filename), StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file " + filename, e);
+        }
+    }
+
+    @Override
+    public boolean delete(String filename) {
+        try {
+            return Files.deleteIfExists(getPath(filename));
+        } catch (IOException e) {
+            log.warn("Failed to delete stored file {}: {}", filename, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean exists(String filename) {
+        return Files.isRegularFile(getPath(filename));
+    }
+
+    @Override
+    public Path getPath(String filename) {
+        Path path = root.resolve(filename).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new BadRequestException("Invalid storage filename: " + filename);
+        }
+        return path;
+    }
+
+    @Override
+    public long size(String filename) {
+        try {
+            return Files.size(existing(filename));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read size of file " + filename, e);
+        }
+    }
+
+    @Override
+    public long transferTo(String filename, long position, long count, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(existing(filename), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long offset = position;
+            while (offset < end) {
+                long transferred = channel.transferTo(offset, end - offset, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                offset += transferred;
+            }
+            return offset - position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to transfer file " + filename, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer map(String filename) {
+        try (FileChannel channel = FileChannel.open(existing(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new BadRequestException("File too large to map in one view: " + filename);
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map file " + filename, e);
+        }
+    }
+
+    private Path existing(String filename) {
+        Path path = getPath(filename);
+        if (!Files.isRegularFile(path)) {
+            throw new NotFoundException("Stored file not found: " + filename);
+        }
+        return path;
+    }
+
+    /**
+     * Persist the directory entry of a renamed file; not supported on every platform
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.trace("Directory sync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.portal.das.service.columnar;
+
+import com.sharedlib.core.exception.BadRequestException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read access to a columnar sidecar
+ * Each read maps only the requested column's file; other columns are never touched
+ */
+public class ColumnarDataset {
+
+    private final Path directory;
+    private final ColumnarFooter footer;
+
+    ColumnarDataset(Path directory, ColumnarFooter footer) {
+        this.directory = directory;
+        this.footer = footer;
+    }
+
+    public ColumnarFooter footer() {
+        return footer;
+    }
+
+    public int rowCount() {
+        return footer.getRowCount();
+    }
+
+    /**
+     * Column metadata by header name (first match)
+     */
+    public Optional<ColumnarFooter.Column> column(String name) {
+        return footer.getColumns().stream()
+                .filter(column -> column.getName().equals(name))
+                .findFirst();
+    }
+
+    /**
+     * Numeric view of a column
+     *
+     * @param values parsed value per row (0 where not numeric)
+     * @param valid  rows whose value parsed as a number
+     */
+    public record NumericColumn(double[] values, BitSet valid) {
+    }
+
+    /**
+     * Values of a column as the CSV text; empty cells are ""
+     *
+     * @throws BadRequestException when the column does not exist
+     */
+    public List<String> readStrings(String name) {
+        ColumnarFooter.Column column = require(name);
+        int rows = rowCount();
+        String[] values = new String[rows];
+        ColumnData data = read(column);
+        switch (column.getEncoding()) {
+            case LONG -> {
+                for (int r = 0; r < rows; r++) {
+                    values[r] = data.isNull(r) ? "" : Long.toString(data.values.getLong(r * 8));
+                }
+            }
+            case DOUBLE -> {
+                for (int r = 0; r < rows; r++) {
+                    values[r] = data.isNull(r) ? "" : Double.toString(data.values.getDouble(r * 8));
+                }
+            }
+            case STRING -> {
+                String[] dictionary = data.dictionary();
+                for (int r = 0; r < rows; r++) {
+                    int code = data.values.getInt(r * 4);
+                    values[r] = code < 0 ? "" : dictionary[code];
+                }
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Values of a column as numbers, parsed like Double.parseDouble(value.trim())
+     * For STRING columns each distinct value is parsed once
+     *
+     * @throws BadRequestException when the column does not exist
+     */
+    public NumericColumn readNumbers(String name) {
+        ColumnarFooter.Column column = require(name);
+        int rows = rowCount();
+        double[] values = new double[rows];
+        BitSet valid = new BitSet(rows);
+        ColumnData data = read(column);
+        switch (column.getEncoding()) {
+            case LONG -> {
+                for (int r = 0; r < rows; r++) {
+                    if (!data.isNull(r)) {
+                        values[r] = data.values.getLong(r * 8);
+                        valid.set(r);
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (int r = 0; r < rows; r++) {
+                    if (!data.isNull(r)) {
+                        values[r] = data.values.getDouble(r * 8);
+                        valid.set(r);
+                    }
+                }
+            }
+            case STRING -> {
+                String[] dictionary = data.dictionary();
+                double[] parsed = new double[dictionary.length];
+                boolean[] numeric = new boolean[dictionary.length];
+                for (int code = 0; code < dictionary.length; code++) {
+                    try {
+                        parsed[code] = Double.parseDouble(dictionary[code].trim());
+                        numeric[code] = true;
+                    } catch (NumberFormatException e) {
+                        // Not a number
+                    }
+                }
+                for (int r = 0; r < rows; r++) {
+                    int code = data.values.getInt(r * 4);
+                    if (code >= 0 && numeric[code]) {
+                        values[r] = parsed[code];
+                        valid.set(r);
+                    }
+                }
+            }
+        }
+        return new NumericColumn(values, valid);
+    }
+
+    private ColumnarFooter.Column require(String name) {
+        return column(name).orElseThrow(() -> new BadRequestException("Column not found: " + name));
+    }
+
+    private ColumnData read(ColumnarFooter.Column column) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(column.getFile()), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ColumnData(column.getEncoding(), rowCount(), buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read column " + column.getName(), e);
+        }
+    }
+
+    /**
+     * Sections of one mapped column file
+     */
+    private static final class ColumnData {
+
+        private final ByteBuffer values;
+        private final ByteBuffer file;
+        private final long[] nullBits;
+        private final int dictionaryOffset;
+
+        ColumnData(ColumnarFooter.Encoding encoding, int rows, ByteBuffer file) {
+            this.file = file;
+            int valuesLength = rows * encoding.width();
+            this.values = file.slice(0, valuesLength);
+            int words = (rows + 63) >>> 6;
+            this.nullBits = new long[words];
+            file.slice(valuesLength, words * 8).asLongBuffer().get(nullBits);
+            this.dictionaryOffset = valuesLength + words * 8;
+        }
+
+        boolean isNull(int row) {
+            return (nullBits[row >>> 6] & (1L << (row & 63))) != 0;
+        }
+
+        String[] dictionary() {
+            ByteBuffer in = file.slice(dictionaryOffset, file.limit() - dictionaryOffset);
+            String[] dictionary = new String[in.getInt()];
+            for (int code = 0; code < dictionary.length; code++) {
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                dictionary[code] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return dictionary;
+        }
+    }
+}
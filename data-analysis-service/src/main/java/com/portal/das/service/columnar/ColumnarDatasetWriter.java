@@ -0,0 +1,325 @@
+package com.portal.das.service.columnar;
+
+import com.portal.das.domain.model.InferredType;
+import com.portal.das.service.columnar.ColumnarFooter.Encoding;
+import com.portal.das.service.profile.ColumnProfileAccumulator;
+import com.portal.das.service.profile.TypeInferenceService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the columnar sidecar of a stored CSV file
+ *
+ * Pass one decides each column's encoding: LONG when every non-empty value is a canonical integer,
+ * DOUBLE when every one is a canonical Double.toString() form, STRING (dictionary) otherwise. Only
+ * canonical forms are stored as numbers, so turning a value back into text gives exactly the CSV
+ * text. Pass two streams every column into its own file:
+ *
+ * <pre>
+ * values      rowCount x width   (empty cells hold 0 / -1)
+ * null bitmap ceil(rowCount / 64) longs, bit set = empty cell
+ * dictionary  STRING only: int size, then per entry int byteLength + UTF-8 bytes
+ * </pre>
+ *
+ * The CSV is parsed exactly like the analysis services parse it, so both see the same values.
+ * Every value also goes through a ColumnProfileAccumulator, so the footer carries the full column
+ * profile and profiling a stored dataset reads no values.
+ */
+class ColumnarDatasetWriter {
+
+    private static final int EXAMPLE_COUNT = 5;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TypeInferenceService typeInferenceService;
+
+    ColumnarDatasetWriter(TypeInferenceService typeInferenceService) {
+        this.typeInferenceService = typeInferenceService;
+    }
+
+    /**
+     * Write one file per column of csv into directory
+     *
+     * @return footer describing the written columns
+     */
+    ColumnarFooter write(Path csv, Path directory) throws IOException {
+        Encoding[] encodings = chooseEncodings(csv);
+
+        try (CSVParser parser = open(csv)) {
+            List<String> headers = parser.getHeaderNames();
+            ColumnWriter[] writers = new ColumnWriter[headers.size()];
+            try {
+                for (int c = 0; c < writers.length; c++) {
+                    writers[c] = new ColumnWriter(headers.get(c), c, encodings[c], directory);
+                }
+                int rowCount = 0;
+                for (CSVRecord record : parser) {
+                    for (int c = 0; c < writers.length; c++) {
+                        writers[c].accept(value(record, c));
+                    }
+                    rowCount++;
+                }
+
+                List<ColumnarFooter.Column> columns = new ArrayList<>(writers.length);
+                for (ColumnWriter writer : writers) {
+                    columns.add(writer.finish());
+                }
+                return ColumnarFooter.builder()
+                        .version(ColumnarFooter.CURRENT_VERSION)
+                        .rowCount(rowCount)
+                        .columns(columns)
+                        .build();
+            } finally {
+                for (ColumnWriter writer : writers) {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private Encoding[] chooseEncodings(Path csv) throws IOException {
+        try (CSVParser parser = open(csv)) {
+            int columnCount = parser.getHeaderNames().size();
+            boolean[] allLong = new boolean[columnCount];
+            boolean[] allDouble = new boolean[columnCount];
+            Arrays.fill(allLong, true);
+            Arrays.fill(allDouble, true);
+
+            for (CSVRecord record : parser) {
+                for (int c = 0; c < columnCount; c++) {
+                    if (!allLong[c] && !allDouble[c]) {
+                        continue;
+                    }
+                    String value = value(record, c);
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    allLong[c] = allLong[c] && isCanonicalLong(value);
+                    allDouble[c] = allDouble[c] && isCanonicalDouble(value);
+                }
+            }
+
+            Encoding[] encodings = new Encoding[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                encodings[c] = allLong[c] ? Encoding.LONG : allDouble[c] ? Encoding.DOUBLE : Encoding.STRING;
+            }
+            return encodings;
+        }
+    }
+
+    private static CSVParser open(Path csv) throws IOException {
+        return CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build()
+                .parse(new InputStreamReader(Files.newInputStream(csv)));
+    }
+
+    private static String value(CSVRecord record, int column) {
+        return column < record.size() ? record.get(column) : "";
+    }
+
+    /**
+     * Whether value is exactly Long.toString() of some long
+     */
+    static boolean isCanonicalLong(String value) {
+        int length = value.length();
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > 19) {
+            return false;
+        }
+        if (value.charAt(start) == '0') {
+            return length == 1;
+        }
+        for (int i = start; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        if (length - start < 19) {
+            return true;
+        }
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether value is exactly Double.toString() of some double
+     */
+    static boolean isCanonicalDouble(String value) {
+        char first = value.charAt(0);
+        if (!(first >= '0' && first <= '9') && first != '-' && first != 'N' && first != 'I') {
+            return false;
+        }
+        try {
+            return Double.toString(Double.parseDouble(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Streams one column to its file and collects its statistics
+     */
+    private final class ColumnWriter {
+
+        private final String name;
+        private final int index;
+        private final Encoding encoding;
+        private final String file;
+        private final DataOutputStream out;
+
+        private long[] nullBits = new long[16];
+        private int row;
+        private int emptyCount;
+        private final Map<InferredType, Integer> typeCounts = new EnumMap<>(InferredType.class);
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private final List<String> examples = new ArrayList<>(EXAMPLE_COUNT);
+        private final ColumnProfileAccumulator profile;
+
+        // STRING columns
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] occurrences = new int[16];
+
+        ColumnWriter(String name, int index, Encoding encoding, Path directory) throws IOException {
+            this.name = name;
+            this.index = index;
+            this.encoding = encoding;
+            this.file = "col-" + index + ".bin";
+            this.profile = new ColumnProfileAccumulator(typeInferenceService, index);
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(directory.resolve(file)), BUFFER_SIZE));
+        }
+
+        void accept(String value) throws IOException {
+            profile.accept(value);
+            if (value.isEmpty()) {
+                markNull();
+                switch (encoding) {
+                    case LONG -> out.writeLong(0);
+                    case DOUBLE -> out.writeDouble(0);
+                    case STRING -> out.writeInt(-1);
+                }
+            } else {
+                switch (encoding) {
+                    case LONG -> {
+                        long number = Long.parseLong(value);
+                        out.writeLong(number);
+                        track(number);
+                        // "0" and "1" read as booleans first, like TypeInferenceService.inferSingleValue
+                        typeCounts.merge(number == 0 || number == 1 ? InferredType.BOOLEAN : InferredType.INTEGER,
+                                1, Integer::sum);
+                    }
+                    case DOUBLE -> {
+                        double number = Double.parseDouble(value);
+                        out.writeDouble(number);
+                        if (!Double.isNaN(number)) {
+                            track(number);
+                        }
+                        typeCounts.merge(InferredType.DECIMAL, 1, Integer::sum);
+                    }
+                    case STRING -> {
+                        Integer code = codes.get(value);
+                        if (code == null) {
+                            code = dictionary.size();
+                            codes.put(value, code);
+                            dictionary.add(value);
+                            if (code == occurrences.length) {
+                                occurrences = Arrays.copyOf(occurrences, code * 2);
+                            }
+                        }
+                        occurrences[code]++;
+                        out.writeInt(code);
+                    }
+                }
+                if (examples.size() < EXAMPLE_COUNT && !value.trim().isEmpty()) {
+                    examples.add(value);
+                }
+            }
+            row++;
+        }
+
+        private void markNull() {
+            int word = row >>> 6;
+            if (word >= nullBits.length) {
+                nullBits = Arrays.copyOf(nullBits, Math.max(word + 1, nullBits.length * 2));
+            }
+            nullBits[word] |= 1L << (row & 63);
+            emptyCount++;
+        }
+
+        private void track(double number) {
+            min = Math.min(min, number);
+            max = Math.max(max, number);
+        }
+
+        ColumnarFooter.Column finish() throws IOException {
+            int words = (row + 63) >>> 6;
+            for (int w = 0; w < words; w++) {
+                out.writeLong(w < nullBits.length ? nullBits[w] : 0L);
+            }
+
+            int nullCount = emptyCount;
+            if (encoding == Encoding.STRING) {
+                out.writeInt(dictionary.size());
+                for (int code = 0; code < dictionary.size(); code++) {
+                    String entry = dictionary.get(code);
+                    byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+
+                    // Inference runs once per distinct value, weighted by its occurrences
+                    if (typeInferenceService.isNullOrEmpty(entry)) {
+                        nullCount += occurrences[code];
+                    } else {
+                        typeCounts.merge(typeInferenceService.inferSingleValue(entry), occurrences[code], Integer::sum);
+                    }
+                }
+            }
+            out.flush();
+
+            boolean hasRange = encoding != Encoding.STRING && min <= max;
+            return ColumnarFooter.Column.builder()
+                    .name(name)
+                    .index(index)
+                    .encoding(encoding)
+                    .file(file)
+                    .emptyCount(emptyCount)
+                    .nullCount(nullCount)
+                    .typeCounts(typeCounts)
+                    .min(hasRange ? min : null)
+                    .max(hasRange ? max : null)
+                    .distinctCount(encoding == Encoding.STRING ? dictionary.size() : null)
+                    .examples(examples)
+                    .profile(profile.toProfile(name, index))
+                    .build();
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+    }
+}
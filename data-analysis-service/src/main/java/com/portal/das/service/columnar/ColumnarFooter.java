@@ -0,0 +1,153 @@
+package com.portal.das.service.columnar;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.portal.das.domain.model.InferredType;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.service.profile.TypeInferenceService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Footer of a columnar sidecar (footer.json)
+ * Describes every column file and carries the statistics computed while writing it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnarFooter {
+
+    public static final int CURRENT_VERSION = 1;
+
+    private int version;
+
+    /**
+     * Number of data rows (header excluded)
+     */
+    private int rowCount;
+
+    /**
+     * Columns in header order
+     */
+    private List<Column> columns;
+
+    /**
+     * Physical layout of a column file
+     */
+    public enum Encoding {
+        /** 8-byte longs; values are canonical integers */
+        LONG(8),
+        /** 8-byte doubles; values are canonical Double.toString() forms */
+        DOUBLE(8),
+        /** 4-byte dictionary codes followed by the dictionary */
+        STRING(4);
+
+        private final int width;
+
+        Encoding(int width) {
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+    }
+
+    /**
+     * One column
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Column {
+        private String name;
+        private int index;
+        private Encoding encoding;
+
+        /**
+         * Column file name inside the sidecar directory
+         */
+        private String file;
+
+        /**
+         * Empty cells (set in the null bitmap)
+         */
+        private int emptyCount;
+
+        /**
+         * Values TypeInferenceService counts as null (empty, blank, "null", "na")
+         */
+        private int nullCount;
+
+        /**
+         * Non-null values per inferred type
+         */
+        private Map<InferredType, Integer> typeCounts;
+
+        /**
+         * Smallest and largest value of LONG and DOUBLE columns (null otherwise or when empty)
+         */
+        private Double min;
+        private Double max;
+
+        /**
+         * Dictionary size of STRING columns
+         */
+        private Integer distinctCount;
+
+        /**
+         * First non-blank values
+         */
+        private List<String> examples;
+
+        /**
+         * Column profile with moments and sketches, computed like StreamingDatasetProfiler does
+         * (null in footers written before it was added)
+         */
+        private DatasetProfile.ColumnProfile profile;
+
+        /**
+         * The result TypeInferenceService.inferType would give for this column's values
+         */
+        @JsonIgnore
+        public TypeInferenceService.TypeInferenceResult toInference(int rowCount) {
+            if (rowCount == 0) {
+                return TypeInferenceService.TypeInferenceResult.builder()
+                        .dominantType(InferredType.STRING)
+                        .confidence(0.0)
+                        .nullCount(0)
+                        .nonNullCount(0)
+                        .invalidTypeCount(0)
+                        .build();
+            }
+
+            // Same tie-breaking as inferType: first type in enum order with the highest count
+            Map<InferredType, Integer> ordered = new EnumMap<>(InferredType.class);
+            ordered.putAll(typeCounts);
+            InferredType dominantType = InferredType.STRING;
+            int maxCount = 0;
+            for (Map.Entry<InferredType, Integer> entry : ordered.entrySet()) {
+                if (entry.getValue() > maxCount) {
+                    maxCount = entry.getValue();
+                    dominantType = entry.getKey();
+                }
+            }
+
+            int nonNullCount = rowCount - nullCount;
+            return TypeInferenceService.TypeInferenceResult.builder()
+                    .dominantType(dominantType)
+                    .confidence(nonNullCount > 0 ? (double) maxCount / nonNullCount : 0.0)
+                    .nullCount(nullCount)
+                    .nonNullCount(nonNullCount)
+                    .invalidTypeCount(nonNullCount - maxCount)
+                    .build();
+        }
+    }
+}
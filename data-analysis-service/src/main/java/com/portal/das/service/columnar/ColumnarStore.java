@@ -0,0 +1,141 @@
+package com.portal.das.service.columnar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.profile.TypeInferenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Typed columnar sidecars of stored CSV files
+ *
+ * At upload the CSV is additionally written as one binary file per column plus footer.json
+ * (see ColumnarDatasetWriter) in the directory {storedFilename without .csv}.columnar next to it.
+ * Analyses open the sidecar and read only the columns they need; files uploaded before sidecars
+ * existed have none and callers fall back to parsing the CSV.
+ */
+@Slf4j
+@Service
+public class ColumnarStore {
+
+    private static final String SUFFIX = ".columnar";
+    private static final String FOOTER = "footer.json";
+
+    private final FileStoragePort fileStoragePort;
+    private final ObjectMapper objectMapper;
+    private final ColumnarDatasetWriter writer;
+
+    public ColumnarStore(FileStoragePort fileStoragePort,
+                         ObjectMapper objectMapper,
+                         TypeInferenceService typeInferenceService) {
+        this.fileStoragePort = fileStoragePort;
+        this.objectMapper = objectMapper;
+        this.writer = new ColumnarDatasetWriter(typeInferenceService);
+    }
+
+    /**
+     * Write the sidecar of a stored CSV file, replacing any previous one
+     * The footer is written last into a temporary directory that is then moved into place,
+     * so readers never see a half-written sidecar
+     *
+     * @param storedFilename Stored CSV filename
+     * @param csv Path of the stored CSV
+     * @return the written footer
+     */
+    public ColumnarFooter write(String storedFilename, Path csv) throws IOException {
+        Path target = directoryOf(storedFilename);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        deleteRecursively(temp);
+        Files.createDirectories(temp);
+        try {
+            ColumnarFooter footer = writer.write(csv, temp);
+            objectMapper.writeValue(temp.resolve(FOOTER).toFile(), footer);
+            deleteRecursively(target);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote columnar sidecar for {}: {} rows, {} columns",
+                    storedFilename, footer.getRowCount(), footer.getColumns().size());
+            return footer;
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Open the sidecar of a file, if it has a readable one
+     */
+    public Optional<ColumnarDataset> open(UploadedFile file) {
+        if (file.getStoredFilename() == null) {
+            return Optional.empty();
+        }
+        Path directory = directoryOf(file.getStoredFilename());
+        Path footerPath = directory.resolve(FOOTER);
+        if (!Files.isRegularFile(footerPath)) {
+            return Optional.empty();
+        }
+        try {
+            ColumnarFooter footer = objectMapper.readValue(footerPath.toFile(), ColumnarFooter.class);
+            if (footer.getVersion() != ColumnarFooter.CURRENT_VERSION) {
+                return Optional.empty();
+            }
+            return Optional.of(new ColumnarDataset(directory, footer));
+        } catch (IOException e) {
+            log.warn("Unreadable columnar footer for {}, falling back to CSV: {}",
+                    file.getStoredFilename(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Delete the sidecar of a stored file
+     *
+     * @return true if a sidecar existed and was deleted
+     */
+    public boolean delete(String storedFilename) {
+        Path directory = directoryOf(storedFilename);
+        if (!Files.exists(directory)) {
+            return false;
+        }
+        try {
+            deleteRecursively(directory);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete columnar sidecar {}: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path directoryOf(String storedFilename) {
+        String base = storedFilename.endsWith(".csv")
+                ? storedFilename.substring(0, storedFilename.length() - 4)
+                : storedFilename;
+        return fileStoragePort.getPath(base + SUFFIX);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.portal.das.domain.model.*;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarDataset;
+import com.portal.das.service.columnar.ColumnarStore;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +32,7 @@ public class ForecastService {
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
+    private final ColumnarStore columnarStore;
 
     /**
      * Generate forecast preview for a dataset
@@ -96,6 +99,11 @@ public class ForecastService {
      * Read time series data from file
      */
     private List<ForecastResult.DataPoint> readTimeSeries(UploadedFile file, ForecastRequest request) {
+        Optional<ColumnarDataset> columnar = columnarStore.open(file);
+        if (columnar.isPresent()) {
+            return readTimeSeries(columnar.get(), request);
+        }
+
         List<ForecastResult.DataPoint> points = new ArrayList<>();
 
         try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
@@ -128,6 +136,24 @@ public class ForecastService {
         return points;
     }
 
+    /**
+     * Read time series data from the columnar sidecar; only the date and value columns are read
+     */
+    private List<ForecastResult.DataPoint> readTimeSeries(ColumnarDataset dataset, ForecastRequest request) {
+        List<String> times = dataset.readStrings(request.getDateColumn());
+        ColumnarDataset.NumericColumn values = dataset.readNumbers(request.getValueColumn());
+
+        BitSet valid = values.valid();
+        List<ForecastResult.DataPoint> points = new ArrayList<>(valid.cardinality());
+        for (int row = valid.nextSetBit(0); row >= 0; row = valid.nextSetBit(row + 1)) {
+            points.add(ForecastResult.DataPoint.builder()
+                    .time(times.get(row))
+                    .value(values.values()[row])
+                    .build());
+        }
+        return points;
+    }
+
     /**
      * Generate forecast using specified method
      */
@@ -1,25 +1,35 @@
 package com.portal.das.service.job;
 
 import com.portal.das.domain.model.Job;
+import com.sharedlib.core.context.CurrentUserContext;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Service for async job management
  * In-memory registry with database persistence
+ * Jobs run on the shared taskExecutor (see AsyncConfig)
  */
 @Slf4j
 @Service
 public class JobService {
 
     private final Map<UUID, Job> jobRegistry = new ConcurrentHashMap<>();
+    private final Executor taskExecutor;
+
+    public JobService(@Qualifier("taskExecutor") Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
 
     /**
      * Submit a job for async execution
@@ -30,6 +40,25 @@ public class JobService {
      * @return Job ID
      */
     public UUID submitJob(String jobType, Runnable task, Consumer<Integer> progressCallback) {
+        return submitJob(jobType, progress -> {
+            task.run();
+            return null;
+        }, progressCallback);
+    }
+
+    /**
+     * Submit a job that reports its own progress and produces a result
+     *
+     * @param jobType Job type
+     * @param task Receives a progress reporter (0-100); its return value becomes the job result
+     * @return Job ID
+     */
+    public UUID submitJob(String jobType, Function<Consumer<Integer>, String> task) {
+        return submitJob(jobType, task, null);
+    }
+
+    private UUID submitJob(String jobType, Function<Consumer<Integer>, String> task,
+                           Consumer<Integer> progressCallback) {
         UUID jobId = UUID.randomUUID();
         
         Job job = Job.builder()
@@ -37,13 +66,28 @@ public class JobService {
                 .jobType(jobType)
                 .status(Job.JobStatus.PENDING)
                 .progress(0)
+                .createdBy(CurrentUserContext.get() != null ? CurrentUserContext.get().userId() : null)
                 .createdAt(Instant.now())
                 .build();
 
         jobRegistry.put(jobId, job);
 
-        // Execute async
-        executeAsync(jobId, task, progressCallback);
+        Consumer<Integer> progress = value -> {
+            updateProgress(jobId, value);
+            if (progressCallback != null) {
+                progressCallback.accept(value);
+            }
+        };
+
+        // Execute async; a full queue fails the job instead of leaving it PENDING for pollers
+        try {
+            taskExecutor.execute(() -> execute(jobId, task, progress));
+        } catch (RejectedExecutionException e) {
+            log.warn("Job {} of type {} rejected, executor is saturated", jobId, jobType);
+            job.setStatus(Job.JobStatus.FAILED);
+            job.setErrorMessage("Too many jobs are queued, please try again later");
+            job.setCompletedAt(Instant.now());
+        }
 
         return jobId;
     }
@@ -72,10 +116,9 @@ public class JobService {
     }
 
     /**
-     * Execute job asynchronously
+     * Run a job on the executor thread
      */
-    @Async
-    protected void executeAsync(UUID jobId, Runnable task, Consumer<Integer> progressCallback) {
+    private void execute(UUID jobId, Function<Consumer<Integer>, String> task, Consumer<Integer> progress) {
         Job job = jobRegistry.get(jobId);
         if (job == null) return;
 
@@ -83,11 +126,11 @@ public class JobService {
             job.setStatus(Job.JobStatus.RUNNING);
             job.setStartedAt(Instant.now());
 
-            task.run();
+            job.setResult(task.apply(progress));
 
-            job.setStatus(Job.JobStatus.SUCCEEDED);
-            job.setProgress(100);
+            progress.accept(100);
             job.setCompletedAt(Instant.now());
+            job.setStatus(Job.JobStatus.SUCCEEDED);
 
         } catch (Exception e) {
             log.error("Job failed: {}", jobId, e);
@@ -97,4 +140,3 @@ public class JobService {
         }
     }
 }
-
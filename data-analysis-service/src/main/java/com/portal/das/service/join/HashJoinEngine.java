@@ -0,0 +1,357 @@
+package com.portal.das.service.join;
+
+import com.portal.das.domain.model.JoinRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hash join of two CSV files with bounded memory
+ *
+ * The smaller file (by size) is the build side: it is loaded into a hash table on the join key
+ * and the other file is streamed against it. When the table would exceed the memory budget,
+ * both files are instead split by key hash into spill partitions (grace hash join) and each
+ * partition pair is joined on its own; a partition that is still too large is split again with
+ * a different hash, up to MAX_DEPTH levels. Keys compare as exact strings, so empty keys match
+ * each other like in pandas merge. Output rows are streamed to the result CSV in no particular
+ * order.
+ *
+ * Not thread-safe; use one instance per join.
+ */
+@Slf4j
+class HashJoinEngine {
+
+    static final int MAX_DEPTH = 3;
+
+    /**
+     * Stored files record their row count as an int
+     */
+    static final long MAX_OUTPUT_ROWS = Integer.MAX_VALUE;
+    private static final int PROGRESS_EVERY = 10_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Rough heap cost of one cell (String + byte[] headers) and of one row (array + list slot)
+     */
+    private static final int CELL_OVERHEAD = 40;
+    private static final int ROW_OVERHEAD = 32;
+    private static final int BUCKET_OVERHEAD = 96;
+
+    /**
+     * One side of a join: the CSV to read and where its key columns are
+     *
+     * @param header whether the file starts with a header row (spill files do not)
+     * @param rows   expected number of rows, for progress (0 when unknown)
+     */
+    record Input(Path csv, boolean header, int width, int[] keys, long rows) {
+    }
+
+    /**
+     * @param rows    data rows written
+     * @param spilled whether the join fell back to spill partitions
+     */
+    record Result(long rows, boolean spilled) {
+    }
+
+    /**
+     * Build-side rows sharing one key; matched once any probe row had the key
+     */
+    private static final class Bucket {
+        private final List<String[]> rows = new ArrayList<>(1);
+        private boolean matched;
+    }
+
+    private final JoinLayout layout;
+    private final JoinRequest.JoinType how;
+    private final long memoryBudget;
+    private final int partitions;
+    private final Path spillDirectory;
+    private final Consumer<Integer> progress;
+
+    private boolean buildIsLeft;
+    private boolean emitUnmatchedBuild;
+    private boolean emitUnmatchedProbe;
+    private CSVPrinter out;
+    private long rowsWritten;
+    private long rowsRead;
+    private long expectedReads;
+    private int spillSequence;
+
+    HashJoinEngine(JoinLayout layout, JoinRequest.JoinType how, long memoryBudget, int partitions,
+                   Path spillDirectory, Consumer<Integer> progress) {
+        this.layout = layout;
+        this.how = how;
+        this.memoryBudget = memoryBudget;
+        this.partitions = partitions;
+        this.spillDirectory = spillDirectory;
+        this.progress = progress;
+    }
+
+    Result join(Input left, Input right, Path output) throws IOException {
+        buildIsLeft = Files.size(left.csv()) <= Files.size(right.csv());
+        Input build = buildIsLeft ? left : right;
+        Input probe = buildIsLeft ? right : left;
+        boolean keepLeft = how == JoinRequest.JoinType.LEFT || how == JoinRequest.JoinType.FULL;
+        boolean keepRight = how == JoinRequest.JoinType.RIGHT || how == JoinRequest.JoinType.FULL;
+        emitUnmatchedBuild = buildIsLeft ? keepLeft : keepRight;
+        emitUnmatchedProbe = buildIsLeft ? keepRight : keepLeft;
+        expectedReads = build.rows() + probe.rows();
+
+        boolean spilled = false;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(output), StandardCharsets.UTF_8), BUFFER_SIZE);
+             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+            out = printer;
+            printer.printRecord(layout.header());
+
+            Map<String, Bucket> table = load(build, memoryBudget);
+            if (table != null) {
+                probe(table, probe);
+                emitUnmatched(table);
+            } else {
+                spilled = true;
+                log.info("Build side {} exceeds the {} byte join budget, partitioning to {}",
+                        build.csv().getFileName(), memoryBudget, spillDirectory);
+                // Partitioning reads both inputs again, and joining the partitions once more
+                expectedReads = rowsRead + 2 * (build.rows() + probe.rows());
+                graceJoin(build, probe, 0);
+            }
+        }
+        return new Result(rowsWritten, spilled);
+    }
+
+    /**
+     * Hash table of the build input, or null as soon as it would exceed budget
+     */
+    private Map<String, Bucket> load(Input build, long budget) throws IOException {
+        Map<String, Bucket> table = new HashMap<>();
+        long used = 0;
+        try (CSVParser parser = open(build)) {
+            for (CSVRecord record : parser) {
+                String[] row = row(record, build.width());
+                String key = key(row, build.keys());
+                Bucket bucket = table.get(key);
+                used += estimate(row);
+                if (bucket == null) {
+                    used += BUCKET_OVERHEAD + CELL_OVERHEAD + key.length();
+                }
+                if (used > budget) {
+                    return null;
+                }
+                if (bucket == null) {
+                    bucket = new Bucket();
+                    table.put(key, bucket);
+                }
+                bucket.rows.add(row);
+                read();
+            }
+        }
+        return table;
+    }
+
+    private void probe(Map<String, Bucket> table, Input probe) throws IOException {
+        try (CSVParser parser = open(probe)) {
+            for (CSVRecord record : parser) {
+                String[] row = row(record, probe.width());
+                Bucket bucket = table.get(key(row, probe.keys()));
+                if (bucket != null) {
+                    bucket.matched = true;
+                    for (String[] buildRow : bucket.rows) {
+                        emit(buildRow, row);
+                    }
+                } else if (emitUnmatchedProbe) {
+                    emit(null, row);
+                }
+                read();
+            }
+        }
+    }
+
+    private void emitUnmatched(Map<String, Bucket> table) throws IOException {
+        if (!emitUnmatchedBuild) {
+            return;
+        }
+        for (Bucket bucket : table.values()) {
+            if (!bucket.matched) {
+                for (String[] row : bucket.rows) {
+                    emit(row, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Split both inputs into partitions by key hash and join each pair
+     * Matching keys always land in the same partition pair, so unmatched rows of a partition are
+     * unmatched overall
+     */
+    private void graceJoin(Input build, Input probe, int depth) throws IOException {
+        Path directory = Files.createDirectories(spillDirectory.resolve("level-" + depth + "-" + spillSequence++));
+        Input[] buildParts = partition(build, directory, "build", depth);
+        Input[] probeParts = partition(probe, directory, "probe", depth);
+
+        for (int p = 0; p < partitions; p++) {
+            Input buildPart = buildParts[p];
+            Input probePart = probeParts[p];
+            if (buildPart.rows() == 0) {
+                if (emitUnmatchedProbe) {
+                    emitAll(probePart, false);
+                } else {
+                    skip(probePart);
+                }
+            } else if (probePart.rows() == 0) {
+                if (emitUnmatchedBuild) {
+                    emitAll(buildPart, true);
+                } else {
+                    skip(buildPart);
+                }
+            } else {
+                // The last level loads its partition whatever its size, e.g. one very frequent key
+                long budget = depth + 1 < MAX_DEPTH ? memoryBudget : Long.MAX_VALUE;
+                Map<String, Bucket> table = load(buildPart, budget);
+                if (table != null) {
+                    probe(table, probePart);
+                    emitUnmatched(table);
+                } else {
+                    log.debug("Partition {} at level {} still exceeds the join budget, splitting it again", p, depth);
+                    expectedReads += 2 * (buildPart.rows() + probePart.rows());
+                    graceJoin(buildPart, probePart, depth + 1);
+                }
+            }
+            Files.deleteIfExists(buildPart.csv());
+            Files.deleteIfExists(probePart.csv());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private Input[] partition(Input input, Path directory, String prefix, int depth) throws IOException {
+        CSVPrinter[] writers = new CSVPrinter[partitions];
+        long[] counts = new long[partitions];
+        Path[] paths = new Path[partitions];
+        try {
+            for (int p = 0; p < partitions; p++) {
+                paths[p] = directory.resolve(prefix + "-" + p + ".csv");
+                writers[p] = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(
+                        Files.newOutputStream(paths[p]), StandardCharsets.UTF_8), BUFFER_SIZE), CSVFormat.DEFAULT);
+            }
+            try (CSVParser parser = open(input)) {
+                for (CSVRecord record : parser) {
+                    String[] row = row(record, input.width());
+                    int p = partitionOf(key(row, input.keys()), depth);
+                    writers[p].printRecord((Object[]) row);
+                    counts[p]++;
+                    read();
+                }
+            }
+        } finally {
+            for (CSVPrinter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+
+        Input[] parts = new Input[partitions];
+        for (int p = 0; p < partitions; p++) {
+            parts[p] = new Input(paths[p], false, input.width(), input.keys(), counts[p]);
+        }
+        return parts;
+    }
+
+    private int partitionOf(String key, int depth) {
+        // Re-mix with a per-level seed so a partition split again spreads over all sub-partitions
+        long hash = key.hashCode() * 0x9E3779B97F4A7C15L + depth * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 31;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 29;
+        return (int) Math.floorMod(hash, (long) partitions);
+    }
+
+    private void emitAll(Input input, boolean isBuild) throws IOException {
+        try (CSVParser parser = open(input)) {
+            for (CSVRecord record : parser) {
+                String[] row = row(record, input.width());
+                if (isBuild) {
+                    emit(row, null);
+                } else {
+                    emit(null, row);
+                }
+                read();
+            }
+        }
+    }
+
+    private void skip(Input input) {
+        rowsRead += input.rows();
+    }
+
+    private void emit(String[] buildRow, String[] probeRow) throws IOException {
+        if (rowsWritten == MAX_OUTPUT_ROWS) {
+            throw new IllegalStateException("Join result exceeds " + MAX_OUTPUT_ROWS + " rows");
+        }
+        String[] left = buildIsLeft ? buildRow : probeRow;
+        String[] right = buildIsLeft ? probeRow : buildRow;
+        out.printRecord((Object[]) layout.compose(left, right));
+        rowsWritten++;
+    }
+
+    private void read() {
+        rowsRead++;
+        if (rowsRead % PROGRESS_EVERY == 0 && expectedReads > 0) {
+            progress.accept((int) Math.min(99, rowsRead * 100 / expectedReads));
+        }
+    }
+
+    private static CSVParser open(Input input) throws IOException {
+        CSVFormat format = input.header()
+                ? CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                : CSVFormat.DEFAULT;
+        return format.parse(new InputStreamReader(Files.newInputStream(input.csv()), StandardCharsets.UTF_8));
+    }
+
+    private static String[] row(CSVRecord record, int width) {
+        String[] row = new String[width];
+        for (int c = 0; c < width; c++) {
+            row[c] = c < record.size() ? record.get(c) : "";
+        }
+        return row;
+    }
+
+    /**
+     * Join key of a row; several columns are length-prefixed so no two key tuples collide
+     */
+    static String key(String[] row, int[] keys) {
+        if (keys.length == 1) {
+            return row[keys[0]];
+        }
+        StringBuilder key = new StringBuilder();
+        for (int k : keys) {
+            key.append(row[k].length()).append(':').append(row[k]);
+        }
+        return key.toString();
+    }
+
+    private static long estimate(String[] row) {
+        long size = ROW_OVERHEAD + 16L + 4L * row.length;
+        for (String value : row) {
+            size += CELL_OVERHEAD + value.length();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,173 @@
+package com.portal.das.service.join;
+
+import com.portal.das.domain.model.JoinRequest;
+import com.sharedlib.core.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Output columns of a join and how each is filled, following pandas merge:
+ * a key pair with the same name on both sides becomes one column (taken from whichever side has
+ * the row); other columns whose names occur on both sides get the left/right suffix.
+ */
+final class JoinLayout {
+
+    private static final List<String> DEFAULT_SUFFIXES = List.of("_x", "_y");
+
+    private final List<String> header;
+    private final int[] leftKeys;
+    private final int[] rightKeys;
+
+    /**
+     * Per output column, the index in the left / right row, or -1
+     */
+    private final int[] leftSource;
+    private final int[] rightSource;
+
+    private JoinLayout(List<String> header, int[] leftKeys, int[] rightKeys, int[] leftSource, int[] rightSource) {
+        this.header = header;
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.leftSource = leftSource;
+        this.rightSource = rightSource;
+    }
+
+    /**
+     * @throws BadRequestException when keys or selected columns do not exist
+     */
+    static JoinLayout of(List<String> leftHeaders, List<String> rightHeaders, JoinRequest request) {
+        List<String> leftOn = request.getLeftOn();
+        List<String> rightOn = request.getRightOn() == null || request.getRightOn().isEmpty()
+                ? leftOn
+                : request.getRightOn();
+        if (leftOn == null || leftOn.isEmpty()) {
+            throw new BadRequestException("At least one join key is required");
+        }
+        if (leftOn.size() != rightOn.size()) {
+            throw new BadRequestException("leftOn and rightOn must have the same number of columns");
+        }
+        List<String> suffixes = request.getSuffixes() != null && request.getSuffixes().size() == 2
+                ? request.getSuffixes()
+                : DEFAULT_SUFFIXES;
+
+        int[] leftKeys = new int[leftOn.size()];
+        int[] rightKeys = new int[rightOn.size()];
+        Set<Integer> mergedLeft = new HashSet<>();
+        Set<Integer> mergedRight = new HashSet<>();
+        for (int k = 0; k < leftOn.size(); k++) {
+            leftKeys[k] = indexOf(leftHeaders, leftOn.get(k), "left");
+            rightKeys[k] = indexOf(rightHeaders, rightOn.get(k), "right");
+            if (leftOn.get(k).equals(rightOn.get(k))) {
+                mergedLeft.add(leftKeys[k]);
+                mergedRight.add(rightKeys[k]);
+            }
+        }
+
+        Set<String> leftNames = new HashSet<>();
+        for (int c = 0; c < leftHeaders.size(); c++) {
+            if (!mergedLeft.contains(c)) {
+                leftNames.add(leftHeaders.get(c));
+            }
+        }
+        Set<String> rightNames = new HashSet<>();
+        for (int c = 0; c < rightHeaders.size(); c++) {
+            if (!mergedRight.contains(c)) {
+                rightNames.add(rightHeaders.get(c));
+            }
+        }
+
+        List<String> header = new ArrayList<>();
+        List<int[]> sources = new ArrayList<>();
+        for (int c = 0; c < leftHeaders.size(); c++) {
+            String name = leftHeaders.get(c);
+            if (mergedLeft.contains(c)) {
+                header.add(name);
+                sources.add(new int[]{c, rightKeys[leftKeyPosition(leftKeys, c)]});
+            } else {
+                header.add(rightNames.contains(name) ? name + suffixes.get(0) : name);
+                sources.add(new int[]{c, -1});
+            }
+        }
+        for (int c = 0; c < rightHeaders.size(); c++) {
+            if (mergedRight.contains(c)) {
+                continue;
+            }
+            String name = rightHeaders.get(c);
+            header.add(leftNames.contains(name) ? name + suffixes.get(1) : name);
+            sources.add(new int[]{-1, c});
+        }
+
+        if (request.getSelectColumns() != null && !request.getSelectColumns().isEmpty()) {
+            List<String> selectedHeader = new ArrayList<>();
+            List<int[]> selectedSources = new ArrayList<>();
+            for (String column : request.getSelectColumns()) {
+                int index = header.indexOf(column);
+                if (index < 0) {
+                    throw new BadRequestException("Selected column not in join result: " + column);
+                }
+                selectedHeader.add(column);
+                selectedSources.add(sources.get(index));
+            }
+            header = selectedHeader;
+            sources = selectedSources;
+        }
+
+        int[] leftSource = new int[sources.size()];
+        int[] rightSource = new int[sources.size()];
+        for (int c = 0; c < sources.size(); c++) {
+            leftSource[c] = sources.get(c)[0];
+            rightSource[c] = sources.get(c)[1];
+        }
+        return new JoinLayout(List.copyOf(header), leftKeys, rightKeys, leftSource, rightSource);
+    }
+
+    private static int indexOf(List<String> headers, String column, String side) {
+        int index = headers.indexOf(column);
+        if (index < 0) {
+            throw new BadRequestException("Join column not found in " + side + " dataset: " + column);
+        }
+        return index;
+    }
+
+    private static int leftKeyPosition(int[] leftKeys, int column) {
+        for (int k = 0; k < leftKeys.length; k++) {
+            if (leftKeys[k] == column) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("Column " + column + " is not a key");
+    }
+
+    List<String> header() {
+        return header;
+    }
+
+    int[] leftKeys() {
+        return leftKeys;
+    }
+
+    int[] rightKeys() {
+        return rightKeys;
+    }
+
+    /**
+     * Output row for a match, or for an unmatched row when the other side is null
+     */
+    String[] compose(String[] left, String[] right) {
+        String[] row = new String[header.size()];
+        for (int c = 0; c < row.length; c++) {
+            String value = null;
+            if (left != null && leftSource[c] >= 0) {
+                value = left[leftSource[c]];
+            }
+            if (value == null && right != null && rightSource[c] >= 0) {
+                value = right[rightSource[c]];
+            }
+            row[c] = value != null ? value : "";
+        }
+        return row;
+    }
+}
@@ -6,42 +6,72 @@ import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarStore;
+import com.portal.das.service.job.JobService;
 import com.sharedlib.core.context.CurrentUserContext;
 import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.io.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
-import java.util.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for joining datasets (pandas merge style)
- * Implements hash join with memory safeguards
+ * Joins run as JOIN jobs on HashJoinEngine, which spills to disk when the smaller dataset does not
+ * fit the memory budget, so datasets of any size can be joined
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JoinService {
 
+    private static final String SPILL_DIRECTORY = "join-spill/";
+
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
-
-    private static final int MAX_HASH_MAP_SIZE = 1_000_000; // 1M rows safeguard
+    private final ColumnarStore columnarStore;
+    private final JobService jobService;
+    private final long memoryBudgetBytes;
+    private final int spillPartitions;
+
+    public JoinService(DatasetCrudPort datasetCrudPort,
+                       FileCrudPort fileCrudPort,
+                       FileStoragePort fileStoragePort,
+                       ColumnarStore columnarStore,
+                       JobService jobService,
+                       @Value("${join.memory-budget-mb:256}") long memoryBudgetMb,
+                       @Value("${join.spill-partitions:64}") int spillPartitions) {
+        this.datasetCrudPort = datasetCrudPort;
+        this.fileCrudPort = fileCrudPort;
+        this.fileStoragePort = fileStoragePort;
+        this.columnarStore = columnarStore;
+        this.jobService = jobService;
+        this.memoryBudgetBytes = memoryBudgetMb * 1024 * 1024;
+        this.spillPartitions = spillPartitions;
+    }
 
     /**
-     * Join two datasets
+     * Validate a join and start it as a JOIN job
      *
      * @param request Join parameters
-     * @return New dataset containing join result
+     * @return Job ID; the job result is the ID of the joined dataset
      */
-    @Transactional
-    public Dataset join(JoinRequest request) {
+    public UUID submitJoin(JoinRequest request) {
         log.info("Joining datasets: {} and {}", request.getLeftDatasetId(), request.getRightDatasetId());
 
         // Load datasets
@@ -56,62 +86,79 @@ public class JoinService {
         UploadedFile rightFile = fileCrudPort.load(rightDataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("Right file not found"));
 
-        // Safeguard: Check size
-        if (leftFile.getRowCount() > MAX_HASH_MAP_SIZE || rightFile.getRowCount() > MAX_HASH_MAP_SIZE) {
-            throw new BadRequestException("Dataset too large for hash join. Please use sampling.");
-        }
-
-        // Perform join
-        UUID joinedFileId = performJoin(leftFile, rightFile, request);
-
-        // Create new file entry
-        UploadedFile joinedFile = fileCrudPort.load(joinedFileId)
-                .orElseThrow(() -> new NotFoundException("Joined file not found"));
-
-        // Create new dataset
-        String joinedName = leftDataset.getName() + " JOIN " + rightDataset.getName();
-        Dataset joinedDataset = Dataset.builder()
-                .datasetId(UUID.randomUUID())
-                .fileId(joinedFileId)
-                .name(joinedName)
-                .description("Join of " + leftDataset.getName() + " and " + rightDataset.getName())
-                .rowCount(joinedFile.getRowCount())
-                .columnCount(joinedFile.getColumnCount())
-                .status(Dataset.DatasetStatus.REGISTERED)
-                .isActive(true)
-                .isDeleted(false)
-                .createdBy(getCurrentUserId())
-                .createdAt(Instant.now())
-                .build();
-
-        return datasetCrudPort.save(joinedDataset);
+        // Validate keys and output columns before queueing the work
+        List<String> leftHeaders = readHeader(leftFile);
+        List<String> rightHeaders = readHeader(rightFile);
+        JoinLayout layout = JoinLayout.of(leftHeaders, rightHeaders, request);
+        JoinRequest.JoinType how = request.getHow() != null ? request.getHow() : JoinRequest.JoinType.INNER;
+
+        // The job runs on another thread, without the request's user context
+        UUID userId = getCurrentUserId();
+        HashJoinEngine.Input left = input(leftFile, leftHeaders.size(), layout.leftKeys());
+        HashJoinEngine.Input right = input(rightFile, rightHeaders.size(), layout.rightKeys());
+
+        return jobService.submitJob("JOIN", progress -> {
+            UploadedFile joinedFile = performJoin(left, right, layout, how, userId, progress);
+
+            // Create new dataset
+            String joinedName = leftDataset.getName() + " JOIN " + rightDataset.getName();
+            Dataset joinedDataset = Dataset.builder()
+                    .datasetId(UUID.randomUUID())
+                    .fileId(joinedFile.getFileId())
+                    .name(joinedName)
+                    .description("Join of " + leftDataset.getName() + " and " + rightDataset.getName())
+                    .rowCount(joinedFile.getRowCount())
+                    .columnCount(joinedFile.getColumnCount())
+                    .status(Dataset.DatasetStatus.REGISTERED)
+                    .isActive(true)
+                    .isDeleted(false)
+                    .createdBy(userId)
+                    .createdAt(Instant.now())
+                    .build();
+
+            return datasetCrudPort.save(joinedDataset).getDatasetId().toString();
+        });
     }
 
     /**
-     * Perform the actual join operation
+     * Perform the actual join operation and register the result file
      */
-    private UUID performJoin(UploadedFile leftFile, UploadedFile rightFile, JoinRequest request) {
-        // Simplified implementation - full implementation would be much larger
-        // This is a placeholder showing the structure
-        
+    private UploadedFile performJoin(HashJoinEngine.Input left, HashJoinEngine.Input right, JoinLayout layout,
+                                     JoinRequest.JoinType how, UUID userId, Consumer<Integer> progress) {
         UUID outputFileId = UUID.randomUUID();
         String outputFilename = outputFileId + ".csv";
-        Path outputPath = fileStoragePort.getPath("out/" + outputFilename);
+        Path outputPath = fileStoragePort.getPath(outputFilename);
+        Path spillDirectory = fileStoragePort.getPath(SPILL_DIRECTORY + outputFileId);
 
+        HashJoinEngine.Result result;
         try {
-            // TODO: Implement hash join logic
-            // 1. Build hash map from right dataset
-            // 2. Stream left dataset and probe hash map
-            // 3. Write matches to output CSV
-            
-            log.info("Join operation placeholder - full implementation required");
-            
-            // Create placeholder file
-            outputPath.toFile().createNewFile();
-
+            Files.createDirectories(spillDirectory);
+            HashJoinEngine engine = new HashJoinEngine(
+                    layout, how, memoryBudgetBytes, spillPartitions, spillDirectory, progress);
+            result = engine.join(left, right, outputPath);
         } catch (IOException e) {
             log.error("Failed to perform join", e);
-            throw new RuntimeException("Join failed");
+            fileStoragePort.delete(outputFilename);
+            throw new IllegalStateException("Join failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // e.g. more rows than a stored file can record; never leave the partial output behind
+            fileStoragePort.delete(outputFilename);
+            throw e;
+        } finally {
+            try {
+                FileSystemUtils.deleteRecursively(spillDirectory);
+            } catch (IOException e) {
+                log.warn("Failed to delete join spill directory {}: {}", spillDirectory, e.getMessage());
+            }
+        }
+        log.info("Joined {} rows into {}{}", result.rows(), outputFilename,
+                result.spilled() ? " using spill partitions" : "");
+
+        // Typed per-column copy for the analyses, as for uploads
+        try {
+            columnarStore.write(outputFilename, outputPath);
+        } catch (Exception e) {
+            log.warn("Failed to write columnar sidecar for {}: {}", outputFilename, e.getMessage());
         }
 
         // Save file metadata
@@ -122,18 +169,39 @@ public class JoinService {
                 .storagePath(outputPath.toString())
                 .originalFormat("csv")
                 .storedFormat("csv")
+                .storedSize(fileStoragePort.size(outputFilename))
+                .rowCount(Math.toIntExact(result.rows()))
+                .columnCount(layout.header().size())
                 .status(UploadedFile.FileStatus.PROCESSED)
                 .isActive(true)
                 .isDeleted(false)
-                .uploadedBy(getCurrentUserId())
+                .uploadedBy(userId)
                 .uploadedAt(Instant.now())
                 .build();
 
-        return fileCrudPort.save(joinedFile).getFileId();
+        return fileCrudPort.save(joinedFile);
+    }
+
+    private HashJoinEngine.Input input(UploadedFile file, int width, int[] keys) {
+        long rows = file.getRowCount() != null ? file.getRowCount() : 0;
+        return new HashJoinEngine.Input(fileStoragePort.getPath(file.getStoredFilename()), true, width, keys, rows);
+    }
+
+    /**
+     * Header names as the join engine's CSV parser sees them
+     */
+    private List<String> readHeader(UploadedFile file) {
+        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
+             Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
+            return parser.getHeaderNames();
+        } catch (IOException e) {
+            log.error("Failed to read header of file: {}", file.getFileId(), e);
+            throw new BadRequestException("Failed to read file for join");
+        }
     }
 
     private UUID getCurrentUserId() {
         return CurrentUserContext.get() != null ? CurrentUserContext.get().userId() : null;
     }
 }
-
@@ -0,0 +1,162 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.ColumnSummary;
+import com.portal.das.domain.model.InferredType;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.service.profile.sketch.HyperLogLog;
+import com.portal.das.service.profile.sketch.MisraGries;
+import com.portal.das.service.profile.sketch.Reservoir;
+import com.portal.das.service.profile.sketch.RunningStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Online statistics of one column in memory independent of the row count
+ *
+ * Type votes and null counts follow TypeInferenceService.inferType, so the dominant type,
+ * confidence and counts equal what it reports for the full list of values. Numeric moments,
+ * distinct count, frequent values and the random sample come from mergeable sketches, so
+ * accumulators of consecutive chunks can be merged in order into the column's profile.
+ * Also fed by the columnar writer, so a sidecar footer carries the same profile.
+ */
+public final class ColumnProfileAccumulator {
+
+    static final int EXAMPLE_COUNT = 5;
+    static final int SAMPLE_SIZE = 20;
+    static final int TOP_VALUES = 10;
+    private static final int FREQUENT_CAPACITY = 64;
+
+    private static final InferredType[] TYPES = InferredType.values();
+
+    private final TypeInferenceService typeInferenceService;
+
+    private int rows;
+    private int nullCount;
+    private final int[] typeVotes = new int[TYPES.length];
+    private final List<String> examples = new ArrayList<>(EXAMPLE_COUNT);
+    private final RunningStats numbers = new RunningStats();
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final MisraGries frequent = new MisraGries(FREQUENT_CAPACITY);
+    private final Reservoir sample;
+
+    public ColumnProfileAccumulator(TypeInferenceService typeInferenceService, long seed) {
+        this.typeInferenceService = typeInferenceService;
+        this.sample = new Reservoir(SAMPLE_SIZE, seed);
+    }
+
+    public void accept(String value) {
+        rows++;
+        if (examples.size() < EXAMPLE_COUNT && value != null && !value.trim().isEmpty()) {
+            examples.add(value);
+        }
+        if (typeInferenceService.isNullOrEmpty(value)) {
+            nullCount++;
+            return;
+        }
+
+        InferredType type = typeInferenceService.inferSingleValue(value);
+        typeVotes[type.ordinal()]++;
+        switch (type) {
+            case INTEGER, DECIMAL -> {
+                double number = parseNumber(type, value.trim());
+                if (Double.isFinite(number)) {
+                    numbers.add(number);
+                }
+            }
+            // "0" and "1" vote boolean but are still numbers of a numeric column
+            case BOOLEAN -> {
+                String trimmed = value.trim();
+                if (trimmed.equals("0") || trimmed.equals("1")) {
+                    numbers.add(trimmed.charAt(0) - '0');
+                }
+            }
+            default -> {
+            }
+        }
+        distinct.add(value);
+        frequent.add(value);
+        sample.add(value);
+    }
+
+    /**
+     * Long.parseLong reads every digit the inference accepts (e.g. Arabic-Indic), Double.parseDouble
+     * only ASCII ones; a value neither can read counts for its type but stays out of the moments
+     */
+    private static double parseNumber(InferredType type, String value) {
+        if (type == InferredType.INTEGER) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // beyond a long, read below as a double
+            }
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Fold in the accumulator of the rows that follow this one's
+     */
+    public void merge(ColumnProfileAccumulator next) {
+        rows += next.rows;
+        nullCount += next.nullCount;
+        for (int t = 0; t < typeVotes.length; t++) {
+            typeVotes[t] += next.typeVotes[t];
+        }
+        for (String example : next.examples) {
+            if (examples.size() == EXAMPLE_COUNT) {
+                break;
+            }
+            examples.add(example);
+        }
+        numbers.merge(next.numbers);
+        distinct.merge(next.distinct);
+        frequent.merge(next.frequent);
+        sample.merge(next.sample);
+    }
+
+    public DatasetProfile.ColumnProfile toProfile(String name, int index) {
+        // Same tie-breaking as inferType: first type in enum order with the highest count
+        InferredType dominantType = InferredType.STRING;
+        int maxCount = 0;
+        for (InferredType type : TYPES) {
+            if (typeVotes[type.ordinal()] > maxCount) {
+                maxCount = typeVotes[type.ordinal()];
+                dominantType = type;
+            }
+        }
+        int nonNullCount = rows - nullCount;
+
+        List<ColumnSummary.ValueCount> topValues = new ArrayList<>();
+        for (MisraGries.Entry entry : frequent.top(TOP_VALUES)) {
+            topValues.add(ColumnSummary.ValueCount.builder()
+                    .value(entry.value())
+                    .count(entry.count())
+                    .percentage(nonNullCount > 0 ? entry.count() * 100.0 / nonNullCount : 0.0)
+                    .build());
+        }
+
+        boolean numeric = numbers.count() > 0;
+        return DatasetProfile.ColumnProfile.builder()
+                .columnName(name)
+                .columnIndex(index)
+                .dominantType(dominantType.name())
+                .confidence(nonNullCount > 0 ? (double) maxCount / nonNullCount : 0.0)
+                .nullCount(nullCount)
+                .nonNullCount(nonNullCount)
+                .invalidTypeCount(nonNullCount - maxCount)
+                .examples(examples)
+                .min(numeric ? numbers.min() : null)
+                .max(numeric ? numbers.max() : null)
+                .mean(numeric ? numbers.mean() : null)
+                .std(numeric ? numbers.std() : null)
+                .approxDistinctCount(distinct.estimate())
+                .topValues(topValues)
+                .sampleValues(new ArrayList<>(sample.values()))
+                .build();
+    }
+}
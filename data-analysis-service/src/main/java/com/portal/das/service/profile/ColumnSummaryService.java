@@ -8,6 +8,8 @@ import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarDataset;
+import com.portal.das.service.columnar.ColumnarStore;
 import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +38,7 @@ public class ColumnSummaryService {
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
     private final TypeInferenceService typeInferenceService;
+    private final ColumnarStore columnarStore;
 
     /**
      * Compute summary statistics for a column (pandas describe() style)
@@ -54,12 +57,13 @@ public class ColumnSummaryService {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
-        // Read column values
-        List<String> values = readColumnValues(file, columnName);
-
-        // Infer type
-        TypeInferenceService.TypeInferenceResult inference = 
-                typeInferenceService.inferType(values);
+        // Read column values; the columnar sidecar already carries the type inference
+        Optional<ColumnarDataset> columnar = columnarStore.open(file);
+        List<String> values = readColumnValues(file, columnar, columnName);
+        TypeInferenceService.TypeInferenceResult inference = columnar
+                .flatMap(sidecar -> sidecar.column(columnName)
+                        .map(column -> column.toInference(sidecar.rowCount())))
+                .orElseGet(() -> typeInferenceService.inferType(values));
 
         // Compute statistics
         long count = values.size();
@@ -118,11 +122,12 @@ public class ColumnSummaryService {
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
         // Read column values
-        List<String> values = readColumnValues(file, columnName);
-
-        // Infer type
-        TypeInferenceService.TypeInferenceResult inference = 
-                typeInferenceService.inferType(values);
+        Optional<ColumnarDataset> columnar = columnarStore.open(file);
+        List<String> values = readColumnValues(file, columnar, columnName);
+        TypeInferenceService.TypeInferenceResult inference = columnar
+                .flatMap(sidecar -> sidecar.column(columnName)
+                        .map(column -> column.toInference(sidecar.rowCount())))
+                .orElseGet(() -> typeInferenceService.inferType(values));
 
         InferredType type = inference.getDominantType();
 
@@ -149,9 +154,13 @@ public class ColumnSummaryService {
     }
 
     /**
-     * Read all values for a specific column from file
+     * Read all values for a specific column, from the columnar sidecar when the file has one
      */
-    private List<String> readColumnValues(UploadedFile file, String columnName) {
+    private List<String> readColumnValues(UploadedFile file, Optional<ColumnarDataset> columnar, String columnName) {
+        if (columnar.isPresent()) {
+            return columnar.get().readStrings(columnName);
+        }
+
         List<String> values = new ArrayList<>();
 
         try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
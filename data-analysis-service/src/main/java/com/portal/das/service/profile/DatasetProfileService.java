@@ -5,12 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.model.profile.DatasetProfile;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarDataset;
+import com.portal.das.service.columnar.ColumnarFooter;
+import com.portal.das.service.columnar.ColumnarStore;
 import com.sharedlib.core.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -18,7 +18,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for computing dataset profiles
@@ -32,9 +31,13 @@ public class DatasetProfileService {
     private final FileStoragePort fileStoragePort;
     private final TypeInferenceService typeInferenceService;
     private final ObjectMapper objectMapper;
+    private final ColumnarStore columnarStore;
+    private final StreamingDatasetProfiler streamingDatasetProfiler;
 
     /**
      * Compute profile for a dataset from its source file
+     * Reads the column profiles stored in the columnar sidecar's footer when there are some,
+     * otherwise profiles the CSV in one streaming pass (see StreamingDatasetProfiler)
      *
      * @param file Source file
      * @return DatasetProfile with column statistics
@@ -42,58 +45,17 @@ public class DatasetProfileService {
     public DatasetProfile computeProfile(UploadedFile file) {
         log.info("Computing profile for file: {}", file.getFileId());
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
-
-            // Get headers
-            Map<String, Integer> headerMap = parser.getHeaderMap();
-            List<String> headers = new ArrayList<>(headerMap.keySet());
-
-            // Collect values for each column
-            Map<String, List<String>> columnValues = new HashMap<>();
-            for (String header : headers) {
-                columnValues.put(header, new ArrayList<>());
-            }
+        Optional<DatasetProfile> fromFooter = columnarStore.open(file)
+                .map(ColumnarDataset::footer)
+                .flatMap(footer -> profileFromFooter(file, footer));
+        if (fromFooter.isPresent()) {
+            return fromFooter.get();
+        }
 
-            // Read all records and collect column values
-            for (CSVRecord record : parser) {
-                for (String header : headers) {
-                    String value = record.get(header);
-                    columnValues.get(header).add(value);
-                }
-            }
+        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
+             Reader reader = new InputStreamReader(inputStream)) {
 
-            // Compute profile for each column
-            List<DatasetProfile.ColumnProfile> columnProfiles = new ArrayList<>();
-            int colIndex = 0;
-
-            for (String header : headers) {
-                List<String> values = columnValues.get(header);
-                
-                // Infer type
-                TypeInferenceService.TypeInferenceResult inference = 
-                        typeInferenceService.inferType(values);
-
-                // Get examples (first 5 non-null values)
-                List<String> examples = values.stream()
-                        .filter(v -> v != null && !v.trim().isEmpty())
-                        .limit(5)
-                        .collect(Collectors.toList());
-
-                DatasetProfile.ColumnProfile colProfile = DatasetProfile.ColumnProfile.builder()
-                        .columnName(header)
-                        .columnIndex(colIndex++)
-                        .dominantType(inference.getDominantType().name())
-                        .confidence(inference.getConfidence())
-                        .nullCount(inference.getNullCount())
-                        .nonNullCount(inference.getNonNullCount())
-                        .invalidTypeCount(inference.getInvalidTypeCount())
-                        .examples(examples)
-                        .build();
-
-                columnProfiles.add(colProfile);
-            }
+            List<DatasetProfile.ColumnProfile> columnProfiles = streamingDatasetProfiler.profile(reader);
 
             return DatasetProfile.builder()
                     .totalRows(file.getRowCount())
@@ -107,6 +69,27 @@ public class DatasetProfileService {
         }
     }
 
+    /**
+     * Build the profile from a columnar footer, which holds every column's profile computed while
+     * the sidecar was written; no values are read
+     * Footers written before profiles were stored have none, and the CSV is profiled instead
+     */
+    private Optional<DatasetProfile> profileFromFooter(UploadedFile file, ColumnarFooter footer) {
+        List<DatasetProfile.ColumnProfile> columnProfiles = new ArrayList<>();
+        for (ColumnarFooter.Column column : footer.getColumns()) {
+            if (column.getProfile() == null) {
+                return Optional.empty();
+            }
+            columnProfiles.add(column.getProfile());
+        }
+
+        return Optional.of(DatasetProfile.builder()
+                .totalRows(file.getRowCount())
+                .totalColumns(file.getColumnCount())
+                .columns(columnProfiles)
+                .build());
+    }
+
     /**
      * Convert profile to JSON string
      *
@@ -0,0 +1,153 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.profile.DatasetProfile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-pass CSV profiler with bounded memory
+ *
+ * The calling thread parses the CSV and cuts it into chunks of CHUNK_ROWS rows. Each chunk is
+ * profiled on the profiler pool into its own ColumnProfileAccumulators, and finished chunks are
+ * merged in file order. At most two chunks per worker are in flight, so memory depends on the
+ * column count, not on the number of rows.
+ */
+@Slf4j
+@Component
+public class StreamingDatasetProfiler {
+
+    static final int CHUNK_ROWS = 8192;
+
+    private final TypeInferenceService typeInferenceService;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public StreamingDatasetProfiler(TypeInferenceService typeInferenceService,
+                                    @Value("${profile.parallelism:0}") int parallelism) {
+        this.typeInferenceService = typeInferenceService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "das-profile-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Profile every column of a CSV with a header row
+     *
+     * @param reader CSV content; not closed
+     * @return Column profiles in header order
+     */
+    public List<DatasetProfile.ColumnProfile> profile(Reader reader) throws IOException {
+        CSVParser parser = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build()
+                .parse(reader);
+
+        List<String> headers = new ArrayList<>(parser.getHeaderMap().keySet());
+        int[] indexes = parser.getHeaderMap().values().stream().mapToInt(Integer::intValue).toArray();
+
+        ColumnProfileAccumulator[] total = newAccumulators(headers.size(), 0);
+        Deque<Future<ColumnProfileAccumulator[]>> inFlight = new ArrayDeque<>();
+        long chunkIndex = 0;
+        String[][] chunk = new String[CHUNK_ROWS][];
+        int filled = 0;
+
+        try {
+            for (CSVRecord record : parser) {
+                String[] row = new String[indexes.length];
+                for (int c = 0; c < indexes.length; c++) {
+                    row[c] = indexes[c] < record.size() ? record.get(indexes[c]) : "";
+                }
+                chunk[filled++] = row;
+                if (filled == CHUNK_ROWS) {
+                    inFlight.addLast(submit(chunk, filled, ++chunkIndex));
+                    chunk = new String[CHUNK_ROWS][];
+                    filled = 0;
+                    if (inFlight.size() >= parallelism * 2) {
+                        mergeInto(total, inFlight.removeFirst());
+                    }
+                }
+            }
+            if (filled > 0) {
+                inFlight.addLast(submit(chunk, filled, ++chunkIndex));
+            }
+            while (!inFlight.isEmpty()) {
+                mergeInto(total, inFlight.removeFirst());
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        List<DatasetProfile.ColumnProfile> profiles = new ArrayList<>(headers.size());
+        for (int c = 0; c < headers.size(); c++) {
+            profiles.add(total[c].toProfile(headers.get(c), c));
+        }
+        log.debug("Profiled {} columns in {} chunks", headers.size(), chunkIndex);
+        return profiles;
+    }
+
+    private Future<ColumnProfileAccumulator[]> submit(String[][] rows, int count, long chunkIndex) {
+        return executor.submit(() -> {
+            ColumnProfileAccumulator[] accumulators = newAccumulators(rows[0].length, chunkIndex);
+            for (int r = 0; r < count; r++) {
+                String[] row = rows[r];
+                for (int c = 0; c < row.length; c++) {
+                    accumulators[c].accept(row[c]);
+                }
+            }
+            return accumulators;
+        });
+    }
+
+    private static void mergeInto(ColumnProfileAccumulator[] total, Future<ColumnProfileAccumulator[]> chunk) {
+        ColumnProfileAccumulator[] accumulators;
+        try {
+            accumulators = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while profiling", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to profile chunk", e.getCause());
+        }
+        for (int c = 0; c < total.length; c++) {
+            total[c].merge(accumulators[c]);
+        }
+    }
+
+    /**
+     * Seeding by chunk keeps the sampled values reproducible for a given file
+     */
+    private ColumnProfileAccumulator[] newAccumulators(int columns, long seed) {
+        ColumnProfileAccumulator[] accumulators = new ColumnProfileAccumulator[columns];
+        for (int c = 0; c < columns; c++) {
+            accumulators[c] = new ColumnProfileAccumulator(typeInferenceService, seed * 31 + c);
+        }
+        return accumulators;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
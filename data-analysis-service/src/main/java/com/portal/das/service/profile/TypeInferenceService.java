@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 /**
  * Service for inferring data types from string values
@@ -19,35 +21,55 @@ import java.util.*;
 public class TypeInferenceService {
 
     /**
-     * Common date formats to try
+     * Common date formats to try, each with the layout its values must have
      */
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE,                // yyyy-MM-dd
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),       // dd/MM/yyyy
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),       // MM/dd/yyyy
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),       // dd-MM-yyyy
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),       // yyyy/MM/dd
-            DateTimeFormatter.ofPattern("d/M/yyyy"),         // d/M/yyyy
-            DateTimeFormatter.ofPattern("d-M-yyyy")          // d-M-yyyy
+    private static final List<DateFormat> DATE_FORMATTERS = List.of(
+            new DateFormat(DateTimeFormatter.ISO_LOCAL_DATE,                // yyyy-MM-dd
+                    s -> s.separator() == '-' && s.yearFirst()),
+            new DateFormat(DateTimeFormatter.ofPattern("dd/MM/yyyy"),       // dd/MM/yyyy
+                    s -> s.separator() == '/' && s.yearLast()),
+            new DateFormat(DateTimeFormatter.ofPattern("MM/dd/yyyy"),       // MM/dd/yyyy
+                    s -> s.separator() == '/' && s.yearLast()),
+            new DateFormat(DateTimeFormatter.ofPattern("dd-MM-yyyy"),       // dd-MM-yyyy
+                    s -> s.separator() == '-' && s.yearLast()),
+            new DateFormat(DateTimeFormatter.ofPattern("yyyy/MM/dd"),       // yyyy/MM/dd
+                    s -> s.separator() == '/' && s.yearFirst()),
+            new DateFormat(DateTimeFormatter.ofPattern("d/M/yyyy"),         // d/M/yyyy
+                    s -> s.separator() == '/' && s.digits()[2] >= 4),
+            new DateFormat(DateTimeFormatter.ofPattern("d-M-yyyy"),         // d-M-yyyy
+                    s -> s.separator() == '-' && s.digits()[2] >= 4)
     );
 
     /**
-     * Common datetime formats to try
+     * Common datetime formats to try, each with the layout its values must have
      */
-    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME,                      // yyyy-MM-ddTHH:mm:ss
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),         // yyyy-MM-dd HH:mm:ss
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),         // dd/MM/yyyy HH:mm:ss
-            DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),         // MM/dd/yyyy HH:mm:ss
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),            // yyyy-MM-dd HH:mm
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")             // dd/MM/yyyy HH:mm
+    private static final List<DateFormat> DATETIME_FORMATTERS = List.of(
+            new DateFormat(DateTimeFormatter.ISO_LOCAL_DATE_TIME,                      // yyyy-MM-ddTHH:mm:ss
+                    s -> s.separator() == '-' && s.yearFirst() && s.timeSeparator() != ' '),
+            new DateFormat(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),         // yyyy-MM-dd HH:mm:ss
+                    s -> s.separator() == '-' && s.yearFirst() && s.timeSeparator() == ' ' && s.timeFields() == 3),
+            new DateFormat(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),         // dd/MM/yyyy HH:mm:ss
+                    s -> s.separator() == '/' && s.yearLast() && s.timeSeparator() == ' ' && s.timeFields() == 3),
+            new DateFormat(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),         // MM/dd/yyyy HH:mm:ss
+                    s -> s.separator() == '/' && s.yearLast() && s.timeSeparator() == ' ' && s.timeFields() == 3),
+            new DateFormat(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),            // yyyy-MM-dd HH:mm
+                    s -> s.separator() == '-' && s.yearFirst() && s.timeSeparator() == ' ' && s.timeFields() == 2),
+            new DateFormat(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"),            // dd/MM/yyyy HH:mm
+                    s -> s.separator() == '/' && s.yearLast() && s.timeSeparator() == ' ' && s.timeFields() == 2)
     );
 
     /**
      * Boolean string representations
      */
-    private static final Set<String> BOOLEAN_TRUE = Set.of("true", "yes", "1", "t", "y");
-    private static final Set<String> BOOLEAN_FALSE = Set.of("false", "no", "0", "f", "n");
+    private static final List<String> BOOLEAN_VALUES = List.of(
+            "true", "yes", "1", "t", "y",
+            "false", "no", "0", "f", "n");
+
+    /**
+     * Digits of Long.MAX_VALUE and of -Long.MIN_VALUE
+     */
+    private static final String LONG_MAX_DIGITS = "9223372036854775807";
+    private static final String LONG_MIN_DIGITS = "9223372036854775808";
 
     /**
      * Infer the dominant type for a list of values
@@ -109,6 +131,9 @@ public class TypeInferenceService {
 
     /**
      * Infer type for a single value
+     * The value is classified by scanning its characters; a date formatter only runs when the
+     * value already has that formatter's layout, so no exception is thrown for ordinary values.
+     * Results are identical to trying Long.parseLong, Double.parseDouble and every formatter in turn.
      *
      * @param value String value
      * @return Inferred type
@@ -118,29 +143,44 @@ public class TypeInferenceService {
             return InferredType.STRING;
         }
 
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (!isAscii(value, start, end)) {
+            return classifyNonAscii(value, start, end);
+        }
+
         // Try boolean first (most specific)
-        if (isBoolean(value)) {
+        if (isBoolean(value, start, end)) {
             return InferredType.BOOLEAN;
         }
 
         // Try integer
-        if (isInteger(value)) {
+        if (isInteger(value, start, end)) {
             return InferredType.INTEGER;
         }
 
         // Try decimal
-        if (isDecimal(value)) {
+        if (isDecimal(value, start, end)) {
             return InferredType.DECIMAL;
         }
 
         // Try datetime (before date, as datetime is more specific)
-        if (isDateTime(value)) {
-            return InferredType.DATETIME;
-        }
-
-        // Try date
-        if (isDate(value)) {
-            return InferredType.DATE;
+        DateShape shape = DateShape.scan(value, start, end);
+        if (shape != null) {
+            String trimmed = value.substring(start, end);
+            if (shape.hasTime() && parses(trimmed, shape, DATETIME_FORMATTERS, LocalDateTime::parse)) {
+                return InferredType.DATETIME;
+            }
+            // Try date
+            if (!shape.hasTime() && parses(trimmed, shape, DATE_FORMATTERS, LocalDate::parse)) {
+                return InferredType.DATE;
+            }
         }
 
         // Default to string
@@ -150,67 +190,172 @@ public class TypeInferenceService {
     /**
      * Check if value is null or empty
      */
-    private boolean isNullOrEmpty(String value) {
-        return value == null || value.trim().isEmpty() || 
+    public boolean isNullOrEmpty(String value) {
+        return value == null || isBlank(value) ||
                value.equalsIgnoreCase("null") || value.equalsIgnoreCase("na");
     }
 
-    /**
-     * Check if value is a boolean
-     */
-    private boolean isBoolean(String value) {
-        String lower = value.toLowerCase().trim();
-        return BOOLEAN_TRUE.contains(lower) || BOOLEAN_FALSE.contains(lower);
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Check if value is an integer
+     * Non-ASCII values are never booleans, decimals or dates (none of those parsers accept
+     * non-ASCII characters), but Long.parseLong accepts any Unicode decimal digit
      */
-    private boolean isInteger(String value) {
+    private static InferredType classifyNonAscii(String value, int start, int end) {
+        int i = start;
+        if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+            i++;
+        }
+        for (; i < end; i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return InferredType.STRING;
+            }
+        }
         try {
-            Long.parseLong(value.trim());
-            return true;
+            Long.parseLong(value.substring(start, end));
+            return InferredType.INTEGER;
         } catch (NumberFormatException e) {
+            return InferredType.STRING;
+        }
+    }
+
+    /**
+     * Check if value is a boolean (ASCII, case-insensitive)
+     */
+    private static boolean isBoolean(String value, int start, int end) {
+        int length = end - start;
+        if (length > 5) {
             return false;
         }
+        for (String candidate : BOOLEAN_VALUES) {
+            if (candidate.length() == length && value.regionMatches(true, start, candidate, 0, length)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Check if value is a decimal number
+     * Check if value is a long: optional sign, then digits within the range of long
      */
-    private boolean isDecimal(String value) {
-        try {
-            Double.parseDouble(value.trim());
-            return true;
-        } catch (NumberFormatException e) {
+    private static boolean isInteger(String value, int start, int end) {
+        boolean negative = value.charAt(start) == '-';
+        int i = negative || value.charAt(start) == '+' ? start + 1 : start;
+        if (i == end) {
             return false;
         }
+        for (int j = i; j < end; j++) {
+            char ch = value.charAt(j);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        while (i < end - 1 && value.charAt(i) == '0') {
+            i++;
+        }
+        int digits = end - i;
+        if (digits != LONG_MAX_DIGITS.length()) {
+            return digits < LONG_MAX_DIGITS.length();
+        }
+        String limit = negative ? LONG_MIN_DIGITS : LONG_MAX_DIGITS;
+        for (int j = 0; j < digits; j++) {
+            char ch = value.charAt(i + j);
+            if (ch != limit.charAt(j)) {
+                return ch < limit.charAt(j);
+            }
+        }
+        return true;
     }
 
     /**
-     * Check if value is a date
+     * Check if value is in the grammar of Double.parseDouble:
+     * [sign] (NaN | Infinity | digits [. digits] [e [sign] digits] [fFdD])
      */
-    private boolean isDate(String value) {
-        String trimmed = value.trim();
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+    private static boolean isDecimal(String value, int start, int end) {
+        int i = start;
+        if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+            i++;
+        }
+        if (value.startsWith("NaN", i) || value.startsWith("Infinity", i)) {
+            return end - i == (value.charAt(i) == 'N' ? 3 : 8);
+        }
+        if (i + 1 < end && value.charAt(i) == '0' && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+            // Hexadecimal floating point; rare enough to leave to the parser
             try {
-                LocalDate.parse(trimmed, formatter);
+                Double.parseDouble(value.substring(start, end));
                 return true;
-            } catch (DateTimeParseException e) {
-                // Try next formatter
+            } catch (NumberFormatException e) {
+                return false;
             }
         }
-        return false;
+
+        int digits = 0;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < end && value.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        if (i == end - 1 && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == end;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
     }
 
     /**
-     * Check if value is a datetime
+     * Run the formatters whose layout matches the shape, in list order
+     * Only values that look right but are not real dates (e.g. 2024-13-45) reach a failing parse
      */
-    private boolean isDateTime(String value) {
-        String trimmed = value.trim();
-        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
+    private static boolean parses(String trimmed, DateShape shape, List<DateFormat> formats,
+                                  BiFunction<CharSequence, DateTimeFormatter, ?> parser) {
+        for (DateFormat format : formats) {
+            if (!format.layout().test(shape)) {
+                continue;
+            }
             try {
-                LocalDateTime.parse(trimmed, formatter);
+                parser.apply(trimmed, format.formatter());
                 return true;
             } catch (DateTimeParseException e) {
                 // Try next formatter
@@ -219,6 +364,95 @@ public class TypeInferenceService {
         return false;
     }
 
+    /**
+     * A date formatter and a necessary condition on the layout of the values it accepts
+     */
+    private record DateFormat(DateTimeFormatter formatter, Predicate<DateShape> layout) {
+    }
+
+    /**
+     * Layout of a date-like value: three signed digit groups joined by one separator, optionally
+     * followed by 'T', 't' or ' ' and HH:mm[:ss[.fraction]]
+     *
+     * @param separator '-' or '/'
+     * @param digits digits in each of the three groups
+     * @param timeSeparator 'T', 't', ' ', or 0 without a time
+     * @param timeFields 2 for HH:mm, 3 with seconds, 4 with a fraction
+     */
+    private record DateShape(char separator, int[] digits, char timeSeparator, int timeFields) {
+
+        boolean hasTime() {
+            return timeSeparator != 0;
+        }
+
+        boolean yearFirst() {
+            return digits[0] >= 4 && digits[1] == 2 && digits[2] == 2;
+        }
+
+        boolean yearLast() {
+            return digits[0] == 2 && digits[1] == 2 && digits[2] >= 4;
+        }
+
+        static DateShape scan(String value, int start, int end) {
+            int[] digits = new int[3];
+            char separator = 0;
+            int i = start;
+            for (int group = 0; group < 3; group++) {
+                if (group > 0) {
+                    if (i == end) {
+                        return null;
+                    }
+                    char ch = value.charAt(i++);
+                    if (group == 1 && (ch == '-' || ch == '/')) {
+                        separator = ch;
+                    } else if (ch != separator) {
+                        return null;
+                    }
+                }
+                if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                    i++;
+                }
+                int from = i;
+                while (i < end && isDigit(value.charAt(i))) {
+                    i++;
+                }
+                digits[group] = i - from;
+                if (digits[group] == 0) {
+                    return null;
+                }
+            }
+            if (i == end) {
+                return new DateShape(separator, digits, (char) 0, 0);
+            }
+
+            char timeSeparator = value.charAt(i++);
+            if (timeSeparator != 'T' && timeSeparator != 't' && timeSeparator != ' ') {
+                return null;
+            }
+            int timeFields = 0;
+            while (timeFields < 3 && i + 2 <= end && isDigit(value.charAt(i)) && isDigit(value.charAt(i + 1))) {
+                i += 2;
+                timeFields++;
+                if (timeFields < 3 && i < end && value.charAt(i) == ':') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (timeFields < 2) {
+                return null;
+            }
+            if (timeFields == 3 && i < end && value.charAt(i) == '.') {
+                i++;
+                while (i < end && isDigit(value.charAt(i))) {
+                    i++;
+                }
+                timeFields = 4;
+            }
+            return i == end ? new DateShape(separator, digits, timeSeparator, timeFields) : null;
+        }
+    }
+
     /**
      * Result of type inference
      */
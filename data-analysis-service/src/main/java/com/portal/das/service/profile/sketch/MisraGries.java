@@ -0,0 +1,115 @@
+package com.portal.das.service.profile.sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frequent values of a stream with at most capacity counters (Misra-Gries)
+ * Every value occurring more than total / (capacity + 1) times is kept. Kept counts are lower
+ * bounds, short by at most that same amount. Adding is amortised O(1): a full sweep that
+ * decrements every counter removes capacity + 1 units, and each add contributes only one.
+ */
+public final class MisraGries {
+
+    private final int capacity;
+    private final Map<String, Long> counters;
+    private long total;
+
+    public MisraGries(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * A frequent value with its (lower-bound) count
+     */
+    public record Entry(String value, long count) {
+    }
+
+    public void add(String value) {
+        total++;
+        Long count = counters.get(value);
+        if (count != null) {
+            counters.put(value, count + 1);
+        } else if (counters.size() < capacity) {
+            counters.put(value, 1L);
+        } else {
+            Iterator<Map.Entry<String, Long>> it = counters.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                if (entry.getValue() == 1) {
+                    it.remove();
+                } else {
+                    entry.setValue(entry.getValue() - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Combine with the sketch of another part of the stream
+     * Counters are summed, then reduced by the (capacity + 1)-th largest so at most capacity remain
+     */
+    public void merge(MisraGries other) {
+        total += other.total;
+        other.counters.forEach((value, count) -> counters.merge(value, count, Long::sum));
+        if (counters.size() <= capacity) {
+            return;
+        }
+        long[] counts = counters.values().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(counts);
+        long cut = counts[counts.length - capacity - 1];
+        Iterator<Map.Entry<String, Long>> it = counters.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            if (entry.getValue() <= cut) {
+                it.remove();
+            } else {
+                entry.setValue(entry.getValue() - cut);
+            }
+        }
+    }
+
+    /**
+     * Values seen, including those without a counter
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Most a kept count can fall short of the true count
+     */
+    public long errorBound() {
+        long kept = 0;
+        for (long count : counters.values()) {
+            kept += count;
+        }
+        return (total - kept) / (capacity + 1);
+    }
+
+    /**
+     * Up to limit most frequent values, highest count first
+     * Only values whose count exceeds the error bound are returned; below it a counter may be
+     * noise, e.g. every counter of a column of unique values
+     */
+    public List<Entry> top(int limit) {
+        long bound = errorBound();
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((value, count) -> {
+            if (count > bound) {
+                entries.add(new Entry(value, count));
+            }
+        });
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::value));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+}
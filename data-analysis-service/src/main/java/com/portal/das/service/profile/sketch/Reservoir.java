@@ -0,0 +1,68 @@
+package com.portal.das.service.profile.sketch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Uniform random sample of at most capacity values from a stream (Algorithm R)
+ * Two reservoirs merge into a uniform sample of the combined stream by drawing from each side
+ * in proportion to the number of values it has seen.
+ */
+public final class Reservoir {
+
+    private final int capacity;
+    private final Random random;
+    private List<String> items;
+    private long seen;
+
+    /**
+     * @param seed Seed of the sampling random source, so a profile can be reproduced
+     */
+    public Reservoir(int capacity, long seed) {
+        this.capacity = capacity;
+        this.random = new Random(seed);
+        this.items = new ArrayList<>(capacity);
+    }
+
+    public void add(String value) {
+        seen++;
+        if (items.size() < capacity) {
+            items.add(value);
+            return;
+        }
+        long slot = random.nextLong(seen);
+        if (slot < capacity) {
+            items.set((int) slot, value);
+        }
+    }
+
+    public void merge(Reservoir other) {
+        List<String> left = new ArrayList<>(items);
+        List<String> right = new ArrayList<>(other.items);
+        Collections.shuffle(left, random);
+        Collections.shuffle(right, random);
+
+        long leftWeight = seen;
+        long rightWeight = other.seen;
+        List<String> merged = new ArrayList<>(capacity);
+        while (merged.size() < capacity && (!left.isEmpty() || !right.isEmpty())) {
+            boolean fromLeft = right.isEmpty()
+                    || (!left.isEmpty() && random.nextLong(leftWeight + rightWeight) < leftWeight);
+            if (fromLeft) {
+                merged.add(left.remove(left.size() - 1));
+                leftWeight--;
+            } else {
+                merged.add(right.remove(right.size() - 1));
+                rightWeight--;
+            }
+        }
+        items = merged;
+        seen += other.seen;
+    }
+
+    public List<String> values() {
+        return Collections.unmodifiableList(items);
+    }
+}
@@ -4,6 +4,8 @@ import com.portal.das.domain.model.*;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ColumnarDataset;
+import com.portal.das.service.columnar.ColumnarStore;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +34,7 @@ public class DataQualityService {
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
+    private final ColumnarStore columnarStore;
 
     /**
      * Validate dataset using quality rules
@@ -66,14 +69,11 @@ public class DataQualityService {
             log.error("Failed to create output directory", e);
         }
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .build()
-                     .parse(reader);
-             FileWriter violationsWriter = new FileWriter(violationsCsvPath.toFile());
+        // Columns the rules check, from the columnar sidecar when the file has one
+        Optional<ColumnarDataset> columnar = columnarStore.open(file);
+        Map<String, List<String>> csvColumns = columnar.isPresent() ? Map.of() : readRuleColumns(file, rules);
+
+        try (FileWriter violationsWriter = new FileWriter(violationsCsvPath.toFile());
              CSVPrinter violationsPrinter = new CSVPrinter(violationsWriter, CSVFormat.DEFAULT)) {
 
             // Write header for violations CSV
@@ -82,7 +82,10 @@ public class DataQualityService {
 
             // Validate each rule
             for (DataQualityRule rule : rules) {
-                DataQualityReport.RuleViolation violation = validateRule(parser, rule, maxViolationsPerRule, violationsPrinter);
+                List<String> values = columnar
+                        .map(sidecar -> sidecar.readStrings(rule.getColumn()))
+                        .orElseGet(() -> csvColumns.get(rule.getColumn()));
+                DataQualityReport.RuleViolation violation = validateRule(values, rule, maxViolationsPerRule, violationsPrinter);
                 ruleViolations.add(violation);
                 totalViolations += violation.getViolationCount();
             }
@@ -103,11 +106,42 @@ public class DataQualityService {
                 .build();
     }
 
+    /**
+     * Read the columns referenced by the rules from the CSV in one pass
+     */
+    private Map<String, List<String>> readRuleColumns(UploadedFile file, List<DataQualityRule> rules) {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        for (DataQualityRule rule : rules) {
+            columns.putIfAbsent(rule.getColumn(), new ArrayList<>());
+        }
+
+        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
+             Reader reader = new InputStreamReader(inputStream);
+             CSVParser parser = CSVFormat.DEFAULT.builder()
+                     .setHeader()
+                     .setSkipHeaderRecord(true)
+                     .build()
+                     .parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                for (Map.Entry<String, List<String>> column : columns.entrySet()) {
+                    column.getValue().add(record.get(column.getKey()));
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("Failed to validate dataset", e);
+            throw new RuntimeException("Failed to validate dataset");
+        }
+
+        return columns;
+    }
+
     /**
      * Validate a single rule
      */
     private DataQualityReport.RuleViolation validateRule(
-            CSVParser parser, 
+            List<String> values, 
             DataQualityRule rule, 
             int maxSamples,
             CSVPrinter violationsPrinter) {
@@ -117,9 +151,8 @@ public class DataQualityService {
         long violationCount = 0;
         int rowIndex = 0;
 
-        for (CSVRecord record : parser) {
+        for (String value : values) {
             rowIndex++;
-            String value = record.get(rule.getColumn());
 
             // Check violations
             List<String> violations = checkValue(value, rule);
@@ -8,17 +8,19 @@ import com.portal.das.domain.ports.out.file.FileStoragePort;
 import com.sharedlib.core.exception.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -31,6 +33,12 @@ import java.util.UUID;
 @Tag(name = "Download & Export", description = "APIs for downloading datasets and analysis results")
 public class DownloadController {
 
+    // Request attributes of Tomcat's sendfile support (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
@@ -39,13 +47,22 @@ public class DownloadController {
      * Download dataset as CSV
      * GET /api/datasets/{id}/download
      *
+     * Supports single byte ranges (Range / If-Range) so interrupted downloads can resume.
+     * The body never passes through the Java heap: under Tomcat the file is handed to the
+     * connector's sendfile, elsewhere it is copied with FileChannel.transferTo.
+     *
      * @param datasetId Dataset identifier
-     * @return CSV file
+     * @param rangeHeader Optional Range header
+     * @param ifRange Optional If-Range header
      */
     @GetMapping("/{id}/download")
-    @Operation(summary = "Download dataset", description = "Download dataset as CSV file")
+    @Operation(summary = "Download dataset", description = "Download dataset as CSV file; supports HTTP Range requests")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ResponseEntity<Resource> downloadDataset(@PathVariable("id") UUID datasetId) {
+    public void downloadDataset(@PathVariable("id") UUID datasetId,
+                                @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                                @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
         log.info("Downloading dataset: {}", datasetId);
 
         // Load dataset
@@ -56,22 +73,58 @@ public class DownloadController {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
-        // Get file stream
-        InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
+        String storedFilename = file.getStoredFilename();
+        long length = fileStoragePort.size(storedFilename);
+        // Stored files are never rewritten, so the file id identifies the content
+        String etag = "\"" + file.getFileId() + "\"";
 
         // Prepare response
         String filename = dataset.getName().replaceAll("[^a-zA-Z0-9.-]", "_") + ".csv";
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setContentType("text/csv");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-        headers.add(HttpHeaders.CONTENT_TYPE, "text/csv");
+        long start = 0;
+        long end = length - 1;
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                // Malformed ranges are ignored and the whole file is sent
+                ranges = List.of();
+            }
+            // Multiple ranges are answered with the whole file, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
 
-        InputStreamResource resource = new InputStreamResource(inputStream);
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count <= 0) {
+            return;
+        }
 
-        return ResponseEntity.ok()
-                .headers(headers)
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(resource);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the range with sendfile once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, fileStoragePort.getPath(storedFilename).toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        fileStoragePort.transferTo(storedFilename, start, count, Channels.newChannel(response.getOutputStream()));
     }
 }
-
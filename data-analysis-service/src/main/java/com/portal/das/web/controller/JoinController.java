@@ -1,6 +1,5 @@
 package com.portal.das.web.controller;
 
-import com.portal.das.domain.model.Dataset;
 import com.portal.das.domain.model.JoinRequest;
 import com.portal.das.service.join.JoinService;
 import com.sharedlib.core.web.response.ApiResponse;
@@ -12,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * REST Controller for dataset join operations
  */
@@ -29,37 +30,29 @@ public class JoinController {
      * POST /api/datasets/join
      *
      * @param request Join parameters
-     * @return New dataset ID containing join result
+     * @return ID of the JOIN job; track it at /api/jobs/{id}, its result is the new dataset ID
      */
     @PostMapping("/join")
     @Operation(summary = "Join datasets", 
-               description = "Join two datasets using pandas merge style. Returns new dataset ID.")
+               description = "Join two datasets using pandas merge style. Runs as a job; the job result is the new dataset ID.")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ApiResponse<JoinResultResponse> joinDatasets(@RequestBody @Valid JoinRequest request) {
+    public ApiResponse<JoinJobResponse> joinDatasets(@RequestBody @Valid JoinRequest request) {
         log.info("Joining datasets: {} and {}", request.getLeftDatasetId(), request.getRightDatasetId());
 
-        Dataset joinedDataset = joinService.join(request);
-
-        JoinResultResponse response = JoinResultResponse.builder()
-                .datasetId(joinedDataset.getDatasetId())
-                .rows(joinedDataset.getRowCount())
-                .columns(joinedDataset.getColumnCount())
-                .build();
+        UUID jobId = joinService.submitJoin(request);
 
-        return ApiResponse.ok(response);
+        return ApiResponse.ok(JoinJobResponse.builder().jobId(jobId).build());
     }
 
     /**
-     * Join result response
+     * Join job response
      */
     @lombok.Data
     @lombok.Builder
     @lombok.NoArgsConstructor
     @lombok.AllArgsConstructor
-    public static class JoinResultResponse {
-        private java.util.UUID datasetId;
-        private Integer rows;
-        private Integer columns;
+    public static class JoinJobResponse {
+        private UUID jobId;
     }
 }
 
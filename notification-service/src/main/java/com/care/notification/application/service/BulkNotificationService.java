@@ -54,9 +54,14 @@ public class BulkNotificationService {
     private void processBatch(NotificationCampaignEntity campaign, List<UUID> ids) {
         List<NotificationEntity> notifications = new ArrayList<>();
         for (UUID id : ids) {
+            String channel = campaign.getPreferredChannel() != null ? campaign.getPreferredChannel() : "EMAIL";
             NotificationEntity n = new NotificationEntity();
-            n.setId(UUID.randomUUID());
+            n.setIdempotencyKey("campaign:" + campaign.getId() + ":" + id);
+            n.setCampaignId(campaign.getId());
             n.setBeneficiaryId(id);
+            n.setNotificationType(campaign.getNotificationType());
+            n.setPreferredChannel(channel);
+            n.setChannel(channel);
             n.setStatus(NotificationEntity.NotificationStatus.PENDING);
             n.setMaxRetries(maxRetries);
             notifications.add(n);
@@ -64,6 +69,7 @@ public class BulkNotificationService {
         List<NotificationEntity> saved = notificationRepository.saveAll(notifications);
         for (NotificationEntity n : saved) {
             NotificationEvent event = NotificationEvent.fromRequest(n.getId(), null);
+            event.setCampaignId(campaign.getId());
             kafkaProducer.publishNotificationEvent(event);
         }
     }
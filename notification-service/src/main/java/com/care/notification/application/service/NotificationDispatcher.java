@@ -0,0 +1,103 @@
+package com.care.notification.application.service;
+
+import com.care.notification.application.dto.NotificationRequest;
+import com.care.notification.application.dto.NotificationResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends notifications concurrently, with one bounded pool per channel
+ *
+ * Provider calls are blocking, so each channel gets its own fixed number of threads
+ * (app.notification.dispatch.*-concurrency). A slow SMS gateway then only holds SMS threads
+ * and never starves email or push sends of the same batch.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private final EmailService emailService;
+    private final SMSService smsService;
+    private final PushNotificationService pushNotificationService;
+
+    private final ExecutorService emailExecutor;
+    private final ExecutorService smsExecutor;
+    private final ExecutorService pushExecutor;
+
+    public NotificationDispatcher(
+        EmailService emailService,
+        SMSService smsService,
+        PushNotificationService pushNotificationService,
+        @Value("${app.notification.dispatch.email-concurrency:16}") int emailConcurrency,
+        @Value("${app.notification.dispatch.sms-concurrency:8}") int smsConcurrency,
+        @Value("${app.notification.dispatch.push-concurrency:16}") int pushConcurrency) {
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.pushNotificationService = pushNotificationService;
+        this.emailExecutor = Executors.newFixedThreadPool(emailConcurrency, threadFactory("notify-email-"));
+        this.smsExecutor = Executors.newFixedThreadPool(smsConcurrency, threadFactory("notify-sms-"));
+        this.pushExecutor = Executors.newFixedThreadPool(pushConcurrency, threadFactory("notify-push-"));
+    }
+
+    /**
+     * Send one notification on its channel's pool
+     *
+     * @param channel EMAIL, SMS or PUSH (case-insensitive)
+     * @return the provider result; failures complete normally with a failed result
+     */
+    public CompletableFuture<NotificationResult> dispatch(String channel, NotificationRequest request) {
+        String normalized = channel == null ? "EMAIL" : channel.toUpperCase();
+        ExecutorService executor = switch (normalized) {
+            case "EMAIL" -> emailExecutor;
+            case "SMS" -> smsExecutor;
+            case "PUSH" -> pushExecutor;
+            default -> null;
+        };
+        if (executor == null) {
+            return CompletableFuture.completedFuture(
+                NotificationResult.failed(normalized, "Unsupported channel: " + normalized));
+        }
+        return CompletableFuture
+            .supplyAsync(() -> send(normalized, request), executor)
+            .exceptionally(e -> {
+                log.error("Send failed on {}: {}", normalized, e.getMessage());
+                return NotificationResult.failed(normalized, e.getMessage());
+            });
+    }
+
+    private NotificationResult send(String channel, NotificationRequest request) {
+        return switch (channel) {
+            case "SMS" -> smsService.sendSMSNotification(request);
+            case "PUSH" -> pushNotificationService.sendPushNotification(request);
+            default -> emailService.sendEmailNotification(request);
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        emailExecutor.shutdown();
+        smsExecutor.shutdown();
+        pushExecutor.shutdown();
+        emailExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        smsExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        pushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
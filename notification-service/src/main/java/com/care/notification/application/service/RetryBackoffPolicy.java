@@ -0,0 +1,44 @@
+package com.care.notification.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for failed notification sends
+ *
+ * The n-th retry waits initialDelay * multiplier^n, capped at maxDelay, of which the upper half is
+ * randomized so notifications that failed together (a provider outage) do not retry together.
+ */
+@Component
+public class RetryBackoffPolicy {
+
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final long maxDelayMs;
+
+    public RetryBackoffPolicy(
+        @Value("${app.notification.retry.initial-delay-ms:10000}") long initialDelayMs,
+        @Value("${app.notification.retry.backoff-multiplier:1.5}") double multiplier,
+        @Value("${app.notification.retry.max-delay-ms:3600000}") long maxDelayMs) {
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Delay before retry number retryCount (0 for the first retry), in milliseconds
+     */
+    public long delayMs(int retryCount) {
+        double delay = Math.min(maxDelayMs, initialDelayMs * Math.pow(multiplier, retryCount));
+        double half = delay / 2;
+        return (long) (half + ThreadLocalRandom.current().nextDouble() * half);
+    }
+
+    public LocalDateTime nextRetryAt(int retryCount) {
+        return LocalDateTime.now().plus(delayMs(retryCount), ChronoUnit.MILLIS);
+    }
+}
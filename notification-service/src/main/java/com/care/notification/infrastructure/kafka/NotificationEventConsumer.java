@@ -1,110 +1,197 @@
 package com.care.notification.infrastructure.kafka;
 
+import com.care.notification.application.dto.NotificationRequest;
 import com.care.notification.application.dto.NotificationResult;
-import com.care.notification.application.service.EmailService;
-import com.care.notification.application.service.SMSService;
-import com.care.notification.application.service.PushNotificationService;
+import com.care.notification.application.service.NotificationDispatcher;
+import com.care.notification.application.service.RetryBackoffPolicy;
 import com.care.notification.infrastructure.persistence.entity.NotificationEntity;
 import com.care.notification.infrastructure.persistence.entity.NotificationEntity.NotificationStatus;
+import com.care.notification.infrastructure.persistence.repository.CampaignProgressBatchRepository;
+import com.care.notification.infrastructure.persistence.repository.CampaignProgressBatchRepository.Outcomes;
 import com.care.notification.infrastructure.persistence.repository.NotificationRepository;
+import com.care.notification.infrastructure.persistence.repository.NotificationStatusBatchRepository;
+import com.care.notification.infrastructure.persistence.repository.NotificationStatusBatchRepository.StatusUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Batch consumer for notification events
+ *
+ * Each poll hands over up to app.notification.consumer.batch-size events of one partition set.
+ * Their notifications are loaded with one IN query, sent concurrently through the per-channel
+ * pools of NotificationDispatcher, and settled with one JDBC batch update before the whole batch
+ * is acknowledged. Throughput scales with partitions x batch size instead of one blocking send
+ * per listener thread.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class NotificationEventConsumer {
-    
+
+    /**
+     * Final statuses; a redelivered event must not send (or count) these again
+     */
+    private static final Set<NotificationStatus> SETTLED = EnumSet.of(
+        NotificationStatus.SENT, NotificationStatus.DELIVERED,
+        NotificationStatus.OPENED, NotificationStatus.CLICKED,
+        NotificationStatus.FAILED, NotificationStatus.BOUNCED);
+
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
-    private final SMSService smsService;
-    private final PushNotificationService pushNotificationService;
-    
+    private final NotificationStatusBatchRepository statusBatchRepository;
+    private final CampaignProgressBatchRepository campaignProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final RetryBackoffPolicy backoffPolicy;
+
+    private record Attempt(NotificationEntity notification, NotificationEvent event, String channel,
+                           CompletableFuture<NotificationResult> result) {
+    }
+
     @KafkaListener(
         topics = KafkaConfig.TOPIC_NOTIFICATION_EVENTS,
         groupId = KafkaConfig.CONSUMER_GROUP_NOTIFICATION,
-        concurrency = "3"
+        concurrency = "${app.notification.consumer.concurrency:3}",
+        batch = "true",
+        properties = "max.poll.records=${app.notification.consumer.batch-size:200}"
     )
-    public void consumeNotificationEvent(
-        @Payload NotificationEvent event,
+    public void consumeNotificationEvents(
+        @Payload List<NotificationEvent> events,
         Acknowledgment acknowledgment) {
-        
+
         try {
-            log.info("Processing notification {}", event.getNotificationId());
-            
-            NotificationEntity notification = notificationRepository
-                .findById(event.getNotificationId())
-                .orElse(null);
-            
-            if (notification == null) {
-                log.warn("Notification not found: {}", event.getNotificationId());
-                acknowledgment.acknowledge();
-                return;
+            // Later events for the same notification win (e.g. a republished retry)
+            Map<UUID, NotificationEvent> byId = new LinkedHashMap<>();
+            for (NotificationEvent event : events) {
+                if (event != null && event.getNotificationId() != null) {
+                    byId.put(event.getNotificationId(), event);
+                }
+            }
+            log.info("Processing batch of {} notification events ({} distinct)", events.size(), byId.size());
+
+            Map<UUID, NotificationEntity> notifications = notificationRepository.findAllById(byId.keySet())
+                .stream()
+                .collect(Collectors.toMap(NotificationEntity::getId, Function.identity()));
+
+            List<Attempt> attempts = new ArrayList<>(byId.size());
+            for (NotificationEvent event : byId.values()) {
+                NotificationEntity notification = notifications.get(event.getNotificationId());
+                if (notification == null) {
+                    log.warn("Notification not found: {}", event.getNotificationId());
+                    continue;
+                }
+                if (SETTLED.contains(notification.getStatus())) {
+                    log.debug("Notification {} already {}, skipping", notification.getId(), notification.getStatus());
+                    continue;
+                }
+                String channel = notification.getPreferredChannel() != null
+                    ? notification.getPreferredChannel().toUpperCase()
+                    : "EMAIL";
+                attempts.add(new Attempt(notification, event, channel,
+                    dispatcher.dispatch(channel, toRequest(notification, event))));
+            }
+
+            CompletableFuture.allOf(attempts.stream()
+                .map(Attempt::result)
+                .toArray(CompletableFuture[]::new)).join();
+
+            List<StatusUpdate> updates = new ArrayList<>(attempts.size());
+            Map<UUID, Outcomes> campaignOutcomes = new HashMap<>();
+            int sent = 0;
+            for (Attempt attempt : attempts) {
+                NotificationResult result = attempt.result().join();
+                StatusUpdate update;
+                if (result.isSuccess()) {
+                    sent++;
+                    update = new StatusUpdate(attempt.notification().getId(), NotificationStatus.SENT,
+                        attempt.channel(), true, null, attempt.notification().getRetryCount(), null,
+                        LocalDateTime.now());
+                } else {
+                    update = failureUpdate(attempt, result.getErrorMessage());
+                }
+                updates.add(update);
+                UUID campaignId = attempt.notification().getCampaignId();
+                if (campaignId != null && update.status() != NotificationStatus.RETRYING) {
+                    campaignOutcomes.merge(campaignId,
+                        update.success() ? new Outcomes(1, 0) : new Outcomes(0, 1), Outcomes::plus);
+                }
             }
-            
-            // Try to send notification
-            boolean success = attemptSend(notification);
-            
-            if (success) {
-                notification.setStatus(NotificationStatus.SENT);
-                notification.setSentAt(LocalDateTime.now());
-                notificationRepository.save(notification);
-                log.info("Notification {} sent successfully", event.getNotificationId());
-                acknowledgment.acknowledge();
-            } else {
-                // Handle retry
-                handleFailure(notification, event);
-                acknowledgment.acknowledge();
+            // Statuses and campaign counters move together, so a notification is counted once
+            if (!updates.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    statusBatchRepository.updateAll(updates);
+                    if (!campaignOutcomes.isEmpty()) {
+                        campaignProgressRepository.increment(campaignOutcomes);
+                    }
+                });
             }
-            
+            acknowledgment.acknowledge();
+            log.info("Notification batch done: {} sent, {} not sent", sent, updates.size() - sent);
+
         } catch (Exception e) {
-            log.error("Error processing notification: {}", e.getMessage());
+            log.error("Error processing notification batch: {}", e.getMessage());
             throw new RuntimeException("Processing failed", e);
         }
     }
-    
-    private boolean attemptSend(NotificationEntity notification) {
-        String channel = notification.getPreferredChannel() != null 
-            ? notification.getPreferredChannel() 
-            : "EMAIL";
-        
+
+    /**
+     * The event carries the full request for single sends; bulk campaign events do not, so the
+     * stored notification fills in the recipient
+     */
+    private NotificationRequest toRequest(NotificationEntity notification, NotificationEvent event) {
+        if (event.getRequest() != null) {
+            return event.getRequest();
+        }
+        return NotificationRequest.builder()
+            .beneficiaryId(notification.getBeneficiaryId())
+            .mobileNumber(notification.getMobileNumber())
+            .email(notification.getEmail())
+            .deviceId(notification.getDeviceId())
+            .hasInstalledMobileApp(notification.isHasInstalledMobileApp())
+            .preferredChannel(notification.getPreferredChannel())
+            .notificationType(parseType(notification.getNotificationType()))
+            .build();
+    }
+
+    private NotificationRequest.NotificationType parseType(String type) {
         try {
-            if ("EMAIL".equalsIgnoreCase(channel)) {
-                return emailService.sendEmailNotification(null).isSuccess();
-            } else if ("SMS".equalsIgnoreCase(channel)) {
-                return smsService.sendSMSNotification(null).isSuccess();
-            } else if ("PUSH".equalsIgnoreCase(channel)) {
-                return pushNotificationService.sendPushNotification(null).isSuccess();
-            }
-            return false;
-        } catch (Exception e) {
-            log.error("Send failed: {}", e.getMessage());
-            return false;
+            return type == null ? null : NotificationRequest.NotificationType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
-    
-    private void handleFailure(NotificationEntity notification, NotificationEvent event) {
+
+    private StatusUpdate failureUpdate(Attempt attempt, String errorMessage) {
+        NotificationEvent event = attempt.event();
+        UUID id = attempt.notification().getId();
         if (event.isRetryable()) {
-            notification.setStatus(NotificationStatus.RETRYING);
-            notification.setRetryCount(event.getRetryCount() + 1);
-            long delay = (long) (100 * Math.pow(1.5, event.getRetryCount()));
-            notification.setNextRetryAt(LocalDateTime.now().plusSeconds(delay / 1000));
-            notificationRepository.save(notification);
-            log.info("Notification queued for retry");
-        } else {
-            notification.setStatus(NotificationStatus.FAILED);
-            notificationRepository.save(notification);
-            log.error("Notification failed - no more retries");
+            LocalDateTime nextRetryAt = backoffPolicy.nextRetryAt(event.getRetryCount());
+            log.info("Notification {} queued for retry at {}", id, nextRetryAt);
+            return new StatusUpdate(id, NotificationStatus.RETRYING, attempt.channel(), false, errorMessage,
+                event.getRetryCount() + 1, nextRetryAt, null);
         }
+        log.error("Notification {} failed - no more retries", id);
+        return new StatusUpdate(id, NotificationStatus.FAILED, attempt.channel(), false, errorMessage,
+            attempt.notification().getRetryCount(), null, null);
     }
-    
+
     @KafkaListener(topics = KafkaConfig.TOPIC_NOTIFICATION_DLQ)
     public void handleDLQ(@Payload NotificationEvent event) {
         log.error("CRITICAL: Message in DLQ - {}", event.getNotificationId());
@@ -4,11 +4,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Kafka producer for sending notification events asynchronously
@@ -25,22 +27,25 @@ public class NotificationEventProducer {
      * Publish notification event to Kafka for async processing
      *
      * @param event The notification event to publish
+     * @return Completes when the broker acknowledged the event, or exceptionally when delivery failed
      */
-    public void publishNotificationEvent(NotificationEvent event) {
+    public CompletableFuture<SendResult<String, NotificationEvent>> publishNotificationEvent(NotificationEvent event) {
         try {
             String key = event.getNotificationId().toString();
             
             Message<NotificationEvent> message = MessageBuilder
                 .withPayload(event)
                 .setHeader(KafkaHeaders.TOPIC, KafkaConfig.TOPIC_NOTIFICATION_EVENTS)
+                .setHeader(KafkaHeaders.KEY, key)
                 .setHeader("X-Notification-ID", event.getNotificationId().toString())
                 .setHeader("X-Priority", event.getPriority())
                 .build();
             
-            kafkaTemplate.send(message);
+            CompletableFuture<SendResult<String, NotificationEvent>> send = kafkaTemplate.send(message);
             
             log.debug("Notification event published to Kafka: {} with key: {}", 
                 event.getNotificationId(), key);
+            return send;
             
         } catch (Exception e) {
             log.error("Failed to publish notification event {}: {}", 
@@ -114,6 +114,18 @@ public class NotificationEntity {
     @Column(name = "next_retry_at")
     private LocalDateTime nextRetryAt;
 
+    /**
+     * Node currently holding this notification's retry (NotificationRetryScheduler)
+     */
+    @Column(name = "retry_claimed_by", length = 100)
+    private String retryClaimedBy;
+
+    /**
+     * When the retry claim lapses and another node may take it over
+     */
+    @Column(name = "retry_claim_expires_at")
+    private LocalDateTime retryClaimExpiresAt;
+
     /**
      * External provider's message ID (e.g., SendGrid message ID, Twilio SID)
      */
@@ -138,6 +150,12 @@ public class NotificationEntity {
     @Column(name = "appointment_code", length = 50)
     private String appointmentCode;
 
+    /**
+     * Campaign this notification belongs to (null for single sends)
+     */
+    @Column(name = "campaign_id")
+    private UUID campaignId;
+
     /**
      * Additional metadata stored as JSON
      */
@@ -0,0 +1,55 @@
+package com.care.notification.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps campaign success/failure counters current as delivery outcomes arrive
+ *
+ * The consumer adds each batch's outcomes per campaign in one JDBC batch, so reading progress
+ * never has to count notifications.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CampaignProgressBatchRepository {
+
+    private static final String INCREMENT = """
+            UPDATE notification_campaigns
+               SET success_count = COALESCE(success_count, 0) + ?,
+                   failure_count = COALESCE(failure_count, 0) + ?
+             WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcomes of one batch for one campaign
+     */
+    public record Outcomes(int succeeded, int failed) {
+
+        public Outcomes plus(Outcomes other) {
+            return new Outcomes(succeeded + other.succeeded, failed + other.failed);
+        }
+    }
+
+    /**
+     * Rows are updated in id order (UUID text order is PostgreSQL's uuid order), the order in which
+     * NotificationCampaignRepository.lockActiveCampaigns locks them
+     */
+    public void increment(Map<UUID, Outcomes> outcomesByCampaign) {
+        List<Map.Entry<UUID, Outcomes>> entries = new ArrayList<>(outcomesByCampaign.entrySet());
+        entries.sort(Comparator.comparing(entry -> entry.getKey().toString()));
+        jdbcTemplate.batchUpdate(INCREMENT, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue().succeeded());
+            ps.setInt(2, entry.getValue().failed());
+            ps.setObject(3, entry.getKey());
+        });
+    }
+}
@@ -4,6 +4,7 @@ import com.care.notification.infrastructure.persistence.entity.NotificationCampa
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -117,4 +118,52 @@ public interface NotificationCampaignRepository extends JpaRepository<Notificati
            "FROM NotificationCampaignEntity c WHERE c.tenantId = :tenantId " +
            "AND c.successCount + c.failureCount > 0 AND c.isDeleted = false")
     Double getAverageSuccessRate(@Param("tenantId") UUID tenantId);
+    
+    /**
+     * Complete every in-progress campaign whose outcomes reached its target, across all tenants
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE notification_campaigns
+               SET status = 'COMPLETED', completed_at = :now
+             WHERE status IN ('ACTIVE', 'PAUSED')
+               AND is_deleted = false
+               AND target_beneficiary_count > 0
+               AND COALESCE(success_count, 0) + COALESCE(failure_count, 0) >= target_beneficiary_count
+            """, nativeQuery = true)
+    int completeFinishedCampaigns(@Param("now") LocalDateTime now);
+    
+    /**
+     * Lock all in-progress campaigns for a reconciliation, in id order like
+     * CampaignProgressBatchRepository.increment so the two cannot deadlock
+     */
+    @Query(value = """
+            SELECT id
+              FROM notification_campaigns
+             WHERE status IN ('ACTIVE', 'PAUSED') AND is_deleted = false
+             ORDER BY id
+               FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockActiveCampaigns();
+
+    /**
+     * Recount the counters of the given campaigns with one grouped count over their
+     * notifications, correcting drift (e.g. outcomes changed later by delivery webhooks)
+     * Run after lockActiveCampaigns in the same transaction: the count then sees every increment
+     * committed before the lock, and later increments wait for this one to commit
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE notification_campaigns c
+               SET success_count = s.succeeded, failure_count = s.failed
+              FROM (SELECT n.campaign_id,
+                           COUNT(*) FILTER (WHERE n.status IN ('SENT', 'DELIVERED', 'OPENED', 'CLICKED')) AS succeeded,
+                           COUNT(*) FILTER (WHERE n.status IN ('FAILED', 'BOUNCED')) AS failed
+                      FROM notifications n
+                     WHERE n.campaign_id IN (:campaignIds)
+                     GROUP BY n.campaign_id) s
+             WHERE c.id = s.campaign_id
+               AND (c.success_count IS DISTINCT FROM s.succeeded OR c.failure_count IS DISTINCT FROM s.failed)
+            """, nativeQuery = true)
+    int reconcileCampaignCounts(@Param("campaignIds") List<UUID> campaignIds);
 }
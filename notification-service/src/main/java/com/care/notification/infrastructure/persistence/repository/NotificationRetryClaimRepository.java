@@ -0,0 +1,128 @@
+package com.care.notification.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims RETRYING notifications for one scheduler node
+ *
+ * A claim stamps due rows with the node id and a lease in a single statement. The inner select
+ * locks its rows FOR UPDATE SKIP LOCKED, so concurrent nodes take disjoint batches without
+ * waiting on each other; afterwards the lease keeps other nodes off the rows until this node
+ * republishes them or dies.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRetryClaimRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Spliced into CLAIM and BACKLOG with formatted(): concatenating text blocks would lose the
+     * space after WHERE, since text blocks strip trailing whitespace
+     */
+    private static final String UNCLAIMED_RETRY = """
+            status = 'RETRYING'
+            AND is_deleted = false
+            AND retry_count < max_retries
+            AND next_retry_at IS NOT NULL
+            AND (retry_claim_expires_at IS NULL OR retry_claim_expires_at < ?)
+            """;
+
+    static final String CLAIM = """
+            UPDATE notifications
+               SET retry_claimed_by = ?, retry_claim_expires_at = ?
+             WHERE id IN (
+                   SELECT id FROM notifications
+                    WHERE %s
+                      AND next_retry_at <= ?
+                    ORDER BY next_retry_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+            RETURNING id, retry_count, max_retries, next_retry_at
+            """.formatted(UNCLAIMED_RETRY);
+
+    private static final String MARK_REPUBLISHED = """
+            UPDATE notifications
+               SET status = 'PENDING', retry_claimed_by = NULL, retry_claim_expires_at = NULL, updated_at = ?
+             WHERE id = ? AND retry_claimed_by = ?
+            """;
+
+    private static final String RELEASE = """
+            UPDATE notifications
+               SET retry_claimed_by = NULL, retry_claim_expires_at = NULL
+             WHERE id = ? AND retry_claimed_by = ?
+            """;
+
+    static final String BACKLOG = """
+            SELECT COUNT(*), MIN(next_retry_at) FROM notifications
+             WHERE %s
+               AND next_retry_at <= ?
+            """.formatted(UNCLAIMED_RETRY);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A claimed retry
+     */
+    public record ClaimedRetry(UUID id, int retryCount, int maxRetries, LocalDateTime nextRetryAt) {
+    }
+
+    /**
+     * Due retries nobody else holds: count and the oldest due time (null when none)
+     */
+    public record Backlog(long count, LocalDateTime oldestDueAt) {
+    }
+
+    /**
+     * Claim up to limit unclaimed retries due before dueBefore, earliest first
+     */
+    public List<ClaimedRetry> claim(String nodeId, LocalDateTime now, LocalDateTime dueBefore,
+                                    LocalDateTime leaseUntil, int limit) {
+        return jdbcTemplate.query(CLAIM,
+            (rs, i) -> new ClaimedRetry(
+                rs.getObject(1, UUID.class),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getTimestamp(4).toLocalDateTime()),
+            nodeId, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), Timestamp.valueOf(dueBefore), limit);
+    }
+
+    /**
+     * Hand republished notifications back to the consumer (PENDING) and drop this node's claim
+     */
+    public void markRepublished(String nodeId, List<UUID> ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MARK_REPUBLISHED, ids, BATCH_SIZE, (ps, id) -> {
+            ps.setTimestamp(1, now);
+            ps.setObject(2, id);
+            ps.setString(3, nodeId);
+        });
+    }
+
+    /**
+     * Drop this node's claim so any node can take the retries again
+     */
+    public void release(String nodeId, List<UUID> ids) {
+        jdbcTemplate.batchUpdate(RELEASE, ids, BATCH_SIZE, (ps, id) -> {
+            ps.setObject(1, id);
+            ps.setString(2, nodeId);
+        });
+    }
+
+    public Backlog backlog(LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.queryForObject(BACKLOG,
+            (rs, i) -> {
+                Timestamp oldest = rs.getTimestamp(2);
+                return new Backlog(rs.getLong(1), oldest == null ? null : oldest.toLocalDateTime());
+            },
+            timestamp, timestamp);
+    }
+}
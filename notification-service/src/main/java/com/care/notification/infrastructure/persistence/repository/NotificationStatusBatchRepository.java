@@ -0,0 +1,60 @@
+package com.care.notification.infrastructure.persistence.repository;
+
+import com.care.notification.infrastructure.persistence.entity.NotificationEntity.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes delivery outcomes back with JDBC batches
+ *
+ * The Kafka batch listener settles hundreds of notifications at once; one UPDATE per row through
+ * JPA would cost a merge and a round trip each.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationStatusBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE = """
+            UPDATE notifications
+               SET status = ?, channel = ?, is_success = ?, error_message = ?, retry_count = ?,
+                   next_retry_at = ?, sent_at = COALESCE(?, sent_at), updated_at = ?,
+                   retry_claimed_by = NULL, retry_claim_expires_at = NULL
+             WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcome of one send attempt; sentAt is null when nothing was sent
+     */
+    public record StatusUpdate(UUID id, NotificationStatus status, String channel, boolean success,
+                               String errorMessage, int retryCount, LocalDateTime nextRetryAt,
+                               LocalDateTime sentAt) {
+    }
+
+    /**
+     * Apply all updates, BATCH_SIZE statements per round trip
+     */
+    public void updateAll(List<StatusUpdate> updates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE, updates, BATCH_SIZE, (ps, update) -> {
+            ps.setString(1, update.status().name());
+            ps.setString(2, update.channel());
+            ps.setBoolean(3, update.success());
+            ps.setString(4, update.errorMessage());
+            ps.setInt(5, update.retryCount());
+            ps.setTimestamp(6, update.nextRetryAt() == null ? null : Timestamp.valueOf(update.nextRetryAt()));
+            ps.setTimestamp(7, update.sentAt() == null ? null : Timestamp.valueOf(update.sentAt()));
+            ps.setTimestamp(8, now);
+            ps.setObject(9, update.id());
+        });
+    }
+}
@@ -1,10 +1,6 @@
 package com.care.notification.infrastructure.scheduler;
 
-import com.care.notification.infrastructure.persistence.entity.NotificationCampaignEntity;
-import com.care.notification.infrastructure.persistence.entity.NotificationEntity;
-import com.care.notification.infrastructure.persistence.entity.NotificationEntity.NotificationStatus;
 import com.care.notification.infrastructure.persistence.repository.NotificationCampaignRepository;
-import com.care.notification.infrastructure.persistence.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -14,7 +10,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Campaign progress bookkeeping
+ *
+ * Success/failure counters are incremented by NotificationEventConsumer as outcomes arrive, so
+ * the regular tick only completes campaigns whose counters reached their target: one UPDATE,
+ * however many notifications exist. A slower reconciliation locks all in-progress campaigns and
+ * then recounts them with one grouped COUNT to correct outcomes changed outside the consumer;
+ * taking the locks first keeps it from overwriting increments the consumer commits meanwhile.
+ */
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
@@ -22,45 +28,37 @@ import java.util.List;
 public class CampaignProgressTracker {
     
     private final NotificationCampaignRepository campaignRepository;
-    private final NotificationRepository notificationRepository;
     
     @Scheduled(fixedRate = 30000)
     @Transactional
     public void updateCampaignProgress() {
         try {
-            List<NotificationCampaignEntity> activeCampaigns = campaignRepository.findActiveCampaigns(null);
-            for (NotificationCampaignEntity campaign : activeCampaigns) {
-                updateCampaign(campaign);
+            int completed = campaignRepository.completeFinishedCampaigns(LocalDateTime.now());
+            if (completed > 0) {
+                log.info("Completed {} campaigns", completed);
             }
         } catch (Exception e) {
             log.error("Error: {}", e.getMessage());
         }
     }
     
-    private void updateCampaign(NotificationCampaignEntity campaign) {
+    @Scheduled(
+        initialDelayString = "${app.notification.campaign.reconcile-interval-ms:600000}",
+        fixedDelayString = "${app.notification.campaign.reconcile-interval-ms:600000}")
+    @Transactional
+    public void reconcileCampaignCounts() {
         try {
-            int success = 0;
-            int failure = 0;
-            int total = campaign.getTargetBeneficiaryCount() != null ? campaign.getTargetBeneficiaryCount() : 0;
-            
-            List<NotificationEntity> sent = notificationRepository.findByStatusOrderByCreatedAtDesc(NotificationEntity.NotificationStatus.SENT);
-            success = (int) sent.stream().count();
-            
-            List<NotificationEntity> failed = notificationRepository.findByStatusOrderByCreatedAtDesc(NotificationEntity.NotificationStatus.FAILED);
-            failure = (int) failed.stream().count();
-            
-            campaign.setSuccessCount(success);
-            campaign.setFailureCount(failure);
-            
-            if (success + failure >= total && total > 0) {
-                campaign.setStatus(NotificationCampaignEntity.CampaignStatus.COMPLETED);
-                campaign.setCompletedAt(LocalDateTime.now());
+            // Lock first so the count below cannot overwrite increments committed while it runs
+            List<UUID> campaignIds = campaignRepository.lockActiveCampaigns();
+            if (campaignIds.isEmpty()) {
+                return;
+            }
+            int corrected = campaignRepository.reconcileCampaignCounts(campaignIds);
+            if (corrected > 0) {
+                log.info("Corrected progress counters of {} campaigns", corrected);
             }
-            
-            campaignRepository.save(campaign);
-            
         } catch (Exception e) {
-            log.error("Error updating campaign {}: {}", campaign.getId(), e.getMessage());
+            log.error("Error reconciling campaign progress: {}", e.getMessage());
         }
     }
 }
@@ -0,0 +1,144 @@
+package com.care.notification.infrastructure.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding items until their deadline
+ *
+ * Time is counted in ticks of tickMs. Level 0 has one bucket per tick; each higher level has
+ * buckets wheelSize times as wide. An item goes into the lowest level whose span still reaches
+ * its deadline, and whenever the clock enters a higher-level bucket that bucket's items cascade
+ * down. Scheduling and firing are O(1) per item, however many items are waiting, and an item
+ * fires in the tick its deadline falls in.
+ *
+ * Not thread-safe; the owner synchronizes.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final ArrayDeque<Entry<T>>[][] levels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMs    resolution in milliseconds
+     * @param wheelSize buckets per level, rounded up to a power of two
+     * @param levels    number of levels; the wheel spans tickMs * wheelSize^levels
+     * @param startMs   current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMs, wheelSize and levels must be positive");
+        }
+        this.tickMs = tickMs;
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1 << bits) - 1;
+        this.levels = new ArrayDeque[levels][1 << bits];
+        this.currentTick = startMs / tickMs;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add an item; one whose deadline already passed is added to {@code due} instead
+     */
+    public void schedule(T item, long deadlineMs, List<T> due) {
+        place(new Entry<>(item, Math.floorDiv(deadlineMs + tickMs - 1, tickMs)), due);
+    }
+
+    /**
+     * Move the clock to nowMs, collecting every item whose deadline has been reached
+     */
+    public List<T> advance(long nowMs) {
+        List<T> due = new ArrayList<>();
+        long target = nowMs / tickMs;
+        while (currentTick < target) {
+            currentTick++;
+            // Cascade from the top so items landing in this tick fire right away
+            for (int level = levels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    ArrayDeque<Entry<T>> bucket = take(level, currentTick >> (bits * level));
+                    if (bucket != null) {
+                        for (Entry<T> entry : bucket) {
+                            place(entry, due);
+                        }
+                    }
+                }
+            }
+            ArrayDeque<Entry<T>> bucket = take(0, currentTick);
+            if (bucket != null) {
+                for (Entry<T> entry : bucket) {
+                    due.add(entry.item());
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Remove and return every waiting item
+     */
+    public List<T> drain() {
+        List<T> items = new ArrayList<>(size);
+        for (int level = 0; level < levels.length; level++) {
+            for (int b = 0; b <= mask; b++) {
+                ArrayDeque<Entry<T>> bucket = levels[level][b];
+                if (bucket != null) {
+                    bucket.forEach(entry -> items.add(entry.item()));
+                    levels[level][b] = null;
+                }
+            }
+        }
+        size = 0;
+        return items;
+    }
+
+    private void place(Entry<T> entry, List<T> due) {
+        if (entry.deadlineTick() <= currentTick) {
+            due.add(entry.item());
+            return;
+        }
+        int top = levels.length - 1;
+        for (int level = 0; level <= top; level++) {
+            int shift = bits * level;
+            long slot = entry.deadlineTick() >> shift;
+            if (slot - (currentTick >> shift) <= mask) {
+                add(level, slot, entry);
+                return;
+            }
+        }
+        // Beyond the span: park in the farthest top bucket and re-place when it cascades
+        add(top, (currentTick >> (bits * top)) + mask, entry);
+    }
+
+    private void add(int level, long slot, Entry<T> entry) {
+        int index = (int) (slot & mask);
+        ArrayDeque<Entry<T>> bucket = levels[level][index];
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            levels[level][index] = bucket;
+        }
+        bucket.add(entry);
+        size++;
+    }
+
+    private ArrayDeque<Entry<T>> take(int level, long slot) {
+        int index = (int) (slot & mask);
+        ArrayDeque<Entry<T>> bucket = levels[level][index];
+        if (bucket != null) {
+            levels[level][index] = null;
+            size -= bucket.size();
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,296 @@
+package com.care.notification.infrastructure.scheduler;
+
+import com.care.notification.infrastructure.kafka.NotificationEvent;
+import com.care.notification.infrastructure.kafka.NotificationEventProducer;
+import com.care.notification.infrastructure.persistence.repository.NotificationRetryClaimRepository;
+import com.care.notification.infrastructure.persistence.repository.NotificationRetryClaimRepository.Backlog;
+import com.care.notification.infrastructure.persistence.repository.NotificationRetryClaimRepository.ClaimedRetry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-dispatches RETRYING notifications when their backoff has elapsed
+ *
+ * Every claim interval this node claims the retries due within the next horizon (see
+ * NotificationRetryClaimRepository) and parks them in a timing wheel. A dedicated thread advances
+ * the wheel every tick and hands the retries that came due to a small dispatch pool, so a send
+ * blocked on broker metadata does not hold up the wheel. Each notification is republished to
+ * Kafka and marked PENDING for the consumer only once the broker acknowledged it; a failed send
+ * releases its claim so another run picks the retry up again. Several nodes can run this side
+ * by side: a retry belongs to the node that claimed it, and a crashed node's claims lapse after
+ * the lease.
+ *
+ * Metrics: notification.retry.scheduled (retries waiting in this node's wheel),
+ * notification.retry.backlog and notification.retry.backlog.lag (due retries nobody has claimed
+ * yet and how overdue the oldest is), notification.retry.dispatch.lag (publish time minus
+ * nextRetryAt) and notification.retry.published.
+ */
+@Component
+@Slf4j
+public class NotificationRetryScheduler {
+
+    private final NotificationRetryClaimRepository claimRepository;
+    private final NotificationEventProducer eventProducer;
+
+    private final long tickMs;
+    private final Duration horizon;
+    private final Duration lease;
+    private final int claimBatchSize;
+    private final int maxScheduled;
+    private final String nodeId = "notification-" + UUID.randomUUID();
+
+    private final HierarchicalTimingWheel<ClaimedRetry> wheel;
+    private final Set<UUID> scheduled = new HashSet<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retry-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService dispatcher;
+
+    private final AtomicLong backlogCount = new AtomicLong();
+    private final AtomicLong backlogLagMs = new AtomicLong();
+    private final Timer dispatchLag;
+    private final Counter published;
+
+    public NotificationRetryScheduler(
+        NotificationRetryClaimRepository claimRepository,
+        NotificationEventProducer eventProducer,
+        MeterRegistry meterRegistry,
+        @Value("${app.notification.retry.tick-ms:100}") long tickMs,
+        @Value("${app.notification.retry.claim-horizon-ms:30000}") long horizonMs,
+        @Value("${app.notification.retry.claim-lease-ms:120000}") long leaseMs,
+        @Value("${app.notification.retry.claim-batch-size:500}") int claimBatchSize,
+        @Value("${app.notification.retry.max-scheduled:20000}") int maxScheduled,
+        @Value("${app.notification.retry.dispatch-threads:4}") int dispatchThreads) {
+        this.claimRepository = claimRepository;
+        this.eventProducer = eventProducer;
+        this.tickMs = tickMs;
+        this.horizon = Duration.ofMillis(horizonMs);
+        this.lease = Duration.ofMillis(horizonMs + leaseMs);
+        this.claimBatchSize = claimBatchSize;
+        this.maxScheduled = maxScheduled;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, 64, 4, System.currentTimeMillis());
+        AtomicInteger dispatchThreadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatchThreads), runnable -> {
+            Thread thread = new Thread(runnable, "notification-retry-dispatch-" + dispatchThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("notification.retry.scheduled", this, NotificationRetryScheduler::scheduledCount)
+            .description("Retries claimed by this node and waiting for their time")
+            .register(meterRegistry);
+        Gauge.builder("notification.retry.backlog", backlogCount, AtomicLong::get)
+            .description("Due retries not claimed by any node")
+            .register(meterRegistry);
+        Gauge.builder("notification.retry.backlog.lag", backlogLagMs, v -> v.get() / 1000.0)
+            .description("How overdue the oldest unclaimed retry is")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.dispatchLag = Timer.builder("notification.retry.dispatch.lag")
+            .description("Time between a retry's nextRetryAt and its republication")
+            .register(meterRegistry);
+        this.published = Counter.builder("notification.retry.published")
+            .description("Retries republished to Kafka")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Claim the retries due within the horizon into the wheel
+     */
+    @Scheduled(
+        initialDelayString = "${app.notification.retry.claim-interval-ms:5000}",
+        fixedDelayString = "${app.notification.retry.claim-interval-ms:5000}")
+    public void claimDueRetries() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = 0;
+            while (scheduledCount() < maxScheduled) {
+                int limit = Math.min(claimBatchSize, maxScheduled - scheduledCount());
+                List<ClaimedRetry> batch = claimRepository.claim(
+                    nodeId, now, now.plus(horizon), now.plus(lease), limit);
+                schedule(batch);
+                claimed += batch.size();
+                if (batch.size() < limit) {
+                    break;
+                }
+            }
+            if (claimed > 0) {
+                log.info("Claimed {} notification retries ({} scheduled)", claimed, scheduledCount());
+            }
+
+            Backlog backlog = claimRepository.backlog(LocalDateTime.now());
+            backlogCount.set(backlog.count());
+            backlogLagMs.set(backlog.oldestDueAt() == null ? 0
+                : Math.max(0, Duration.between(backlog.oldestDueAt(), LocalDateTime.now()).toMillis()));
+        } catch (Exception e) {
+            log.error("Error claiming notification retries: {}", e.getMessage());
+        }
+    }
+
+    private void schedule(List<ClaimedRetry> retries) {
+        List<ClaimedRetry> due = new ArrayList<>();
+        synchronized (wheel) {
+            for (ClaimedRetry retry : retries) {
+                if (scheduled.add(retry.id())) {
+                    wheel.schedule(retry, epochMillis(retry.nextRetryAt()), due);
+                }
+            }
+        }
+        if (!due.isEmpty()) {
+            dispatch(due);
+        }
+    }
+
+    private void tick() {
+        try {
+            List<ClaimedRetry> due;
+            synchronized (wheel) {
+                due = wheel.advance(System.currentTimeMillis());
+            }
+            if (!due.isEmpty()) {
+                dispatch(due);
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic tick
+            log.error("Error dispatching notification retries: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(List<ClaimedRetry> due) {
+        try {
+            dispatcher.execute(() -> republish(due));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: nothing was sent, hand the retries back to the other nodes
+            settle(due, List.of(), due.stream().map(ClaimedRetry::id).toList());
+        }
+    }
+
+    /**
+     * Publish the due retries; each is settled once its send completed, off the producer thread
+     */
+    private void republish(List<ClaimedRetry> due) {
+        List<UUID> republished = Collections.synchronizedList(new ArrayList<>(due.size()));
+        List<UUID> failed = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[due.size()];
+        long nowMs = System.currentTimeMillis();
+        for (int i = 0; i < sends.length; i++) {
+            ClaimedRetry retry = due.get(i);
+            CompletableFuture<?> send;
+            try {
+                send = eventProducer.publishNotificationEvent(NotificationEvent.builder()
+                    .notificationId(retry.id())
+                    .retryCount(retry.retryCount())
+                    .maxRetries(retry.maxRetries())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            } catch (Exception e) {
+                send = CompletableFuture.failedFuture(e);
+            }
+            sends[i] = send.handle((result, error) -> {
+                if (error == null) {
+                    republished.add(retry.id());
+                    dispatchLag.record(Math.max(0, nowMs - epochMillis(retry.nextRetryAt())), TimeUnit.MILLISECONDS);
+                } else {
+                    failed.add(retry.id());
+                }
+                return null;
+            });
+        }
+        CompletableFuture.allOf(sends)
+            .thenRunAsync(() -> settle(due, republished, failed), dispatcher)
+            .exceptionally(e -> {
+                // Dispatcher shut down while the sends were in flight: settle on the completing thread
+                settle(due, republished, failed);
+                return null;
+            });
+    }
+
+    private void settle(List<ClaimedRetry> due, List<UUID> republished, List<UUID> failed) {
+        try {
+            if (!republished.isEmpty()) {
+                claimRepository.markRepublished(nodeId, republished);
+                published.increment(republished.size());
+            }
+            if (!failed.isEmpty()) {
+                log.warn("Could not republish {} notification retries, releasing them", failed.size());
+                claimRepository.release(nodeId, failed);
+            }
+        } catch (Exception e) {
+            log.error("Error settling notification retries, their claims lapse after the lease: {}", e.getMessage());
+        } finally {
+            forget(due);
+        }
+    }
+
+    private void forget(List<ClaimedRetry> due) {
+        synchronized (wheel) {
+            due.forEach(retry -> scheduled.remove(retry.id()));
+        }
+    }
+
+    private int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Stop ticking and hand the retries still waiting back to the other nodes
+     */
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        dispatcher.shutdown();
+        List<ClaimedRetry> pending;
+        synchronized (wheel) {
+            pending = wheel.drain();
+            scheduled.clear();
+        }
+        if (!pending.isEmpty()) {
+            try {
+                claimRepository.release(nodeId, pending.stream().map(ClaimedRetry::id).toList());
+                log.info("Released {} notification retries on shutdown", pending.size());
+            } catch (Exception e) {
+                log.warn("Could not release notification retries, their claims lapse after the lease: {}",
+                    e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Retry claims for RETRYING notifications
+-- A node claims due retries by stamping them with its id and a lease; other nodes skip
+-- claimed rows until the lease expires, so a crashed node's retries are picked up again.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS retry_claimed_by VARCHAR(100);
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS retry_claim_expires_at TIMESTAMP;
+
+-- Only RETRYING rows are ever scanned for claims
+CREATE INDEX IF NOT EXISTS idx_notifications_retry_due
+    ON notifications(next_retry_at)
+    WHERE status = 'RETRYING' AND is_deleted = false;
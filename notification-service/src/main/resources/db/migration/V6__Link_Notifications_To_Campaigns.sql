@@ -0,0 +1,7 @@
+-- Link notifications to the campaign that produced them
+-- Campaign progress is counted per campaign instead of over the whole table.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS campaign_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_campaign_status
+    ON notifications(campaign_id, status)
+    WHERE campaign_id IS NOT NULL;
@@ -0,0 +1,190 @@
+package com.care.notification.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the retry claim and backlog queries of {@link NotificationRetryClaimRepository}.
+ *
+ * The statements use UPDATE ... RETURNING and FOR UPDATE SKIP LOCKED, so the database tests need a
+ * real PostgreSQL and run in a throwaway schema. They are skipped unless a database is given, e.g.:
+ * <pre>
+ * mvn test -Dtest=NotificationRetryClaimRepositoryTest \
+ *     -Dretry.claim.test.url=jdbc:postgresql://localhost:5432/care \
+ *     -Dretry.claim.test.user=postgres -Dretry.claim.test.password=postgres
+ * </pre>
+ */
+class NotificationRetryClaimRepositoryTest {
+
+    private static final String URL = System.getProperty("retry.claim.test.url");
+    private static final String USER = System.getProperty("retry.claim.test.user", "postgres");
+    private static final String PASSWORD = System.getProperty("retry.claim.test.password", "");
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static String schema;
+
+    private NotificationRetryClaimRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        if (URL == null) {
+            return;
+        }
+        dataSource = new SingleConnectionDataSource(URL, USER, PASSWORD, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schema = "retry_claim_" + Long.toHexString(System.nanoTime());
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute("SET search_path TO " + schema);
+        jdbcTemplate.execute("""
+                CREATE TABLE notifications (
+                    id UUID PRIMARY KEY,
+                    status VARCHAR(20) NOT NULL,
+                    retry_count INTEGER,
+                    max_retries INTEGER,
+                    next_retry_at TIMESTAMP,
+                    retry_claimed_by VARCHAR(100),
+                    retry_claim_expires_at TIMESTAMP,
+                    updated_at TIMESTAMP,
+                    is_deleted BOOLEAN
+                )
+                """);
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (dataSource != null) {
+            jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+            dataSource.destroy();
+        }
+    }
+
+    @BeforeEach
+    void clearTable() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.update("DELETE FROM notifications");
+            repository = new NotificationRetryClaimRepository(jdbcTemplate);
+        }
+    }
+
+    @Test
+    void statementsKeepTheSpaceBeforeTheRetryPredicate() {
+        assertTrue(NotificationRetryClaimRepository.CLAIM.contains("WHERE status = 'RETRYING'"),
+            NotificationRetryClaimRepository.CLAIM);
+        assertTrue(NotificationRetryClaimRepository.BACKLOG.contains("WHERE status = 'RETRYING'"),
+            NotificationRetryClaimRepository.BACKLOG);
+    }
+
+    @Test
+    void claimTakesOnlyDueUnclaimedRetriesEarliestFirst() {
+        assumeDatabase();
+        UUID later = insert("RETRYING", 1, 3, NOW.minusMinutes(1), null, null, false);
+        UUID earliest = insert("RETRYING", 0, 3, NOW.minusMinutes(5), null, null, false);
+        UUID expiredLease = insert("RETRYING", 2, 3, NOW.minusMinutes(2), "node-b", NOW.minusSeconds(1), false);
+        insert("RETRYING", 0, 3, NOW.minusMinutes(3), "node-b", NOW.plusMinutes(1), false);
+        insert("RETRYING", 0, 3, NOW.plusMinutes(10), null, null, false);
+        insert("RETRYING", 3, 3, NOW.minusMinutes(4), null, null, false);
+        insert("RETRYING", 0, 3, NOW.minusMinutes(4), null, null, true);
+        insert("FAILED", 0, 3, NOW.minusMinutes(4), null, null, false);
+
+        List<NotificationRetryClaimRepository.ClaimedRetry> claimed =
+            repository.claim("node-a", NOW, NOW, NOW.plusMinutes(1), 10);
+
+        assertEquals(List.of(earliest, expiredLease, later),
+            claimed.stream().map(NotificationRetryClaimRepository.ClaimedRetry::id).toList());
+        assertEquals(0, claimed.get(0).retryCount());
+        assertEquals(3, claimed.get(0).maxRetries());
+        assertEquals(NOW.minusMinutes(5), claimed.get(0).nextRetryAt());
+
+        Set<UUID> ownedByA = jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE retry_claimed_by = 'node-a'", UUID.class)
+            .stream().collect(Collectors.toSet());
+        assertEquals(Set.of(earliest, expiredLease, later), ownedByA);
+
+        assertTrue(repository.claim("node-c", NOW, NOW, NOW.plusMinutes(1), 10).isEmpty(),
+            "leased rows must not be claimed twice");
+    }
+
+    @Test
+    void claimRespectsLimit() {
+        assumeDatabase();
+        UUID first = insert("RETRYING", 0, 3, NOW.minusMinutes(3), null, null, false);
+        insert("RETRYING", 0, 3, NOW.minusMinutes(2), null, null, false);
+
+        List<NotificationRetryClaimRepository.ClaimedRetry> claimed =
+            repository.claim("node-a", NOW, NOW, NOW.plusMinutes(1), 1);
+
+        assertEquals(1, claimed.size());
+        assertEquals(first, claimed.get(0).id());
+    }
+
+    @Test
+    void markRepublishedAndReleaseOnlyTouchOwnClaims() {
+        assumeDatabase();
+        UUID republished = insert("RETRYING", 0, 3, NOW.minusMinutes(2), null, null, false);
+        UUID released = insert("RETRYING", 0, 3, NOW.minusMinutes(1), null, null, false);
+        repository.claim("node-a", NOW, NOW, NOW.plusMinutes(1), 10);
+
+        repository.markRepublished("node-b", List.of(republished));
+        assertEquals("RETRYING", status(republished));
+
+        repository.markRepublished("node-a", List.of(republished));
+        repository.release("node-a", List.of(released));
+
+        assertEquals("PENDING", status(republished));
+        assertEquals("RETRYING", status(released));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM notifications WHERE retry_claimed_by IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    void backlogCountsDueUnclaimedRetries() {
+        assumeDatabase();
+        assertEquals(new NotificationRetryClaimRepository.Backlog(0, null), repository.backlog(NOW));
+
+        insert("RETRYING", 0, 3, NOW.minusMinutes(5), null, null, false);
+        insert("RETRYING", 0, 3, NOW.minusMinutes(1), "node-b", NOW.minusSeconds(1), false);
+        insert("RETRYING", 0, 3, NOW.minusMinutes(7), "node-b", NOW.plusMinutes(1), false);
+        insert("RETRYING", 0, 3, NOW.plusMinutes(1), null, null, false);
+
+        assertEquals(new NotificationRetryClaimRepository.Backlog(2, NOW.minusMinutes(5)), repository.backlog(NOW));
+    }
+
+    private static void assumeDatabase() {
+        Assumptions.assumeTrue(URL != null, "retry.claim.test.url is not set");
+    }
+
+    private static UUID insert(String status, int retryCount, int maxRetries, LocalDateTime nextRetryAt,
+                               String claimedBy, LocalDateTime claimExpiresAt, boolean deleted) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO notifications (id, status, retry_count, max_retries, next_retry_at,
+                                           retry_claimed_by, retry_claim_expires_at, is_deleted)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+            id, status, retryCount, maxRetries, Timestamp.valueOf(nextRetryAt), claimedBy,
+            claimExpiresAt == null ? null : Timestamp.valueOf(claimExpiresAt), deleted);
+        return id;
+    }
+
+    private static String status(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM notifications WHERE id = ?", String.class, id);
+    }
+}
@@ -6,6 +6,8 @@ import com.sharedlib.core.domain.ports.in.*;
 import com.sharedlib.core.domain.ports.out.CrudPort;
 import com.sharedlib.core.domain.ports.out.SearchPort;
 import com.sharedlib.core.exception.NotFoundException;
+import com.sharedlib.core.filter.KeysetPage;
+import com.sharedlib.core.filter.KeysetRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -111,4 +113,14 @@ public abstract class CrudApplicationService<ID, D, C, U, R, F>
     public Page<R> search(F filter, Pageable pageable) {
         return searchPort.search(filter, pageable).map(mapper::toResponse);
     }
+
+    @Override
+    public KeysetPage<R> searchKeyset(F filter, KeysetRequest keyset) {
+        return searchPort.searchKeyset(filter, keyset).map(mapper::toResponse);
+    }
+
+    @Override
+    public boolean supportsKeyset() {
+        return searchPort.supportsKeyset();
+    }
 }
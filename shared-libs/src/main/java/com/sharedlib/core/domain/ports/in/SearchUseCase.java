@@ -1,9 +1,21 @@
 // SearchUseCase.java
 package com.sharedlib.core.domain.ports.in;
 
+import com.sharedlib.core.filter.KeysetPage;
+import com.sharedlib.core.filter.KeysetRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface SearchUseCase<F, R> {
     Page<R> search(F filter, Pageable pageable);
+
+    /** Keyset (cursor) pagination; services opt in by overriding this and {@link #supportsKeyset}. */
+    default KeysetPage<R> searchKeyset(F filter, KeysetRequest keyset) {
+        throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getSimpleName());
+    }
+
+    /** Whether {@link #searchKeyset} is implemented. */
+    default boolean supportsKeyset() {
+        return false;
+    }
 }
@@ -1,9 +1,21 @@
 // SearchPort.java
 package com.sharedlib.core.domain.ports.out;
 
+import com.sharedlib.core.filter.KeysetPage;
+import com.sharedlib.core.filter.KeysetRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface SearchPort<D, F> {
     Page<D> search(F filter, Pageable pageable);
+
+    /** Keyset (cursor) pagination; adapters opt in by overriding this and {@link #supportsKeyset}. */
+    default KeysetPage<D> searchKeyset(F filter, KeysetRequest keyset) {
+        throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getSimpleName());
+    }
+
+    /** Whether {@link #searchKeyset} is implemented. */
+    default boolean supportsKeyset() {
+        return false;
+    }
 }
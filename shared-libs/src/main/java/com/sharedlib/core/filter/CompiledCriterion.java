@@ -0,0 +1,141 @@
+package com.sharedlib.core.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One criterion with everything that does not depend on its value resolved up front:
+ * the split attribute path, the operation and the value converter.
+ *
+ * Lifecycle: bind(value, valueTo) converts the request values once; toPredicate(...) may then
+ * run several times (Spring Data calls it for the page query and again for the count query).
+ */
+final class CompiledCriterion {
+
+    private final String key;
+    private final String[] segments;
+    private final SearchOperation operation;
+    private final Function<Object, Object> converter;
+
+    CompiledCriterion(String key, SearchOperation operation, ValueDataType dataType, String enumFqn) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Filter field is required");
+        }
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation is required for field: " + key);
+        }
+        this.key = key;
+        this.segments = key.split("\\.");
+        this.operation = operation;
+        this.converter = FilterValueConverters.forType(dataType, enumFqn, key);
+    }
+
+    static CompiledCriterion of(SearchCriteria criteria) {
+        return new CompiledCriterion(criteria.getKey(), criteria.getOperation(),
+                criteria.getDataType(), criteria.getEnumClassFqn());
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * Convert request values into what toPredicate expects for this operation:
+     * a list for IN/NOT_IN, a pair for BETWEEN, a lower-case pattern for LIKE variants.
+     */
+    Object bind(Object value, Object valueTo) {
+        return switch (operation) {
+            case IN, NOT_IN -> convertCollection(value);
+            case BETWEEN -> new Object[]{converter.apply(value), converter.apply(valueTo)};
+            case LIKE -> "%" + String.valueOf(converter.apply(value)).toLowerCase() + "%";
+            case STARTS_WITH -> String.valueOf(converter.apply(value)).toLowerCase() + "%";
+            case ENDS_WITH -> "%" + String.valueOf(converter.apply(value)).toLowerCase();
+            case IS_NULL, IS_NOT_NULL -> null;
+            default -> converter.apply(value);
+        };
+    }
+
+    /**
+     * Resolve the attribute path; intermediate segments are LEFT joined once per query
+     * and shared (through joins) with every other criterion on the same association.
+     */
+    Path<?> resolvePath(From<?, ?> root, Map<String, From<?, ?>> joins) {
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (i > 0) {
+                prefix.append('.');
+            }
+            prefix.append(segments[i]);
+            From<?, ?> parent = from;
+            String attribute = segments[i];
+            from = joins.computeIfAbsent(prefix.toString(), p -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(segments[segments.length - 1]);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    Predicate toPredicate(Path<?> path, Object bound, CriteriaBuilder cb) {
+        switch (operation) {
+            case IN:
+            case NOT_IN: {
+                CriteriaBuilder.In<Object> in = cb.in((Expression<Object>) path);
+                for (Object v : (Collection<?>) bound) {
+                    in.value(v);
+                }
+                return operation == SearchOperation.IN ? in : cb.not(in);
+            }
+            case EQUAL:
+                return cb.equal(path, bound);
+            case NOT_EQUAL:
+                return cb.notEqual(path, bound);
+            case GREATER_THAN:
+                return cb.greaterThan((Expression<Comparable>) path, (Comparable) bound);
+            case GREATER_THAN_EQUAL:
+                return cb.greaterThanOrEqualTo((Expression<Comparable>) path, (Comparable) bound);
+            case LESS_THAN:
+                return cb.lessThan((Expression<Comparable>) path, (Comparable) bound);
+            case LESS_THAN_EQUAL:
+                return cb.lessThanOrEqualTo((Expression<Comparable>) path, (Comparable) bound);
+            case BETWEEN: {
+                Object[] range = (Object[]) bound;
+                return cb.between((Expression<Comparable>) path, (Comparable) range[0], (Comparable) range[1]);
+            }
+            case LIKE:
+            case STARTS_WITH:
+            case ENDS_WITH:
+                return cb.like(cb.lower(path.as(String.class)), (String) bound);
+            case IS_NULL:
+                return cb.isNull(path);
+            case IS_NOT_NULL:
+                return cb.isNotNull(path);
+            default:
+                return cb.conjunction();
+        }
+    }
+
+    private List<Object> convertCollection(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        Collection<?> raw = (value instanceof Collection<?> collection) ? collection : List.of(value);
+        List<Object> out = new ArrayList<>(raw.size());
+        for (Object v : raw) {
+            Object converted = converter.apply(v);
+            if (converted != null) {
+                out.add(converted);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,268 @@
+package com.sharedlib.core.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled form of a filter request's shape: which fields, operations, data types and groups it uses,
+ * without the values.
+ *
+ * High-traffic filter endpoints receive the same few shapes over and over, so compiling is cached:
+ * whitelist validation, path splitting, converter and enum class lookup happen once per shape.
+ * Binding a request then only converts its values, and the bound Specification joins each
+ * association once per query, shared by all criteria and scopes that go through it.
+ *
+ * Combination rules (same as GenericSpecificationBuilder always applied):
+ * - scopes first, AND-ed, skipped when they have no allowed values
+ * - criteria grouped by groupId (null => 0), AND inside a group
+ * - each group merged into the result with its FilterGroup logic type (default AND)
+ */
+public final class FilterPlan {
+
+    static final int MAX_CACHED_PLANS = 2048;
+
+    private static final Map<Key, FilterPlan> CACHE = new ConcurrentHashMap<>();
+
+    private final List<CompiledCriterion> scopes;
+    private final List<CompiledCriterion> criteria;
+    private final List<Group> groups;
+
+    private record Group(LogicType logicType, int[] criterionIndexes) {}
+
+    private record CriterionShape(String key, SearchOperation operation, ValueDataType dataType,
+                                  String enumClassFqn, int groupId) {}
+
+    private record ScopeShape(String fieldName, ValueDataType dataType) {}
+
+    private record Key(Set<String> allowedFields, List<CriterionShape> criteria, List<ScopeShape> scopes,
+                       Map<Integer, LogicType> groupLogic) {}
+
+    private FilterPlan(List<CompiledCriterion> scopes, List<CompiledCriterion> criteria, List<Group> groups) {
+        this.scopes = scopes;
+        this.criteria = criteria;
+        this.groups = groups;
+    }
+
+    /**
+     * Get (or compile and cache) the plan for this request shape.
+     * Null entries in the lists are ignored; bind must be called with the same lists.
+     *
+     * @throws IllegalArgumentException if a field is not whitelisted or a data type cannot be resolved
+     */
+    public static FilterPlan compile(Set<String> allowedFields,
+                                     List<SearchCriteria> criteria,
+                                     List<ScopeCriteria> scopes,
+                                     List<FilterGroup> groups) {
+        Key key = keyOf(allowedFields, criteria, scopes, groups);
+        FilterPlan plan = CACHE.get(key);
+        if (plan == null) {
+            plan = build(key);
+            if (CACHE.size() >= MAX_CACHED_PLANS) {
+                // Shapes come from a few UIs; overflowing means ad-hoc shapes, so start over
+                CACHE.clear();
+            }
+            CACHE.putIfAbsent(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Convert this request's values and return the Specification, or null when nothing filters.
+     */
+    public <T> Specification<T> bind(List<SearchCriteria> criteriaValues, List<ScopeCriteria> scopeValues) {
+        List<SearchCriteria> presentCriteria = present(criteriaValues);
+        List<ScopeCriteria> presentScopes = present(scopeValues);
+
+        Object[] boundScopes = new Object[scopes.size()];
+        boolean any = false;
+        for (int i = 0; i < scopes.size(); i++) {
+            List<Object> values = normalizeScopeValues(presentScopes.get(i).getAllowedValues());
+            if (!values.isEmpty()) {
+                boundScopes[i] = scopes.get(i).bind(values, null);
+                any = true;
+            }
+        }
+        Object[] boundCriteria = new Object[criteria.size()];
+        for (int i = 0; i < criteria.size(); i++) {
+            SearchCriteria c = presentCriteria.get(i);
+            boundCriteria[i] = criteria.get(i).bind(c.getValue(), c.getValueTo());
+        }
+        if (!any && groups.isEmpty()) {
+            return null;
+        }
+        return new BoundSpecification<>(this, boundScopes, boundCriteria);
+    }
+
+    private static Key keyOf(Set<String> allowedFields, List<SearchCriteria> criteria,
+                             List<ScopeCriteria> scopes, List<FilterGroup> groups) {
+        List<CriterionShape> criterionShapes = new ArrayList<>();
+        Map<Integer, LogicType> groupLogic = new HashMap<>();
+        for (SearchCriteria c : present(criteria)) {
+            int groupId = Optional.ofNullable(c.getGroupId()).orElse(0);
+            criterionShapes.add(new CriterionShape(c.getKey(), c.getOperation(), c.getDataType(),
+                    c.getEnumClassFqn(), groupId));
+            groupLogic.computeIfAbsent(groupId, id -> logicTypeOf(id, groups));
+        }
+        List<ScopeShape> scopeShapes = new ArrayList<>();
+        for (ScopeCriteria s : present(scopes)) {
+            scopeShapes.add(new ScopeShape(s.getFieldName(), s.getDataType()));
+        }
+        return new Key(allowedFields, criterionShapes, scopeShapes, groupLogic);
+    }
+
+    private static LogicType logicTypeOf(int groupId, List<FilterGroup> groups) {
+        if (groups != null) {
+            for (FilterGroup g : groups) {
+                if (g != null && g.getGroupId() != null && g.getGroupId() == groupId && g.getLogicType() != null) {
+                    return g.getLogicType();
+                }
+            }
+        }
+        return LogicType.AND;
+    }
+
+    private static FilterPlan build(Key key) {
+        // (1) Validate all fields against whitelist
+        for (CriterionShape c : key.criteria()) {
+            if (c.key() == null || !key.allowedFields().contains(c.key())) {
+                throw new IllegalArgumentException("Field not allowed for filtering: " + c.key());
+            }
+        }
+        for (ScopeShape s : key.scopes()) {
+            if (s.fieldName() == null || !key.allowedFields().contains(s.fieldName())) {
+                throw new IllegalArgumentException("Scope field not allowed: " + s.fieldName());
+            }
+        }
+
+        // (2) Scopes are IN filters with their declared data type
+        List<CompiledCriterion> scopes = key.scopes().stream()
+                .map(s -> new CompiledCriterion(s.fieldName(), SearchOperation.IN, s.dataType(), null))
+                .toList();
+
+        List<CompiledCriterion> criteria = key.criteria().stream()
+                .map(c -> new CompiledCriterion(c.key(), c.operation(), c.dataType(), c.enumClassFqn()))
+                .toList();
+
+        // (3) Group criteria by groupId, in the order groupingBy has always produced
+        Map<Integer, List<Integer>> indexesByGroup = new HashMap<>();
+        for (int i = 0; i < key.criteria().size(); i++) {
+            indexesByGroup.computeIfAbsent(key.criteria().get(i).groupId(), id -> new ArrayList<>()).add(i);
+        }
+        List<Group> groups = indexesByGroup.entrySet().stream()
+                .map(e -> new Group(key.groupLogic().get(e.getKey()),
+                        e.getValue().stream().mapToInt(Integer::intValue).toArray()))
+                .collect(Collectors.toList());
+
+        return new FilterPlan(scopes, criteria, groups);
+    }
+
+    private static <E> List<E> present(List<E> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        return values.stream().filter(Objects::nonNull).toList();
+    }
+
+    /** Flatten collections/arrays and comma or space separated strings; trim, drop blanks, dedupe. */
+    private static List<Object> normalizeScopeValues(List<?> rawValues) {
+        if (rawValues == null || rawValues.isEmpty()) {
+            return List.of();
+        }
+        List<Object> out = new ArrayList<>();
+        for (Object value : rawValues) {
+            flattenScopeValue(value, out);
+        }
+        return out.stream().distinct().toList();
+    }
+
+    private static void flattenScopeValue(Object value, List<Object> out) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof java.util.Collection<?> collection) {
+            for (Object v : collection) {
+                flattenScopeValue(v, out);
+            }
+        } else if (value instanceof Object[] array) {
+            for (Object v : array) {
+                flattenScopeValue(v, out);
+            }
+        } else if (value instanceof String str) {
+            for (String token : str.split("[,\\s]+")) {
+                String trimmed = token.trim();
+                if (!trimmed.isEmpty()) {
+                    out.add(trimmed);
+                }
+            }
+        } else {
+            out.add(value);
+        }
+    }
+
+    /**
+     * A plan with one request's converted values. toPredicate keeps a join map per call,
+     * because the page query and the count query each come with their own root.
+     */
+    private static final class BoundSpecification<T> implements Specification<T> {
+
+        private final FilterPlan plan;
+        private final Object[] scopeValues;
+        private final Object[] criterionValues;
+
+        BoundSpecification(FilterPlan plan, Object[] scopeValues, Object[] criterionValues) {
+            this.plan = plan;
+            this.scopeValues = scopeValues;
+            this.criterionValues = criterionValues;
+        }
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+            Map<String, From<?, ?>> joins = new HashMap<>();
+            Predicate result = null;
+
+            for (int i = 0; i < plan.scopes.size(); i++) {
+                if (scopeValues[i] == null) continue;
+                CompiledCriterion scope = plan.scopes.get(i);
+                result = and(cb, result, scope.toPredicate(scope.resolvePath(root, joins), scopeValues[i], cb));
+            }
+
+            for (Group group : plan.groups) {
+                Predicate groupPredicate = null;
+                for (int index : group.criterionIndexes()) {
+                    CompiledCriterion criterion = plan.criteria.get(index);
+                    groupPredicate = and(cb, groupPredicate,
+                            criterion.toPredicate(criterion.resolvePath(root, joins), criterionValues[index], cb));
+                }
+                if (groupPredicate == null) continue;
+                result = (group.logicType() == LogicType.AND)
+                        ? and(cb, result, groupPredicate)
+                        : or(cb, result, groupPredicate);
+            }
+            return result;
+        }
+
+        private static Predicate and(CriteriaBuilder cb, Predicate base, Predicate other) {
+            if (other == null) return base;
+            return (base == null) ? other : cb.and(base, other);
+        }
+
+        private static Predicate or(CriteriaBuilder cb, Predicate base, Predicate other) {
+            if (other == null) return base;
+            return (base == null) ? other : cb.or(base, other);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sharedlib.core.filter;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Value converters for filter criteria, resolved once per (data type, enum class, field)
+ * so that binding a request only runs the conversion itself.
+ */
+final class FilterValueConverters {
+
+    private static final Pattern UUID_PATTERN = Pattern.compile("(?i)\\b[0-9a-f]{8}(?:-[0-9a-f]{4}){3}-[0-9a-f]{12}\\b");
+
+    // Enum classes by FQN; Class.forName is only paid once per class
+    private static final Map<String, Class<?>> ENUM_CLASSES = new ConcurrentHashMap<>();
+
+    private FilterValueConverters() {}
+
+    /**
+     * Converter from raw request values (String/Number/Map...) to the Java type expected by the query.
+     * Null input always converts to null.
+     */
+    static Function<Object, Object> forType(ValueDataType type, String enumFqn, String fieldName) {
+        if (type == null) {
+            type = ValueDataType.STRING;
+        }
+        Function<Object, Object> converter = switch (type) {
+            case UUID -> value -> convertUuid(value, fieldName);
+            // Keep numeric as BigDecimal to be safe across DBs
+            case NUMBER -> value -> new BigDecimal(value.toString());
+            case BOOLEAN -> value -> Boolean.valueOf(value.toString());
+            case DATE -> value -> LocalDate.parse(value.toString());
+            case INSTANT -> value -> Instant.parse(value.toString());
+            case OFFSET_DATE_TIME -> value -> OffsetDateTime.parse(value.toString());
+            case ENUM -> enumConverter(enumFqn);
+            default -> Object::toString;
+        };
+        return value -> value == null ? null : converter.apply(value);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Function<Object, Object> enumConverter(String enumFqn) {
+        if (enumFqn == null || enumFqn.isBlank()) {
+            throw new IllegalArgumentException("enumClassFqn is required for ENUM data type");
+        }
+        Class<? extends Enum> enumClass = (Class<? extends Enum>) ENUM_CLASSES.computeIfAbsent(enumFqn, fqn -> {
+            try {
+                // Not initialized: the name comes from the client, only an enum may be touched
+                Class<?> clazz = Class.forName(fqn, false, FilterValueConverters.class.getClassLoader());
+                if (!clazz.isEnum()) {
+                    throw new IllegalArgumentException(fqn + " is not an enum");
+                }
+                return clazz;
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Enum class not found: " + fqn);
+            }
+        });
+        return value -> Enum.valueOf(enumClass, value.toString());
+    }
+
+    private static UUID convertUuid(Object value, String fieldName) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+
+        if (value instanceof CharSequence sequence) {
+            String candidate = sequence.toString().trim();
+            if (candidate.isEmpty()) {
+                return null;
+            }
+            candidate = resolveUuidString(candidate);
+            return parseUuid(candidate, value, fieldName);
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            Object candidate = firstNonNull(map.get("id"), map.get("uuid"), map.get("value"));
+            if (candidate == null && map.size() == 1) {
+                candidate = map.values().iterator().next();
+            }
+            if (candidate != null) {
+                return convertUuid(candidate, fieldName);
+            }
+            throw invalidUuid(value, fieldName);
+        }
+
+        if (value.getClass().isArray() && Array.getLength(value) > 0) {
+            return convertUuid(Array.get(value, 0), fieldName);
+        }
+
+        return parseUuid(value.toString(), value, fieldName);
+    }
+
+    /** Only strings longer than a UUID (e.g. "Name (uuid)") go through the regex. */
+    private static String resolveUuidString(String raw) {
+        if (raw.length() <= 36) {
+            return raw;
+        }
+        Matcher matcher = UUID_PATTERN.matcher(raw);
+        if (matcher.find()) {
+            return matcher.group();
+        }
+        return raw;
+    }
+
+    private static UUID parseUuid(String candidate, Object original, String fieldName) {
+        try {
+            return UUID.fromString(candidate);
+        } catch (IllegalArgumentException ex) {
+            throw invalidUuid(original, fieldName);
+        }
+    }
+
+    private static RuntimeException invalidUuid(Object value, String fieldName) {
+        String message = "Invalid UUID value for field '" + (fieldName != null ? fieldName : "unknown") + "': "
+                + String.valueOf(value);
+        return new IllegalArgumentException(message);
+    }
+
+    private static Object firstNonNull(Object... values) {
+        for (Object value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,11 @@
 package com.sharedlib.core.filter;
 
+import com.sharedlib.core.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -23,6 +27,11 @@ import java.util.Set;
  * 3. GenericSpecificationBuilder creates a Specification<T> object based on the given conditions.
  * 4. The repository executes the built Specification with pagination (Pageable).
  * 5. Results are returned as a Page<T> to the caller.
+ *
+ * Keyset mode (filterKeyset):
+ * Offset pages get slower the deeper they go and each one runs an extra COUNT query.
+ * filterKeyset instead seeks past the sort keys carried by an opaque cursor (see KeysetCursor)
+ * and only counts when asked to.
  */
 public class GenericFilterService<T> {
 
@@ -87,4 +96,57 @@ public class GenericFilterService<T> {
         );
     }
 
+    /**
+     * STEP 6 - filterKeyset method:
+     * Same filtering as filter(...), paginated by keyset instead of offset.
+     *
+     * Steps executed inside:
+     * 1. Build the Specification<T> exactly like filter(...).
+     * 2. Decode the cursor into the last sort-key values of the previous page.
+     * 3. Fetch one page sorted by the requested keys plus the entity id (tie-breaker).
+     * 4. Encode the last row's keys as nextCursor; count only if includeTotal is set.
+     */
+    public KeysetPage<T> filterKeyset(FilterRequest request, KeysetRequest keyset) {
+        Specification<T> spec = new GenericSpecificationBuilder<T>(allowedFields)
+                .withCriteria(request != null ? request.getCriteria() : null)
+                .withScopes(request != null ? request.getScopes() : null)
+                .withGroups(request != null ? request.getGroups() : null)
+                .build();
+        return scroll(repository, spec, keyset);
+    }
+
+    /**
+     * Run a specification as one keyset page; shared with adapters that build their own specification.
+     */
+    public static <E> KeysetPage<E> scroll(JpaSpecificationExecutor<E> repository,
+                                           Specification<E> spec,
+                                           KeysetRequest keyset) {
+        Specification<E> where = (spec != null) ? spec : (root, query, cb) -> cb.conjunction();
+        KeysetScrollPosition position = KeysetCursor.decode(keyset.getCursor());
+        requireSortKeys(position, keyset.getSort());
+
+        Window<E> window = repository.findBy(where, q -> q
+                .sortBy(keyset.getSort())
+                .limit(keyset.getSize())
+                .scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = KeysetCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        Long total = keyset.isIncludeTotal() ? repository.count(where) : null;
+        return new KeysetPage<>(window.getContent(), nextCursor, total);
+    }
+
+    /** A cursor only fits the sort it was produced with. */
+    private static void requireSortKeys(KeysetScrollPosition position, Sort sort) {
+        if (position.isInitial()) {
+            return;
+        }
+        for (Sort.Order order : sort) {
+            if (!position.getKeys().containsKey(order.getProperty())) {
+                throw new BadRequestException("Pagination cursor does not match sort: " + order.getProperty());
+            }
+        }
+    }
 }
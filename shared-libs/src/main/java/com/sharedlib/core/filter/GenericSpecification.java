@@ -2,22 +2,13 @@ package com.sharedlib.core.filter;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Expression;
-import jakarta.persistence.criteria.From;
-import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.lang.reflect.Array;
-import java.util.Collection;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashMap;
 
 /**
  * STEP 1 - Purpose of this class:
@@ -25,20 +16,17 @@ import java.util.regex.Pattern;
  * into a JPA Criteria API Predicate that can be executed by the database.
  *
  * When to use:
- * - Used internally by GenericSpecificationBuilder to build a complete Specification
- *   combining multiple search criteria, scopes, and groups.
+ * - For a single criterion built in code. Whole filter requests go through
+ *   GenericSpecificationBuilder, which compiles them into a cached FilterPlan.
  *
  * Execution flow:
- * 1. The filter request contains multiple SearchCriteria objects.
- * 2. For each SearchCriteria, a GenericSpecification is created.
- * 3. Each GenericSpecification produces a Predicate using toPredicate().
- * 4. All predicates are combined in the Specification chain for final query execution.
+ * 1. The criterion is compiled (path, operation, converter).
+ * 2. Its values are converted to the expected Java type.
+ * 3. toPredicate() produces the Predicate, LEFT joining intermediate path segments.
  */
 @RequiredArgsConstructor
 public class GenericSpecification<T> implements Specification<T> {
 
-    private static final Pattern UUID_PATTERN = Pattern.compile("(?i)\\b[0-9a-f]{8}(?:-[0-9a-f]{4}){3}-[0-9a-f]{12}\\b");
-
     /**
      * STEP 2 - criteria:
      * This object contains:
@@ -53,213 +41,13 @@ public class GenericSpecification<T> implements Specification<T> {
      * STEP 3 - toPredicate():
      * Converts the SearchCriteria into a Predicate using CriteriaBuilder.
      * This method is called by Spring Data JPA when executing the Specification.
+     * Path splitting, value conversion and predicate building are shared with FilterPlan
+     * (see CompiledCriterion); GenericSpecificationBuilder uses the cached plan instead of this class.
      */
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-        Path<?> path = resolvePath(root, criteria.getKey()); // supports nested "user.id"
-
-        // FIX: Handle IN/NOT_IN FIRST before calling convertValue on the entire collection
-        // This prevents attempting to convert an array as a single UUID value
-        if (criteria.getOperation() == SearchOperation.IN || criteria.getOperation() == SearchOperation.NOT_IN) {
-            Collection<?> col = convertCollection(criteria.getValue(), criteria.getDataType());
-            CriteriaBuilder.In<Object> in = cb.in(path);
-            for (Object v : col) {
-                in.value(v);
-            }
-            return criteria.getOperation() == SearchOperation.IN ? in : cb.not(in);
-        }
-
-        // For all other operations, convert single values
-        Object value = convertValue(criteria.getValue(), criteria.getDataType());
-        Object valueTo = convertValue(criteria.getValueTo(), criteria.getDataType());
-
-        switch (criteria.getOperation()) {
-            case EQUAL:
-                return cb.equal(path, value);
-            case NOT_EQUAL:
-                return cb.notEqual(path, value);
-            case GREATER_THAN:
-                return cb.greaterThan((Expression<Comparable>) path, (Comparable) value);
-            case GREATER_THAN_EQUAL:
-                return cb.greaterThanOrEqualTo((Expression<Comparable>) path, (Comparable) value);
-            case LESS_THAN:
-                return cb.lessThan((Expression<Comparable>) path, (Comparable) value);
-            case LESS_THAN_EQUAL:
-                return cb.lessThanOrEqualTo((Expression<Comparable>) path, (Comparable) value);
-            case BETWEEN:
-                return cb.between((Expression<Comparable>) path, (Comparable) value, (Comparable) valueTo);
-            case LIKE: {
-                Expression<String> s = path.as(String.class);
-                return cb.like(cb.lower(s), "%" + String.valueOf(value).toLowerCase() + "%");
-            }
-            case STARTS_WITH: {
-                Expression<String> s = path.as(String.class);
-                return cb.like(cb.lower(s), String.valueOf(value).toLowerCase() + "%");
-            }
-            case ENDS_WITH: {
-                Expression<String> s = path.as(String.class);
-                return cb.like(cb.lower(s), "%" + String.valueOf(value).toLowerCase());
-            }
-            case IS_NULL:
-                return cb.isNull(path);
-            case IS_NOT_NULL:
-                return cb.isNotNull(path);
-            default:
-                return cb.conjunction();
-        }
-    }
-
-    /** Supports dotted paths like "user.id" with auto-joins for JPA relationships */
-    private Path<?> resolvePath(From<?, ?> root, String dottedPath) {
-        String[] parts = dottedPath.split("\\.");
-        Path<?> current = root;
-        From<?, ?> from = root;
-        for (int i = 0; i < parts.length; i++) {
-            String p = parts[i];
-            if (i < parts.length - 1) {
-                from = (From<?, ?>) from.join(p, JoinType.LEFT);
-                current = from;
-            } else {
-                current = current.get(p);
-            }
-        }
-        return current;
-    }
-
-    /**
-     * STEP 5 - convertValue():
-     * Safely converts the input value from String/Object into the correct Java type.
-     * This prevents type mismatch errors when building the query.
-     */
-    private Object convertValue(Object value, ValueDataType type) {
-        if (value == null) {
-            return null;
-        }
-        switch (type) {
-            case UUID:
-                return convertUuid(value);
-            case NUMBER:
-                // Keep numeric as BigDecimal to be safe across DBs
-                return new java.math.BigDecimal(value.toString());
-            case BOOLEAN:
-                return Boolean.valueOf(value.toString());
-            case DATE:
-                return java.time.LocalDate.parse(value.toString());
-            case INSTANT:
-                return java.time.Instant.parse(value.toString());
-            case OFFSET_DATE_TIME:
-                return java.time.OffsetDateTime.parse(value.toString());
-            case ENUM:
-                return convertEnum(value, criteria.getEnumClassFqn());
-            case STRING:
-            default:
-                return value.toString();
-        }
-    }
-
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private Object convertEnum(Object value, String enumFqn) {
-        if (enumFqn == null || enumFqn.isBlank()) {
-            throw new IllegalArgumentException("enumClassFqn is required for ENUM data type");
-        }
-        try {
-            Class<?> clazz = Class.forName(enumFqn);
-            if (!clazz.isEnum()) {
-                throw new IllegalArgumentException(enumFqn + " is not an enum");
-            }
-            return Enum.valueOf((Class<? extends Enum>) clazz, value.toString());
-        } catch (ClassNotFoundException e) {
-            throw new IllegalArgumentException("Enum class not found: " + enumFqn);
-        }
-    }
-
-    private Collection<?> convertCollection(Object value, ValueDataType type) {
-        if (value == null) {
-            return java.util.List.of();
-        }
-        Collection<?> raw = (value instanceof Collection)
-                ? (Collection<?>) value
-                : java.util.List.of(value);
-        java.util.List<Object> out = new java.util.ArrayList<>(raw.size());
-        for (Object v : raw) {
-            Object converted = convertValue(v, type);
-            if (converted != null) {
-                out.add(converted);
-            }
-        }
-        return out;
-    }
-
-    private UUID convertUuid(Object value) {
-        if (value == null) {
-            return null;
-        }
-
-        if (value instanceof UUID uuid) {
-            return uuid;
-        }
-
-        if (value instanceof CharSequence sequence) {
-            String candidate = sequence.toString().trim();
-            if (candidate.isEmpty()) {
-                return null;
-            }
-            candidate = resolveUuidString(candidate);
-            return parseUuid(candidate, value);
-        }
-
-        if (value instanceof Map<?, ?> map) {
-            Object candidate = firstNonNull(map.get("id"), map.get("uuid"), map.get("value"));
-            if (candidate == null && map.size() == 1) {
-                candidate = map.values().iterator().next();
-            }
-            if (candidate != null) {
-                return convertUuid(candidate);
-            }
-            throw invalidUuid(value);
-        }
-
-        if (value.getClass().isArray() && Array.getLength(value) > 0) {
-            return convertUuid(Array.get(value, 0));
-        }
-
-        return parseUuid(value.toString(), value);
-    }
-
-    private String resolveUuidString(String raw) {
-        if (raw.length() <= 36) {
-            return raw;
-        }
-        Matcher matcher = UUID_PATTERN.matcher(raw);
-        if (matcher.find()) {
-            return matcher.group();
-        }
-        return raw;
-    }
-
-    private UUID parseUuid(String candidate, Object original) {
-        try {
-            return UUID.fromString(candidate);
-        } catch (IllegalArgumentException ex) {
-            throw invalidUuid(original);
-        }
-    }
-
-    private RuntimeException invalidUuid(Object value) {
-        String fieldName = Optional.ofNullable(criteria)
-                .map(SearchCriteria::getKey)
-                .orElse("unknown");
-        String message = "Invalid UUID value for field '" + fieldName + "': " + String.valueOf(value);
-        return new IllegalArgumentException(message);
-    }
-
-    @SafeVarargs
-    private final <T> T firstNonNull(T... values) {
-        for (T value : values) {
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
+        CompiledCriterion compiled = CompiledCriterion.of(criteria);
+        Path<?> path = compiled.resolvePath(root, new HashMap<>()); // supports nested "user.id"
+        return compiled.toPredicate(path, compiled.bind(criteria.getValue(), criteria.getValueTo()), cb);
     }
 }
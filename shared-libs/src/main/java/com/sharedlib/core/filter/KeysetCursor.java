@@ -0,0 +1,143 @@
+package com.sharedlib.core.filter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharedlib.core.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset (seek) pagination.
+ *
+ * A cursor holds the sort-key values of the last row of a page, so the next page can continue
+ * with "WHERE (keys) > (last keys)" instead of an OFFSET. Values keep their Java type
+ * (UUID, Instant, enum...) so they compare correctly against the entity attributes.
+ *
+ * Encoding: base64url of a JSON array of [property, type, value] triples.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ENUM_PREFIX = "enum:";
+
+    private static final Map<String, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry("String", value -> value),
+            Map.entry("UUID", UUID::fromString),
+            Map.entry("Integer", Integer::valueOf),
+            Map.entry("Long", Long::valueOf),
+            Map.entry("Short", Short::valueOf),
+            Map.entry("Double", Double::valueOf),
+            Map.entry("Float", Float::valueOf),
+            Map.entry("BigDecimal", BigDecimal::new),
+            Map.entry("BigInteger", BigInteger::new),
+            Map.entry("Boolean", Boolean::valueOf),
+            Map.entry("Instant", Instant::parse),
+            Map.entry("LocalDate", LocalDate::parse),
+            Map.entry("LocalDateTime", LocalDateTime::parse),
+            Map.entry("LocalTime", LocalTime::parse),
+            Map.entry("OffsetDateTime", OffsetDateTime::parse),
+            Map.entry("ZonedDateTime", ZonedDateTime::parse)
+    );
+
+    private KeysetCursor() {}
+
+    /**
+     * Encode the keys of a keyset position; an initial position (no keys) encodes to null.
+     */
+    public static String encode(KeysetScrollPosition position) {
+        if (position == null || position.isInitial()) {
+            return null;
+        }
+        List<List<String>> triples = new ArrayList<>(position.getKeys().size());
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            Object value = key.getValue();
+            if (value == null) {
+                throw new IllegalStateException("Keyset sort property '" + key.getKey()
+                        + "' is null; keyset pagination needs non-null sort keys");
+            }
+            triples.add(List.of(key.getKey(), typeOf(value), String.valueOf(
+                    value instanceof Enum<?> e ? e.name() : value)));
+        }
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(triples);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode keyset cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor into a forward keyset position; null or blank means the first page.
+     *
+     * @throws BadRequestException if the cursor was not produced by {@link #encode}
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.trim());
+            List<List<String>> triples = OBJECT_MAPPER.readValue(
+                    new String(json, StandardCharsets.UTF_8), new TypeReference<>() {});
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (List<String> triple : triples) {
+                if (triple == null || triple.size() != 3) {
+                    throw new IllegalArgumentException("Malformed key");
+                }
+                keys.put(triple.get(0), parse(triple.get(1), triple.get(2)));
+            }
+            if (keys.isEmpty()) {
+                throw new IllegalArgumentException("No keys");
+            }
+            return ScrollPosition.forward(keys);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value instanceof Enum<?> e) {
+            return ENUM_PREFIX + e.getDeclaringClass().getName();
+        }
+        String type = value.getClass().getSimpleName();
+        if (!PARSERS.containsKey(type)) {
+            throw new IllegalStateException("Unsupported keyset sort key type: " + value.getClass().getName());
+        }
+        return type;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String type, String value) throws ClassNotFoundException {
+        if (type.startsWith(ENUM_PREFIX)) {
+            // Not initialized: the name comes from the client, only an enum may be touched
+            Class<?> enumType = Class.forName(type.substring(ENUM_PREFIX.length()), false,
+                    KeysetCursor.class.getClassLoader());
+            if (!enumType.isEnum()) {
+                throw new IllegalArgumentException("Not an enum: " + enumType.getName());
+            }
+            return Enum.valueOf((Class<? extends Enum>) enumType, value);
+        }
+        Function<String, Object> parser = PARSERS.get(type);
+        if (parser == null) {
+            throw new IllegalArgumentException("Unsupported key type: " + type);
+        }
+        return parser.apply(value);
+    }
+}
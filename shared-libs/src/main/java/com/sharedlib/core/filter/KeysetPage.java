@@ -0,0 +1,30 @@
+package com.sharedlib.core.filter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) paginated query.
+ * - nextCursor: pass back to get the following page; null on the last page
+ * - totalElements: null unless the caller asked for a count
+ */
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public KeysetPage(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> converter) {
+        return new KeysetPage<>(content.stream().<R>map(converter).toList(), nextCursor, totalElements);
+    }
+
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public Long getTotalElements() { return totalElements; }
+    public boolean hasNext() { return nextCursor != null; }
+}
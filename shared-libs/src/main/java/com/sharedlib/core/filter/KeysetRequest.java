@@ -0,0 +1,37 @@
+package com.sharedlib.core.filter;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Parameters of a keyset (seek) paginated query.
+ * - cursor: nextCursor of the previous page, or null for the first page
+ * - size: page size, clamped to [1, MAX_SIZE]
+ * - sort: sort keys; the entity id is appended as tie-breaker, keys must not be null
+ * - includeTotal: also run a COUNT query (off by default, it costs as much as the page itself)
+ */
+public class KeysetRequest {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 1000;
+
+    private final String cursor;
+    private final int size;
+    private final Sort sort;
+    private final boolean includeTotal;
+
+    public KeysetRequest(String cursor, Integer size, Sort sort, boolean includeTotal) {
+        this.cursor = cursor;
+        this.size = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(MAX_SIZE, size));
+        this.sort = sort != null ? sort : Sort.unsorted();
+        this.includeTotal = includeTotal;
+    }
+
+    public static KeysetRequest of(String cursor, Integer size, Sort sort) {
+        return new KeysetRequest(cursor, size, sort, false);
+    }
+
+    public String getCursor() { return cursor; }
+    public int getSize() { return size; }
+    public Sort getSort() { return sort; }
+    public boolean isIncludeTotal() { return includeTotal; }
+}
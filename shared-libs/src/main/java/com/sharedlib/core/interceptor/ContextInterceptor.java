@@ -3,8 +3,8 @@ package com.sharedlib.core.interceptor;
 import com.sharedlib.core.context.CurrentUser;
 import com.sharedlib.core.context.CurrentUserContext;
 import com.sharedlib.core.context.LanguageContext;
+import com.sharedlib.core.security.JwtPrincipal;
 import com.sharedlib.core.security.JwtTokenProvider;
-import io.jsonwebtoken.Claims; // Added for extracting claims
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -87,9 +87,10 @@ public class ContextInterceptor implements HandlerInterceptor {
 
         try {
             String token = extractTokenFromRequest(request);
-            if (token != null && jwtTokenProvider.validateToken(token)) {
+            Optional<JwtPrincipal> principal = jwtTokenProvider.parse(token);
+            if (principal.isPresent()) {
                 // Changed "language" to "lang" claim
-                String jwtLanguage = jwtTokenProvider.getClaims(token).get("lang", String.class);
+                String jwtLanguage = principal.get().language();
                 if (jwtLanguage != null) {
                     log.debug("Language extracted from JWT token: {}", jwtLanguage);
                     return jwtLanguage.toLowerCase();
@@ -134,36 +135,22 @@ public class ContextInterceptor implements HandlerInterceptor {
                 return null;
             }
 
-            if (!jwtTokenProvider.validateToken(token)) {
+            // Verified once per token; repeat lookups are served from the verified-token cache
+            JwtPrincipal principal = jwtTokenProvider.parse(token).orElse(null);
+            if (principal == null) {
                 log.debug("Invalid JWT token provided");
                 return null;
             }
 
-            Claims claims = jwtTokenProvider.getClaims(token);
-            if (claims == null) {
-                return null;
-            }
-
-            // Prepare attributes map from all claims except standard ones
-            Map<String, Object> attributes = new HashMap<>(claims);
-            attributes.remove("sub");
-            attributes.remove("iat");
-            attributes.remove("exp");
-            attributes.remove("email");
-            attributes.remove("userType");
-            attributes.remove("lang"); // Changed from "language"
-            attributes.remove("roles");
-            attributes.remove("permissions");
-
-            // Pass attributes as the 7th parameter to match CurrentUser record
+            // Pass attributes (all claims except standard ones) as the 7th parameter to match CurrentUser record
             CurrentUser userInfo = new CurrentUser(
-                    UUID.fromString(claims.getSubject()),
-                    claims.get("userType", String.class),
-                    claims.get("email", String.class),
-                    claims.get("lang", String.class), // Changed from "language"
-                    extractRolesFromClaims(claims),
-                    extractPermissionsFromClaims(claims),
-                    attributes
+                    principal.userId(),
+                    principal.userType(),
+                    principal.email(),
+                    principal.language(), // Changed from "language"
+                    principal.roles(),
+                    principal.permissions(),
+                    principal.attributes()
             );
 
             return userInfo;
@@ -172,34 +159,4 @@ public class ContextInterceptor implements HandlerInterceptor {
             return null;
         }
     }
-
-    private List<String> extractRolesFromClaims(io.jsonwebtoken.Claims claims) {
-        try {
-            Object roles = claims.get("roles");
-            if (roles instanceof List<?>) {
-                return ((List<?>) roles).stream().map(Object::toString).toList();
-            } else if (roles instanceof String) {
-                return List.of(((String) roles).split(","));
-            }
-            return List.of();
-        } catch (Exception e) {
-            log.debug("Error extracting roles from claims: {}", e.getMessage());
-            return List.of();
-        }
-    }
-
-    private List<String> extractPermissionsFromClaims(io.jsonwebtoken.Claims claims) {
-        try {
-            Object permissions = claims.get("permissions");
-            if (permissions instanceof List<?>) {
-                return ((List<?>) permissions).stream().map(Object::toString).toList();
-            } else if (permissions instanceof String) {
-                return List.of(((String) permissions).split(","));
-            }
-            return List.of();
-        } catch (Exception e) {
-            log.debug("Error extracting permissions from claims: {}", e.getMessage());
-            return List.of();
-        }
-    }
 }
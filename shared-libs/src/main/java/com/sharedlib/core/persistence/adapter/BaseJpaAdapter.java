@@ -3,6 +3,9 @@ package com.sharedlib.core.persistence.adapter;
 
 import com.sharedlib.core.domain.ports.out.CrudPort;
 import com.sharedlib.core.domain.ports.out.SearchPort;
+import com.sharedlib.core.filter.GenericFilterService;
+import com.sharedlib.core.filter.KeysetPage;
+import com.sharedlib.core.filter.KeysetRequest;
 import com.sharedlib.core.persistence.mapper.DomainEntityMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,6 +54,17 @@ public abstract class BaseJpaAdapter<D, E, ID, F>
         return page.map(mapper::toDomain);
     }
 
+    @Override
+    public KeysetPage<D> searchKeyset(F filter, KeysetRequest keyset) {
+        Specification<E> spec = buildSpecification(filter);
+        return GenericFilterService.scroll(specRepository, spec, keyset).map(mapper::toDomain);
+    }
+
+    @Override
+    public boolean supportsKeyset() {
+        return true;
+    }
+
     /** **/
     protected abstract Specification<E> buildSpecification(F filter);
 }
@@ -3,7 +3,6 @@ package com.sharedlib.core.security;
 import com.sharedlib.core.context.CurrentUser;
 import com.sharedlib.core.context.LanguageContext;
 import com.sharedlib.core.context.CurrentUserContext;
-import io.jsonwebtoken.Claims; // <-- added
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,29 +39,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getJwtFromRequest(request);
+        // Single verification per token; repeat tokens are served from the verified-token cache
+        Optional<JwtPrincipal> principal = StringUtils.hasText(token)
+                ? tokenProvider.parse(token)
+                : Optional.empty();
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
+        if (principal.isPresent()) {
             // Extract core claims
-            UUID userId = tokenProvider.getUserId(token);
-            String userType = tokenProvider.getUserType(token);
-            String lang = tokenProvider.getLanguage(token); // reads "lang"
-            String email = tokenProvider.getEmail(token);
-            List<String> roles = tokenProvider.getRoles(token);
-            List<String> permissions = tokenProvider.getPermissions(token);
-
-            // Build attributes map from all claims (using existing getClaims)
-            Claims all = tokenProvider.getClaims(token);          // Claims extends Map<String,Object>
-            Map<String, Object> attributes = new HashMap<>(all);  // copy into mutable map
-
-            // Remove standard fields to avoid duplication
-            attributes.remove("sub");
-            attributes.remove("iat");
-            attributes.remove("exp");
-            attributes.remove("email");
-            attributes.remove("userType");
-            attributes.remove("lang");
-            attributes.remove("roles");
-            attributes.remove("permissions");
+            UUID userId = principal.get().userId();
+            String userType = principal.get().userType();
+            String lang = principal.get().language(); // reads "lang"
+            String email = principal.get().email();
+            List<String> roles = principal.get().roles();
+            List<String> permissions = principal.get().permissions();
+
+            // Non-standard claims (sub, iat, exp, email, userType, lang, roles, permissions removed)
+            Map<String, Object> attributes = principal.get().attributes();
 
             // Set language context for this thread
             LanguageContext.setLanguage(lang);
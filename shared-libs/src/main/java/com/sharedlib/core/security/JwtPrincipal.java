@@ -0,0 +1,70 @@
+package com.sharedlib.core.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified JWT.
+ * Produced once per token by {@link JwtTokenProvider#parse(String)} and safe to share between requests.
+ *
+ * @param attributes all non-standard claims (everything except sub, iat, exp, email, userType, lang, roles, permissions)
+ * @param expiresAt  token expiration, or null if the token has none
+ */
+public record JwtPrincipal(
+    UUID userId,
+    String userType,
+    String email,
+    String language,
+    List<String> roles,
+    List<String> permissions,
+    Map<String, Object> attributes,
+    Instant expiresAt
+) {
+
+    private static final Set<String> STANDARD_CLAIMS =
+            Set.of("sub", "iat", "exp", "email", "userType", "lang", "roles", "permissions");
+
+    /**
+     * Builds a principal from verified claims.
+     *
+     * @throws IllegalArgumentException if the subject is not a UUID
+     */
+    public static JwtPrincipal from(Claims claims) {
+        Map<String, Object> attributes = new HashMap<>(claims);
+        attributes.keySet().removeAll(STANDARD_CLAIMS);
+
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                UUID.fromString(claims.getSubject()),
+                claims.get("userType", String.class),
+                claims.get("email", String.class),
+                claims.get("lang", String.class),
+                toStringList(claims.get("roles")),
+                toStringList(claims.get("permissions")),
+                Collections.unmodifiableMap(attributes),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+
+    /**
+     * Converts a list claim or a comma-separated string claim into an immutable list.
+     * Returns an empty list if the claim is missing.
+     */
+    static List<String> toStringList(Object claim) {
+        if (claim instanceof List<?> list) {
+            return list.stream().map(Object::toString).toList();
+        } else if (claim instanceof String value) {
+            return List.copyOf(Arrays.asList(value.split(",")));
+        }
+        return Collections.emptyList();
+    }
+}
@@ -2,18 +2,24 @@ package com.sharedlib.core.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Provides utility methods to parse and validate JWT tokens.
+ * The HMAC key and parser are built once; {@link #parse(String)} verifies a token a single time
+ * and serves repeat requests for the same token from {@link VerifiedTokenCache}.
  */
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements InitializingBean {
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -21,6 +27,40 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
 
+    @Autowired(required = false)
+    private VerifiedTokenCache tokenCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @Override
+    public void afterPropertiesSet() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /**
+     * Verifies the token once and returns its immutable principal.
+     * Returns empty if the token is invalid, expired, or its subject is not a UUID.
+     */
+    public Optional<JwtPrincipal> parse(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            JwtPrincipal principal = tokenCache != null
+                    ? tokenCache.get(token, this::verify)
+                    : verify(token);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private JwtPrincipal verify(String token) {
+        return JwtPrincipal.from(getClaims(token));
+    }
+
     /**
      * Generates a JWT token with the specified claims.
      */
@@ -38,16 +78,13 @@ public class JwtTokenProvider {
                 .claim("permissions", permissions)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -55,11 +92,7 @@ public class JwtTokenProvider {
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -88,16 +121,8 @@ public class JwtTokenProvider {
      * Returns an empty list if not present.
      */
     public java.util.List<String> getRoles(String token) {
-        Object roles = getClaims(token).get("roles");
-        if (roles instanceof java.util.List<?>) {
-            return ((java.util.List<?>) roles).stream()
-                    .map(Object::toString)
-                    .toList();
-        } else if (roles instanceof String) {
-            // Support comma-separated string
-            return java.util.Arrays.asList(((String) roles).split(","));
-        }
-        return java.util.Collections.emptyList();
+        // Supports both list and comma-separated string claims
+        return JwtPrincipal.toStringList(getClaims(token).get("roles"));
     }
 
     /**
@@ -112,15 +137,7 @@ public class JwtTokenProvider {
      * Returns an empty list if not present.
      */
     public java.util.List<String> getPermissions(String token) {
-        Object perms = getClaims(token).get("permissions");
-        if (perms instanceof java.util.List<?>) {
-            return ((java.util.List<?>) perms).stream()
-                    .map(Object::toString)
-                    .toList();
-        } else if (perms instanceof String) {
-            return java.util.Arrays.asList(((String) perms).split(","));
-        }
-        return java.util.Collections.emptyList();
+        return JwtPrincipal.toStringList(getClaims(token).get("permissions"));
     }
 
     /**
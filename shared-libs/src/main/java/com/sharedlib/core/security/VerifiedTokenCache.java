@@ -0,0 +1,144 @@
+package com.sharedlib.core.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiry-aware cache of verified tokens.
+ *
+ * Entries are keyed by the SHA-256 of the raw token (the token itself is never stored) and live
+ * until the token expires or {@code jwt.cache.max-ttl} elapses, whichever comes first. When the
+ * cache grows past {@code jwt.cache.max-size}, expired entries are purged first and then arbitrary
+ * entries are dropped until it is back under the limit.
+ *
+ * Hit, miss and eviction counts are published as {@code jwt.cache.*} meters when a
+ * {@link MeterRegistry} is present.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Value("${jwt.cache.max-ttl:300000}")
+    private long maxTtlMillis = 300000;
+
+    /**
+     * Returns the cached principal for a token, or verifies it with {@code verifier} and caches the result.
+     * Failed verifications are not cached.
+     */
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        String key = hash(token);
+        Instant now = Instant.now();
+        Entry entry = entries.get(key);
+        if (entry != null && now.isBefore(entry.validUntil())) {
+            hits.increment();
+            return entry.principal();
+        }
+
+        misses.increment();
+        JwtPrincipal principal = verifier.apply(token);
+        Instant validUntil = now.plusMillis(maxTtlMillis);
+        if (principal.expiresAt() != null && principal.expiresAt().isBefore(validUntil)) {
+            validUntil = principal.expiresAt();
+        }
+        entries.put(key, new Entry(principal, validUntil));
+        if (entries.size() > maxSize) {
+            evict(now);
+        }
+        return principal;
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Verified token cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Verified token cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries dropped because the cache was full")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", entries, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+
+    private void evict(Instant now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> !now.isBefore(entry.validUntil()));
+            int target = Math.max(0, maxSize - maxSize / 10);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(JwtPrincipal principal, Instant validUntil) {
+    }
+}
@@ -2,11 +2,15 @@
 package com.sharedlib.core.web.controller;
 
 import com.sharedlib.core.domain.ports.in.*;
+import com.sharedlib.core.filter.KeysetRequest;
 import com.sharedlib.core.web.response.ApiResponse;
 import com.sharedlib.core.web.response.PageResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -57,4 +61,21 @@ public abstract class CrudController<ID, C, U, R, F> {
         Page<R> page = searchUC.search(filter, pageable);
         return PageResponse.from(page);
     }
+
+    /**
+     * Keyset (cursor) pagination: pass nextCursor from the previous page to continue.
+     * Answers 501 when the search use case does not support it; the total is counted only on request.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<PageResponse<R>> scroll(F filter,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size,
+                                  Sort sort,
+                                  @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (!searchUC.supportsKeyset()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        KeysetRequest keyset = new KeysetRequest(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(PageResponse.from(searchUC.searchKeyset(filter, keyset), keyset.getSize()));
+    }
 }
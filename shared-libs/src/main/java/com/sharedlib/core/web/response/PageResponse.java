@@ -1,23 +1,36 @@
 // PageResponse.java
 package com.sharedlib.core.web.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sharedlib.core.filter.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
 
+/**
+ * Page of results for offset pagination (page/totalPages) or keyset pagination (nextCursor).
+ * For keyset pages, page is 0 and totalElements/totalPages are -1 unless a count was requested.
+ */
 public class PageResponse<T> {
     private final List<T> content;
     private final int page;
     private final int size;
     private final long totalElements;
     private final int totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;
 
     public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages) {
+        this(content, page, size, totalElements, totalPages, null);
+    }
+
+    public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages, String nextCursor) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
+        this.nextCursor = nextCursor;
     }
 
     public static <T> PageResponse<T> from(Page<T> page) {
@@ -26,9 +39,17 @@ public class PageResponse<T> {
                 page.getTotalElements(), page.getTotalPages());
     }
 
+    public static <T> PageResponse<T> from(KeysetPage<T> page, int size) {
+        Long total = page.getTotalElements();
+        int totalPages = (total == null) ? -1 : (int) ((total + size - 1) / size);
+        return new PageResponse<>(page.getContent(), 0, size,
+                (total == null) ? -1 : total, totalPages, page.getNextCursor());
+    }
+
     public List<T> getContent() { return content; }
     public int getPage() { return page; }
     public int getSize() { return size; }
     public long getTotalElements() { return totalElements; }
     public int getTotalPages() { return totalPages; }
+    public String getNextCursor() { return nextCursor; }
 }
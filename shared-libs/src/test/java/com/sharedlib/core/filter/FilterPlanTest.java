@@ -0,0 +1,129 @@
+package com.sharedlib.core.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link FilterPlan}.
+ */
+class FilterPlanTest {
+
+    private static final Set<String> FIELDS = Set.of("status", "branch.id", "branch.name", "tenantId");
+
+    @Test
+    @DisplayName("Should reuse the compiled plan for the same shape with different values")
+    void shouldReusePlanForSameShape() {
+        // Given
+        List<SearchCriteria> first = List.of(uuidEquals("branch.id", UUID.randomUUID().toString()));
+        List<SearchCriteria> second = List.of(uuidEquals("branch.id", UUID.randomUUID().toString()));
+
+        // When
+        FilterPlan a = FilterPlan.compile(FIELDS, first, null, null);
+        FilterPlan b = FilterPlan.compile(FIELDS, second, null, null);
+        FilterPlan other = FilterPlan.compile(FIELDS, List.of(like("branch.name", "x")), null, null);
+
+        // Then
+        assertSame(a, b, "Same shape should hit the cache");
+        assertNotSame(a, other, "Different shape should compile its own plan");
+    }
+
+    @Test
+    @DisplayName("Should reject fields outside the whitelist")
+    void shouldRejectUnlistedFields() {
+        List<SearchCriteria> criteria = List.of(like("password", "x"));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> FilterPlan.compile(FIELDS, criteria, null, null));
+        assertTrue(ex.getMessage().contains("password"));
+    }
+
+    @Test
+    @DisplayName("Should return no specification when nothing filters")
+    void shouldReturnNullWhenNothingFilters() {
+        List<ScopeCriteria> scopes = List.of(ScopeCriteria.builder().fieldName("tenantId").allowedValues(List.of()).build());
+        Specification<Object> spec = new GenericSpecificationBuilder<>(FIELDS).withScopes(scopes).build();
+        assertNull(spec);
+    }
+
+    @Test
+    @DisplayName("Should join an association once for all criteria and convert values at bind time")
+    @SuppressWarnings("unchecked")
+    void shouldShareJoinsAcrossCriteria() {
+        // Given
+        UUID branchId = UUID.randomUUID();
+        Root<Object> root = mock(Root.class);
+        Join<Object, Object> branch = mock(Join.class);
+        Path<Object> path = mock(Path.class);
+        Expression<String> text = mock(Expression.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Predicate predicate = mock(Predicate.class);
+
+        doReturn(branch).when(root).join("branch", JoinType.LEFT);
+        doReturn(path).when(branch).get(anyString());
+        doReturn(path).when(root).get(anyString());
+        doReturn(text).when(path).as(String.class);
+        when(cb.lower(any())).thenReturn(text);
+        when(cb.equal(any(Expression.class), any(Object.class))).thenReturn(predicate);
+        when(cb.like(any(Expression.class), anyString())).thenReturn(predicate);
+        when(cb.and(any(Predicate.class), any(Predicate.class))).thenReturn(predicate);
+
+        Specification<Object> spec = new GenericSpecificationBuilder<>(FIELDS)
+                .withCriteria(List.of(uuidEquals("branch.id", branchId.toString()), like("branch.name", "Main")))
+                .build();
+
+        // When
+        Predicate result = spec.toPredicate(root, null, cb);
+
+        // Then
+        assertSame(predicate, result);
+        verify(root, times(1)).join("branch", JoinType.LEFT);
+        verify(cb).equal(path, branchId);
+        verify(cb).like(text, "%main%");
+    }
+
+    enum Status { ACTIVE, INACTIVE }
+
+    static boolean probeInitialized;
+
+    static class Probe {
+        static {
+            probeInitialized = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert enum values and refuse non-enum classes without initializing them")
+    void shouldRefuseNonEnumClassesWithoutInitializingThem() {
+        assertEquals(Status.ACTIVE,
+                FilterValueConverters.forType(ValueDataType.ENUM, Status.class.getName(), "status").apply("ACTIVE"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FilterValueConverters.forType(ValueDataType.ENUM, Probe.class.getName(), "status"));
+        assertFalse(probeInitialized);
+    }
+
+    private static SearchCriteria uuidEquals(String key, String value) {
+        return SearchCriteria.builder().key(key).operation(SearchOperation.EQUAL)
+                .dataType(ValueDataType.UUID).value(value).build();
+    }
+
+    private static SearchCriteria like(String key, String value) {
+        return SearchCriteria.builder().key(key).operation(SearchOperation.LIKE).value(value).build();
+    }
+}
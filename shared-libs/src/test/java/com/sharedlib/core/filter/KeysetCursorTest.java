@@ -0,0 +1,105 @@
+package com.sharedlib.core.filter;
+
+import com.sharedlib.core.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link KeysetCursor}.
+ */
+class KeysetCursorTest {
+
+    enum Priority { LOW, HIGH }
+
+    @Test
+    @DisplayName("Should round-trip typed keys in order")
+    void shouldRoundTripTypedKeys() {
+        // Given
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", Instant.parse("2025-03-01T10:15:30Z"));
+        keys.put("appointmentDate", LocalDate.of(2025, 3, 2));
+        keys.put("priority", Priority.HIGH);
+        keys.put("fullName", "Ali: \"B\" / ç");
+        keys.put("amount", new BigDecimal("12.50"));
+        keys.put("count", 7L);
+        keys.put("id", UUID.fromString("3f0b5c9e-8f6a-4c1e-9a4d-2b7e6f1c0d11"));
+
+        // When
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = KeysetCursor.decode(cursor);
+
+        // Then
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "Cursor should be URL safe");
+        assertEquals(keys, decoded.getKeys());
+        assertEquals(new ArrayList<>(keys.keySet()), new ArrayList<>(decoded.getKeys().keySet()));
+        assertTrue(decoded.scrollsForward());
+    }
+
+    @Test
+    @DisplayName("Should treat missing cursor as first page")
+    void shouldTreatMissingCursorAsFirstPage() {
+        assertTrue(KeysetCursor.decode(null).isInitial());
+        assertTrue(KeysetCursor.decode(" ").isInitial());
+        assertNull(KeysetCursor.encode(ScrollPosition.keyset()));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors as bad requests")
+    void shouldRejectTamperedCursors() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encodeRaw("[[\"id\",\"Thread\",\"x\"]]")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encodeRaw("[[\"id\",\"enum:java.lang.String\",\"x\"]]")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encodeRaw("[]")));
+    }
+
+    static boolean probeInitialized;
+
+    static class Probe {
+        static {
+            probeInitialized = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Should not initialize classes named by a cursor")
+    void shouldNotInitializeClassesNamedByCursor() {
+        String cursor = encodeRaw("[[\"id\",\"enum:" + Probe.class.getName() + "\",\"x\"]]");
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(cursor));
+        assertFalse(probeInitialized);
+    }
+
+    @Test
+    @DisplayName("Should refuse null sort keys")
+    void shouldRefuseNullSortKeys() {
+        Map<String, Object> keys = new HashMap<>();
+        keys.put("name", null);
+        assertThrows(IllegalStateException.class, () -> KeysetCursor.encode(ScrollPosition.forward(keys)));
+    }
+
+    @Test
+    @DisplayName("Should clamp page size")
+    void shouldClampPageSize() {
+        assertEquals(KeysetRequest.DEFAULT_SIZE, KeysetRequest.of(null, null, null).getSize());
+        assertEquals(1, KeysetRequest.of(null, 0, null).getSize());
+        assertEquals(KeysetRequest.MAX_SIZE, KeysetRequest.of(null, 1_000_000, null).getSize());
+        assertEquals(List.of(), KeysetRequest.of(null, 5, null).getSort().toList());
+    }
+
+    private static String encodeRaw(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes());
+    }
+}
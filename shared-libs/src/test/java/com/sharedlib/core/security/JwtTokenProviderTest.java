@@ -396,6 +396,52 @@ class JwtTokenProviderTest {
         assertEquals(rolesWithSpecialChars, extractedRoles, "Roles with special characters should be preserved");
     }
 
+    @Test
+    @Order(23)
+    @DisplayName("Should parse token into principal with all claims")
+    void shouldParseTokenIntoPrincipalWithAllClaims() {
+        // Given - validToken is generated in setUp()
+
+        // When
+        Optional<JwtPrincipal> principal = jwtTokenProvider.parse(validToken);
+
+        // Then
+        assertTrue(principal.isPresent(), "Valid token should produce a principal");
+        assertEquals(testUserId, principal.get().userId(), "User ID should match");
+        assertEquals(testEmail, principal.get().email(), "Email should match");
+        assertEquals(testUserType, principal.get().userType(), "User type should match");
+        assertEquals(testLanguage, principal.get().language(), "Language should match");
+        assertEquals(testRoles, principal.get().roles(), "Roles should match");
+        assertEquals(testPermissions, principal.get().permissions(), "Permissions should match");
+        assertNotNull(principal.get().expiresAt(), "Expiration should be set");
+        assertFalse(principal.get().attributes().containsKey("sub"), "Standard claims should not be in attributes");
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should return empty principal for invalid tokens")
+    void shouldReturnEmptyPrincipalForInvalidTokens() {
+        assertTrue(jwtTokenProvider.parse(null).isEmpty(), "Null token should return empty");
+        assertTrue(jwtTokenProvider.parse("not.a.valid.jwt.token").isEmpty(), "Malformed token should return empty");
+        assertTrue(jwtTokenProvider.parse(generateTokenWithWrongSecret()).isEmpty(), "Wrong signature should return empty");
+        assertTrue(jwtTokenProvider.parse(generateExpiredToken()).isEmpty(), "Expired token should return empty");
+        assertTrue(jwtTokenProvider.parse(generateTokenWithInvalidUuid()).isEmpty(), "Invalid UUID subject should return empty");
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Should serve repeated parses of the same token from cache")
+    void shouldServeRepeatedParsesFromCache() {
+        // Given
+        JwtPrincipal first = jwtTokenProvider.parse(validToken).orElseThrow();
+
+        // When
+        JwtPrincipal second = jwtTokenProvider.parse(validToken).orElseThrow();
+
+        // Then
+        assertSame(first, second, "Second parse should return the cached principal");
+    }
+
     // Helper methods for generating test tokens
 
     private String generateTokenWithWrongSecret() {
@@ -0,0 +1,87 @@
+package com.sharedlib.core.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link VerifiedTokenCache}.
+ */
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache();
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should verify once and count hits and misses")
+    void shouldVerifyOnceAndCountHitsAndMisses() {
+        // When
+        JwtPrincipal first = cache.get("token-a", token -> verify(Instant.now().plusSeconds(3600)));
+        JwtPrincipal second = cache.get("token-a", token -> verify(Instant.now().plusSeconds(3600)));
+
+        // Then
+        assertSame(first, second, "Cached principal should be returned");
+        assertEquals(1, verifications.get(), "Token should be verified once");
+        assertEquals(1, cache.hitCount(), "One hit expected");
+        assertEquals(1, cache.missCount(), "One miss expected");
+    }
+
+    @Test
+    @DisplayName("Should not serve entries past token expiry")
+    void shouldNotServeExpiredEntries() {
+        // Given
+        cache.get("token-b", token -> verify(Instant.now().minusSeconds(1)));
+
+        // When
+        cache.get("token-b", token -> verify(Instant.now().plusSeconds(3600)));
+
+        // Then
+        assertEquals(2, verifications.get(), "Expired entry should be verified again");
+        assertEquals(0, cache.hitCount(), "Expired entry should not count as a hit");
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured size")
+    void shouldStayWithinConfiguredSize() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            cache.get("token-" + i, token -> verify(Instant.now().plusSeconds(3600)));
+        }
+
+        // Then
+        assertTrue(cache.size() <= 100, "Cache should be bounded by max size");
+    }
+
+    @Test
+    @DisplayName("Should not cache failed verifications")
+    void shouldNotCacheFailedVerifications() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.get("bad-token", token -> { throw new IllegalArgumentException("invalid"); }));
+        assertEquals(0, cache.size(), "Failed verification should not be cached");
+    }
+
+    private JwtPrincipal verify(Instant expiresAt) {
+        verifications.incrementAndGet();
+        return new JwtPrincipal(UUID.randomUUID(), "USER", "user@example.com", "en",
+                List.of(), List.of(), Map.of(), expiresAt);
+    }
+}
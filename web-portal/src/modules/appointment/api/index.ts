@@ -62,7 +62,21 @@ export const beneficiariesApi = {
   delete: (id) => api.delete(`/${SERVICE}/api/admin/beneficiaries/${id}`),
   filter: (filterData, params) => api.post(`/${SERVICE}/api/admin/beneficiaries/filter`, filterData, { params }),
   getMeta: () => api.get(`/${SERVICE}/api/admin/beneficiaries/meta`),
-  getLookup: () => api.get(`/${SERVICE}/api/admin/beneficiaries/lookup`),
+  // Typeahead page: { items, nextCursor }; nextCursor is null on the last page
+  getLookup: (params) => api.get(`/${SERVICE}/api/admin/beneficiaries/lookup`, { params }),
+  // Every lookup item, following nextCursor page by page
+  getAllLookup: async (params = {}) => {
+    const items = []
+    let cursor = null
+    do {
+      const { data } = await api.get(`/${SERVICE}/api/admin/beneficiaries/lookup`, {
+        params: { ...params, size: 100, ...(cursor ? { cursor } : {}) },
+      })
+      items.push(...(data?.items || []))
+      cursor = data?.nextCursor || null
+    } while (cursor)
+    return items
+  },
 }
 
 // ===== Appointments =====
@@ -1,7 +1,13 @@
-import React, { useState } from 'react'
+import React, { useState, useEffect } from 'react'
 import { useTranslation } from 'react-i18next'
 import { QrCode, Copy, Download, Mail, MessageSquare, X, Check } from 'lucide-react'
 import { toast } from 'sonner'
+import { api } from '@/lib/axios'
+
+// qrCodeUrl is a path on appointment-service (/api/v1/appointments/verify/{id}/qr-image) that needs
+// the auth header, so the image is fetched through the gateway; older appointments hold a data: URL
+const QR_SERVICE_PREFIX = '/appointment-service'
+const INLINE_QR_URL = /^(data:|https?:)/
 
 /**
  * Modal Component for displaying appointment QR code and verification details
@@ -16,6 +22,36 @@ export default function AppointmentQRModal({ appointment, isOpen, onClose }) {
   const { t } = useTranslation()
   const [copied, setCopied] = useState(false)
   const [shareMethod, setShareMethod] = useState(null)
+  const [qrImageSrc, setQrImageSrc] = useState(null)
+  const qrCodeUrl = appointment?.qrCodeUrl
+
+  useEffect(() => {
+    if (!isOpen || !qrCodeUrl) {
+      setQrImageSrc(null)
+      return undefined
+    }
+    if (INLINE_QR_URL.test(qrCodeUrl)) {
+      setQrImageSrc(qrCodeUrl)
+      return undefined
+    }
+    let cancelled = false
+    let objectUrl = null
+    api
+      .get(`${QR_SERVICE_PREFIX}${qrCodeUrl}`, { responseType: 'blob' })
+      .then((response) => {
+        if (cancelled) return
+        objectUrl = URL.createObjectURL(response.data)
+        setQrImageSrc(objectUrl)
+      })
+      .catch((err) => {
+        console.error('Failed to load QR code image:', err)
+        if (!cancelled) setQrImageSrc(null)
+      })
+    return () => {
+      cancelled = true
+      if (objectUrl) URL.revokeObjectURL(objectUrl)
+    }
+  }, [isOpen, qrCodeUrl])
 
   if (!isOpen || !appointment) return null
 
@@ -31,8 +67,9 @@ export default function AppointmentQRModal({ appointment, isOpen, onClose }) {
   }
 
   const handleDownloadQR = () => {
+    if (!qrImageSrc) return
     const link = document.createElement('a')
-    link.href = appointment.qrCodeUrl
+    link.href = qrImageSrc
     link.download = `appointment-${appointment.appointmentCode}.png`
     document.body.appendChild(link)
     link.click()
@@ -85,11 +122,17 @@ export default function AppointmentQRModal({ appointment, isOpen, onClose }) {
           {/* QR Code Section */}
           <div className="flex justify-center">
             <div className="bg-gray-50 p-4 rounded-lg border border-gray-200">
-              <img
-                src={appointment.qrCodeUrl}
-                alt="Appointment QR Code"
-                className="w-48 h-48"
-              />
+              {qrImageSrc ? (
+                <img
+                  src={qrImageSrc}
+                  alt="Appointment QR Code"
+                  className="w-48 h-48"
+                />
+              ) : (
+                <div className="w-48 h-48 flex items-center justify-center">
+                  <QrCode className="w-12 h-12 text-gray-300 animate-pulse" />
+                </div>
+              )}
             </div>
           </div>
 
@@ -163,7 +206,8 @@ export default function AppointmentQRModal({ appointment, isOpen, onClose }) {
         <div className="flex items-center gap-2 p-4 border-t border-gray-200 bg-gray-50 rounded-b-lg">
           <button
             onClick={handleDownloadQR}
-            className="flex-1 flex items-center justify-center gap-2 px-3 py-2 bg-blue-600 text-white text-sm font-medium rounded-lg hover:bg-blue-700 transition-colors"
+            disabled={!qrImageSrc}
+            className="flex-1 flex items-center justify-center gap-2 px-3 py-2 bg-blue-600 text-white text-sm font-medium rounded-lg hover:bg-blue-700 transition-colors disabled:opacity-50 disabled:cursor-not-allowed"
           >
             <Download className="w-4 h-4" />
             {t('appointment.qr.download', { defaultValue: 'Download' })}
@@ -1,6 +1,7 @@
 import React, { useState, useEffect, useMemo, useCallback } from 'react'
 import { useParams, useNavigate } from 'react-router-dom'
 import { api } from '@/lib/axios'
+import { beneficiariesApi } from '@/modules/appointment/api'
 import { toast } from 'sonner'
 import { 
   Calendar, 
@@ -121,7 +122,7 @@ export default function AppointmentDetails() {
       try {
         const results = await Promise.allSettled([
           api.get('/access/api/organization-branches/lookup'),
-          api.get('/appointment-service/api/admin/beneficiaries/lookup'),
+          beneficiariesApi.getAllLookup(),
           api.get('/appointment-service/api/admin/service-types/lookup'),
           api.get('/appointment-service/api/admin/appointment-statuses/lookup'),
           api.get('/appointment-service/api/admin/action-types/lookup'),
@@ -143,7 +144,7 @@ export default function AppointmentDetails() {
         setBranchesMap(brMap)
 
         const benMap = {}
-        ;(beneficiariesRes?.data || []).forEach((b) => {
+        ;(Array.isArray(beneficiariesRes) ? beneficiariesRes : []).forEach((b) => {
           benMap[b.beneficiaryId] = b.fullName
         })
         setBeneficiariesMap(benMap)
@@ -1,6 +1,7 @@
 import React, { useState, useEffect, useMemo, useCallback } from 'react'
 import { useNavigate } from 'react-router-dom'
 import { api } from '@/lib/axios'
+import { beneficiariesApi } from '@/modules/appointment/api'
 import DataTable from '@/packages/datatable/DataTable'
 import SearchableSelect from '@/components/SearchableSelect'
 import { toast } from 'sonner'
@@ -288,7 +289,7 @@ const toggleFilters = useCallback(() => {
               params: { page: 0, size: 10000, lang: uiLang },
             }
           ),
-          api.get('/appointment-service/api/admin/beneficiaries/lookup'),
+          beneficiariesApi.getAllLookup(),
           api.get('/appointment-service/api/admin/service-types/tree'),
           api.get('/auth/me/permissions'),
           api.get('/appointment-service/api/admin/appointment-statuses/lookup', {
@@ -368,9 +369,7 @@ const toggleFilters = useCallback(() => {
         })
         setBranchesMap(brMap)
 
-        const beneficiaryItems = Array.isArray(beneficiariesRes?.data)
-          ? beneficiariesRes.data
-          : []
+        const beneficiaryItems = Array.isArray(beneficiariesRes) ? beneficiariesRes : []
         const benMap = {}
         beneficiaryItems.forEach((b) => {
           if (b.beneficiaryId) {
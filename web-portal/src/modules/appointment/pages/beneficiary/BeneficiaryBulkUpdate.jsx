@@ -54,8 +54,25 @@ export default function BeneficiaryBulkUpdate() {
       
       const response = await api.put('/appointment-service/api/admin/beneficiaries/bulk', payload)
       
-      toast.success(`Successfully updated ${response.data.length} beneficiaries`)
-      navigate('/appointment/beneficiaries')
+      // Body: { description, results: [{ beneficiaryId, outcome }], summary }
+      const summary = response.data?.summary || {}
+      const updated = summary.updated || 0
+      const notUpdated = [
+        summary.skippedDeleted ? `${summary.skippedDeleted} deleted` : null,
+        summary.notFound ? `${summary.notFound} not found` : null,
+        summary.failed ? `${summary.failed} failed` : null,
+      ].filter(Boolean)
+
+      if (notUpdated.length === 0) {
+        toast.success(`Successfully updated ${updated} beneficiaries`)
+        navigate('/appointment/beneficiaries')
+      } else if (updated > 0) {
+        toast.warning(`Updated ${updated} of ${summary.requested} beneficiaries (${notUpdated.join(', ')})`)
+        navigate('/appointment/beneficiaries')
+      } else {
+        // Nothing changed: stay on the form so the selection can be corrected
+        toast.error(`No beneficiaries were updated (${notUpdated.join(', ')})`)
+      }
     } catch (error) {
       console.error('Failed to bulk update:', error)
       toast.error(error.response?.data?.message || 'Failed to update beneficiaries')
@@ -61,10 +61,14 @@ export default function BeneficiaryStatistics() {
     )
   }
   
-  const inactiveCount = stats.totalBeneficiaries - stats.activeBeneficiaries
-  const activePercentage = stats.totalBeneficiaries > 0 
-    ? ((stats.activeBeneficiaries / stats.totalBeneficiaries) * 100).toFixed(1)
+  // totalBeneficiaries includes soft-deleted rows; deleted ones are neither active nor inactive here
+  const currentCount = stats.totalBeneficiaries - (stats.deletedBeneficiaries || 0)
+  const inactiveCount = currentCount - stats.activeBeneficiaries
+  const activePercentage = currentCount > 0 
+    ? ((stats.activeBeneficiaries / currentCount) * 100).toFixed(1)
     : 0
+  // Counts are cached briefly on the server; computedAt says when they were taken
+  const computedAtLabel = stats.computedAt ? new Date(stats.computedAt).toLocaleString() : null
   
   return (
     <div className="min-h-screen bg-gradient-to-br from-indigo-50 via-white to-purple-50">
@@ -87,6 +91,9 @@ export default function BeneficiaryStatistics() {
             <div>
               <h1 className="text-3xl font-bold text-gray-900">Beneficiary Statistics</h1>
               <p className="text-gray-600">Overview of beneficiary data and trends</p>
+              {computedAtLabel && (
+                <p className="text-xs text-gray-500 mt-1">As of {computedAtLabel}</p>
+              )}
             </div>
           </div>
         </div>
@@ -99,7 +106,7 @@ export default function BeneficiaryStatistics() {
                 <Users className="w-6 h-6 text-white" />
               </div>
             </div>
-            <div className="text-3xl font-bold text-gray-900 mb-1">{stats.totalBeneficiaries}</div>
+            <div className="text-3xl font-bold text-gray-900 mb-1">{currentCount}</div>
             <div className="text-sm text-gray-600">Total Beneficiaries</div>
           </div>
           
@@ -4,16 +4,16 @@
  */
 
 import { api } from '@/lib/axios';
-import { ApiResponse, JoinRequest, JoinResult } from '../types';
+import { ApiResponse, JoinJob, JoinRequest } from '../types';
 
 const BASE_URL = '/api/datasets';
 
 export const joinApi = {
   /**
-   * Join two datasets
+   * Start a join of two datasets; returns the ID of the job producing the joined dataset
    */
   join: async (request: JoinRequest) => {
-    const response = await api.post(`/das${BASE_URL}/join`, request);
+    const response = await api.post<ApiResponse<JoinJob>>(`/das${BASE_URL}/join`, request);
     return response.data;
   }
 };
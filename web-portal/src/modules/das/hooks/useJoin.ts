@@ -4,8 +4,29 @@
  */
 
 import { useState } from 'react';
-import { JoinRequest, JoinResult } from '../types';
+import { Job, JoinRequest, JoinResult } from '../types';
 import { joinApi } from '../api/join';
+import { jobsApi } from '../api/jobs';
+import { datasetsApi } from '../api/datasets';
+
+const JOB_POLL_INTERVAL_MS = 1000;
+
+/**
+ * Poll a job until it has finished
+ */
+const waitForJob = async (jobId: string): Promise<Job> => {
+  for (;;) {
+    const response = await jobsApi.getById(jobId);
+    const job: Job | undefined = response.data;
+    if (!job) {
+      throw new Error(response.message || 'Join job not found');
+    }
+    if (job.status === 'SUCCEEDED' || job.status === 'FAILED') {
+      return job;
+    }
+    await new Promise((resolve) => setTimeout(resolve, JOB_POLL_INTERVAL_MS));
+  }
+};
 
 export const useJoin = () => {
   const [result, setResult] = useState<JoinResult | null>(null);
@@ -16,9 +37,20 @@ export const useJoin = () => {
     try {
       setLoading(true);
       setError(null);
+      // The join runs as a job; its result is the new dataset ID
       const response = await joinApi.join(request);
-      setResult(response.data);
-      return response.data;
+      const job = await waitForJob(response.data.jobId);
+      if (job.status === 'FAILED') {
+        throw new Error(job.errorMessage || 'Join failed');
+      }
+      const dataset = (await datasetsApi.getById(job.result)).data;
+      const joinResult: JoinResult = {
+        datasetId: dataset.datasetId,
+        rows: dataset.rowCount,
+        columns: dataset.columnCount
+      };
+      setResult(joinResult);
+      return joinResult;
     } catch (err: any) {
       setError(err.message || 'Join failed');
       throw err;
@@ -144,6 +144,10 @@ export interface JoinResult {
   columns: number;
 }
 
+export interface JoinJob {
+  jobId: string;
+}
+
 // Pipeline Types
 export interface Pipeline {
   name: string;